@@ -34,24 +34,44 @@ import org.ow2.proactive.catalog.graphql.fetcher.CatalogObjectFetcher;
 import org.ow2.proactive.catalog.graphql.handler.FilterHandler;
 import org.ow2.proactive.catalog.graphql.handler.catalogobject.CatalogObjectAndOrGroupFilterHandler;
 import org.ow2.proactive.catalog.graphql.handler.catalogobject.CatalogObjectBucketIdFilterHandler;
+import org.ow2.proactive.catalog.graphql.handler.catalogobject.CatalogObjectContentFilterHandler;
 import org.ow2.proactive.catalog.graphql.handler.catalogobject.CatalogObjectKindFilterHandler;
 import org.ow2.proactive.catalog.graphql.handler.catalogobject.CatalogObjectMetadataFilterHandler;
 import org.ow2.proactive.catalog.graphql.handler.catalogobject.CatalogObjectNameFilterHandler;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.BucketDeletionService;
+import org.ow2.proactive.catalog.service.BucketStatisticsService;
 import org.ow2.proactive.catalog.service.BucketService;
+import org.ow2.proactive.catalog.service.CatalogObjectIngestJobService;
 import org.ow2.proactive.catalog.service.CatalogObjectService;
+import org.ow2.proactive.catalog.service.CatalogEventBroadcaster;
+import org.ow2.proactive.catalog.service.CatalogObjectBulkDeleteService;
+import org.ow2.proactive.catalog.service.CatalogObjectChangeService;
+import org.ow2.proactive.catalog.service.CatalogObjectContentIndexService;
+import org.ow2.proactive.catalog.service.CatalogObjectTrigramIndexService;
+import org.ow2.proactive.catalog.service.DownloadTokenService;
 import org.ow2.proactive.catalog.service.GenericInformationAdder;
 import org.ow2.proactive.catalog.service.GraphqlService;
 import org.ow2.proactive.catalog.service.KeyValueLabelMetadataHelper;
 import org.ow2.proactive.catalog.service.OwnerGroupStringHelper;
+import org.ow2.proactive.catalog.service.RawObjectReadCoalescer;
+import org.ow2.proactive.catalog.service.RevisionRetentionService;
 import org.ow2.proactive.catalog.service.WorkflowXmlManipulator;
+import org.ow2.proactive.catalog.service.ingest.CatalogObjectIngestCache;
+import org.ow2.proactive.catalog.service.ingest.CatalogObjectIngestPipeline;
+import org.ow2.proactive.catalog.service.ingest.WorkflowIngestStage;
+import org.ow2.proactive.catalog.service.storage.DatabaseRawObjectStorage;
+import org.ow2.proactive.catalog.service.storage.RawObjectCompressor;
+import org.ow2.proactive.catalog.service.storage.RawObjectSpooler;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserOptionsLoader;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.orm.jpa.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
@@ -77,6 +97,9 @@ public class IntegrationTestConfig {
     private DataSource createMemDataSource() {
         EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder();
         EmbeddedDatabase db = builder.setType(EmbeddedDatabaseType.HSQL).build();
+        // same transaction control as the default data source, the statistics of buckets are created
+        // in their own transactions while the calling ones may have updated others
+        new JdbcTemplate(db).execute("SET DATABASE TRANSACTION CONTROL MVCC");
 
         return db;
     }
@@ -91,6 +114,61 @@ public class IntegrationTestConfig {
         return new CatalogObjectService();
     }
 
+    @Bean
+    public RawObjectReadCoalescer rawObjectReadCoalescer() {
+        return new RawObjectReadCoalescer();
+    }
+
+    @Bean
+    public DownloadTokenService downloadTokenService() {
+        return new DownloadTokenService();
+    }
+
+    @Bean
+    public CatalogObjectTrigramIndexService catalogObjectTrigramIndexService() {
+        return new CatalogObjectTrigramIndexService();
+    }
+
+    @Bean
+    public CatalogEventBroadcaster catalogEventBroadcaster() {
+        return new CatalogEventBroadcaster();
+    }
+
+    @Bean
+    public CatalogObjectChangeService catalogObjectChangeService() {
+        return new CatalogObjectChangeService();
+    }
+
+    @Bean
+    public CatalogObjectContentIndexService catalogObjectContentIndexService() {
+        return new CatalogObjectContentIndexService();
+    }
+
+    @Bean
+    public CatalogObjectBulkDeleteService catalogObjectBulkDeleteService() {
+        return new CatalogObjectBulkDeleteService();
+    }
+
+    @Bean
+    public BucketDeletionService bucketDeletionService() {
+        return new BucketDeletionService();
+    }
+
+    @Bean
+    public CatalogObjectIngestJobService catalogObjectIngestJobService() {
+        return new CatalogObjectIngestJobService();
+    }
+
+    @Bean
+    public BucketStatisticsService bucketStatisticsService() {
+        return new BucketStatisticsService();
+    }
+
+    @Bean
+    public RevisionRetentionService revisionRetentionService() {
+        return new RevisionRetentionService();
+    }
+
     @Bean
     public GraphqlService graphqlService() {
         return new GraphqlService();
@@ -121,6 +199,11 @@ public class IntegrationTestConfig {
         return new CatalogObjectMetadataFilterHandler();
     }
 
+    @Bean
+    public FilterHandler<CatalogObjectWhereArgs, CatalogObjectRevisionEntity> catalogObjectContentFilterHandler() {
+        return new CatalogObjectContentFilterHandler();
+    }
+
     @Bean
     public FilterHandler<CatalogObjectWhereArgs, CatalogObjectRevisionEntity> catalogObjectAndOrGroupFilterHandler() {
         return new CatalogObjectAndOrGroupFilterHandler();
@@ -151,6 +234,41 @@ public class IntegrationTestConfig {
         return new WorkflowXmlManipulator();
     }
 
+    @Bean
+    public CatalogObjectIngestPipeline catalogObjectIngestPipeline() {
+        return new CatalogObjectIngestPipeline();
+    }
+
+    @Bean
+    public CatalogObjectIngestCache catalogObjectIngestCache() {
+        return new CatalogObjectIngestCache();
+    }
+
+    @Bean
+    public RawObjectSpooler rawObjectSpooler() {
+        return new RawObjectSpooler();
+    }
+
+    @Bean
+    public DatabaseRawObjectStorage databaseRawObjectStorage() {
+        return new DatabaseRawObjectStorage();
+    }
+
+    @Bean
+    public RawObjectCompressor rawObjectCompressor() {
+        return new RawObjectCompressor();
+    }
+
+    @Bean
+    public WorkflowIngestStage workflowIngestStage() {
+        return new WorkflowIngestStage();
+    }
+
+    @Bean
+    public CatalogObjectParserOptionsLoader catalogObjectParserOptionsLoader() {
+        return new CatalogObjectParserOptionsLoader();
+    }
+
     @Bean
     public RawObjectResponseCreator rawObjectResponseCreator() {
         return new RawObjectResponseCreator();
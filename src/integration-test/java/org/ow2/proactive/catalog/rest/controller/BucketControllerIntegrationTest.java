@@ -25,10 +25,14 @@
  */
 package org.ow2.proactive.catalog.rest.controller;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.jayway.restassured.RestAssured.given;
 import static com.jayway.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -43,12 +47,18 @@ import org.junit.runner.RunWith;
 import org.ow2.proactive.catalog.Application;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.util.IntegrationTestUtil;
+import org.ow2.proactive.catalog.util.JacksonBinaryHttpMessageConverter;
 import org.springframework.boot.test.SpringApplicationConfiguration;
 import org.springframework.boot.test.WebIntegrationTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.jayway.restassured.response.Response;
 
 
@@ -161,6 +171,138 @@ public class BucketControllerIntegrationTest extends AbstractRestAssuredTest {
                .body("", hasSize(25 + existingBucketsList.size()));
     }
 
+    @Test
+    public void testListBucketsInBinaryFormats() throws IOException {
+        Integer bucketId = IntegrationTestUtil.createBucket("binary", "BinaryFormatUser");
+        JsonNode json = new ObjectMapper().readTree(given().parameter("owner", "BinaryFormatUser")
+                                                           .get(BUCKETS_RESOURCE)
+                                                           .then()
+                                                           .statusCode(HttpStatus.SC_OK)
+                                                           .contentType(startsWith(MediaType.APPLICATION_JSON_VALUE))
+                                                           .extract()
+                                                           .asByteArray());
+
+        byte[] cbor = given().parameters("owner", "BinaryFormatUser", "format", "cbor")
+                             .get(BUCKETS_RESOURCE)
+                             .then()
+                             .statusCode(HttpStatus.SC_OK)
+                             .contentType(startsWith(JacksonBinaryHttpMessageConverter.CBOR_VALUE))
+                             .extract()
+                             .asByteArray();
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor)).isEqualTo(json);
+
+        byte[] smile = given().parameter("owner", "BinaryFormatUser")
+                              .header(HttpHeaders.ACCEPT, JacksonBinaryHttpMessageConverter.SMILE_VALUE)
+                              .get(BUCKETS_RESOURCE)
+                              .then()
+                              .statusCode(HttpStatus.SC_OK)
+                              .contentType(startsWith(JacksonBinaryHttpMessageConverter.SMILE_VALUE))
+                              .extract()
+                              .asByteArray();
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(smile)).isEqualTo(json);
+
+        // other Accept headers are still answered in JSON
+        given().parameter("owner", "BinaryFormatUser")
+               .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_XML_VALUE)
+               .get(BUCKETS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .contentType(startsWith(MediaType.APPLICATION_JSON_VALUE))
+               .body("name", contains("binary"));
+
+        // the representations with links are encoded as their JSON too
+        IntegrationTestUtil.postDefaultWorkflowToBucket(bucketId);
+        JsonNode catalogObjectJson = new ObjectMapper().readTree(given().pathParam("bucketId", bucketId)
+                                                                        .pathParam("name", "my workflow")
+                                                                        .get(CATALOG_OBJECT_RESOURCE)
+                                                                        .then()
+                                                                        .statusCode(HttpStatus.SC_OK)
+                                                                        .extract()
+                                                                        .asByteArray());
+        assertThat(catalogObjectJson.path("_links").path("content").path("href").asText()).endsWith("/raw");
+
+        byte[] catalogObjectCbor = given().pathParam("bucketId", bucketId)
+                                          .pathParam("name", "my workflow")
+                                          .parameter("format", "cbor")
+                                          .get(CATALOG_OBJECT_RESOURCE)
+                                          .then()
+                                          .statusCode(HttpStatus.SC_OK)
+                                          .contentType(startsWith(JacksonBinaryHttpMessageConverter.CBOR_VALUE))
+                                          .extract()
+                                          .asByteArray();
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(catalogObjectCbor)).isEqualTo(catalogObjectJson);
+
+        byte[] catalogObjectSmile = given().pathParam("bucketId", bucketId)
+                                           .pathParam("name", "my workflow")
+                                           .header(HttpHeaders.ACCEPT, JacksonBinaryHttpMessageConverter.SMILE_VALUE)
+                                           .get(CATALOG_OBJECT_RESOURCE)
+                                           .then()
+                                           .statusCode(HttpStatus.SC_OK)
+                                           .contentType(startsWith(JacksonBinaryHttpMessageConverter.SMILE_VALUE))
+                                           .extract()
+                                           .asByteArray();
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(catalogObjectSmile)).isEqualTo(catalogObjectJson);
+    }
+
+    @Test
+    public void testListBucketsByPagesWithNamePrefix() {
+        IntStream.rangeClosed(1, 5).forEach(i -> IntegrationTestUtil.createBucket("paged-" + i, "PagedUser"));
+        IntegrationTestUtil.createBucket("other", "PagedUser");
+
+        given().parameters("owner", "PagedUser", "namePrefix", "paged-", "page", 1, "size", 2)
+               .get(BUCKETS_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_OK)
+               .header("X-Total-Count", "5")
+               .body("", hasSize(2))
+               .body("[0].name", is("paged-3"))
+               .body("[1].name", is("paged-4"));
+    }
+
+    @Test
+    public void testListBucketsByLastUpdateWithStatistics() {
+        Integer olderBucketId = IntegrationTestUtil.createBucket("older", "SortedUser");
+        Integer newerBucketId = IntegrationTestUtil.createBucket("newer", "SortedUser");
+        IntegrationTestUtil.createBucket("empty", "SortedUser");
+        IntegrationTestUtil.postDefaultWorkflowToBucket(newerBucketId);
+        IntegrationTestUtil.postDefaultWorkflowToBucket(olderBucketId);
+
+        given().parameters("owner", "SortedUser", "sortBy", "lastUpdate", "statistics", true)
+               .get(BUCKETS_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_OK)
+               .body("name", contains("older", "newer", "empty"))
+               .body("[0].object_count", is(1))
+               .body("[0].statistics.kinds.workflow", is(1))
+               .body("[2].statistics.object_count", is(0));
+    }
+
+    @Test
+    public void testListBucketsWithInvalidSortShouldBeBadRequest() {
+        given().parameter("sortBy", "owner")
+               .get(BUCKETS_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void testGetBucketStatistics() {
+        Integer bucketId = IntegrationTestUtil.createBucket("statistics", "StatisticsUser");
+        IntegrationTestUtil.postDefaultWorkflowToBucket(bucketId);
+
+        given().pathParam("bucketId", bucketId)
+               .get(BUCKET_RESOURCE + "/statistics")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_OK)
+               .body("object_count", is(1))
+               .body("kinds.workflow", is(1))
+               .body("stored_bytes", greaterThan(0));
+    }
+
     @Test
     public void testListBucketsOwnerShouldReturnNothing() {
         given().parameters("name", "TotosBucket", "owner", "toto").when().post(BUCKETS_RESOURCE);
@@ -353,6 +495,85 @@ public class BucketControllerIntegrationTest extends AbstractRestAssuredTest {
                .statusCode(HttpStatus.SC_OK);
     }
 
+    @Test
+    public void testDeleteNonEmptyBucketInBackground() throws InterruptedException {
+        Integer bucketId = given().parameters("name", "BucketDeletedInBackground", "owner", "owner")
+                                  .when()
+                                  .post(BUCKETS_RESOURCE)
+                                  .then()
+                                  .extract()
+                                  .path("id");
+
+        for (String name : new String[] { "first", "second" }) {
+            given().pathParam("bucketId", bucketId)
+                   .queryParam("kind", "workflow")
+                   .queryParam("name", name)
+                   .queryParam("commitMessage", "first commit")
+                   .queryParam("objectContentType", MediaType.APPLICATION_XML_VALUE)
+                   .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+                   .when()
+                   .post(CATALOG_OBJECTS_RESOURCE)
+                   .then()
+                   .statusCode(HttpStatus.SC_CREATED);
+            given().pathParam("bucketId", bucketId)
+                   .pathParam("name", name)
+                   .queryParam("commitMessage", "second commit")
+                   .multiPart(IntegrationTestUtil.getWorkflowFile("workflow-updated.xml"))
+                   .when()
+                   .post(CATALOG_OBJECT_RESOURCE + "/revisions")
+                   .then()
+                   .statusCode(HttpStatus.SC_CREATED);
+        }
+
+        String jobId = given().pathParam("bucketId", bucketId)
+                              .when()
+                              .post(BUCKET_RESOURCE + "/deletion")
+                              .then()
+                              .assertThat()
+                              .statusCode(HttpStatus.SC_ACCEPTED)
+                              .body("bucket_id", is(bucketId))
+                              .body("total_objects", is(2))
+                              .extract()
+                              .path("job_id");
+
+        String state = null;
+        for (int i = 0; i < 100 && !"COMPLETED".equals(state) && !"FAILED".equals(state); i++) {
+            Thread.sleep(100);
+            state = given().pathParam("jobId", jobId)
+                           .when()
+                           .get(BUCKETS_RESOURCE + "/deletions/{jobId}")
+                           .then()
+                           .statusCode(HttpStatus.SC_OK)
+                           .extract()
+                           .path("state");
+        }
+
+        given().pathParam("jobId", jobId)
+               .when()
+               .get(BUCKETS_RESOURCE + "/deletions/{jobId}")
+               .then()
+               .assertThat()
+               .body("state", is("COMPLETED"))
+               .body("deleted_objects", is(2));
+
+        given().pathParam("bucketId", bucketId)
+               .when()
+               .get(BUCKET_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+
+    @Test
+    public void testGetDeletionStatusShouldBeNotFoundIfNonExistingJob() {
+        given().pathParam("jobId", "unknown")
+               .when()
+               .get(BUCKETS_RESOURCE + "/deletions/{jobId}")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+
     @Test
     public void testDeleteNonExistingBucket() {
         given().pathParam("bucketId", 35434247)
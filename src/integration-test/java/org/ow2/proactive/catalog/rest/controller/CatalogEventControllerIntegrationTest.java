@@ -0,0 +1,155 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpStatus;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ow2.proactive.catalog.Application;
+import org.ow2.proactive.catalog.util.IntegrationTestUtil;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.boot.test.WebIntegrationTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.jayway.restassured.response.ValidatableResponse;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(classes = { Application.class })
+@WebIntegrationTest(randomPort = true)
+public class CatalogEventControllerIntegrationTest extends AbstractRestAssuredTest {
+
+    private static final String BUCKETS_RESOURCE = "/buckets";
+
+    private static final String CATALOG_OBJECTS_RESOURCE = "/buckets/{bucketId}/resources";
+
+    private static final String POLL_RESOURCE = "/buckets/events/poll";
+
+    @After
+    public void cleanup() {
+        IntegrationTestUtil.cleanup();
+    }
+
+    @Test
+    public void testPollReturnsEventsAfterSequence() {
+        long after = lastSequence();
+
+        Integer bucketId = given().parameters("name", "eventsBucket")
+                                  .when()
+                                  .post(BUCKETS_RESOURCE)
+                                  .then()
+                                  .statusCode(HttpStatus.SC_CREATED)
+                                  .extract()
+                                  .path("id");
+        createObject(bucketId);
+
+        given().queryParam("after", after)
+               .when()
+               .get(POLL_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("events", hasSize(2))
+               .body("events[0].type", is("BUCKET_CREATED"))
+               .body("events[0].bucket_id", is(bucketId))
+               .body("events[0].sequence", is((int) after + 1))
+               .body("events[1].type", is("CATALOG_OBJECT_CREATED"))
+               .body("events[1].name", is("eventObject"))
+               .body("events[1].kind", is("workflow"))
+               .body("last_sequence", is((int) after + 2))
+               .body("truncated", is(false));
+    }
+
+    @Test
+    public void testPollWaitsForNextEvent() throws Exception {
+        long after = lastSequence();
+
+        CompletableFuture<ValidatableResponse> poll = CompletableFuture.supplyAsync(() -> given().queryParam("after",
+                                                                                                            after)
+                                                                                                 .when()
+                                                                                                 .get(POLL_RESOURCE)
+                                                                                                 .then());
+        Thread.sleep(500);
+        given().parameters("name", "awaitedBucket")
+               .when()
+               .post(BUCKETS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_CREATED);
+
+        poll.get(10, TimeUnit.SECONDS)
+            .statusCode(HttpStatus.SC_OK)
+            .body("events", hasSize(1))
+            .body("events[0].type", is("BUCKET_CREATED"))
+            .body("events[0].name", is("awaitedBucket"));
+    }
+
+    @Test
+    public void testPollFromUnknownSequenceIsTruncated() {
+        given().queryParam("after", Integer.MAX_VALUE)
+               .when()
+               .get(POLL_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("truncated", is(true));
+    }
+
+    private long lastSequence() {
+        return ((Number) given().queryParam("after", Integer.MAX_VALUE)
+                                .when()
+                                .get(POLL_RESOURCE)
+                                .then()
+                                .statusCode(HttpStatus.SC_OK)
+                                .extract()
+                                .path("last_sequence")).longValue();
+    }
+
+    private void createObject(Integer bucketId) {
+        given().pathParam("bucketId", bucketId)
+               .queryParam("kind", "workflow")
+               .queryParam("name", "eventObject")
+               .queryParam("commitMessage", "first commit")
+               .queryParam("objectContentType", "application/xml")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECTS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_CREATED);
+    }
+
+}
@@ -0,0 +1,344 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.apache.http.HttpStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ow2.proactive.catalog.Application;
+import org.ow2.proactive.catalog.service.BucketService;
+import org.ow2.proactive.catalog.service.RestApiAccessService;
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.ow2.proactive.catalog.service.model.RestApiAccessResponse;
+import org.ow2.proactive.catalog.util.IntegrationTestUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.boot.test.WebIntegrationTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(classes = { Application.class })
+@WebIntegrationTest(randomPort = true)
+public class CatalogObjectChangeControllerIntegrationTest extends AbstractRestAssuredTest {
+
+    private static final String BUCKETS_RESOURCE = "/buckets";
+
+    private static final String CATALOG_OBJECTS_RESOURCE = "/buckets/{bucketId}/resources";
+
+    private static final String CATALOG_OBJECT_RESOURCE = "/buckets/{bucketId}/resources/{name}";
+
+    private static final String CATALOG_OBJECT_REVISIONS_RESOURCE = "/buckets/{bucketId}/resources/{name}/revisions";
+
+    private static final String CHANGES_RESOURCE = "/buckets/changes";
+
+    private static final String BUCKET_CHANGES_RESOURCE = "/buckets/{bucketId}/changes";
+
+    private static final String BUCKET_DELETION_RESOURCE = "/buckets/{bucketId}/deletion";
+
+    private static final String BUCKET_DELETION_JOB_RESOURCE = "/buckets/deletions/{jobId}";
+
+    private static final long SLEEP_TIME = 20L;
+
+    @Autowired
+    private CatalogObjectChangeController catalogObjectChangeController;
+
+    private Integer bucketId;
+
+    private Integer otherBucketId;
+
+    @Before
+    public void setup() throws InterruptedException {
+        bucketId = createBucket("changesBucket");
+        otherBucketId = createBucket("otherChangesBucket");
+        createObject(bucketId, "first");
+        Thread.sleep(SLEEP_TIME);
+    }
+
+    @After
+    public void cleanup() {
+        IntegrationTestUtil.cleanup();
+    }
+
+    @Test
+    public void testAllChangesSinceBeginning() {
+        given().pathParam("bucketId", bucketId)
+               .when()
+               .get(BUCKET_CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("since", is(0))
+               .body("changes", hasSize(1))
+               .body("changes[0].change", is("CREATED"))
+               .body("changes[0].name", is("first"))
+               .body("changes[0].bucket_id", is(bucketId))
+               .body("changes[0].object.kind", is("workflow"));
+    }
+
+    @Test
+    public void testChangesSinceLatest() throws InterruptedException {
+        long latest = latest();
+
+        given().pathParam("bucketId", bucketId)
+               .pathParam("name", "first")
+               .queryParam("commitMessage", "second commit")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow-updated.xml"))
+               .when()
+               .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_CREATED);
+        Thread.sleep(SLEEP_TIME);
+        createObject(otherBucketId, "second");
+
+        given().queryParam("since", latest)
+               .when()
+               .get(CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("changes", hasSize(2))
+               .body("changes[0].change", is("UPDATED"))
+               .body("changes[0].name", is("first"))
+               .body("changes[0].object.commit_message", is("second commit"))
+               .body("changes[1].change", is("CREATED"))
+               .body("changes[1].name", is("second"));
+
+        given().pathParam("bucketId", otherBucketId)
+               .queryParam("since", latest)
+               .when()
+               .get(BUCKET_CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("changes", hasSize(1))
+               .body("changes[0].name", is("second"));
+    }
+
+    @Test
+    public void testDeletionSinceLatest() {
+        long latest = latest();
+
+        given().pathParam("bucketId", bucketId)
+               .pathParam("name", "first")
+               .when()
+               .delete(CATALOG_OBJECT_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK);
+
+        given().queryParam("since", latest)
+               .when()
+               .get(CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("changes", hasSize(1))
+               .body("changes[0].change", is("DELETED"))
+               .body("changes[0].name", is("first"))
+               .body("changes[0].kind", is("workflow"))
+               .body("changes[0].bucket_id", is(bucketId));
+    }
+
+    @Test
+    public void testDeletionsOfADeletedBucketWithSession() throws Exception {
+        Integer ownedBucketId = createBucket("ownedChangesBucket", "GROUP:changes");
+        createObject(ownedBucketId, "owned");
+        long latest = latest();
+        Thread.sleep(SLEEP_TIME);
+
+        String jobId = given().pathParam("bucketId", ownedBucketId)
+                              .when()
+                              .post(BUCKET_DELETION_RESOURCE)
+                              .then()
+                              .statusCode(HttpStatus.SC_ACCEPTED)
+                              .extract()
+                              .path("job_id");
+        String state = null;
+        for (int i = 0; i < 100 && !"COMPLETED".equals(state) && !"FAILED".equals(state); i++) {
+            Thread.sleep(100);
+            state = given().pathParam("jobId", jobId)
+                           .when()
+                           .get(BUCKET_DELETION_JOB_RESOURCE)
+                           .then()
+                           .statusCode(HttpStatus.SC_OK)
+                           .extract()
+                           .path("state");
+        }
+        assertThat(state).isEqualTo("COMPLETED");
+
+        RestApiAccessService restApiAccessService = mock(RestApiAccessService.class);
+        when(restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined("sessionId",
+                                                                           (String) null)).thenReturn(RestApiAccessResponse.builder()
+                                                                                                                           .authorized(true)
+                                                                                                                           .authenticatedUser(AuthenticatedUser.builder()
+                                                                                                                                                               .name("user")
+                                                                                                                                                               .groups(Collections.singletonList("changes"))
+                                                                                                                                                               .build())
+                                                                                                                           .build());
+        Object actualRestApiAccessService = ReflectionTestUtils.getField(catalogObjectChangeController,
+                                                                         "restApiAccessService");
+        ReflectionTestUtils.setField(catalogObjectChangeController, "restApiAccessService", restApiAccessService);
+        ReflectionTestUtils.setField(catalogObjectChangeController, "sessionIdRequired", true);
+        try {
+            given().header("sessionID", "sessionId")
+                   .queryParam("since", latest)
+                   .when()
+                   .get(CHANGES_RESOURCE)
+                   .then()
+                   .statusCode(HttpStatus.SC_OK)
+                   .body("changes", hasSize(1))
+                   .body("changes[0].change", is("DELETED"))
+                   .body("changes[0].name", is("owned"))
+                   .body("changes[0].bucket_id", is(ownedBucketId));
+        } finally {
+            ReflectionTestUtils.setField(catalogObjectChangeController, "sessionIdRequired", false);
+            ReflectionTestUtils.setField(catalogObjectChangeController,
+                                         "restApiAccessService",
+                                         actualRestApiAccessService);
+        }
+    }
+
+    @Test
+    public void testNoChangeSinceLatest() {
+        long latest = latest();
+
+        given().pathParam("bucketId", bucketId)
+               .queryParam("since", latest)
+               .when()
+               .get(BUCKET_CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("changes", hasSize(0))
+               .body("latest", is(latest));
+    }
+
+    @Test
+    public void testChangesByPages() throws InterruptedException {
+        createObject(bucketId, "second");
+        Thread.sleep(SLEEP_TIME);
+        createObject(bucketId, "third");
+
+        long latest = ((Number) given().pathParam("bucketId", bucketId)
+                                       .queryParam("limit", 2)
+                                       .when()
+                                       .get(BUCKET_CHANGES_RESOURCE)
+                                       .then()
+                                       .statusCode(HttpStatus.SC_OK)
+                                       .body("changes", hasSize(2))
+                                       .body("changes[0].name", is("first"))
+                                       .body("changes[1].name", is("second"))
+                                       .body("has_more", is(true))
+                                       .extract()
+                                       .path("latest")).longValue();
+
+        given().pathParam("bucketId", bucketId)
+               .queryParam("since", latest)
+               .queryParam("limit", 2)
+               .when()
+               .get(BUCKET_CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("changes", hasSize(1))
+               .body("changes[0].name", is("third"))
+               .body("has_more", is(false));
+    }
+
+    @Test
+    public void testChangesWithInvalidLimit() {
+        given().queryParam("limit", 0).when().get(CHANGES_RESOURCE).then().statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void testChangesSinceBeforeTheRetentionOfDeletions() {
+        given().queryParam("since", 1)
+               .when()
+               .get(CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_GONE);
+    }
+
+    @Test
+    public void testChangesInUnknownBucket() {
+        given().pathParam("bucketId", 42424242)
+               .when()
+               .get(BUCKET_CHANGES_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+
+    private long latest() {
+        return ((Number) given().when()
+                                .get(CHANGES_RESOURCE)
+                                .then()
+                                .statusCode(HttpStatus.SC_OK)
+                                .extract()
+                                .path("latest")).longValue();
+    }
+
+    private Integer createBucket(String name) {
+        return createBucket(name, BucketService.DEFAULT_BUCKET_OWNER);
+    }
+
+    private Integer createBucket(String name, String owner) {
+        HashMap<String, Object> result = given().parameters("name", name, "owner", owner)
+                                                .when()
+                                                .post(BUCKETS_RESOURCE)
+                                                .then()
+                                                .statusCode(HttpStatus.SC_CREATED)
+                                                .extract()
+                                                .path("");
+        return (Integer) result.get("id");
+    }
+
+    private void createObject(Integer bucketId, String name) {
+        given().pathParam("bucketId", bucketId)
+               .queryParam("kind", "workflow")
+               .queryParam("name", name)
+               .queryParam("commitMessage", "first commit")
+               .queryParam("objectContentType", "application/xml")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECTS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_CREATED);
+    }
+
+}
@@ -27,11 +27,17 @@ package org.ow2.proactive.catalog.rest.controller;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 
@@ -50,6 +56,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import com.google.common.io.ByteStreams;
+import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.response.Response;
 import com.jayway.restassured.response.ValidatableResponse;
 
@@ -71,6 +78,8 @@ public class CatalogObjectControllerIntegrationTest extends AbstractRestAssuredT
 
     private static final String BUCKETS_RESOURCE = "/buckets";
 
+    private static final String INGEST_JOB_RESOURCE = "/buckets/ingest/jobs/{jobId}";
+
     private static final String ZIP_CONTENT_TYPE = "application/zip";
 
     private BucketMetadata bucket;
@@ -313,6 +322,148 @@ public class CatalogObjectControllerIntegrationTest extends AbstractRestAssuredT
         response.then().assertThat().statusCode(HttpStatus.SC_OK).contentType(MediaType.APPLICATION_XML.toString());
     }
 
+    @Test
+    public void testLookupCatalogObjectsOfSeveralBuckets() {
+        Integer otherBucketId = IntegrationTestUtil.createBucket("otherBucket", "BucketControllerIntegrationTestUser");
+        IntegrationTestUtil.postObjectToBucket(otherBucketId,
+                                               "workflow",
+                                               "workflowname",
+                                               "commit message",
+                                               MediaType.APPLICATION_XML.toString(),
+                                               IntegrationTestUtil.getWorkflowFile("workflow.xml"));
+        IntegrationTestUtil.postObjectToBucket(otherBucketId,
+                                               "workflow",
+                                               "otherworkflow",
+                                               "commit message",
+                                               MediaType.APPLICATION_XML.toString(),
+                                               IntegrationTestUtil.getWorkflowFile("workflow.xml"));
+
+        // the names are only matched in their own bucket
+        String body = "[{\"bucket_id\": " + bucket.getMetaDataId() + ", \"name\": \"workflowname\"}," +
+                      " {\"bucket_id\": " + bucket.getMetaDataId() + ", \"name\": \"missing\"}," +
+                      " {\"bucket_id\": " + (bucket.getMetaDataId() + 1000) + ", \"name\": \"workflowname\"}," +
+                      " {\"bucket_id\": " + otherBucketId + ", \"name\": \"workflowname\"}," +
+                      " {\"bucket_id\": " + bucket.getMetaDataId() + ", \"name\": \"otherworkflow\"}]";
+        given().contentType(ContentType.JSON)
+               .body(body)
+               .when()
+               .post("/buckets/resources/lookup")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(5))
+               .body("[0].status", is("FOUND"))
+               .body("[0].object.name", is("workflowname"))
+               .body("[0].object.kind", is("workflow"))
+               .body("[0].object.object_key_values", not(empty()))
+               .body("[0].object.links[0].href", containsString("/resources/workflowname/raw"))
+               .body("[1].status", is("NOT_FOUND"))
+               .body("[1].name", is("missing"))
+               .body("[2].status", is("NOT_FOUND"))
+               .body("[3].status", is("FOUND"))
+               .body("[3].object.bucket_id", is(otherBucketId))
+               .body("[4].status", is("NOT_FOUND"));
+
+        given().contentType(ContentType.JSON)
+               .body("[{\"name\": \"workflowname\"}]")
+               .when()
+               .post("/buckets/resources/lookup")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void testIssueDownloadTokenAndGetRawWorkflowWithIt() throws IOException {
+        String token = given().pathParam("bucketId", bucket.getMetaDataId())
+                              .queryParam("name", "workflowname")
+                              .queryParam("validitySeconds", 60)
+                              .when()
+                              .post("/buckets/{bucketId}/download-tokens")
+                              .then()
+                              .assertThat()
+                              .statusCode(HttpStatus.SC_CREATED)
+                              .body("bucket_id", is(bucket.getMetaDataId().intValue()))
+                              .body("name", is("workflowname"))
+                              .extract()
+                              .path("token");
+
+        Response response = given().pathParam("bucketId", bucket.getMetaDataId())
+                                   .pathParam("name", "workflowname")
+                                   .queryParam("token", token)
+                                   .when()
+                                   .get(CATALOG_OBJECT_RESOURCE + "/raw");
+        response.then().assertThat().statusCode(HttpStatus.SC_OK);
+        Response withoutToken = given().pathParam("bucketId", bucket.getMetaDataId())
+                                       .pathParam("name", "workflowname")
+                                       .when()
+                                       .get(CATALOG_OBJECT_RESOURCE + "/raw");
+        assertThat(ByteStreams.toByteArray(response.asInputStream())).isEqualTo(ByteStreams.toByteArray(withoutToken.asInputStream()));
+
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .queryParam("commitTime", 1400343L)
+               .when()
+               .post("/buckets/{bucketId}/download-tokens")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void testCreateObjectAndRevisionFromStreamedUploads() throws IOException {
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .queryParam("kind", "streamed-object")
+               .queryParam("name", "streamed")
+               .queryParam("commitMessage", "streamed upload")
+               .queryParam("objectContentType", MediaType.APPLICATION_XML.toString())
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECTS_RESOURCE + "/stream")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_CREATED)
+               .body("object[0].name", is("streamed"))
+               .body("object[0].commit_message", is("streamed upload"));
+
+        Response raw = given().pathParam("bucketId", bucket.getMetaDataId())
+                              .pathParam("name", "streamed")
+                              .when()
+                              .get(CATALOG_OBJECT_RESOURCE + "/raw");
+        assertThat(ByteStreams.toByteArray(raw.asInputStream())).isEqualTo(IntegrationTestUtil.getWorkflowAsByteArray("workflow.xml"));
+
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .pathParam("name", "streamed")
+               .queryParam("commitMessage", "streamed revision")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow-updated.xml"))
+               .when()
+               .post(CATALOG_OBJECT_REVISIONS_RESOURCE + "/stream")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_CREATED)
+               .body("commit_message", is("streamed revision"));
+
+        raw = given().pathParam("bucketId", bucket.getMetaDataId())
+                     .pathParam("name", "streamed")
+                     .when()
+                     .get(CATALOG_OBJECT_RESOURCE + "/raw");
+        assertThat(ByteStreams.toByteArray(raw.asInputStream())).isEqualTo(IntegrationTestUtil.getWorkflowAsByteArray("workflow-updated.xml"));
+    }
+
+    @Test
+    public void testCreateObjectFromStreamedUploadWithoutFile() {
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .queryParam("kind", "streamed-object")
+               .queryParam("name", "streamed")
+               .queryParam("commitMessage", "streamed upload")
+               .queryParam("objectContentType", MediaType.APPLICATION_XML.toString())
+               .multiPart("other", "content")
+               .when()
+               .post(CATALOG_OBJECTS_RESOURCE + "/stream")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
     @Test
     public void testGetWorkflowShouldReturnNotFoundIfNonExistingBucketId() {
         given().pathParam("bucketId", 42)
@@ -380,6 +531,50 @@ public class CatalogObjectControllerIntegrationTest extends AbstractRestAssuredT
         assertThat(response).isEmpty();
     }
 
+    @Test
+    public void testStreamWorkflowsShouldReturnTheListingOrderedByName() {
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .queryParam("kind", "workflow/pca")
+               .queryParam("name", "another workflow")
+               .queryParam("commitMessage", "commit message")
+               .queryParam("objectContentType", MediaType.APPLICATION_XML.toString())
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECTS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_CREATED);
+
+        List<HashMap<String, Object>> listing = given().pathParam("bucketId", bucket.getMetaDataId())
+                                                       .when()
+                                                       .get(CATALOG_OBJECTS_RESOURCE)
+                                                       .then()
+                                                       .statusCode(HttpStatus.SC_OK)
+                                                       .extract()
+                                                       .path("");
+        listing.sort(Comparator.comparing(metadata -> (String) metadata.get("name")));
+
+        List<HashMap<String, Object>> streamedListing = given().pathParam("bucketId", bucket.getMetaDataId())
+                                                               .queryParam("stream", true)
+                                                               .when()
+                                                               .get(CATALOG_OBJECTS_RESOURCE)
+                                                               .then()
+                                                               .statusCode(HttpStatus.SC_OK)
+                                                               .contentType(ContentType.JSON)
+                                                               .extract()
+                                                               .path("");
+        assertThat(streamedListing).hasSize(2);
+        assertThat(streamedListing).isEqualTo(listing);
+
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .queryParam("stream", true)
+               .queryParam("kind", "workflow/pca")
+               .when()
+               .get(CATALOG_OBJECTS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("name", contains("another workflow"));
+    }
+
     @Test
     public void testDeleteExistingObject() {
         given().pathParam("bucketId", bucket.getMetaDataId())
@@ -530,6 +725,83 @@ public class CatalogObjectControllerIntegrationTest extends AbstractRestAssuredT
                .statusCode(HttpStatus.SC_UNPROCESSABLE_ENTITY);
     }
 
+    @Test
+    public void testCreateWorkflowsFromArchiveAsynchronously() throws InterruptedException {
+        String jobId = given().pathParam("bucketId", bucket.getMetaDataId())
+                              .queryParam("kind", "workflow")
+                              .queryParam("commitMessage", "Import from archive")
+                              .queryParam("objectContentType", MediaType.APPLICATION_XML.toString())
+                              .queryParam("async", true)
+                              .multiPart(IntegrationTestUtil.getArchiveFile("archive.zip"))
+                              .when()
+                              .post(CATALOG_OBJECTS_RESOURCE)
+                              .then()
+                              .assertThat()
+                              .statusCode(HttpStatus.SC_ACCEPTED)
+                              .body("bucket_id", is(bucket.getMetaDataId().intValue()))
+                              .extract()
+                              .path("job_id");
+
+        String state = null;
+        for (int i = 0; i < 100 && !"COMPLETED".equals(state) && !"FAILED".equals(state); i++) {
+            Thread.sleep(100);
+            state = given().pathParam("jobId", jobId)
+                           .when()
+                           .get(INGEST_JOB_RESOURCE)
+                           .then()
+                           .statusCode(HttpStatus.SC_OK)
+                           .extract()
+                           .path("state");
+        }
+
+        String ingestedName = given().pathParam("jobId", jobId)
+                                     .when()
+                                     .get(INGEST_JOB_RESOURCE)
+                                     .then()
+                                     .assertThat()
+                                     .body("state", is("COMPLETED"))
+                                     .body("processed_entries", is(2))
+                                     .body("failed_entries", is(0))
+                                     .body("entries.state", everyItem(is("CREATED")))
+                                     .extract()
+                                     .path("entries[0].name");
+
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .pathParam("name", ingestedName)
+               .when()
+               .get(CATALOG_OBJECT_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_OK)
+               .body("commit_message", is("Import from archive"));
+
+        // finished ingestions can no longer be cancelled
+        given().pathParam("jobId", jobId)
+               .when()
+               .delete(INGEST_JOB_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_OK)
+               .body("state", is("COMPLETED"));
+    }
+
+    @Test
+    public void testGetIngestJobShouldBeNotFoundIfNonExistingJob() {
+        given().pathParam("jobId", "unknown")
+               .when()
+               .get(INGEST_JOB_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_NOT_FOUND);
+
+        given().pathParam("jobId", "unknown")
+               .when()
+               .delete(INGEST_JOB_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+
     @Test
     public void testRestoreVersion() {
         String firstCommitMessage = "First commit message";
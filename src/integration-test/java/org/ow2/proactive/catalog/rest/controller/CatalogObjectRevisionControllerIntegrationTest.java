@@ -25,9 +25,12 @@
  */
 package org.ow2.proactive.catalog.rest.controller;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -35,6 +38,11 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.apache.http.HttpStatus;
@@ -51,6 +59,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import com.google.common.io.ByteStreams;
+import com.jayway.restassured.config.DecoderConfig;
+import com.jayway.restassured.config.RestAssuredConfig;
 import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.response.Response;
 import com.jayway.restassured.response.ValidatableResponse;
@@ -73,6 +83,13 @@ public class CatalogObjectRevisionControllerIntegrationTest extends AbstractCata
 
     private static final Long SLEEP_TIME = 503L; //in miliseconds
 
+    /**
+     * Without content decoders, the client does not send Accept-Encoding
+     */
+    private static final RestAssuredConfig IDENTITY_ENCODING = RestAssuredConfig.config()
+                                                                                .decoderConfig(DecoderConfig.decoderConfig()
+                                                                                                            .noContentDecoders());
+
     protected BucketMetadata bucket;
 
     protected HashMap<String, Object> firstCatalogObjectRevision;
@@ -167,6 +184,120 @@ public class CatalogObjectRevisionControllerIntegrationTest extends AbstractCata
                .body("name", is("WF_1_Rev_1"));
     }
 
+    @Test
+    public void testCreateWorkflowRevisionShouldReturnCommitTimeAsETag() {
+        Response response = given().pathParam("bucketId", bucket.getMetaDataId())
+                                   .pathParam("name", "WF_1_Rev_1")
+                                   .queryParam("commitMessage", "third commit")
+                                   .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+                                   .when()
+                                   .post(CATALOG_OBJECT_REVISIONS_RESOURCE);
+
+        response.then().assertThat().statusCode(HttpStatus.SC_CREATED);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + response.path("commit_time_raw") + "\"");
+    }
+
+    @Test
+    public void testCreateWorkflowRevisionShouldSucceedIfMatchingLastRevision() {
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .pathParam("name", "WF_1_Rev_1")
+               .header("If-Match", "\"" + secondCatalogObjectRevision.get("commit_time_raw") + "\"")
+               .queryParam("commitMessage", "third commit")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_CREATED)
+               .body("commit_message", is("third commit"));
+    }
+
+    @Test
+    public void testCreateWorkflowRevisionShouldReturnPreconditionFailedIfStaleRevision() {
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .pathParam("name", "WF_1_Rev_1")
+               .header("If-Match", "\"" + firstCatalogObjectRevision.get("commit_time_raw") + "\"")
+               .queryParam("commitMessage", "third commit")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void testCreateWorkflowRevisionShouldReturnBadRequestIfMalformedIfMatch() {
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .pathParam("name", "WF_1_Rev_1")
+               .header("If-Match", "\"not a commit time\"")
+               .queryParam("commitMessage", "third commit")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void testConcurrentWorkflowRevisionsShouldNotFail() throws Exception {
+        int revisionCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(revisionCount);
+        try {
+            List<Future<Integer>> statusCodes = IntStream.range(0, revisionCount)
+                                                         .mapToObj(i -> executor.submit(() -> given().pathParam("bucketId",
+                                                                                                                bucket.getMetaDataId())
+                                                                                                     .pathParam("name",
+                                                                                                                "WF_1_Rev_1")
+                                                                                                     .queryParam("commitMessage",
+                                                                                                                 "concurrent commit " +
+                                                                                                                                  i)
+                                                                                                     .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+                                                                                                     .when()
+                                                                                                     .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+                                                                                                     .statusCode()))
+                                                         .collect(Collectors.toList());
+            int created = 0;
+            for (Future<Integer> statusCode : statusCodes) {
+                // a revision that loses against two concurrent revisions in a row is reported as a conflict
+                assertThat(statusCode.get()).isIn(Arrays.asList(HttpStatus.SC_CREATED, HttpStatus.SC_CONFLICT));
+                created += statusCode.get() == HttpStatus.SC_CREATED ? 1 : 0;
+            }
+            assertThat(created).isAtLeast(1);
+
+            given().pathParam("bucketId", bucket.getMetaDataId())
+                   .pathParam("name", "WF_1_Rev_1")
+                   .when()
+                   .get(CATALOG_OBJECT_REVISIONS_RESOURCE)
+                   .then()
+                   .assertThat()
+                   .statusCode(HttpStatus.SC_OK)
+                   .body("", hasSize(3 + created));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSuccessiveWorkflowRevisionsShouldHaveIncreasingCommitTimes() {
+        long previousCommitTime = Long.parseLong((String) secondCatalogObjectRevision.get("commit_time_raw"));
+        for (int i = 0; i < 3; i++) {
+            String commitTime = given().pathParam("bucketId", bucket.getMetaDataId())
+                                       .pathParam("name", "WF_1_Rev_1")
+                                       .queryParam("commitMessage", "commit " + i)
+                                       .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+                                       .when()
+                                       .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+                                       .then()
+                                       .statusCode(HttpStatus.SC_CREATED)
+                                       .extract()
+                                       .path("commit_time_raw");
+            assertThat(Long.parseLong(commitTime)).isGreaterThan(previousCommitTime);
+            previousCommitTime = Long.parseLong(commitTime);
+        }
+    }
+
     @Test
     public void testCreateWorkflowRevisionShouldReturnUnprocessableEntityIfInvalidSyntax() {
         given().pathParam("bucketId", bucket.getMetaDataId())
@@ -289,6 +420,75 @@ public class CatalogObjectRevisionControllerIntegrationTest extends AbstractCata
         response.then().assertThat().statusCode(HttpStatus.SC_OK);
     }
 
+    @Test
+    public void testGetWorkflowRevisionPayloadByteRanges() throws IOException {
+        long commitTime = secondCatalogObjectRevisionCommitTime.atZone(ZoneId.systemDefault())
+                                                               .toInstant()
+                                                               .toEpochMilli();
+        Response fullResponse = given().config(IDENTITY_ENCODING)
+                                       .pathParam("bucketId", secondCatalogObjectRevision.get("bucket_id"))
+                                       .pathParam("name", "WF_1_Rev_1")
+                                       .pathParam("commitTime", commitTime)
+                                       .when()
+                                       .get(CATALOG_OBJECT_REVISION_RESOURCE + "/raw");
+        fullResponse.then().assertThat().statusCode(HttpStatus.SC_OK).header("Accept-Ranges", "bytes");
+        byte[] rawObject = ByteStreams.toByteArray(fullResponse.asInputStream());
+        String eTag = fullResponse.getHeader("ETag");
+
+        Response rangeResponse = given().pathParam("bucketId", secondCatalogObjectRevision.get("bucket_id"))
+                                        .pathParam("name", "WF_1_Rev_1")
+                                        .pathParam("commitTime", commitTime)
+                                        .header("Range", "bytes=10-")
+                                        .header("If-Range", eTag)
+                                        .when()
+                                        .get(CATALOG_OBJECT_REVISION_RESOURCE + "/raw");
+        rangeResponse.then()
+                     .assertThat()
+                     .statusCode(HttpStatus.SC_PARTIAL_CONTENT)
+                     .header("Content-Range", "bytes 10-" + (rawObject.length - 1) + "/" + rawObject.length);
+        assertThat(ByteStreams.toByteArray(rangeResponse.asInputStream())).isEqualTo(Arrays.copyOfRange(rawObject,
+                                                                                                        10,
+                                                                                                        rawObject.length));
+
+        given().pathParam("bucketId", secondCatalogObjectRevision.get("bucket_id"))
+               .pathParam("name", "WF_1_Rev_1")
+               .pathParam("commitTime", commitTime)
+               .header("Range", "bytes=" + rawObject.length + "-")
+               .when()
+               .get(CATALOG_OBJECT_REVISION_RESOURCE + "/raw")
+               .then()
+               .assertThat()
+               .statusCode(HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+    }
+
+    @Test
+    public void testGetWorkflowRevisionPayloadGzipEncoded() throws IOException {
+        long commitTime = secondCatalogObjectRevisionCommitTime.atZone(ZoneId.systemDefault())
+                                                               .toInstant()
+                                                               .toEpochMilli();
+        Response identityResponse = given().config(IDENTITY_ENCODING)
+                                           .pathParam("bucketId", secondCatalogObjectRevision.get("bucket_id"))
+                                           .pathParam("name", "WF_1_Rev_1")
+                                           .pathParam("commitTime", commitTime)
+                                           .when()
+                                           .get(CATALOG_OBJECT_REVISION_RESOURCE + "/raw");
+        identityResponse.then().assertThat().statusCode(HttpStatus.SC_OK).header("Content-Encoding", nullValue());
+        byte[] rawObject = ByteStreams.toByteArray(identityResponse.asInputStream());
+
+        Response gzipResponse = given().pathParam("bucketId", secondCatalogObjectRevision.get("bucket_id"))
+                                       .pathParam("name", "WF_1_Rev_1")
+                                       .pathParam("commitTime", commitTime)
+                                       .header("Accept-Encoding", "gzip")
+                                       .when()
+                                       .get(CATALOG_OBJECT_REVISION_RESOURCE + "/raw");
+        gzipResponse.then()
+                    .assertThat()
+                    .statusCode(HttpStatus.SC_OK)
+                    .header("Content-Encoding", "gzip")
+                    .header("Vary", containsString("Accept-Encoding"));
+        assertThat(ByteStreams.toByteArray(gzipResponse.asInputStream())).isEqualTo(rawObject);
+    }
+
     @Test
     public void testGetWorkflowShouldReturnNotFoundIfNonExistingBucketId() {
         given().pathParam("bucketId", 42)
@@ -388,4 +588,52 @@ public class CatalogObjectRevisionControllerIntegrationTest extends AbstractCata
         response.then().assertThat().statusCode(HttpStatus.SC_OK).body("", hasSize(28));
     }
 
+    @Test
+    public void testStreamWorkflowRevisionsShouldReturnTheSameListing() {
+        IntStream.rangeClosed(1, 3).forEach(i -> {
+            try {
+                Thread.sleep(SLEEP_TIME);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+
+            given().pathParam("bucketId", bucket.getMetaDataId())
+                   .pathParam("name", "WF_1_Rev_1")
+                   .queryParam("commitMessage", "commit message " + i)
+                   .multiPart(IntegrationTestUtil.getWorkflowFile("workflow-updated.xml"))
+                   .when()
+                   .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+                   .then()
+                   .statusCode(HttpStatus.SC_CREATED);
+        });
+
+        List<?> listing = given().pathParam("bucketId", bucket.getMetaDataId())
+                                 .pathParam("name", "WF_1_Rev_1")
+                                 .when()
+                                 .get(CATALOG_OBJECT_REVISIONS_RESOURCE)
+                                 .then()
+                                 .statusCode(HttpStatus.SC_OK)
+                                 .extract()
+                                 .path("");
+
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .pathParam("name", "WF_1_Rev_1")
+               .queryParam("stream", true)
+               .when()
+               .get(CATALOG_OBJECT_REVISIONS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(6))
+               .body("[0].commit_message", is("commit message 3"))
+               .body("", is(listing));
+
+        given().pathParam("bucketId", bucket.getMetaDataId())
+               .pathParam("name", "missing")
+               .queryParam("stream", true)
+               .when()
+               .get(CATALOG_OBJECT_REVISIONS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+
 }
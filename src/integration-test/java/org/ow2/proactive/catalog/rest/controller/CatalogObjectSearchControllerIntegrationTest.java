@@ -0,0 +1,179 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashMap;
+
+import org.apache.http.HttpStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ow2.proactive.catalog.Application;
+import org.ow2.proactive.catalog.util.IntegrationTestUtil;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.boot.test.WebIntegrationTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(classes = { Application.class })
+@WebIntegrationTest(randomPort = true)
+public class CatalogObjectSearchControllerIntegrationTest extends AbstractRestAssuredTest {
+
+    private static final String BUCKETS_RESOURCE = "/buckets";
+
+    private static final String CATALOG_OBJECTS_RESOURCE = "/buckets/{bucketId}/resources";
+
+    private static final String CATALOG_OBJECT_RESOURCE = "/buckets/{bucketId}/resources/{name}";
+
+    private static final String CATALOG_OBJECT_REVISIONS_RESOURCE = "/buckets/{bucketId}/resources/{name}/revisions";
+
+    private static final String SEARCH_RESOURCE = "/buckets/search";
+
+    private Integer bucketId;
+
+    @Before
+    public void setup() {
+        HashMap<String, Object> result = given().parameters("name", "searchBucket")
+                                                .when()
+                                                .post(BUCKETS_RESOURCE)
+                                                .then()
+                                                .statusCode(HttpStatus.SC_CREATED)
+                                                .extract()
+                                                .path("");
+        bucketId = (Integer) result.get("id");
+
+        given().pathParam("bucketId", bucketId)
+               .queryParam("kind", "workflow")
+               .queryParam("name", "workflowToSearch")
+               .queryParam("commitMessage", "first commit")
+               .queryParam("objectContentType", "application/xml")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow.xml"))
+               .when()
+               .post(CATALOG_OBJECTS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_CREATED);
+    }
+
+    @After
+    public void cleanup() {
+        IntegrationTestUtil.cleanup();
+    }
+
+    @Test
+    public void testSearchMatchesAllWords() {
+        given().queryParam("contains", "var1Value Groovy")
+               .when()
+               .get(SEARCH_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(1))
+               .body("[0].name", is("workflowToSearch"))
+               .body("[0].bucket_id", is(bucketId));
+
+        given().queryParam("contains", "var1Value unknownWord")
+               .when()
+               .get(SEARCH_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(0));
+    }
+
+    @Test
+    public void testSearchFiltersByBucketAndKind() {
+        given().queryParam("contains", "var1Value")
+               .queryParam("bucketId", bucketId)
+               .queryParam("kind", "workflow")
+               .when()
+               .get(SEARCH_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(1));
+
+        given().queryParam("contains", "var1Value")
+               .queryParam("kind", "rule")
+               .when()
+               .get(SEARCH_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(0));
+    }
+
+    @Test
+    public void testSearchOnlyMatchesLastRevision() {
+        given().pathParam("bucketId", bucketId)
+               .pathParam("name", "workflowToSearch")
+               .queryParam("commitMessage", "second commit")
+               .multiPart(IntegrationTestUtil.getWorkflowFile("workflow-updated.xml"))
+               .when()
+               .post(CATALOG_OBJECT_REVISIONS_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_CREATED);
+
+        given().queryParam("contains", "var1Value")
+               .when()
+               .get(SEARCH_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(0));
+
+        given().queryParam("contains", "var1ValueUpdated")
+               .when()
+               .get(SEARCH_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(1));
+    }
+
+    @Test
+    public void testDeletedObjectIsNotFound() {
+        given().pathParam("bucketId", bucketId)
+               .pathParam("name", "workflowToSearch")
+               .when()
+               .delete(CATALOG_OBJECT_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK);
+
+        given().queryParam("contains", "var1Value")
+               .when()
+               .get(SEARCH_RESOURCE)
+               .then()
+               .statusCode(HttpStatus.SC_OK)
+               .body("", hasSize(0));
+    }
+
+}
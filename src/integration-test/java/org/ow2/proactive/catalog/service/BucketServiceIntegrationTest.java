@@ -27,8 +27,13 @@ package org.ow2.proactive.catalog.service;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +41,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.ow2.proactive.catalog.IntegrationTestConfig;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.BucketStatistics;
 import org.ow2.proactive.catalog.dto.Metadata;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
@@ -138,4 +144,82 @@ public class BucketServiceIntegrationTest {
         assertThat(bucketMetadatas.get(1).getMetaDataId()).isEqualTo(bucket.getMetaDataId());
     }
 
+    @Test
+    public void testBucketStatisticsFollowCatalogObjects() {
+        byte[] content = "content".getBytes();
+        catalogObjectService.createCatalogObject(bucket.getMetaDataId(),
+                                                 "first",
+                                                 "rule",
+                                                 "commit message",
+                                                 "application/json",
+                                                 keyValues,
+                                                 content);
+        catalogObjectService.createCatalogObject(bucket.getMetaDataId(),
+                                                 "second",
+                                                 "rule",
+                                                 "commit message",
+                                                 "application/json",
+                                                 keyValues,
+                                                 content);
+        catalogObjectService.createCatalogObjectRevision(bucket.getMetaDataId(),
+                                                         "second",
+                                                         "second commit",
+                                                         keyValues,
+                                                         content);
+
+        BucketStatistics statistics = bucketService.getBucketStatistics(bucket.getMetaDataId());
+        assertThat(statistics.getObjectCount()).isEqualTo(2);
+        assertThat(statistics.getKinds()).containsExactly("rule", 2L);
+        assertThat(statistics.getStoredBytes()).isEqualTo(3L * content.length);
+        assertThat(statistics.getLastModified()).isGreaterThan(0L);
+        assertThat(bucketService.listBuckets("BucketServiceIntegrationTest", null)
+                                .get(0)
+                                .getObjectCount()).isEqualTo(2L);
+
+        catalogObjectService.delete(bucket.getMetaDataId(), "second");
+
+        statistics = bucketService.getBucketStatistics(bucket.getMetaDataId());
+        assertThat(statistics.getObjectCount()).isEqualTo(1);
+        assertThat(statistics.getStoredBytes()).isEqualTo(content.length);
+        assertThat(bucketService.listBuckets((String) null, "rule")).hasSize(1);
+        assertThat(bucketService.listBuckets((String) null, "workflow")).isEmpty();
+
+        catalogObjectService.delete(bucket.getMetaDataId(), "first");
+
+        assertThat(bucketService.getBucketStatistics(bucket.getMetaDataId()).getKinds()).isEmpty();
+        assertThat(bucketService.listBuckets((String) null, "workflow")).hasSize(1);
+    }
+
+    @Test
+    public void testBucketStatisticsOfConcurrentFirstCatalogObjectsOfAKind() throws Exception {
+        int objectCount = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(objectCount);
+        try {
+            List<Future<?>> creations = new ArrayList<>();
+            for (int i = 0; i < objectCount; i++) {
+                String name = "concurrent" + i;
+                creations.add(executor.submit(() -> {
+                    start.await();
+                    return catalogObjectService.createCatalogObject(bucket.getMetaDataId(),
+                                                                    name,
+                                                                    "rule",
+                                                                    "commit message",
+                                                                    "application/json",
+                                                                    keyValues,
+                                                                    "content".getBytes());
+                }));
+            }
+            start.countDown();
+            for (Future<?> creation : creations) {
+                creation.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bucketService.getBucketStatistics(bucket.getMetaDataId())
+                                .getKinds()).containsExactly("rule", (long) objectCount);
+    }
+
 }
@@ -41,7 +41,11 @@ import org.ow2.proactive.catalog.IntegrationTestConfig;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.dto.IngestCacheStatistics;
 import org.ow2.proactive.catalog.dto.Metadata;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.ingest.CatalogObjectIngestCache;
 import org.ow2.proactive.catalog.util.IntegrationTestUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
@@ -64,6 +68,12 @@ public class CatalogObjectServiceIntegrationTest {
     @Autowired
     private BucketService bucketService;
 
+    @Autowired
+    private CatalogObjectIngestCache catalogObjectIngestCache;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
     private BucketMetadata bucket;
 
     private List<Metadata> keyValues;
@@ -121,6 +131,39 @@ public class CatalogObjectServiceIntegrationTest {
         bucketService.cleanAll();
     }
 
+    @Test
+    public void testIdenticalUploadsAreIngestedFromTheCache() {
+        catalogObjectIngestCache.invalidateAll();
+        IngestCacheStatistics before = catalogObjectIngestCache.getStatistics();
+
+        for (String name : new String[] { "cached1", "cached2" }) {
+            catalogObjectService.createCatalogObject(bucket.getMetaDataId(),
+                                                     name,
+                                                     "workflow",
+                                                     "commit message",
+                                                     "application/xml",
+                                                     Collections.emptyList(),
+                                                     workflowAsByteArray);
+        }
+
+        IngestCacheStatistics after = catalogObjectIngestCache.getStatistics();
+        assertThat(after.getMetadataMisses() - before.getMetadataMisses()).isEqualTo(1);
+        assertThat(after.getMetadataHits() - before.getMetadataHits()).isEqualTo(1);
+        assertThat(after.getContentMisses() - before.getContentMisses()).isEqualTo(1);
+        assertThat(after.getContentHits() - before.getContentHits()).isEqualTo(1);
+
+        CatalogObjectRevisionEntity first = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(bucket.getMetaDataId(),
+                                                                                                                  "cached1");
+        CatalogObjectRevisionEntity second = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(bucket.getMetaDataId(),
+                                                                                                                   "cached2");
+        assertThat(first.getContentHash()).isNotNull();
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(catalogObjectService.getCatalogObjectMetadata(bucket.getMetaDataId(), "cached2")
+                                       .getMetadataList()).containsExactlyElementsIn(catalogObjectService.getCatalogObjectMetadata(bucket.getMetaDataId(),
+                                                                                                                                   "cached1")
+                                                                                                         .getMetadataList());
+    }
+
     @Test
     public void testListCatalogObjectsInBucket() {
         List<CatalogObjectMetadata> catalogObjecs = catalogObjectService.listCatalogObjects(bucket.getMetaDataId());
@@ -0,0 +1,165 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.ow2.proactive.catalog.IntegrationTestConfig;
+import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.Metadata;
+import org.ow2.proactive.catalog.dto.RevisionCompactionReport;
+import org.ow2.proactive.catalog.dto.RevisionRetentionPolicy;
+import org.ow2.proactive.catalog.service.exception.InvalidRetentionPolicyException;
+import org.ow2.proactive.catalog.util.IntegrationTestUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = IntegrationTestConfig.class)
+public class RevisionRetentionServiceIntegrationTest {
+
+    @Autowired
+    private RevisionRetentionService revisionRetentionService;
+
+    @Autowired
+    private CatalogObjectService catalogObjectService;
+
+    @Autowired
+    private BucketService bucketService;
+
+    private BucketMetadata bucket;
+
+    @Before
+    public void setup() throws IOException {
+        bucket = bucketService.createBucket("bucket", "RevisionRetentionServiceIntegrationTest");
+        List<Metadata> keyValues = Collections.singletonList(new Metadata("key", "value", "type"));
+        byte[] workflow = IntegrationTestUtil.getWorkflowAsByteArray("workflow.xml");
+
+        catalogObjectService.createCatalogObject(bucket.getMetaDataId(),
+                                                 "workflow",
+                                                 "workflow",
+                                                 "first commit",
+                                                 "application/xml",
+                                                 keyValues,
+                                                 workflow);
+        catalogObjectService.createCatalogObject(bucket.getMetaDataId(),
+                                                 "rule",
+                                                 "rule",
+                                                 "first commit",
+                                                 "application/json",
+                                                 keyValues,
+                                                 workflow);
+        for (int i = 2; i <= 5; i++) {
+            catalogObjectService.createCatalogObjectRevision(bucket.getMetaDataId(),
+                                                             "workflow",
+                                                             "commit " + i,
+                                                             keyValues,
+                                                             workflow);
+            catalogObjectService.createCatalogObjectRevision(bucket.getMetaDataId(),
+                                                             "rule",
+                                                             "commit " + i,
+                                                             keyValues,
+                                                             workflow);
+        }
+    }
+
+    @After
+    public void cleanup() {
+        revisionRetentionService.listPolicies()
+                                .forEach(policy -> revisionRetentionService.removePolicy(policy.getBucketId(),
+                                                                                         policy.getKind()));
+        bucketService.cleanAll();
+    }
+
+    @Test
+    public void testCompactionWithoutPolicyKeepsEveryRevision() {
+        RevisionCompactionReport report = revisionRetentionService.compact();
+
+        assertThat(report.getRevisionsDeleted()).isEqualTo(0);
+        assertThat(catalogObjectService.listCatalogObjectRevisions(bucket.getMetaDataId(), "workflow")).hasSize(5);
+    }
+
+    @Test
+    public void testCompactionAppliesMostSpecificPolicy() {
+        revisionRetentionService.setPolicy(bucket.getMetaDataId(), null, 3, null, false);
+        revisionRetentionService.setPolicy(bucket.getMetaDataId(), "workflow", 2, null, false);
+        long storedBytes = bucketService.getBucketStatistics(bucket.getMetaDataId()).getStoredBytes();
+
+        RevisionCompactionReport report = revisionRetentionService.compact();
+
+        assertThat(report.isComplete()).isTrue();
+        assertThat(report.getObjectsCompacted()).isEqualTo(2);
+        assertThat(report.getRevisionsDeleted()).isEqualTo(5);
+        assertThat(report.getMetadataDeleted()).isAtLeast(5L);
+        assertThat(report.getBytesReclaimed()).isGreaterThan(0L);
+        assertThat(bucketService.getBucketStatistics(bucket.getMetaDataId())
+                                .getStoredBytes()).isEqualTo(storedBytes - report.getBytesReclaimed());
+
+        List<CatalogObjectMetadata> workflowRevisions = catalogObjectService.listCatalogObjectRevisions(bucket.getMetaDataId(),
+                                                                                                          "workflow");
+        assertThat(workflowRevisions).hasSize(2);
+        assertThat(workflowRevisions.get(0).getCommitMessage()).isEqualTo("commit 5");
+        assertThat(catalogObjectService.listCatalogObjectRevisions(bucket.getMetaDataId(), "rule")).hasSize(3);
+        assertThat(catalogObjectService.getCatalogObjectMetadata(bucket.getMetaDataId(),
+                                                                 "workflow")
+                                       .getCommitMessage()).isEqualTo("commit 5");
+    }
+
+    @Test
+    public void testSetPolicyReplacesExistingPolicy() {
+        revisionRetentionService.setPolicy(null, "workflow", 2, null, false);
+        revisionRetentionService.setPolicy(null, "workflow", null, 7, true);
+
+        List<RevisionRetentionPolicy> policies = revisionRetentionService.listPolicies();
+        assertThat(policies).hasSize(1);
+        assertThat(policies.get(0).getKeepLast()).isNull();
+        assertThat(policies.get(0).getKeepWithinDays()).isEqualTo(7);
+        assertThat(policies.get(0).isKeepDaily()).isTrue();
+    }
+
+    @Test(expected = InvalidRetentionPolicyException.class)
+    public void testSetPolicyWithoutRule() {
+        revisionRetentionService.setPolicy(null, null, null, null, false);
+    }
+
+}
@@ -28,9 +28,14 @@ package org.ow2.proactive.catalog;
 import static springfox.documentation.schema.AlternateTypeRules.*;
 
 import java.io.File;
+import java.util.List;
 
 import javax.sql.DataSource;
 
+import org.ow2.proactive.catalog.util.BinaryFormatAcceptHeaderStrategy;
+import org.ow2.proactive.catalog.util.JacksonBinaryHttpMessageConverter;
+import org.ow2.proactive.catalog.util.RawObjectHttpMessageConverter;
+import org.ow2.proactive.catalog.util.StreamingUploadMultipartResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
@@ -45,14 +50,17 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.RelProvider;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartResolver;
-import org.springframework.web.multipart.commons.CommonsMultipartResolver;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
@@ -90,6 +98,12 @@ public class Application extends WebMvcConfigurerAdapter {
     @Value("${spring.datasource.password:}")
     private String dataSourcePassword;
 
+    @Autowired
+    private Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder;
+
+    @Autowired
+    private RelProvider relProvider;
+
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
     }
@@ -101,8 +115,19 @@ public class Application extends WebMvcConfigurerAdapter {
                   .parameterName("format")
                   .ignoreAcceptHeader(true)
                   .useJaf(false)
-                  .defaultContentType(MediaType.APPLICATION_JSON)
-                  .mediaType("json", MediaType.APPLICATION_JSON);
+                  .defaultContentTypeStrategy(new BinaryFormatAcceptHeaderStrategy())
+                  .mediaType("json", MediaType.APPLICATION_JSON)
+                  .mediaType("smile", JacksonBinaryHttpMessageConverter.SMILE)
+                  .mediaType("cbor", JacksonBinaryHttpMessageConverter.CBOR);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new RawObjectHttpMessageConverter());
+        converters.add(JacksonBinaryHttpMessageConverter.halSmile(jackson2ObjectMapperBuilder, relProvider));
+        converters.add(JacksonBinaryHttpMessageConverter.halCbor(jackson2ObjectMapperBuilder, relProvider));
+        converters.add(JacksonBinaryHttpMessageConverter.smile(jackson2ObjectMapperBuilder));
+        converters.add(JacksonBinaryHttpMessageConverter.cbor(jackson2ObjectMapperBuilder));
     }
 
     @Bean
@@ -132,6 +157,9 @@ public class Application extends WebMvcConfigurerAdapter {
     private DataSource createMemDataSource() {
         EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder();
         EmbeddedDatabase db = builder.setType(EmbeddedDatabaseType.HSQL).build();
+        // same transaction control as the default data source, the statistics of buckets are created
+        // in their own transactions while the calling ones may have updated others
+        new JdbcTemplate(db).execute("SET DATABASE TRANSACTION CONTROL MVCC");
 
         return db;
     }
@@ -149,7 +177,7 @@ public class Application extends WebMvcConfigurerAdapter {
 
     @Bean
     public MultipartResolver multipartResolver() {
-        return new CommonsMultipartResolver();
+        return new StreamingUploadMultipartResolver();
     }
 
     @Autowired
@@ -27,17 +27,34 @@ package org.ow2.proactive.catalog.dto;
 
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import lombok.EqualsAndHashCode;
 
 
 /**
  * @author ActiveEon Team
  */
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true, exclude = { "objectCount", "statistics" })
 public class BucketMetadata extends NamedMetadata {
 
     private final String owner;
 
+    /**
+     * Number of catalog objects of the bucket, only set in bucket listings
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("object_count")
+    private Long objectCount;
+
+    /**
+     * Statistics of the bucket, only set in bucket listings that request them
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("statistics")
+    private BucketStatistics statistics;
+
     public BucketMetadata(BucketEntity bucket) {
         super(bucket.getId(), bucket.getName());
         this.owner = bucket.getOwner();
@@ -51,4 +68,20 @@ public class BucketMetadata extends NamedMetadata {
     public String getOwner() {
         return owner;
     }
+
+    public Long getObjectCount() {
+        return objectCount;
+    }
+
+    public void setObjectCount(Long objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    public BucketStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(BucketStatistics statistics) {
+        this.statistics = statistics;
+    }
 }
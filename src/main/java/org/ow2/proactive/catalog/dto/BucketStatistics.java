@@ -0,0 +1,66 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+public class BucketStatistics {
+
+    @JsonProperty("bucket_id")
+    private final Long bucketId;
+
+    @JsonProperty("object_count")
+    private final long objectCount;
+
+    /**
+     * Number of catalog objects of each kind
+     */
+    @JsonProperty("kinds")
+    private final Map<String, Long> kinds;
+
+    /**
+     * Total size of the raw objects of all the revisions
+     */
+    @JsonProperty("stored_bytes")
+    private final long storedBytes;
+
+    /**
+     * Time of the last creation or deletion of a catalog object or revision, 0 if there was none
+     */
+    @JsonProperty("last_modified")
+    private final long lastModified;
+
+}
@@ -0,0 +1,75 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * Notification of a mutation of the catalog. Sequence numbers are increasing and let
+ * subscribers resume the feed where they left it.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogEvent {
+
+    public enum Type {
+        BUCKET_CREATED,
+        BUCKET_DELETED,
+        CATALOG_OBJECT_CREATED,
+        CATALOG_OBJECT_REVISION_CREATED,
+        CATALOG_OBJECT_RESTORED,
+        CATALOG_OBJECT_DELETED
+    }
+
+    @JsonProperty("sequence")
+    private final long sequence;
+
+    @JsonProperty("type")
+    private final Type type;
+
+    @JsonProperty("bucket_id")
+    private final Long bucketId;
+
+    @JsonProperty("owner")
+    private final String bucketOwner;
+
+    @JsonProperty("name")
+    private final String name;
+
+    @JsonProperty("kind")
+    private final String kind;
+
+    @JsonProperty("time")
+    private final long time;
+
+}
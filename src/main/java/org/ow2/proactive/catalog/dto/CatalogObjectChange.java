@@ -0,0 +1,93 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * A change of a catalog object: its creation, a new revision or its deletion.
+ * Created and updated objects carry the metadata of their new head revision.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogObjectChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    @JsonProperty("change")
+    private final Type type;
+
+    @JsonProperty("bucket_id")
+    private final Long bucketId;
+
+    @JsonProperty
+    private final String name;
+
+    @JsonProperty("kind")
+    private final String kind;
+
+    @JsonProperty("commit_time_raw")
+    private final String commitTimeRaw;
+
+    @JsonProperty("object")
+    private final CatalogObjectMetadata object;
+
+    public CatalogObjectChange(Type type, CatalogObjectMetadata object) {
+        this.type = type;
+        this.bucketId = object.getBucketId();
+        this.name = object.getName();
+        this.kind = object.getKind();
+        this.commitTimeRaw = object.getCommitTimeRaw();
+        this.object = object;
+    }
+
+    public CatalogObjectChange(Long bucketId, String name, String kind, long deletionTime) {
+        this.type = Type.DELETED;
+        this.bucketId = bucketId;
+        this.name = name;
+        this.kind = kind;
+        this.commitTimeRaw = String.valueOf(deletionTime);
+        this.object = null;
+    }
+
+    @JsonIgnore
+    public long getCommitTime() {
+        return Long.parseLong(commitTimeRaw);
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * Changes that happened after a given time, ordered by commit time. The latest
+ * commit time is meant to be given as the starting point of the next request,
+ * more changes are immediately available when hasMore is true.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+public class CatalogObjectChangeList {
+
+    @JsonProperty("since")
+    private final long since;
+
+    @JsonProperty("latest")
+    private final long latest;
+
+    @JsonProperty("changes")
+    private final List<CatalogObjectChange> changes;
+
+    @JsonProperty("has_more")
+    private final boolean hasMore;
+
+}
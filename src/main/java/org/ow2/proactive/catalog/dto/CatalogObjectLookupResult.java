@@ -0,0 +1,66 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * Result of the lookup of one catalog object of a batch: the metadata of its last revision when it
+ * is found.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+public class CatalogObjectLookupResult {
+
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        /**
+         * The bucket exists but the session is not allowed to access it
+         */
+        ACCESS_DENIED
+    }
+
+    @JsonProperty("bucket_id")
+    private final Long bucketId;
+
+    @JsonProperty("name")
+    private final String name;
+
+    @JsonProperty("status")
+    private final Status status;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("object")
+    private final CatalogObjectMetadata object;
+
+}
@@ -27,8 +27,8 @@ package org.ow2.proactive.catalog.dto;
 
 import java.util.List;
 
-import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
 
 import lombok.EqualsAndHashCode;
 
@@ -40,25 +40,37 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 public class CatalogRawObject extends CatalogObjectMetadata {
 
-    private final byte[] rawObject;
+    private final RawObjectContent rawObject;
 
-    public CatalogRawObject(CatalogObjectEntity catalogObject) {
-        super(catalogObject);
-        this.rawObject = catalogObject.getRevisions().first().getRawObject();
-    }
+    private final RawObjectContent gzippedRawObject;
 
-    public CatalogRawObject(CatalogObjectRevisionEntity catalogObject) {
+    /**
+     * @param rawObject the raw object of the revision, loaded from the raw object storage
+     * @param gzippedRawObject the stored gzip encoding of the raw object, null if it is stored as is
+     */
+    public CatalogRawObject(CatalogObjectRevisionEntity catalogObject, RawObjectContent rawObject,
+            RawObjectContent gzippedRawObject) {
         super(catalogObject);
-        this.rawObject = catalogObject.getRawObject();
+        this.rawObject = rawObject;
+        this.gzippedRawObject = gzippedRawObject;
     }
 
     public CatalogRawObject(Long bucketId, String name, String kind, String contentType, long createdAt,
             String commitMessage, List<Metadata> metadataList, byte[] rawObject) {
         super(bucketId, name, kind, contentType, createdAt, commitMessage, metadataList);
-        this.rawObject = rawObject;
+        this.rawObject = RawObjectContent.of(rawObject);
+        this.gzippedRawObject = null;
     }
 
     public byte[] getRawObject() {
+        return rawObject.toByteArray();
+    }
+
+    public RawObjectContent getContent() {
         return rawObject;
     }
+
+    public RawObjectContent getGzippedContent() {
+        return gzippedRawObject;
+    }
 }
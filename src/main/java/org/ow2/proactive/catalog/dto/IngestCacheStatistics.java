@@ -0,0 +1,81 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * Usage of the cache of the ingestion results, counted since the catalog started.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+public class IngestCacheStatistics {
+
+    @JsonProperty("enabled")
+    private final boolean enabled;
+
+    /**
+     * Uploads whose metadata was found in the cache
+     */
+    @JsonProperty("metadata_hits")
+    private final long metadataHits;
+
+    @JsonProperty("metadata_misses")
+    private final long metadataMisses;
+
+    @JsonProperty("metadata_hit_rate")
+    private final double metadataHitRate;
+
+    /**
+     * Uploads whose stored content was found in the cache, neither parsed nor rewritten
+     */
+    @JsonProperty("content_hits")
+    private final long contentHits;
+
+    @JsonProperty("content_misses")
+    private final long contentMisses;
+
+    @JsonProperty("content_hit_rate")
+    private final double contentHitRate;
+
+    @JsonProperty("metadata_entries")
+    private final long metadataEntries;
+
+    @JsonProperty("content_entries")
+    private final long contentEntries;
+
+    @JsonProperty("content_bytes")
+    private final long contentBytes;
+
+    @JsonProperty("evictions")
+    private final long evictions;
+
+}
@@ -0,0 +1,99 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * Progress of the background ingestion of an uploaded catalog object or archive, with the result
+ * of each catalog object ingested so far.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IngestJobStatus {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Entry {
+
+        public enum State {
+            CREATED,
+            FAILED
+        }
+
+        @JsonProperty("name")
+        private final String name;
+
+        @JsonProperty("state")
+        private final State state;
+
+        @JsonProperty("commit_time_raw")
+        private final String commitTimeRaw;
+
+        @JsonProperty("error")
+        private final String error;
+
+    }
+
+    @JsonProperty("job_id")
+    private final String jobId;
+
+    @JsonProperty("bucket_id")
+    private final long bucketId;
+
+    @JsonProperty("state")
+    private final State state;
+
+    @JsonProperty("processed_entries")
+    private final long processedEntries;
+
+    @JsonProperty("failed_entries")
+    private final long failedEntries;
+
+    @JsonProperty("entries")
+    private final List<Entry> entries;
+
+    @JsonProperty("error")
+    private final String error;
+
+}
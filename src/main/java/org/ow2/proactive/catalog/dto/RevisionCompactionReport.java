@@ -0,0 +1,72 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+
+/**
+ * Outcome of a compaction of the catalog object revisions according to the retention policies.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Data
+public class RevisionCompactionReport {
+
+    @JsonProperty("started_at")
+    private final long startedAt;
+
+    @JsonProperty("finished_at")
+    private final long finishedAt;
+
+    @JsonProperty("objects_scanned")
+    private final long objectsScanned;
+
+    @JsonProperty("objects_compacted")
+    private final long objectsCompacted;
+
+    @JsonProperty("revisions_deleted")
+    private final long revisionsDeleted;
+
+    @JsonProperty("metadata_deleted")
+    private final long metadataDeleted;
+
+    /**
+     * Total raw size of the deleted revisions
+     */
+    @JsonProperty("bytes_reclaimed")
+    private final long bytesReclaimed;
+
+    /**
+     * false when the compaction was interrupted before every catalog object was scanned
+     */
+    @JsonProperty("complete")
+    private final boolean complete;
+
+}
@@ -59,4 +59,6 @@ public class CatalogObjectWhereArgs {
 
     private CatalogObjectNameWhereArgs nameArg;
 
+    private CatalogObjectContentWhereArgs contentArg;
+
 }
@@ -49,6 +49,7 @@ public enum Operations {
     NOT_BETWEEN,
     LIKE,
     NOT_LIKE,
+    CONTAINS,
     AND,
     OR;
 
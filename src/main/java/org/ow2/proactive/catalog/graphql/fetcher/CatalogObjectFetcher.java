@@ -25,11 +25,6 @@
  */
 package org.ow2.proactive.catalog.graphql.fetcher;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
-
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -46,16 +41,12 @@ import org.ow2.proactive.catalog.graphql.handler.FilterHandler;
 import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 import org.ow2.proactive.catalog.repository.specification.catalogobject.DefaultSpecification;
-import org.ow2.proactive.catalog.rest.controller.CatalogObjectController;
-import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
-import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
+import org.ow2.proactive.catalog.util.LinkTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -63,7 +54,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
-import lombok.extern.log4j.Log4j2;
 
 
 /**
@@ -72,7 +62,6 @@ import lombok.extern.log4j.Log4j2;
  */
 @Component
 @Transactional(readOnly = true)
-@Log4j2
 public class CatalogObjectFetcher implements DataFetcher<CatalogObjectConnection> {
 
     public static final String CATALOG_OBJECT_ID = "catalogObject.id";
@@ -176,17 +165,7 @@ public class CatalogObjectFetcher implements DataFetcher<CatalogObjectConnection
         }
 
         public String generatLink(Long bucketId, String name) {
-            try {
-                ControllerLinkBuilder controllerLinkBuilder = linkTo(methodOn(CatalogObjectController.class).getRaw("dummy",
-                                                                                                                    bucketId,
-                                                                                                                    URLEncoder.encode(name,
-                                                                                                                                      "UTF-8")));
-
-                return new Link(controllerLinkBuilder.toString()).withRel("content").getHref();
-            } catch (UnsupportedEncodingException | NotAuthenticatedException | AccessDeniedException e) {
-                log.error("{} cannot be encoded", name, e);
-            }
-            return null;
+            return LinkTemplate.rawObjectHref(bucketId, name);
         }
     }
 
@@ -77,6 +77,10 @@ public class CatalogObjectAndOrGroupFilterHandler
     @Qualifier("catalogObjectMetadataFilterHandler")
     private FilterHandler<CatalogObjectWhereArgs, CatalogObjectRevisionEntity> metadataHandler;
 
+    @Autowired
+    @Qualifier("catalogObjectContentFilterHandler")
+    private FilterHandler<CatalogObjectWhereArgs, CatalogObjectRevisionEntity> contentHandler;
+
     private List<FilterHandler<CatalogObjectWhereArgs, CatalogObjectRevisionEntity>> fieldFilterHandlers = new ArrayList<>();
 
     @PostConstruct
@@ -85,6 +89,7 @@ public class CatalogObjectAndOrGroupFilterHandler
         fieldFilterHandlers.add(kindHandler);
         fieldFilterHandlers.add(nameHandler);
         fieldFilterHandlers.add(metadataHandler);
+        fieldFilterHandlers.add(contentHandler);
     }
 
     @Override
@@ -26,15 +26,19 @@
 package org.ow2.proactive.catalog.graphql.handler.catalogobject;
 
 import java.util.Optional;
+import java.util.Set;
 
 import org.ow2.proactive.catalog.graphql.bean.argument.CatalogObjectNameWhereArgs;
 import org.ow2.proactive.catalog.graphql.bean.argument.CatalogObjectWhereArgs;
 import org.ow2.proactive.catalog.graphql.bean.common.Operations;
 import org.ow2.proactive.catalog.graphql.handler.FilterHandler;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTrigramEntity;
 import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
 import org.ow2.proactive.catalog.repository.specification.catalogobject.CatalogNameEqNeSpecification;
 import org.ow2.proactive.catalog.repository.specification.catalogobject.CatalogNameLikeNotLikeSpecification;
+import org.ow2.proactive.catalog.service.CatalogObjectTrigramIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
@@ -47,6 +51,9 @@ import org.springframework.stereotype.Component;
 public class CatalogObjectNameFilterHandler
         implements FilterHandler<CatalogObjectWhereArgs, CatalogObjectRevisionEntity> {
 
+    @Autowired
+    private CatalogObjectTrigramIndexService catalogObjectTrigramIndexService;
+
     @Override
     public Optional<Specification<CatalogObjectRevisionEntity>> handle(CatalogObjectWhereArgs whereArgs) {
 
@@ -67,10 +74,13 @@ public class CatalogObjectNameFilterHandler
                                                                .build());
             }
             if (nameWhereArgs.getLike() != null) {
+                Optional<Set<String>> candidates = catalogObjectTrigramIndexService.findCandidates(CatalogObjectTrigramEntity.Field.NAME,
+                                                                                                   nameWhereArgs.getLike());
                 return Optional.of(CatalogNameLikeNotLikeSpecification.builder()
                                                                       .entityMetaModelEnum(CatalogObjectEntityMetaModelEnum.NAME)
                                                                       .operations(Operations.LIKE)
                                                                       .value(nameWhereArgs.getLike())
+                                                                      .candidates(candidates.orElse(null))
                                                                       .build());
             }
         }
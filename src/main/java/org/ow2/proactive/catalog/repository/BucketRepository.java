@@ -25,17 +25,14 @@
  */
 package org.ow2.proactive.catalog.repository;
 
+import java.util.Collection;
 import java.util.List;
 
-import javax.persistence.LockModeType;
-import javax.persistence.QueryHint;
-
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
 
@@ -50,20 +47,30 @@ public interface BucketRepository extends JpaRepository<BucketEntity, Long>, Jpa
 
     List<BucketEntity> findByOwnerIn(List<String> owners);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({ @QueryHint(name = "javax.persistence.lock.timeout", value = "5000") })
-    @Query(value = "SELECT bk FROM BucketEntity bk WHERE SIZE(bk.catalogObjects) = 0")
-    List<BucketEntity> findEmptyBucketsForUpdate();
+    @Query(value = "SELECT bk FROM BucketEntity bk WHERE bk.catalogObjects IS EMPTY")
+    List<BucketEntity> findEmptyBuckets();
+
+    @Query(value = "SELECT bk.id FROM BucketEntity bk WHERE bk.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> bucketIds);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({ @QueryHint(name = "javax.persistence.lock.timeout", value = "5000") })
-    @Query(value = "SELECT bk FROM BucketEntity bk WHERE bk.id = ?1")
-    BucketEntity findBucketForUpdate(Long bucketId);
+    /**
+     * Deletes the given buckets that do not contain any catalog object. The emptiness check and the
+     * deletion are a single statement, so no lock has to be held between them.
+     *
+     * @return the number of deleted buckets
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM BucketEntity bk WHERE bk.id IN ?1 AND NOT EXISTS (SELECT co.id FROM CatalogObjectEntity co WHERE co.bucket.id = bk.id)")
+    int deleteIfEmpty(Collection<Long> bucketIds);
 
-    @Query(value = "SELECT bk FROM BucketEntity bk LEFT JOIN bk.catalogObjects cos WHERE cos.kind = ?1 OR bk.catalogObjects IS EMPTY GROUP BY bk")
+    /**
+     * Buckets that contain catalog objects of the given kind, or no catalog object at all.
+     * Both conditions are answered from the bucket statistics instead of joining the catalog objects.
+     */
+    @Query(value = "SELECT bk FROM BucketEntity bk WHERE EXISTS (SELECT s.id FROM BucketStatisticsEntity s WHERE s.bucketId = bk.id AND s.kind = ?1 AND s.objectCount > 0) OR NOT EXISTS (SELECT s.id FROM BucketStatisticsEntity s WHERE s.bucketId = bk.id AND s.objectCount > 0)")
     List<BucketEntity> findContainingKind(String kind);
 
-    @Query(value = "SELECT bk FROM BucketEntity bk LEFT JOIN bk.catalogObjects cos WHERE bk.owner in ?1 AND (cos.kind = ?2 OR bk.catalogObjects IS EMPTY) GROUP BY bk")
+    @Query(value = "SELECT bk FROM BucketEntity bk WHERE bk.owner in ?1 AND (EXISTS (SELECT s.id FROM BucketStatisticsEntity s WHERE s.bucketId = bk.id AND s.kind = ?2 AND s.objectCount > 0) OR NOT EXISTS (SELECT s.id FROM BucketStatisticsEntity s WHERE s.bucketId = bk.id AND s.objectCount > 0))")
     List<BucketEntity> findByOwnerIsInContainingKind(List<String> owners, String kind);
 
 }
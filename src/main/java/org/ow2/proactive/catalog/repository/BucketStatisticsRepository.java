@@ -0,0 +1,59 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.entity.BucketStatisticsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public interface BucketStatisticsRepository extends JpaRepository<BucketStatisticsEntity, Long> {
+
+    List<BucketStatisticsEntity> findByBucketIdIn(Collection<Long> bucketIds);
+
+    /**
+     * Adds to the statistics of a kind in a bucket. The counters do not go below zero, e.g. when
+     * catalog objects are deleted before their statistics have been built.
+     *
+     * @return the number of updated rows, 0 if there is no statistics yet for this kind in this bucket
+     */
+    @Modifying
+    @Query("UPDATE BucketStatisticsEntity s SET s.objectCount = CASE WHEN s.objectCount + ?3 < 0 THEN 0 ELSE (s.objectCount + ?3) END, s.storedBytes = CASE WHEN s.storedBytes + ?4 < 0 THEN 0 ELSE (s.storedBytes + ?4) END, s.lastModified = CASE WHEN s.lastModified < ?5 THEN ?5 ELSE s.lastModified END WHERE s.bucketId = ?1 AND s.kind = ?2")
+    int increment(Long bucketId, String kind, long objectCount, long storedBytes, long lastModified);
+
+    @Modifying
+    @Query("DELETE FROM BucketStatisticsEntity s WHERE s.bucketId IN ?1")
+    int deleteByBucketIds(Collection<Long> bucketIds);
+
+}
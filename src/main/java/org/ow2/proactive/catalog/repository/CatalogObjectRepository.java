@@ -25,10 +25,16 @@
  */
 package org.ow2.proactive.catalog.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 
 
@@ -41,4 +47,39 @@ public interface CatalogObjectRepository
 
     @EntityGraph("catalogObject.withRevisions")
     CatalogObjectEntity readCatalogObjectRevisionsById(CatalogObjectEntity.CatalogObjectEntityKey key);
+
+    @Query("SELECT co FROM CatalogObjectEntity co WHERE co.id.bucketId = ?1 AND co.id.name IN ?2")
+    List<CatalogObjectEntity> findByBucketIdAndNameIn(Long bucketId, Collection<String> names);
+
+    @Query("SELECT co.id.name FROM CatalogObjectEntity co WHERE co.id.bucketId = ?1 ORDER BY co.id.name")
+    List<String> findNamesInBucket(Long bucketId, Pageable pageable);
+
+    @Query("SELECT COUNT(co) FROM CatalogObjectEntity co WHERE co.id.bucketId = ?1")
+    long countInBucket(Long bucketId);
+
+    /**
+     * @return rows of bucket id, kind, number of catalog objects and last commit time
+     */
+    @Query("SELECT co.id.bucketId, co.kind, COUNT(co), MAX(co.lastCommitTime) FROM CatalogObjectEntity co GROUP BY co.id.bucketId, co.kind")
+    List<Object[]> countByBucketAndKind();
+
+    /**
+     * Catalog objects with more than one revision that come after the given one, ordered by bucket and name.
+     */
+    @Query("SELECT co FROM CatalogObjectEntity co WHERE (co.id.bucketId > ?1 OR (co.id.bucketId = ?1 AND co.id.name > ?2)) AND SIZE(co.revisions) > 1 ORDER BY co.id.bucketId, co.id.name")
+    List<CatalogObjectEntity> findWithSeveralRevisionsAfter(Long bucketId, String name, Pageable pageable);
+
+    /**
+     * Moves the head of a catalog object to a new commit time, provided that it still has the given version.
+     * The row stays locked until the transaction ends, no other revision can be committed meanwhile.
+     *
+     * @return 0 if another revision was committed since the catalog object was read
+     */
+    @Modifying
+    @Query("UPDATE CatalogObjectEntity co SET co.lastCommitTime = ?4, co.version = co.version + 1 WHERE co.id.bucketId = ?1 AND co.id.name = ?2 AND co.version = ?3")
+    int updateLastCommitTime(Long bucketId, String name, long version, long lastCommitTime);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CatalogObjectEntity co WHERE co.id.bucketId = ?1 AND co.id.name IN ?2")
+    int deleteByBucketIdAndNameIn(Long bucketId, Collection<String> names);
 }
@@ -25,13 +25,23 @@
  */
 package org.ow2.proactive.catalog.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 
 /**
@@ -41,6 +51,30 @@ import org.springframework.data.jpa.repository.Query;
 public interface CatalogObjectRevisionRepository extends JpaRepository<CatalogObjectRevisionEntity, UUID>,
         JpaSpecificationExecutor<CatalogObjectRevisionEntity> {
 
+    /**
+     * Number of rows the streaming queries fetch from the database at once
+     */
+    String STREAM_FETCH_SIZE = "100";
+
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.lastCommitTime = cor.commitTime")
+    List<CatalogObjectRevisionEntity> findDefaultCatalogObjects(Pageable pageable);
+
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.lastCommitTime > ?1 AND cor.catalogObject.lastCommitTime <= ?2 AND cor.catalogObject.lastCommitTime = cor.commitTime ORDER BY cor.commitTime")
+    List<CatalogObjectRevisionEntity> findDefaultCatalogObjectsCommittedBetween(long since, long until,
+            Pageable pageable);
+
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId IN ?3 AND cor.catalogObject.lastCommitTime > ?1 AND cor.catalogObject.lastCommitTime <= ?2 AND cor.catalogObject.lastCommitTime = cor.commitTime ORDER BY cor.commitTime")
+    List<CatalogObjectRevisionEntity> findDefaultCatalogObjectsCommittedBetweenInBuckets(long since, long until,
+            Collection<Long> bucketIds, Pageable pageable);
+
+    @Query("SELECT DISTINCT cor.catalogObject.id FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.lastCommitTime > ?1 AND cor.catalogObject.lastCommitTime <= ?2 AND cor.commitTime <= ?1")
+    List<CatalogObjectEntity.CatalogObjectEntityKey> findCatalogObjectsExistingAtAndCommittedBetween(long since,
+            long until);
+
+    @Query("SELECT DISTINCT cor.catalogObject.id FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId IN ?3 AND cor.catalogObject.lastCommitTime > ?1 AND cor.catalogObject.lastCommitTime <= ?2 AND cor.commitTime <= ?1")
+    List<CatalogObjectEntity.CatalogObjectEntityKey>
+            findCatalogObjectsExistingAtAndCommittedBetweenInBuckets(long since, long until, Collection<Long> bucketIds);
+
     @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.lastCommitTime = cor.commitTime")
     List<CatalogObjectRevisionEntity> findDefaultCatalogObjectsInBucket(Long bucketId);
 
@@ -50,6 +84,67 @@ public interface CatalogObjectRevisionRepository extends JpaRepository<CatalogOb
     @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name = ?2 AND cor.catalogObject.lastCommitTime = cor.commitTime")
     CatalogObjectRevisionEntity findDefaultCatalogObjectByNameInBucket(Long bucketId, String name);
 
+    /**
+     * Streams the last revisions of a bucket from a cursor, ordered by name. The catalog objects and
+     * the metadata are fetched by the same query, the rows of a revision are contiguous and its
+     * metadata ordered by key, as read through the unique index of the metadata.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor JOIN FETCH cor.catalogObject co LEFT JOIN FETCH cor.keyValueMetadataList kv WHERE co.id.bucketId = ?1 AND co.lastCommitTime = cor.commitTime ORDER BY co.id.name, cor.id, kv.key, kv.label")
+    Stream<CatalogObjectRevisionEntity> streamDefaultCatalogObjectsInBucket(Long bucketId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor JOIN FETCH cor.catalogObject co LEFT JOIN FETCH cor.keyValueMetadataList kv WHERE co.id.bucketId = ?1 AND co.kind = ?2 AND co.lastCommitTime = cor.commitTime ORDER BY co.id.name, cor.id, kv.key, kv.label")
+    Stream<CatalogObjectRevisionEntity> streamDefaultCatalogObjectsOfKindInBucket(Long bucketId, String kind);
+
+    /**
+     * Streams the revisions of a catalog object from a cursor, the most recent first
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor JOIN FETCH cor.catalogObject co LEFT JOIN FETCH cor.keyValueMetadataList kv WHERE co.id.bucketId = ?1 AND co.id.name = ?2 ORDER BY cor.commitTime DESC, cor.id, kv.key, kv.label")
+    Stream<CatalogObjectRevisionEntity> streamCatalogObjectRevisions(Long bucketId, String name);
+
     @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name = ?2 AND cor.commitTime = ?3")
     CatalogObjectRevisionEntity findCatalogObjectRevisionByCommitTime(Long bucketId, String name, long commitTime);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM KeyValueLabelMetadataEntity kv WHERE kv.catalogObjectRevision.id IN (SELECT cor.id FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name IN ?2)")
+    int deleteMetadataOfCatalogObjects(Long bucketId, Collection<String> names);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name IN ?2")
+    int deleteByCatalogObjects(Long bucketId, Collection<String> names);
+
+    @Query("SELECT cor.commitTime FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name = ?2 ORDER BY cor.commitTime DESC")
+    List<Long> findCommitTimesOfCatalogObject(Long bucketId, String name);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM KeyValueLabelMetadataEntity kv WHERE kv.catalogObjectRevision.id IN (SELECT cor.id FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name = ?2 AND cor.commitTime IN ?3)")
+    int deleteMetadataOfRevisions(Long bucketId, String name, Collection<Long> commitTimes);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name = ?2 AND cor.commitTime IN ?3")
+    int deleteRevisions(Long bucketId, String name, Collection<Long> commitTimes);
+
+    @Query("SELECT COALESCE(SUM(cor.rawObjectSize), 0) FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name IN ?2")
+    long sumRawObjectSizeOfCatalogObjects(Long bucketId, Collection<String> names);
+
+    @Query("SELECT COALESCE(SUM(cor.rawObjectSize), 0) FROM CatalogObjectRevisionEntity cor WHERE cor.catalogObject.id.bucketId = ?1 AND cor.catalogObject.id.name = ?2 AND cor.commitTime IN ?3")
+    long sumRawObjectSizeOfRevisions(Long bucketId, String name, Collection<Long> commitTimes);
+
+    /**
+     * @return rows of bucket id, kind and total raw object size
+     */
+    @Query("SELECT cor.catalogObject.id.bucketId, cor.catalogObject.kind, COALESCE(SUM(cor.rawObjectSize), 0) FROM CatalogObjectRevisionEntity cor GROUP BY cor.catalogObject.id.bucketId, cor.catalogObject.kind")
+    List<Object[]> sumRawObjectSizeByBucketAndKind();
+
+    @Query("SELECT cor FROM CatalogObjectRevisionEntity cor WHERE cor.rawObjectSize IS NULL")
+    List<CatalogObjectRevisionEntity> findWithoutRawObjectSize(Pageable pageable);
+
+    @Query("SELECT DISTINCT cor.rawObjectLocation FROM CatalogObjectRevisionEntity cor WHERE cor.rawObjectLocation IN ?1")
+    List<String> findReferencedRawObjectLocations(Collection<String> rawObjectLocations);
+
+    @Query("SELECT cor.id FROM CatalogObjectRevisionEntity cor WHERE cor.rawObjectLocation IS NOT NULL")
+    List<Long> findIdsWithRawObjectLocation(Pageable pageable);
+
 }
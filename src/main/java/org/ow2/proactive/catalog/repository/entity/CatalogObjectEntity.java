@@ -44,8 +44,10 @@ import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OrderBy;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
@@ -64,7 +66,8 @@ import lombok.NoArgsConstructor;
 @BatchSize(size = 25)
 @Entity
 @NamedEntityGraph(name = "catalogObject.withRevisions", attributeNodes = { @NamedAttributeNode("revisions") })
-@Table(name = "CATALOG_OBJECT", indexes = { @Index(columnList = "LAST_COMMIT_TIME") })
+@Table(name = "CATALOG_OBJECT", indexes = { @Index(columnList = "LAST_COMMIT_TIME"), @Index(columnList = "NAME"),
+                                            @Index(columnList = "KIND") })
 public class CatalogObjectEntity implements Serializable {
 
     @AllArgsConstructor
@@ -129,10 +132,27 @@ public class CatalogObjectEntity implements Serializable {
     @Column(name = "LAST_COMMIT_TIME")
     private long lastCommitTime;
 
+    /**
+     * Incremented on every new revision, concurrent revisions of the same object
+     * are detected when the second one is flushed.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "VERSION", nullable = false)
+    private long version;
+
     public CatalogObjectEntity() {
         revisions = new TreeSet<>();
     }
 
+    /**
+     * Commit times identify revisions, they are strictly increasing for a given object
+     * even when several revisions are committed within the same millisecond.
+     */
+    public long nextCommitTime(long now) {
+        return Math.max(now, lastCommitTime + 1);
+    }
+
     public void addRevision(CatalogObjectRevisionEntity catalogObjectRevision) {
         this.revisions.add(catalogObjectRevision);
         this.lastCommitTime = catalogObjectRevision.getCommitTime();
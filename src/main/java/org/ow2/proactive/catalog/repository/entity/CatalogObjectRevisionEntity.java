@@ -66,7 +66,8 @@ import lombok.Data;
 @Data
 @Entity
 @Table(name = "CATALOG_OBJECT_REVISION", uniqueConstraints = @UniqueConstraint(columnNames = { "BUCKET", "NAME",
-                                                                                               "COMMIT_TIME" }), indexes = { @Index(name = "REVISION_INDEX", columnList = "BUCKET,NAME,COMMIT_TIME") })
+                                                                                               "COMMIT_TIME" }), indexes = { @Index(name = "REVISION_INDEX", columnList = "BUCKET,NAME,COMMIT_TIME"),
+                                                                                                                             @Index(name = "RAW_OBJECT_LOCATION_INDEX", columnList = "RAW_OBJECT_LOCATION") })
 public class CatalogObjectRevisionEntity implements Comparable, Serializable {
 
     @Id
@@ -98,6 +99,30 @@ public class CatalogObjectRevisionEntity implements Comparable, Serializable {
     @Column(name = "RAW_OBJECT", length = Integer.MAX_VALUE)
     private byte[] rawObject;
 
+    /**
+     * Size of the raw object in bytes, null for revisions created before it was recorded
+     */
+    @Column(name = "RAW_OBJECT_SIZE")
+    private Long rawObjectSize;
+
+    /**
+     * Hex encoded SHA-256 digest of the raw object, null for revisions created before it was recorded
+     */
+    @Column(name = "CONTENT_HASH", length = 64)
+    private String contentHash;
+
+    /**
+     * Location of the raw object in the file storage, null when the raw object is kept in RAW_OBJECT
+     */
+    @Column(name = "RAW_OBJECT_LOCATION")
+    private String rawObjectLocation;
+
+    /**
+     * Content coding of the stored raw object, null when the raw object is stored as is
+     */
+    @Column(name = "RAW_OBJECT_ENCODING", length = 16)
+    private String rawObjectEncoding;
+
     @Override
     public int compareTo(Object o) {
         return Long.valueOf(((CatalogObjectRevisionEntity) o).commitTime).compareTo(Long.valueOf(commitTime));
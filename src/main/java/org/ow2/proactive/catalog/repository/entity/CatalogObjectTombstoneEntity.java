@@ -0,0 +1,90 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Records the deletion of a catalog object so that clients synchronizing incrementally
+ * can learn about objects that no longer exist.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "CATALOG_OBJECT_TOMBSTONE", indexes = { @Index(name = "TOMBSTONE_DELETION_TIME_INDEX", columnList = "DELETION_TIME"),
+                                                      @Index(name = "TOMBSTONE_BUCKET_INDEX", columnList = "BUCKET_ID,DELETION_TIME"),
+                                                      @Index(name = "TOMBSTONE_BUCKET_OWNER_INDEX", columnList = "BUCKET_OWNER,DELETION_TIME") })
+public class CatalogObjectTombstoneEntity implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CATALOG_OBJECT_TOMBSTONE_SEQUENCE")
+    @GenericGenerator(name = "CATALOG_OBJECT_TOMBSTONE_SEQUENCE", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "CATALOG_OBJECT_TOMBSTONE_SEQUENCE"),
+                                                                                                                                                @Parameter(name = "initial_value", value = "1"),
+                                                                                                                                                @Parameter(name = "increment_size", value = "1") })
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "BUCKET_ID", nullable = false)
+    private Long bucketId;
+
+    /**
+     * Owner of the bucket when the catalog object was deleted
+     */
+    @Column(name = "BUCKET_OWNER")
+    private String bucketOwner;
+
+    @Column(name = "NAME", nullable = false)
+    private String name;
+
+    @Column(name = "KIND")
+    private String kind;
+
+    @Column(name = "DELETION_TIME", nullable = false)
+    private long deletionTime;
+
+}
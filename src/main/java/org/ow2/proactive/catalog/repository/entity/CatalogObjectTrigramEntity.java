@@ -0,0 +1,94 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Posting of the trigram index used to answer substring searches on catalog object names and kinds.
+ * There is one row per distinct trigram of an indexed field of a catalog object.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "CATALOG_OBJECT_TRIGRAM", indexes = { @Index(name = "TRIGRAM_POSTING_INDEX", columnList = "FIELD,TRIGRAM,FIELD_VALUE"),
+                                                    @Index(name = "TRIGRAM_OBJECT_INDEX", columnList = "BUCKET_ID,NAME") })
+public class CatalogObjectTrigramEntity implements Serializable {
+
+    public enum Field {
+        NAME,
+        KIND
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CATALOG_OBJECT_TRIGRAM_SEQUENCE")
+    @GenericGenerator(name = "CATALOG_OBJECT_TRIGRAM_SEQUENCE", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "CATALOG_OBJECT_TRIGRAM_SEQUENCE"),
+                                                                                                                                              @Parameter(name = "initial_value", value = "1"),
+                                                                                                                                              @Parameter(name = "increment_size", value = "1") })
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "BUCKET_ID", nullable = false)
+    private Long bucketId;
+
+    @Column(name = "NAME", nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "FIELD", nullable = false, length = 16)
+    private Field field;
+
+    @Column(name = "TRIGRAM", nullable = false, length = 3)
+    private String trigram;
+
+    @Column(name = "FIELD_VALUE", nullable = false)
+    private String value;
+
+}
@@ -0,0 +1,147 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Retention policy of the revisions of the catalog objects of a bucket, of a kind, or of both.
+ * A policy without bucket and kind applies to every catalog object that no other policy matches.
+ *
+ * A revision is retained when any of the configured rules retains it, the last revision of a
+ * catalog object is always retained.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "REVISION_RETENTION_POLICY", uniqueConstraints = @UniqueConstraint(columnNames = { "BUCKET_ID", "KIND" }))
+public class RevisionRetentionPolicyEntity implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "REVISION_RETENTION_POLICY_SEQUENCE")
+    @GenericGenerator(name = "REVISION_RETENTION_POLICY_SEQUENCE", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = { @Parameter(name = "sequence_name", value = "REVISION_RETENTION_POLICY_SEQUENCE"),
+                                                                                                                                                 @Parameter(name = "initial_value", value = "1"),
+                                                                                                                                                 @Parameter(name = "increment_size", value = "1") })
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "BUCKET_ID")
+    private Long bucketId;
+
+    @Column(name = "KIND")
+    private String kind;
+
+    /**
+     * Number of most recent revisions to retain
+     */
+    @Column(name = "KEEP_LAST")
+    private Integer keepLast;
+
+    /**
+     * Revisions committed during this number of days are retained
+     */
+    @Column(name = "KEEP_WITHIN_DAYS")
+    private Integer keepWithinDays;
+
+    /**
+     * The most recent revision of each day is retained
+     */
+    @Column(name = "KEEP_DAILY", nullable = false)
+    private boolean keepDaily;
+
+    public boolean matches(Long catalogObjectBucketId, String catalogObjectKind) {
+        return (bucketId == null || bucketId.equals(catalogObjectBucketId)) &&
+               (kind == null || matchesKind(catalogObjectKind));
+    }
+
+    /**
+     * A bucket policy is more specific than a kind policy, and a kind policy is more specific
+     * than the policies of its parent kinds.
+     */
+    public int getSpecificity() {
+        return (bucketId == null ? 0 : 1 << 16) + (kind == null ? 0 : 1 + kind.length());
+    }
+
+    /**
+     * @param commitTimes the commit times of all the revisions of a catalog object, most recent first
+     * @return the commit times of the revisions that are not retained
+     */
+    public List<Long> findExpiredCommitTimes(List<Long> commitTimes, long now, ZoneId zoneId) {
+        List<Long> expired = new ArrayList<>();
+        if (keepLast == null && keepWithinDays == null && !keepDaily) {
+            return expired;
+        }
+
+        long keepAfter = keepWithinDays == null ? Long.MAX_VALUE : now - TimeUnit.DAYS.toMillis(keepWithinDays);
+        Set<LocalDate> days = new HashSet<>();
+        for (int i = 0; i < commitTimes.size(); i++) {
+            long commitTime = commitTimes.get(i);
+            boolean newestOfDay = days.add(Instant.ofEpochMilli(commitTime).atZone(zoneId).toLocalDate());
+            boolean retained = i == 0 || (keepLast != null && i < keepLast) || commitTime >= keepAfter ||
+                               (keepDaily && newestOfDay);
+            if (!retained) {
+                expired.add(commitTime);
+            }
+        }
+        return expired;
+    }
+
+    private boolean matchesKind(String catalogObjectKind) {
+        return catalogObjectKind != null && (catalogObjectKind.equalsIgnoreCase(kind) ||
+                                             catalogObjectKind.toLowerCase().startsWith(kind.toLowerCase() + "/"));
+    }
+
+}
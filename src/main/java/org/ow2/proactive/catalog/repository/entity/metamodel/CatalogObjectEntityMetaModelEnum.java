@@ -45,6 +45,7 @@ public enum CatalogObjectEntityMetaModelEnum {
     KIND,
     LAST_COMMIT_TIME,
     NAME,
+    TOKEN,
     VALUE;
 
     public String getName() {
@@ -0,0 +1,122 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.specification.bucket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.entity.BucketStatisticsEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import lombok.Builder;
+
+
+/**
+ * Filters and orders the buckets of a listing. Kind filtering and ordering by last update read the
+ * bucket statistics through subqueries, so that the catalog objects are never joined.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Builder
+public class BucketListingSpecification implements Specification<BucketEntity> {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * Owners of the listed buckets, every owner if null
+     */
+    private final List<String> owners;
+
+    /**
+     * Kind of catalog objects that the listed buckets must contain, empty buckets are listed too
+     */
+    private final String kind;
+
+    private final String namePrefix;
+
+    /**
+     * Most recently updated buckets first instead of ordering by name
+     */
+    private final boolean orderByLastUpdate;
+
+    @Override
+    public Predicate toPredicate(Root<BucketEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (owners != null) {
+            predicates.add(owners.isEmpty() ? cb.disjunction() : root.get("owner").in(owners));
+        }
+        if (namePrefix != null && !namePrefix.isEmpty()) {
+            predicates.add(cb.like(root.<String> get("name"), escapeLike(namePrefix) + "%", LIKE_ESCAPE));
+        }
+        if (kind != null && !kind.isEmpty()) {
+            predicates.add(cb.or(cb.exists(nonEmptyStatistics(root, query, cb, kind)),
+                                 cb.not(cb.exists(nonEmptyStatistics(root, query, cb, null)))));
+        }
+
+        if (orderByLastUpdate) {
+            Subquery<Long> lastModified = query.subquery(Long.class);
+            Root<BucketStatisticsEntity> statistics = lastModified.from(BucketStatisticsEntity.class);
+            lastModified.select(cb.max(statistics.<Long> get("lastModified")))
+                        .where(cb.equal(statistics.get("bucketId"), root.get("id")));
+            Expression<Long> lastUpdate = cb.coalesce(lastModified, 0L);
+            query.orderBy(cb.desc(lastUpdate), cb.asc(root.get("name")));
+        } else {
+            query.orderBy(cb.asc(root.get("name")));
+        }
+        return cb.and(predicates.toArray(new Predicate[predicates.size()]));
+    }
+
+    /**
+     * @return the statistics of the bucket, of the given kind if not null, that count catalog objects
+     */
+    private Subquery<Long> nonEmptyStatistics(Root<BucketEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+            String statisticsKind) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<BucketStatisticsEntity> statistics = subquery.from(BucketStatisticsEntity.class);
+        List<Predicate> restrictions = new ArrayList<>();
+        restrictions.add(cb.equal(statistics.get("bucketId"), root.get("id")));
+        restrictions.add(cb.greaterThan(statistics.<Long> get("objectCount"), 0L));
+        if (statisticsKind != null) {
+            restrictions.add(cb.equal(statistics.get("kind"), statisticsKind));
+        }
+        return subquery.select(statistics.<Long> get("id"))
+                       .where(restrictions.toArray(new Predicate[restrictions.size()]));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
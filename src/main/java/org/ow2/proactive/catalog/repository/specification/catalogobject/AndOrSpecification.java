@@ -35,7 +35,9 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.ow2.proactive.catalog.graphql.bean.common.Operations;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
 import org.ow2.proactive.catalog.repository.specification.generic.AbstractSpecification;
 import org.springframework.data.jpa.domain.Specification;
@@ -45,22 +47,24 @@ import org.springframework.data.jpa.domain.Specification;
  * @author ActiveEon Team
  * @since 13/07/2017
  */
-public abstract class AndOrSpecification extends AbstractSpecification {
+public abstract class AndOrSpecification extends AbstractSpecification<Object> {
 
     protected List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications;
 
     public AndOrSpecification(CatalogObjectEntityMetaModelEnum entityMetaModelEnum, Operations operations, Object value,
-            Join catalogObjectJoin, Join metadataJoin,
+            Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin,
+            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin,
             List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
         super(entityMetaModelEnum, operations, value, catalogObjectJoin, metadataJoin);
         this.fieldSpecifications = fieldSpecifications;
     }
 
     @Override
-    protected Predicate buildPredicate(Root root, CriteriaQuery query, CriteriaBuilder cb) {
+    protected Predicate buildPredicate(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query,
+            CriteriaBuilder cb) {
         initMetadataJoin(root, query, cb);
         List<Predicate> predicates = fieldSpecifications.stream().map(spec -> {
-            AbstractSpecification abstractSpecification = (AbstractSpecification) spec;
+            AbstractSpecification<?> abstractSpecification = (AbstractSpecification<?>) spec;
             abstractSpecification.setCatalogObjectJoin(catalogObjectJoin);
             abstractSpecification.setMetadataJoin(metadataJoin);
             return abstractSpecification.toPredicate(root, query, cb);
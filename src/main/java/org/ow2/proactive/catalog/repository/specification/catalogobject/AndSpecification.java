@@ -32,7 +32,9 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 
 import org.ow2.proactive.catalog.graphql.bean.common.Operations;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -47,7 +49,8 @@ public class AndSpecification extends AndOrSpecification {
 
     @Builder
     public AndSpecification(CatalogObjectEntityMetaModelEnum entityMetaModelEnum, Operations operations, Object value,
-            Join catalogObjectJoin, Join metadataJoin,
+            Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin,
+            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin,
             List<Specification<CatalogObjectRevisionEntity>> fieldSpecifications) {
         super(entityMetaModelEnum, operations, value, catalogObjectJoin, metadataJoin, fieldSpecifications);
     }
@@ -25,8 +25,11 @@
  */
 package org.ow2.proactive.catalog.repository.specification.catalogobject;
 
+import java.util.Collection;
+
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
@@ -47,26 +50,37 @@ import lombok.Builder;
  */
 public class CatalogNameLikeNotLikeSpecification extends AbstractSpecification<String> {
 
+    /**
+     * Values known to be the only ones that may match a LIKE pattern, null when unknown.
+     */
+    private final Collection<String> candidates;
+
     @Builder
     public CatalogNameLikeNotLikeSpecification(CatalogObjectEntityMetaModelEnum entityMetaModelEnum,
             Operations operations, String value,
             Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin,
-            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin) {
+            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin,
+            Collection<String> candidates) {
         super(entityMetaModelEnum, operations, value, catalogObjectJoin, metadataJoin);
+        this.candidates = candidates;
     }
 
     @Override
     protected Predicate buildPredicate(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query,
             CriteriaBuilder cb) {
+        Expression<String> path = catalogObjectJoin.get(CatalogObjectEntityMetaModelEnum.ID.getName())
+                                                   .get(entityMetaModelEnum.getName());
         switch (operations) {
             case LIKE:
-                return cb.like(catalogObjectJoin.get(CatalogObjectEntityMetaModelEnum.ID.getName())
-                                                .get(entityMetaModelEnum.getName()),
-                               value);
+                if (candidates == null) {
+                    return cb.like(path, value);
+                }
+                if (candidates.isEmpty()) {
+                    return cb.disjunction();
+                }
+                return cb.and(path.in(candidates), cb.like(path, value));
             case NOT_LIKE:
-                return cb.notLike(catalogObjectJoin.get(CatalogObjectEntityMetaModelEnum.ID.getName())
-                                                   .get(entityMetaModelEnum.getName()),
-                                  value);
+                return cb.notLike(path, value);
             default:
                 throw new IllegalStateException(operations + " is not supported");
         }
@@ -0,0 +1,85 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.specification.catalogobject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
+import org.springframework.data.jpa.domain.Specification;
+
+import lombok.Builder;
+
+
+/**
+ * Selects the last revisions of given catalog objects of several buckets, by a single query that
+ * matches the names of each bucket. The catalog objects and the metadata are fetched by the same
+ * query, the specification cannot be used to count.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Builder
+public class CatalogObjectReferencesSpecification implements Specification<CatalogObjectRevisionEntity> {
+
+    /**
+     * Names of the selected catalog objects, by bucket identifier
+     */
+    private final Map<Long, Set<String>> namesByBucket;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Predicate toPredicate(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        // the fetch join is also used to match the catalog objects, as Hibernate implements it
+        Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObject = (Join<CatalogObjectRevisionEntity, CatalogObjectEntity>) root.<CatalogObjectRevisionEntity, CatalogObjectEntity> fetch(CatalogObjectEntityMetaModelEnum.CATALOG_OBJECT.getName(),
+                                                                                                                                                                                                       JoinType.INNER);
+        root.fetch("keyValueMetadataList", JoinType.LEFT);
+        query.distinct(true);
+
+        Path<Object> id = catalogObject.get(CatalogObjectEntityMetaModelEnum.ID.getName());
+        List<Predicate> references = new ArrayList<>(namesByBucket.size());
+        namesByBucket.forEach((bucketId, names) -> references.add(cb.and(cb.equal(id.get(CatalogObjectEntityMetaModelEnum.BUCKET_ID.getName()),
+                                                                                  bucketId),
+                                                                         id.get(CatalogObjectEntityMetaModelEnum.NAME.getName())
+                                                                           .in(names))));
+        Predicate lastCommit = cb.equal(root.get(CatalogObjectEntityMetaModelEnum.COMMIT_TIME.getName()),
+                                        catalogObject.get(CatalogObjectEntityMetaModelEnum.LAST_COMMIT_TIME.getName()));
+        return cb.and(lastCommit, cb.or(references.toArray(new Predicate[references.size()])));
+    }
+
+}
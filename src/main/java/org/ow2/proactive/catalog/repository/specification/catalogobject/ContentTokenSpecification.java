@@ -0,0 +1,88 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.specification.catalogobject;
+
+import java.util.Set;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import org.ow2.proactive.catalog.graphql.bean.common.Operations;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectContentTokenEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
+import org.ow2.proactive.catalog.repository.specification.generic.AbstractSpecification;
+
+import lombok.Builder;
+
+
+/**
+ * Matches catalog objects whose head revision content contains every given token,
+ * according to the full-text index.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class ContentTokenSpecification extends AbstractSpecification<Set<String>> {
+
+    @Builder
+    public ContentTokenSpecification(CatalogObjectEntityMetaModelEnum entityMetaModelEnum, Operations operations,
+            Set<String> value, Join<CatalogObjectRevisionEntity, CatalogObjectEntity> catalogObjectJoin,
+            Join<CatalogObjectRevisionEntity, KeyValueLabelMetadataEntity> metadataJoin) {
+        super(entityMetaModelEnum, operations, value, catalogObjectJoin, metadataJoin);
+    }
+
+    @Override
+    protected Predicate buildPredicate(Root<CatalogObjectRevisionEntity> root, CriteriaQuery<?> query,
+            CriteriaBuilder cb) {
+        if (operations != Operations.CONTAINS) {
+            throw new IllegalStateException(operations + " is not supported");
+        }
+        if (value.isEmpty()) {
+            return cb.disjunction();
+        }
+
+        Path<?> catalogObjectId = catalogObjectJoin.get(CatalogObjectEntityMetaModelEnum.ID.getName());
+
+        Subquery<Long> matchingTokens = query.subquery(Long.class);
+        Root<CatalogObjectContentTokenEntity> token = matchingTokens.from(CatalogObjectContentTokenEntity.class);
+        matchingTokens.select(cb.countDistinct(token.get(CatalogObjectEntityMetaModelEnum.TOKEN.getName())))
+                      .where(cb.equal(token.get(CatalogObjectEntityMetaModelEnum.BUCKET_ID.getName()),
+                                      catalogObjectId.get(CatalogObjectEntityMetaModelEnum.BUCKET_ID.getName())),
+                             cb.equal(token.get(CatalogObjectEntityMetaModelEnum.NAME.getName()),
+                                      catalogObjectId.get(CatalogObjectEntityMetaModelEnum.NAME.getName())),
+                             token.get(CatalogObjectEntityMetaModelEnum.TOKEN.getName()).in(value));
+
+        return cb.equal(matchingTokens, (long) value.size());
+    }
+}
@@ -32,17 +32,23 @@ import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import java.util.Collections;
 import java.util.List;
 
+import org.ow2.proactive.catalog.dto.BucketDeletionStatus;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.BucketStatistics;
+import org.ow2.proactive.catalog.service.BucketDeletionService;
 import org.ow2.proactive.catalog.service.BucketService;
 import org.ow2.proactive.catalog.service.OwnerGroupStringHelper;
 import org.ow2.proactive.catalog.service.RestApiAccessService;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.exception.BucketAlreadyExistingException;
+import org.ow2.proactive.catalog.service.exception.InvalidBucketListingException;
 import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
 import org.ow2.proactive.catalog.service.model.RestApiAccessResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -65,9 +71,18 @@ import io.swagger.annotations.ApiResponses;
 @RequestMapping(value = "/buckets")
 public class BucketController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String SORT_BY_NAME = "name";
+
+    private static final String SORT_BY_LAST_UPDATE = "lastUpdate";
+
     @Autowired
     private BucketService bucketService;
 
+    @Autowired
+    private BucketDeletionService bucketDeletionService;
+
     @Autowired
     private RestApiAccessService restApiAccessService;
 
@@ -77,6 +92,9 @@ public class BucketController {
     @Value("${pa.catalog.security.required.sessionid}")
     private boolean sessionIdRequired;
 
+    @Value("${pa.catalog.bucket.listing.max.page.size:1000}")
+    private int maxPageSize;
+
     @SuppressWarnings("DefaultAnnotationParam")
     @ApiOperation(value = "Creates a new bucket")
     @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated"),
@@ -113,38 +131,75 @@ public class BucketController {
         return bucketService.getBucketMetadata(bucketId);
     }
 
-    @ApiOperation(value = "Lists the buckets")
-    @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated"),
+    @ApiOperation(value = "Gets the statistics of a bucket: number of catalog objects per kind, stored bytes and last modification time")
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket not found"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied"), })
+    @RequestMapping(value = "/{bucketId}/statistics", method = GET)
+    public BucketStatistics getStatistics(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable long bucketId) throws NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+        return bucketService.getBucketStatistics(bucketId);
+    }
+
+    @ApiOperation(value = "Lists the buckets", notes = "Buckets are ordered by name, or by last update when sortBy is lastUpdate. " +
+                                                       "Every matching bucket is returned unless size is set, the total number of " +
+                                                       "matching buckets is returned in the " + TOTAL_COUNT_HEADER + " header.")
+    @ApiResponses(value = { @ApiResponse(code = 400, message = "Invalid page, size or sortBy"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
                             @ApiResponse(code = 403, message = "Permission denied"), })
     @RequestMapping(method = GET)
-    public List<BucketMetadata> list(
+    public ResponseEntity<List<BucketMetadata>> list(
             @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
             @ApiParam(value = "The name of the user who owns the Bucket") @RequestParam(value = "owner", required = false) String ownerName,
-            @ApiParam(value = "The kind of objects that buckets must contain") @RequestParam(value = "kind", required = false) String kind)
+            @ApiParam(value = "The kind of objects that buckets must contain") @RequestParam(value = "kind", required = false) String kind,
+            @ApiParam(value = "The prefix of the names of the buckets") @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @ApiParam(value = "The order of the buckets", allowableValues = SORT_BY_NAME + "," + SORT_BY_LAST_UPDATE) @RequestParam(value = "sortBy", required = false, defaultValue = SORT_BY_NAME) String sortBy,
+            @ApiParam(value = "Include the statistics of each bucket") @RequestParam(value = "statistics", required = false, defaultValue = "false") boolean withStatistics,
+            @ApiParam(value = "Results page you want to retrieve (0..N)") @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @ApiParam(value = "Number of records per page") @RequestParam(value = "size", required = false) Integer size)
             throws NotAuthenticatedException, AccessDeniedException {
+        List<String> owners = ownerName == null ? null : Collections.singletonList(ownerName);
         if (sessionIdRequired) {
             RestApiAccessResponse restApiAccessResponse = restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId,
                                                                                                                         ownerName);
-            List<String> groups;
             if (ownerName == null) {
-                groups = ownerGroupStringHelper.getGroupsWithPrefixFromGroupList(restApiAccessResponse.getAuthenticatedUser()
+                owners = ownerGroupStringHelper.getGroupsWithPrefixFromGroupList(restApiAccessResponse.getAuthenticatedUser()
                                                                                                       .getGroups());
-                groups.add(BucketService.DEFAULT_BUCKET_OWNER);
-            } else {
-                groups = Collections.singletonList(ownerName);
+                owners.add(BucketService.DEFAULT_BUCKET_OWNER);
             }
+        }
 
-            return bucketService.listBuckets(groups, kind);
-
-        } else {
-            return bucketService.listBuckets(ownerName, kind);
+        if (!SORT_BY_NAME.equals(sortBy) && !SORT_BY_LAST_UPDATE.equals(sortBy)) {
+            throw new InvalidBucketListingException("sortBy must be " + SORT_BY_NAME + " or " + SORT_BY_LAST_UPDATE);
+        }
+        PageRequest pageRequest = null;
+        if (size != null) {
+            if (page < 0 || size < 1 || size > maxPageSize) {
+                throw new InvalidBucketListingException("page must not be negative and size must be between 1 and " +
+                                                        maxPageSize);
+            }
+            pageRequest = new PageRequest(page, size);
         }
+
+        Page<BucketMetadata> buckets = bucketService.listBuckets(owners,
+                                                                 kind,
+                                                                 namePrefix,
+                                                                 SORT_BY_LAST_UPDATE.equals(sortBy),
+                                                                 withStatistics,
+                                                                 pageRequest);
+        return ResponseEntity.ok()
+                             .header(TOTAL_COUNT_HEADER, String.valueOf(buckets.getTotalElements()))
+                             .body(buckets.getContent());
     }
 
-    @ApiOperation(value = "Delete the empty buckets")
+    @ApiOperation(value = "Delete the empty buckets", notes = "Returns the identifiers of the deleted buckets")
     @RequestMapping(method = DELETE)
-    public void cleanEmpty() {
-        bucketService.cleanAllEmptyBuckets();
+    public List<Long> cleanEmpty() {
+        return bucketService.cleanAllEmptyBuckets();
     }
 
     @SuppressWarnings("DefaultAnnotationParam")
@@ -163,4 +218,31 @@ public class BucketController {
         BucketMetadata deletedBucketMetadata = bucketService.deleteEmptyBucket(bucketId);
         return ResponseEntity.ok(deletedBucketMetadata);
     }
+
+    @ApiOperation(value = "Delete a bucket and all its catalog objects", notes = "The deletion runs in the background. Its progress can be followed with the returned job identifier.")
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket not found"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(value = "/{bucketId}/deletion", method = POST)
+    public ResponseEntity<BucketDeletionStatus> deleteWithContent(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable Long bucketId) throws NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bucketDeletionService.submit(bucketId));
+    }
+
+    @ApiOperation(value = "Get the progress of a bucket deletion")
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Deletion job not found"),
+                            @ApiResponse(code = 401, message = "User not authenticated") })
+    @RequestMapping(value = "/deletions/{jobId}", method = GET)
+    public BucketDeletionStatus getDeletionStatus(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable String jobId) throws NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, (String) null);
+        }
+        return bucketDeletionService.getStatus(jobId);
+    }
 }
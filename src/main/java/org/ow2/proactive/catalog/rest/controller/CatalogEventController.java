@@ -0,0 +1,207 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+import org.ow2.proactive.catalog.dto.CatalogEventList;
+import org.ow2.proactive.catalog.service.AuthorizationService;
+import org.ow2.proactive.catalog.service.CatalogEventBroadcaster;
+import org.ow2.proactive.catalog.service.CatalogEventListener;
+import org.ow2.proactive.catalog.service.RestApiAccessService;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
+import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping(value = "/buckets/events")
+public class CatalogEventController {
+
+    private static final String RESET_EVENT_NAME = "reset";
+
+    @Autowired
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Autowired
+    private RestApiAccessService restApiAccessService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Value("${pa.catalog.security.required.sessionid}")
+    private boolean sessionIdRequired;
+
+    @Value("${pa.catalog.events.sse.timeout.ms:1800000}")
+    private long sseTimeout;
+
+    @Value("${pa.catalog.events.poll.timeout.ms:30000}")
+    private long pollTimeout;
+
+    @ApiOperation(value = "Streams the catalog mutations as server-sent events", notes = "Each event id is its sequence number. Reconnecting with the Last-Event-ID header resumes the stream. " +
+                                                                                        "A 'reset' event is sent first when events were missed, the changes endpoints must then be used to resynchronize.")
+    @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(method = GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "Sequence number of the last received event") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @ApiParam(value = "Sequence number after which events are streamed, only new events are streamed by default") @RequestParam(value = "after", required = false) Long after)
+            throws NotAuthenticatedException, AccessDeniedException {
+        Predicate<CatalogEvent> filter = createFilter(sessionId);
+
+        SseEmitter emitter = new SseEmitter(sseTimeout);
+        long from = lastEventId != null ? lastEventId : (after != null ? after : -1);
+        CatalogEventBroadcaster.Subscription subscription = catalogEventBroadcaster.subscribe(from,
+                                                                                              filter,
+                                                                                              new SseEventListener(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        return emitter;
+    }
+
+    @ApiOperation(value = "Waits for the catalog mutations following a sequence number", notes = "Returns as soon as events are available, or with no event once the timeout expires. " +
+                                                                                               "The returned last sequence is meant to be given as 'after' to the next request.")
+    @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(value = "/poll", method = GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<CatalogEventList> poll(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "Sequence number of the last received event, only new events are returned by default") @RequestParam(value = "after", required = false) Long after)
+            throws NotAuthenticatedException, AccessDeniedException {
+        Predicate<CatalogEvent> filter = createFilter(sessionId);
+
+        long from = after != null ? after : catalogEventBroadcaster.getLastSequence();
+        CatalogEventList available = catalogEventBroadcaster.getEventsAfter(from, filter);
+
+        DeferredResult<CatalogEventList> result = new DeferredResult<>(pollTimeout,
+                                                                       new CatalogEventList(Collections.emptyList(),
+                                                                                            Math.max(from,
+                                                                                                     available.getLastSequence()),
+                                                                                            false));
+        if (!available.getEvents().isEmpty() || available.isTruncated()) {
+            result.setResult(available);
+            return result;
+        }
+
+        CatalogEventBroadcaster.Subscription subscription = catalogEventBroadcaster.subscribe(available.getLastSequence(),
+                                                                                              filter,
+                                                                                              new PollEventListener(result,
+                                                                                                                    available.getLastSequence()));
+        result.onCompletion(subscription::cancel);
+        return result;
+    }
+
+    private Predicate<CatalogEvent> createFilter(String sessionId)
+            throws NotAuthenticatedException, AccessDeniedException {
+        if (!sessionIdRequired) {
+            return event -> true;
+        }
+        AuthenticatedUser authenticatedUser = restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId,
+                                                                                                            (String) null)
+                                                                  .getAuthenticatedUser();
+        return event -> authorizationService.askUserAuthorizationByBucketOwner(authenticatedUser,
+                                                                               event.getBucketOwner());
+    }
+
+    private class SseEventListener implements CatalogEventListener {
+
+        private final SseEmitter emitter;
+
+        private SseEventListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onEvents(List<CatalogEvent> events, boolean truncated) throws IOException {
+            if (truncated) {
+                emitter.send(SseEmitter.event()
+                                       .name(RESET_EVENT_NAME)
+                                       .data(catalogEventBroadcaster.getLastSequence()));
+            }
+            for (CatalogEvent event : events) {
+                emitter.send(SseEmitter.event()
+                                       .id(String.valueOf(event.getSequence()))
+                                       .name(event.getType().name())
+                                       .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        @Override
+        public void onOverflow() {
+            emitter.complete();
+        }
+    }
+
+    private class PollEventListener implements CatalogEventListener {
+
+        private final DeferredResult<CatalogEventList> result;
+
+        private final long after;
+
+        private PollEventListener(DeferredResult<CatalogEventList> result, long after) {
+            this.result = result;
+            this.after = after;
+        }
+
+        @Override
+        public void onEvents(List<CatalogEvent> events, boolean truncated) {
+            long lastSequence = events.isEmpty() ? catalogEventBroadcaster.getLastSequence()
+                                                 : events.get(events.size() - 1).getSequence();
+            result.setResult(new CatalogEventList(events, lastSequence, truncated));
+        }
+
+        @Override
+        public void onOverflow() {
+            result.setResult(new CatalogEventList(Collections.emptyList(), after, false));
+        }
+    }
+
+}
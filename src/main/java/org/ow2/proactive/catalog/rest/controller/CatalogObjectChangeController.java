@@ -0,0 +1,145 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectChangeList;
+import org.ow2.proactive.catalog.service.BucketService;
+import org.ow2.proactive.catalog.service.CatalogObjectChangeService;
+import org.ow2.proactive.catalog.service.OwnerGroupStringHelper;
+import org.ow2.proactive.catalog.service.RestApiAccessService;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.InvalidChangeListingException;
+import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
+import org.ow2.proactive.catalog.service.model.RestApiAccessResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping(value = "/buckets")
+public class CatalogObjectChangeController {
+
+    @Autowired
+    private CatalogObjectChangeService catalogObjectChangeService;
+
+    @Autowired
+    private BucketService bucketService;
+
+    @Autowired
+    private RestApiAccessService restApiAccessService;
+
+    @Autowired
+    private OwnerGroupStringHelper ownerGroupStringHelper;
+
+    @Value("${pa.catalog.security.required.sessionid}")
+    private boolean sessionIdRequired;
+
+    @Value("${pa.catalog.changes.max.limit:1000}")
+    private int maxLimit;
+
+    @ApiOperation(value = "Lists the catalog objects created, updated or deleted after a commit time, in all buckets", notes = "Changes are ordered by commit time. The returned latest commit time can be given as 'since' to the next request, more changes are available right away when has_more is true. Changes of the last seconds (pa.catalog.changes.safety.window.ms) are only returned by later requests, so that none is missed. Deletions are kept a limited time, a too old 'since' is answered with 410, all the changes have to be listed again since 0. Deletions are listed to the groups that owned the bucket when they happened, including the deletions of the catalog objects of deleted buckets.")
+    @ApiResponses(value = { @ApiResponse(code = 400, message = "Invalid limit"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied"),
+                            @ApiResponse(code = 410, message = "Changes since this commit time are not available anymore") })
+    @RequestMapping(value = "/changes", method = GET)
+    public CatalogObjectChangeList listChanges(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "Commit time in milliseconds, only the changes that happened after it are returned") @RequestParam(value = "since", required = false, defaultValue = "0") long since,
+            @ApiParam(value = "Maximum number of returned changes, unless more changes share the same commit time") @RequestParam(value = "limit", required = false) Integer limit)
+            throws NotAuthenticatedException, AccessDeniedException {
+        List<Long> bucketIds = null;
+        List<String> groups = null;
+        if (sessionIdRequired) {
+            RestApiAccessResponse restApiAccessResponse = restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId,
+                                                                                                                        (String) null);
+            groups = ownerGroupStringHelper.getGroupsWithPrefixFromGroupList(restApiAccessResponse.getAuthenticatedUser()
+                                                                                                               .getGroups());
+            groups.add(BucketService.DEFAULT_BUCKET_OWNER);
+            bucketIds = bucketService.listBuckets(groups, null)
+                                     .stream()
+                                     .map(BucketMetadata::getMetaDataId)
+                                     .collect(Collectors.toList());
+        }
+        return catalogObjectChangeService.listChangesSince(since, bucketIds, groups, checkLimit(limit));
+    }
+
+    @ApiOperation(value = "Lists the catalog objects created, updated or deleted after a commit time, in a bucket", notes = "Changes are ordered by commit time. The returned latest commit time can be given as 'since' to the next request, more changes are available right away when has_more is true. Changes of the last seconds (pa.catalog.changes.safety.window.ms) are only returned by later requests, so that none is missed. Deletions are kept a limited time, a too old 'since' is answered with 410, all the changes have to be listed again since 0.")
+    @ApiResponses(value = { @ApiResponse(code = 400, message = "Invalid limit"),
+                            @ApiResponse(code = 404, message = "Bucket not found"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied"),
+                            @ApiResponse(code = 410, message = "Changes since this commit time are not available anymore") })
+    @RequestMapping(value = "/{bucketId}/changes", method = GET)
+    public CatalogObjectChangeList listChangesInBucket(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable Long bucketId,
+            @ApiParam(value = "Commit time in milliseconds, only the changes that happened after it are returned") @RequestParam(value = "since", required = false, defaultValue = "0") long since,
+            @ApiParam(value = "Maximum number of returned changes, unless more changes share the same commit time") @RequestParam(value = "limit", required = false) Integer limit)
+            throws NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        } else {
+            bucketService.getBucketMetadata(bucketId);
+        }
+        return catalogObjectChangeService.listChangesSince(since,
+                                                           Collections.singletonList(bucketId),
+                                                           null,
+                                                           checkLimit(limit));
+    }
+
+    private int checkLimit(Integer limit) {
+        if (limit == null) {
+            return maxLimit;
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidChangeListingException("limit must be between 1 and " + maxLimit);
+        }
+        return limit;
+    }
+
+}
@@ -31,6 +31,7 @@ import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URLDecoder;
@@ -38,20 +39,29 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadataList;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.dto.IngestJobStatus;
+import org.ow2.proactive.catalog.service.CatalogObjectIngestJobService;
+import org.ow2.proactive.catalog.service.CatalogObjectListingWriter;
 import org.ow2.proactive.catalog.service.CatalogObjectService;
+import org.ow2.proactive.catalog.service.DownloadTokenService;
+import org.ow2.proactive.catalog.service.RawObjectReadCoalescer;
 import org.ow2.proactive.catalog.service.RestApiAccessService;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.exception.CatalogObjectNotFoundException;
 import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
 import org.ow2.proactive.catalog.service.exception.RevisionNotFoundException;
+import org.ow2.proactive.catalog.service.storage.SpooledRawObject;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.ZipArchiveContent;
 import org.ow2.proactive.catalog.util.LinkUtil;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
+import org.ow2.proactive.catalog.util.StreamingUploadMultipartResolver;
+import org.ow2.proactive.catalog.util.StreamingUploadReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
@@ -68,6 +78,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -89,12 +100,27 @@ public class CatalogObjectController {
     @Autowired
     private CatalogObjectService catalogObjectService;
 
+    @Autowired
+    private CatalogObjectIngestJobService catalogObjectIngestJobService;
+
+    @Autowired
+    private CatalogObjectListingWriter catalogObjectListingWriter;
+
     @Autowired
     private RestApiAccessService restApiAccessService;
 
     @Autowired
     private RawObjectResponseCreator rawObjectResponseCreator;
 
+    @Autowired
+    private RawObjectReadCoalescer rawObjectReadCoalescer;
+
+    @Autowired
+    private DownloadTokenService downloadTokenService;
+
+    @Autowired
+    private StreamingUploadReader streamingUploadReader;
+
     private static final String ZIP_CONTENT_TYPE = "application/zip";
 
     @Value("${pa.catalog.security.required.sessionid}")
@@ -142,7 +168,65 @@ public class CatalogObjectController {
         }
     }
 
-    @ApiOperation(value = "Gets a catalog object's metadata by IDs", notes = "Returns metadata associated to the latest revision of the catalog object.")
+    @ApiOperation(value = "Creates a new catalog object from a streamed upload", notes = "The file part is read as it arrives and is never held in memory as a whole.")
+    @ApiImplicitParams({ @ApiImplicitParam(name = "file", dataType = "file", paramType = "form", required = true) })
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket not found"),
+                            @ApiResponse(code = 413, message = "Uploaded file too large"),
+                            @ApiResponse(code = 422, message = "Invalid file content supplied") })
+    @RequestMapping(value = StreamingUploadMultipartResolver.STREAMING_UPLOAD_PATH, consumes = { MediaType.MULTIPART_FORM_DATA_VALUE }, method = POST)
+    @ResponseStatus(HttpStatus.CREATED)
+    public CatalogObjectMetadataList createFromStream(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable Long bucketId, @ApiParam(value = "Name of the object") @RequestParam String name,
+            @ApiParam(value = "Kind of the new object") @RequestParam String kind,
+            @ApiParam(value = "Commit message") @RequestParam String commitMessage,
+            @ApiParam(value = "The content type of CatalogRawObject") @RequestParam String objectContentType,
+            HttpServletRequest request) throws IOException, MissingServletRequestPartException,
+            NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+        try (SpooledRawObject rawObject = streamingUploadReader.readPart(request, "file")) {
+            CatalogObjectMetadata catalogObject = catalogObjectService.createCatalogObjectFromUpload(bucketId,
+                                                                                                     name,
+                                                                                                     kind,
+                                                                                                     commitMessage,
+                                                                                                     objectContentType,
+                                                                                                     rawObject);
+            catalogObject.add(LinkUtil.createLink(catalogObject.getBucketId(), catalogObject.getName()));
+            return new CatalogObjectMetadataList(catalogObject);
+        }
+    }
+
+    @ApiOperation(value = "Creates new catalog objects in the background", notes = "The upload is stored and ingested asynchronously. Its progress can be followed with the returned job identifier.")
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket not found"),
+                            @ApiResponse(code = 503, message = "Too many uploads waiting to be ingested") })
+    @RequestMapping(consumes = { MediaType.MULTIPART_FORM_DATA_VALUE }, method = POST, params = "async=true")
+    public ResponseEntity<IngestJobStatus> createAsync(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable Long bucketId,
+            @ApiParam(value = "Name of the object or empty when a ZIP archive is uploaded (All objects inside the archive are stored inside the catalog).") @RequestParam(required = false) Optional<String> name,
+            @ApiParam(value = "Kind of the new object") @RequestParam String kind,
+            @ApiParam(value = "Commit message") @RequestParam String commitMessage,
+            @ApiParam(value = "The content type of CatalogRawObject") @RequestParam String objectContentType,
+            @ApiParam(value = "Ingest the upload in the background") @RequestParam boolean async,
+            @RequestPart(value = "file") MultipartFile file)
+            throws IOException, NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                 .body(catalogObjectIngestJobService.submit(bucketId,
+                                                                            name.orElse(null),
+                                                                            kind,
+                                                                            commitMessage,
+                                                                            objectContentType,
+                                                                            content));
+        }
+    }
+
+    @ApiOperation(value = "Gets a catalog object's metadata by IDs", notes = "Returns metadata associated to the latest revision of the catalog object. The ETag is the commit time of this revision.")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket or catalog object not found"),
                             @ApiResponse(code = 401, message = "User not authenticated"),
                             @ApiResponse(code = 403, message = "Permission denied") })
@@ -160,15 +244,16 @@ public class CatalogObjectController {
             CatalogObjectMetadata metadata = catalogObjectService.getCatalogObjectMetadata(bucketId, decodedName);
             metadata.add(LinkUtil.createLink(metadata.getBucketId(), metadata.getName()));
             metadata.add(LinkUtil.createRelativeLink(metadata.getBucketId(), metadata.getName()));
-            return ResponseEntity.ok(metadata);
+            return ResponseEntity.ok().eTag(metadata.getCommitTimeRaw()).body(metadata);
         } catch (CatalogObjectNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e);
         }
 
     }
 
-    @ApiOperation(value = "Gets the raw content of the last revision of a catalog object")
+    @ApiOperation(value = "Gets the raw content of the last revision of a catalog object", notes = "Supports byte ranges, with the commit time of the revision as If-Range validator.")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "Ok", response = InputStreamResource.class),
+                            @ApiResponse(code = 206, message = "Partial content", response = InputStreamResource.class),
                             @ApiResponse(code = 401, message = "User not authenticated"),
                             @ApiResponse(code = 403, message = "Permission denied"),
                             @ApiResponse(code = 404, message = "Bucket, catalog object or catalog object revision not found") })
@@ -176,18 +261,26 @@ public class CatalogObjectController {
     @RequestMapping(value = "/{name}/raw", method = GET, produces = MediaType.ALL_VALUE)
     public ResponseEntity<InputStreamResource> getRaw(
             @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
-            @PathVariable Long bucketId, @PathVariable String name)
+            @PathVariable Long bucketId, @PathVariable String name,
+            @ApiParam(value = "Download token granting the download, used instead of the sessionID") @RequestParam(value = "token", required = false) String token,
+            @ApiParam(value = "Byte ranges to get") @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @ApiParam(value = "Entity tag or last modification date that the ranges apply to") @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @ApiParam(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
             throws UnsupportedEncodingException, NotAuthenticatedException, AccessDeniedException {
+        String decodedName = URLDecoder.decode(name, "UTF-8");
+
         if (sessionIdRequired) {
-            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+            if (token == null) {
+                restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+            } else {
+                downloadTokenService.checkToken(token, bucketId, decodedName, null);
+            }
         }
 
-        String decodedName = URLDecoder.decode(name, "UTF-8");
-
         try {
-            CatalogRawObject rawObject = catalogObjectService.getCatalogRawObject(bucketId, decodedName);
+            CatalogRawObject rawObject = rawObjectReadCoalescer.getCatalogRawObject(bucketId, decodedName);
 
-            return rawObjectResponseCreator.createRawObjectResponse(rawObject);
+            return rawObjectResponseCreator.createRawObjectResponse(rawObject, range, ifRange, acceptEncoding);
         } catch (CatalogObjectNotFoundException e) {
             log.error("CatalogObject not found ", e);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -266,6 +359,29 @@ public class CatalogObjectController {
         }
     }
 
+    @ApiOperation(value = "Streams catalog objects metadata", notes = "Returns the same listing as without stream, written element by element while it is read from the database, " +
+                                                                      "so that the listing of a large bucket is served in constant memory. " +
+                                                                      "The objects are ordered by name. An error met while streaming truncates the JSON array.")
+    @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(method = GET, params = "stream=true")
+    public void listStream(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable Long bucketId,
+            @ApiParam(value = "Filter according to kind.") @RequestParam(required = false) Optional<String> kind,
+            @ApiParam(value = "Stream the listing") @RequestParam boolean stream, HttpServletResponse response)
+            throws IOException, NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        catalogObjectListingWriter.writeCatalogObjects(bucketId, kind.orElse(null), catalogObject -> {
+            catalogObject.add(LinkUtil.createLink(catalogObject.getBucketId(), catalogObject.getName()));
+            catalogObject.add(LinkUtil.createRelativeLink(catalogObject.getBucketId(), catalogObject.getName()));
+        }, response.getOutputStream());
+    }
+
     @ApiOperation(value = "Delete a catalog object", notes = "Delete the entire catalog object as well as its revisions. Returns the deleted CatalogRawObject's metadata")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket or object not found"),
                             @ApiResponse(code = 401, message = "User not authenticated"),
@@ -0,0 +1,126 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static org.springframework.web.bind.annotation.RequestMethod.POST;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.ow2.proactive.catalog.dto.CatalogObjectLookupResult;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectReference;
+import org.ow2.proactive.catalog.service.CatalogObjectService;
+import org.ow2.proactive.catalog.service.RestApiAccessService;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.InvalidCatalogObjectLookupException;
+import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
+import org.ow2.proactive.catalog.util.LinkUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping(value = "/buckets/resources")
+public class CatalogObjectLookupController {
+
+    @Autowired
+    private CatalogObjectService catalogObjectService;
+
+    @Autowired
+    private RestApiAccessService restApiAccessService;
+
+    @Value("${pa.catalog.security.required.sessionid}")
+    private boolean sessionIdRequired;
+
+    @Value("${pa.catalog.lookup.max.objects:500}")
+    private int maxObjects;
+
+    @ApiOperation(value = "Gets the metadata of catalog objects of several buckets", notes = "Returns, in the order of the request, the status of each catalog object and the metadata of its latest revision when it is found. " +
+                                                                                              "The session is authorized once per bucket and the metadata are loaded by a single query.")
+    @ApiResponses(value = { @ApiResponse(code = 400, message = "Too many catalog objects or catalog object without bucket_id or name"),
+                            @ApiResponse(code = 401, message = "User not authenticated") })
+    @RequestMapping(value = "/lookup", method = POST)
+    public List<CatalogObjectLookupResult> lookup(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "Bucket ids and names of the catalog objects") @RequestBody List<CatalogObjectReference> references)
+            throws NotAuthenticatedException, AccessDeniedException {
+        if (references.size() > maxObjects) {
+            throw new InvalidCatalogObjectLookupException("At most " + maxObjects +
+                                                          " catalog objects can be looked up at once");
+        }
+        if (references.stream().anyMatch(reference -> reference.getBucketId() == null ||
+                                                       reference.getName() == null)) {
+            throw new InvalidCatalogObjectLookupException("Each catalog object requires a bucket_id and a name");
+        }
+
+        Set<Long> bucketIds = references.stream()
+                                        .map(CatalogObjectReference::getBucketId)
+                                        .collect(Collectors.toSet());
+        Set<Long> deniedBuckets = sessionIdRequired ? restApiAccessService.findDeniedBuckets(sessionId, bucketIds)
+                                                    : Collections.emptySet();
+        Set<CatalogObjectReference> allowedReferences = references.stream()
+                                                                  .filter(reference -> !deniedBuckets.contains(reference.getBucketId()))
+                                                                  .collect(Collectors.toSet());
+        Map<CatalogObjectReference, CatalogObjectMetadata> metadata = catalogObjectService.getCatalogObjectsMetadata(allowedReferences);
+        for (CatalogObjectMetadata catalogObject : metadata.values()) {
+            catalogObject.add(LinkUtil.createLink(catalogObject.getBucketId(), catalogObject.getName()));
+            catalogObject.add(LinkUtil.createRelativeLink(catalogObject.getBucketId(), catalogObject.getName()));
+        }
+
+        return references.stream().map(reference -> {
+            if (deniedBuckets.contains(reference.getBucketId())) {
+                return new CatalogObjectLookupResult(reference.getBucketId(),
+                                                     reference.getName(),
+                                                     CatalogObjectLookupResult.Status.ACCESS_DENIED,
+                                                     null);
+            }
+            CatalogObjectMetadata catalogObject = metadata.get(reference);
+            return new CatalogObjectLookupResult(reference.getBucketId(),
+                                                 reference.getName(),
+                                                 catalogObject == null ? CatalogObjectLookupResult.Status.NOT_FOUND
+                                                                       : CatalogObjectLookupResult.Status.FOUND,
+                                                 catalogObject);
+        }).collect(Collectors.toList());
+    }
+
+}
@@ -31,20 +31,32 @@ import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.Collections;
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.service.CatalogObjectListingWriter;
 import org.ow2.proactive.catalog.service.CatalogObjectService;
+import org.ow2.proactive.catalog.service.DownloadTokenService;
+import org.ow2.proactive.catalog.service.RawObjectReadCoalescer;
 import org.ow2.proactive.catalog.service.RestApiAccessService;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.InvalidIfMatchException;
 import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
 import org.ow2.proactive.catalog.service.exception.RevisionNotFoundException;
+import org.ow2.proactive.catalog.service.storage.SpooledRawObject;
 import org.ow2.proactive.catalog.util.LinkUtil;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
+import org.ow2.proactive.catalog.util.StreamingUploadMultipartResolver;
+import org.ow2.proactive.catalog.util.StreamingUploadReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -56,7 +68,10 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -75,24 +90,41 @@ public class CatalogObjectRevisionController {
     @Autowired
     private CatalogObjectService catalogObjectService;
 
+    @Autowired
+    private CatalogObjectListingWriter catalogObjectListingWriter;
+
     @Autowired
     private RestApiAccessService restApiAccessService;
 
     @Autowired
     private RawObjectResponseCreator rawObjectResponseCreator;
 
+    @Autowired
+    private RawObjectReadCoalescer rawObjectReadCoalescer;
+
+    @Autowired
+    private DownloadTokenService downloadTokenService;
+
+    @Autowired
+    private StreamingUploadReader streamingUploadReader;
+
     @Value("${pa.catalog.security.required.sessionid}")
     private boolean sessionIdRequired;
 
-    @ApiOperation(value = "Creates a new catalog object revision")
+    @ApiOperation(value = "Creates a new catalog object revision", notes = "The ETag of the response is the commit time of the created revision. " +
+                                                                          "When If-Match is given, the revision is only created if the last revision of the catalog object has this commit time.")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket not found"),
+                            @ApiResponse(code = 400, message = "If-Match does not hold the commit time of a revision"),
+                            @ApiResponse(code = 409, message = "Other revisions of the catalog object were committed concurrently"),
+                            @ApiResponse(code = 412, message = "The catalog object was modified since the revision given in If-Match"),
                             @ApiResponse(code = 422, message = "Invalid catalog object JSON content supplied"),
                             @ApiResponse(code = 401, message = "User not authenticated"),
                             @ApiResponse(code = 403, message = "Permission denied") })
     @RequestMapping(consumes = { MediaType.MULTIPART_FORM_DATA_VALUE }, method = POST)
     @ResponseStatus(HttpStatus.CREATED)
-    public CatalogObjectMetadata create(
+    public ResponseEntity<CatalogObjectMetadata> create(
             @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "Commit time of the last known revision of the catalog object") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @PathVariable Long bucketId, @PathVariable String name,
             @ApiParam(value = "The commit message of the CatalogRawObject Revision") @RequestParam String commitMessage,
             @RequestPart(value = "file") MultipartFile file)
@@ -101,14 +133,61 @@ public class CatalogObjectRevisionController {
             restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
         }
 
+        byte[] rawObject = file.getBytes();
+        Long expectedLastCommitTime = parseIfMatch(ifMatch);
+
         CatalogObjectMetadata catalogObjectRevision = catalogObjectService.createCatalogObjectRevision(bucketId,
-                                                                                                       name,
-                                                                                                       commitMessage,
-                                                                                                       file.getBytes());
+                                                                                                      name,
+                                                                                                      commitMessage,
+                                                                                                      Collections.emptyList(),
+                                                                                                      rawObject,
+                                                                                                      expectedLastCommitTime);
+
         catalogObjectRevision.add(LinkUtil.createLink(catalogObjectRevision.getBucketId(),
                                                       catalogObjectRevision.getName(),
                                                       catalogObjectRevision.getCommitDateTime()));
-        return catalogObjectRevision;
+        return ResponseEntity.status(HttpStatus.CREATED)
+                             .eTag(catalogObjectRevision.getCommitTimeRaw())
+                             .body(catalogObjectRevision);
+    }
+
+    @ApiOperation(value = "Creates a new catalog object revision from a streamed upload", notes = "The file part is read as it arrives and is never held in memory as a whole. " +
+                                                                                               "The ETag and If-Match headers are handled as when creating a revision.")
+    @ApiImplicitParams({ @ApiImplicitParam(name = "file", dataType = "file", paramType = "form", required = true) })
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Bucket not found"),
+                            @ApiResponse(code = 400, message = "If-Match does not hold the commit time of a revision"),
+                            @ApiResponse(code = 409, message = "Other revisions of the catalog object were committed concurrently"),
+                            @ApiResponse(code = 412, message = "The catalog object was modified since the revision given in If-Match"),
+                            @ApiResponse(code = 413, message = "Uploaded file too large"),
+                            @ApiResponse(code = 422, message = "Invalid catalog object JSON content supplied"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(value = StreamingUploadMultipartResolver.STREAMING_UPLOAD_PATH, consumes = { MediaType.MULTIPART_FORM_DATA_VALUE }, method = POST)
+    public ResponseEntity<CatalogObjectMetadata> createFromStream(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "Commit time of the last known revision of the catalog object") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @PathVariable Long bucketId, @PathVariable String name,
+            @ApiParam(value = "The commit message of the CatalogRawObject Revision") @RequestParam String commitMessage,
+            HttpServletRequest request) throws IOException, MissingServletRequestPartException,
+            NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+
+        Long expectedLastCommitTime = parseIfMatch(ifMatch);
+        try (SpooledRawObject rawObject = streamingUploadReader.readPart(request, "file")) {
+            CatalogObjectMetadata catalogObjectRevision = catalogObjectService.createCatalogObjectRevisionFromUpload(bucketId,
+                                                                                                                    name,
+                                                                                                                    commitMessage,
+                                                                                                                    rawObject,
+                                                                                                                    expectedLastCommitTime);
+            catalogObjectRevision.add(LinkUtil.createLink(catalogObjectRevision.getBucketId(),
+                                                          catalogObjectRevision.getName(),
+                                                          catalogObjectRevision.getCommitDateTime()));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                                 .eTag(catalogObjectRevision.getCommitTimeRaw())
+                                 .body(catalogObjectRevision);
+        }
     }
 
     @ApiOperation(value = "Gets a specific revision")
@@ -139,26 +218,36 @@ public class CatalogObjectRevisionController {
         }
     }
 
-    @ApiOperation(value = "Gets the raw content of a specific revision")
+    @ApiOperation(value = "Gets the raw content of a specific revision", notes = "Supports byte ranges, with the commit time of the revision as If-Range validator.")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "Ok", response = InputStreamResource.class),
+                            @ApiResponse(code = 206, message = "Partial content", response = InputStreamResource.class),
                             @ApiResponse(code = 401, message = "User not authenticated"),
                             @ApiResponse(code = 403, message = "Permission denied"),
                             @ApiResponse(code = 404, message = "Bucket, catalog object or catalog object revision not found") })
     @RequestMapping(value = "/{commitTime}/raw", method = GET, produces = MediaType.ALL_VALUE)
     public ResponseEntity<InputStreamResource> getRaw(
             @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
-            @PathVariable Long bucketId, @PathVariable String name, @PathVariable long commitTime)
+            @PathVariable Long bucketId, @PathVariable String name, @PathVariable long commitTime,
+            @ApiParam(value = "Download token granting the download, used instead of the sessionID") @RequestParam(value = "token", required = false) String token,
+            @ApiParam(value = "Byte ranges to get") @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @ApiParam(value = "Entity tag or last modification date that the ranges apply to") @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @ApiParam(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
             throws UnsupportedEncodingException, NotAuthenticatedException, AccessDeniedException {
+        String decodedName = URLDecoder.decode(name, "UTF-8");
+
         if (sessionIdRequired) {
-            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+            if (token == null) {
+                restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+            } else {
+                downloadTokenService.checkToken(token, bucketId, decodedName, commitTime);
+            }
         }
 
-        String decodedName = URLDecoder.decode(name, "UTF-8");
-        CatalogRawObject objectRevisionRaw = catalogObjectService.getCatalogObjectRevisionRaw(bucketId,
-                                                                                              decodedName,
-                                                                                              commitTime);
+        CatalogRawObject objectRevisionRaw = rawObjectReadCoalescer.getCatalogObjectRevisionRaw(bucketId,
+                                                                                                decodedName,
+                                                                                                commitTime);
 
-        return rawObjectResponseCreator.createRawObjectResponse(objectRevisionRaw);
+        return rawObjectResponseCreator.createRawObjectResponse(objectRevisionRaw, range, ifRange, acceptEncoding);
     }
 
     @ApiOperation(value = "Lists a catalog object revisions")
@@ -190,4 +279,50 @@ public class CatalogObjectRevisionController {
         return catalogObjectMetadataList;
     }
 
+    @ApiOperation(value = "Streams a catalog object revisions", notes = "Returns the same listing as without stream, written element by element while it is read from the database, " +
+                                                                        "so that a long revision history is served in constant memory. An error met while streaming truncates the JSON array.")
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Catalog object not found"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(method = GET, params = "stream=true")
+    public void listStream(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable Long bucketId, @PathVariable String name,
+            @ApiParam(value = "Stream the listing") @RequestParam boolean stream, HttpServletResponse response)
+            throws IOException, NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+
+        String decodedName = URLDecoder.decode(name, "UTF-8");
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        catalogObjectListingWriter.writeCatalogObjectRevisions(bucketId, decodedName, catalogObjectMetadata -> {
+            catalogObjectMetadata.add(LinkUtil.createLink(catalogObjectMetadata.getBucketId(),
+                                                          catalogObjectMetadata.getName(),
+                                                          catalogObjectMetadata.getCommitDateTime()));
+            catalogObjectMetadata.add(LinkUtil.createRelativeLink(catalogObjectMetadata.getBucketId(),
+                                                                  catalogObjectMetadata.getName(),
+                                                                  catalogObjectMetadata.getCommitDateTime()));
+        }, response.getOutputStream());
+    }
+
+    /**
+     * @return the commit time given in an If-Match header, or null when any revision matches
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String entityTag = ifMatch.trim();
+        if (entityTag.startsWith("W/")) {
+            entityTag = entityTag.substring(2);
+        }
+        entityTag = entityTag.replace("\"", "");
+        try {
+            return Long.parseLong(entityTag);
+        } catch (NumberFormatException e) {
+            throw new InvalidIfMatchException("If-Match must contain the commit time of a revision: " + ifMatch);
+        }
+    }
+
 }
@@ -0,0 +1,123 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.service.BucketService;
+import org.ow2.proactive.catalog.service.CatalogObjectContentIndexService;
+import org.ow2.proactive.catalog.service.OwnerGroupStringHelper;
+import org.ow2.proactive.catalog.service.RestApiAccessService;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
+import org.ow2.proactive.catalog.service.model.RestApiAccessResponse;
+import org.ow2.proactive.catalog.util.LinkUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping(value = "/buckets/search")
+public class CatalogObjectSearchController {
+
+    @Autowired
+    private CatalogObjectContentIndexService catalogObjectContentIndexService;
+
+    @Autowired
+    private BucketService bucketService;
+
+    @Autowired
+    private RestApiAccessService restApiAccessService;
+
+    @Autowired
+    private OwnerGroupStringHelper ownerGroupStringHelper;
+
+    @Value("${pa.catalog.security.required.sessionid}")
+    private boolean sessionIdRequired;
+
+    @ApiOperation(value = "Lists the catalog objects whose content contains all the words of the query", notes = "Only the last revision of each catalog object is searched.")
+    @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied"),
+                            @ApiResponse(code = 501, message = "Content index disabled") })
+    @RequestMapping(method = GET)
+    public List<CatalogObjectMetadata> search(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "The words that the content of catalog objects must contain", required = true) @RequestParam(value = "contains") String query,
+            @ApiParam(value = "Restrict the search to the given buckets") @RequestParam(value = "bucketId", required = false) List<Long> bucketIds,
+            @ApiParam(value = "Restrict the search to the given kind") @RequestParam(value = "kind", required = false) String kind,
+            @ApiParam(value = "Results page you want to retrieve (0..N)") @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @ApiParam(value = "Number of records per page") @RequestParam(value = "size", required = false, defaultValue = "50") int size)
+            throws NotAuthenticatedException, AccessDeniedException {
+        List<Long> searchedBucketIds = bucketIds;
+        if (sessionIdRequired) {
+            if (bucketIds != null) {
+                for (Long bucketId : bucketIds) {
+                    restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+                }
+            } else {
+                RestApiAccessResponse restApiAccessResponse = restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId,
+                                                                                                                            (String) null);
+                List<String> groups = ownerGroupStringHelper.getGroupsWithPrefixFromGroupList(restApiAccessResponse.getAuthenticatedUser()
+                                                                                                                   .getGroups());
+                groups.add(BucketService.DEFAULT_BUCKET_OWNER);
+                searchedBucketIds = bucketService.listBuckets(groups, null)
+                                                 .stream()
+                                                 .map(BucketMetadata::getMetaDataId)
+                                                 .collect(Collectors.toList());
+            }
+        }
+
+        List<CatalogObjectMetadata> metadataList = catalogObjectContentIndexService.search(query,
+                                                                                           searchedBucketIds,
+                                                                                           kind,
+                                                                                           new PageRequest(page, size));
+        for (CatalogObjectMetadata catalogObject : metadataList) {
+            catalogObject.add(LinkUtil.createLink(catalogObject.getBucketId(), catalogObject.getName()));
+            catalogObject.add(LinkUtil.createRelativeLink(catalogObject.getBucketId(), catalogObject.getName()));
+        }
+        return metadataList;
+    }
+
+}
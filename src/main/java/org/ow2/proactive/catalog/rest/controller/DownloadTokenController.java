@@ -0,0 +1,88 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static org.springframework.web.bind.annotation.RequestMethod.POST;
+
+import org.ow2.proactive.catalog.dto.DownloadToken;
+import org.ow2.proactive.catalog.service.DownloadTokenService;
+import org.ow2.proactive.catalog.service.RestApiAccessService;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping(value = "/buckets/{bucketId}/download-tokens")
+public class DownloadTokenController {
+
+    @Autowired
+    private DownloadTokenService downloadTokenService;
+
+    @Autowired
+    private RestApiAccessService restApiAccessService;
+
+    @Value("${pa.catalog.security.required.sessionid}")
+    private boolean sessionIdRequired;
+
+    @ApiOperation(value = "Issues a download token for the raw objects of a bucket, of a catalog object or of a revision", notes = "The token is passed as the token query parameter of the raw endpoints instead of a sessionID, until it expires.")
+    @ApiResponses(value = { @ApiResponse(code = 400, message = "Invalid download token scope or validity"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied"),
+                            @ApiResponse(code = 404, message = "Bucket not found") })
+    @RequestMapping(method = POST)
+    @ResponseStatus(HttpStatus.CREATED)
+    public DownloadToken issue(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @PathVariable Long bucketId,
+            @ApiParam(value = "Catalog object the token is restricted to") @RequestParam(value = "name", required = false) String name,
+            @ApiParam(value = "Revision the token is restricted to, requires the name") @RequestParam(value = "commitTime", required = false) Long commitTime,
+            @ApiParam(value = "Validity of the token in seconds, bounded by the configured maximum") @RequestParam(value = "validitySeconds", required = false) Long validitySeconds)
+            throws NotAuthenticatedException, AccessDeniedException {
+        if (sessionIdRequired) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+        return downloadTokenService.issue(bucketId, name, commitTime, validitySeconds);
+    }
+
+}
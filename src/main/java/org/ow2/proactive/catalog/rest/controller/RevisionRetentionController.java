@@ -0,0 +1,151 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.rest.controller;
+
+import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.POST;
+import static org.springframework.web.bind.annotation.RequestMethod.PUT;
+
+import java.util.List;
+
+import org.ow2.proactive.catalog.dto.RevisionCompactionReport;
+import org.ow2.proactive.catalog.dto.RevisionRetentionPolicy;
+import org.ow2.proactive.catalog.service.RestApiAccessService;
+import org.ow2.proactive.catalog.service.RevisionRetentionService;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping(value = "/buckets/retention")
+public class RevisionRetentionController {
+
+    @Autowired
+    private RevisionRetentionService revisionRetentionService;
+
+    @Autowired
+    private RestApiAccessService restApiAccessService;
+
+    @Value("${pa.catalog.security.required.sessionid}")
+    private boolean sessionIdRequired;
+
+    @ApiOperation(value = "Lists the revision retention policies")
+    @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated") })
+    @RequestMapping(value = "/policies", method = GET)
+    public List<RevisionRetentionPolicy> listPolicies(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId)
+            throws NotAuthenticatedException, AccessDeniedException {
+        checkAccess(sessionId, null);
+        return revisionRetentionService.listPolicies();
+    }
+
+    @ApiOperation(value = "Sets the revision retention policy of a bucket, of a kind, or the default one", notes = "A revision is retained when any of keepLast, keepWithinDays or keepDaily retains it. " +
+                                                                                                                    "The last revision of a catalog object is always retained. " +
+                                                                                                                    "The most specific policy applies: bucket and kind, then bucket, then kind, then the default policy.")
+    @ApiResponses(value = { @ApiResponse(code = 400, message = "Invalid retention policy"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(value = "/policies", method = PUT)
+    public RevisionRetentionPolicy setPolicy(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @ApiParam(value = "Bucket the policy applies to") @RequestParam(value = "bucketId", required = false) Long bucketId,
+            @ApiParam(value = "Kind the policy applies to, including its sub-kinds") @RequestParam(value = "kind", required = false) String kind,
+            @ApiParam(value = "Number of most recent revisions to retain") @RequestParam(value = "keepLast", required = false) Integer keepLast,
+            @ApiParam(value = "Revisions committed during this number of days are retained") @RequestParam(value = "keepWithinDays", required = false) Integer keepWithinDays,
+            @ApiParam(value = "Retain the most recent revision of each day") @RequestParam(value = "keepDaily", required = false, defaultValue = "false") boolean keepDaily)
+            throws NotAuthenticatedException, AccessDeniedException {
+        checkAccess(sessionId, bucketId);
+        return revisionRetentionService.setPolicy(bucketId, kind, keepLast, keepWithinDays, keepDaily);
+    }
+
+    @ApiOperation(value = "Removes the revision retention policy of a bucket, of a kind, or the default one")
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Retention policy not found"),
+                            @ApiResponse(code = 401, message = "User not authenticated"),
+                            @ApiResponse(code = 403, message = "Permission denied") })
+    @RequestMapping(value = "/policies", method = DELETE)
+    public void removePolicy(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId,
+            @RequestParam(value = "bucketId", required = false) Long bucketId,
+            @RequestParam(value = "kind", required = false) String kind)
+            throws NotAuthenticatedException, AccessDeniedException {
+        checkAccess(sessionId, bucketId);
+        revisionRetentionService.removePolicy(bucketId, kind);
+    }
+
+    @ApiOperation(value = "Gets the report of the last revision compaction")
+    @ApiResponses(value = { @ApiResponse(code = 204, message = "No compaction ran yet"),
+                            @ApiResponse(code = 401, message = "User not authenticated") })
+    @RequestMapping(value = "/compaction", method = GET)
+    public ResponseEntity<RevisionCompactionReport> getLastCompactionReport(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId)
+            throws NotAuthenticatedException, AccessDeniedException {
+        checkAccess(sessionId, null);
+        RevisionCompactionReport report = revisionRetentionService.getLastCompactionReport();
+        return report == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(report);
+    }
+
+    @ApiOperation(value = "Starts a revision compaction in the background")
+    @ApiResponses(value = { @ApiResponse(code = 401, message = "User not authenticated") })
+    @RequestMapping(value = "/compaction", method = POST)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void compact(
+            @SuppressWarnings("DefaultAnnotationParam") @ApiParam(value = "sessionID", required = false) @RequestHeader(value = "sessionID", required = false) String sessionId)
+            throws NotAuthenticatedException, AccessDeniedException {
+        checkAccess(sessionId, null);
+        revisionRetentionService.triggerCompaction();
+    }
+
+    private void checkAccess(String sessionId, Long bucketId) throws NotAuthenticatedException, AccessDeniedException {
+        if (!sessionIdRequired) {
+            return;
+        }
+        if (bucketId == null) {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, (String) null);
+        } else {
+            restApiAccessService.checkAccessBySessionIdAndThrowIfDeclined(sessionId, bucketId);
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.ow2.proactive.catalog.dto.BucketDeletionStatus;
+import org.ow2.proactive.catalog.repository.BucketRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.service.exception.BucketDeletionJobNotFoundException;
+import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
+import org.ow2.proactive.catalog.service.exception.DeleteNonEmptyBucketException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Deletes non-empty buckets in the background. Catalog objects are removed in batches, each in
+ * its own transaction, so that a large bucket neither holds a long transaction nor blocks the
+ * request that asked for its deletion. The bucket itself is removed once it is empty.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+public class BucketDeletionService {
+
+    private static final int MAX_EMPTY_BUCKET_DELETION_ATTEMPTS = 3;
+
+    @Autowired
+    private BucketRepository bucketRepository;
+
+    @Autowired
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Autowired
+    private CatalogObjectBulkDeleteService catalogObjectBulkDeleteService;
+
+    @Autowired
+    private BucketService bucketService;
+
+    @Value("${pa.catalog.bucket.deletion.batch.size:100}")
+    private int batchSize;
+
+    @Value("${pa.catalog.bucket.deletion.history.size:100}")
+    private int historySize;
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("bucket-deletion-%d")
+                                                                               .setDaemon(true)
+                                                                               .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules the deletion of a bucket and of all its catalog objects. If the bucket is already
+     * being deleted, the status of the pending deletion is returned.
+     */
+    public BucketDeletionStatus submit(long bucketId) {
+        if (!bucketRepository.exists(bucketId)) {
+            throw new BucketNotFoundException();
+        }
+
+        Job job;
+        synchronized (jobs) {
+            for (Job existing : jobs.values()) {
+                if (existing.bucketId == bucketId && !existing.isFinished()) {
+                    return existing.toStatus();
+                }
+            }
+            job = new Job(UUID.randomUUID().toString(), bucketId, catalogObjectRepository.countInBucket(bucketId));
+            jobs.put(job.id, job);
+            evictFinishedJobs();
+        }
+        executor.execute(() -> run(job));
+        return job.toStatus();
+    }
+
+    public BucketDeletionStatus getStatus(String jobId) {
+        synchronized (jobs) {
+            Job job = jobs.get(jobId);
+            if (job == null) {
+                throw new BucketDeletionJobNotFoundException(jobId);
+            }
+            return job.toStatus();
+        }
+    }
+
+    private void run(Job job) {
+        job.state = BucketDeletionStatus.State.RUNNING;
+        try {
+            for (int attempt = 1;; attempt++) {
+                List<String> names;
+                while (!(names = catalogObjectRepository.findNamesInBucket(job.bucketId,
+                                                                           new PageRequest(0, batchSize))).isEmpty()) {
+                    job.deletedObjects.addAndGet(catalogObjectBulkDeleteService.deleteCatalogObjects(job.bucketId,
+                                                                                                     names));
+                }
+                try {
+                    bucketService.deleteEmptyBucket(job.bucketId);
+                    break;
+                } catch (DeleteNonEmptyBucketException e) {
+                    // catalog objects were added while the bucket was being emptied
+                    if (attempt >= MAX_EMPTY_BUCKET_DELETION_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+            job.state = BucketDeletionStatus.State.COMPLETED;
+        } catch (BucketNotFoundException e) {
+            // deleted concurrently, there is nothing left to do
+            job.state = BucketDeletionStatus.State.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Failed to delete bucket " + job.bucketId, e);
+            job.error = e.getMessage();
+            job.state = BucketDeletionStatus.State.FAILED;
+        }
+        log.info("Deletion of bucket {} {} after removing {} catalog objects",
+                 job.bucketId,
+                 job.state,
+                 job.deletedObjects.get());
+    }
+
+    private void evictFinishedJobs() {
+        jobs.values().removeIf(job -> jobs.size() > historySize && job.isFinished());
+    }
+
+    private static class Job {
+
+        private final String id;
+
+        private final long bucketId;
+
+        private final long totalObjects;
+
+        private final AtomicLong deletedObjects = new AtomicLong();
+
+        private volatile BucketDeletionStatus.State state = BucketDeletionStatus.State.PENDING;
+
+        private volatile String error;
+
+        private Job(String id, long bucketId, long totalObjects) {
+            this.id = id;
+            this.bucketId = bucketId;
+            this.totalObjects = totalObjects;
+        }
+
+        private boolean isFinished() {
+            return state == BucketDeletionStatus.State.COMPLETED || state == BucketDeletionStatus.State.FAILED;
+        }
+
+        private BucketDeletionStatus toStatus() {
+            // objects added during the deletion are deleted too
+            long deleted = deletedObjects.get();
+            return new BucketDeletionStatus(id, bucketId, state, Math.max(totalObjects, deleted), deleted, error);
+        }
+    }
+
+}
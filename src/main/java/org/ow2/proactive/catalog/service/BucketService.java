@@ -25,18 +25,29 @@
  */
 package org.ow2.proactive.catalog.service;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.BucketStatistics;
+import org.ow2.proactive.catalog.dto.CatalogEvent;
 import org.ow2.proactive.catalog.repository.BucketRepository;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.specification.bucket.BucketListingSpecification;
 import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
 import org.ow2.proactive.catalog.service.exception.DeleteNonEmptyBucketException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -59,6 +70,21 @@ public class BucketService {
     @Autowired
     private CatalogObjectService catalogObjectService;
 
+    @Autowired
+    private CatalogObjectTrigramIndexService catalogObjectTrigramIndexService;
+
+    @Autowired
+    private CatalogObjectContentIndexService catalogObjectContentIndexService;
+
+    @Autowired
+    private CatalogObjectChangeService catalogObjectChangeService;
+
+    @Autowired
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Autowired
+    private BucketStatisticsService bucketStatisticsService;
+
     public BucketMetadata createBucket(String name) {
         return createBucket(name, DEFAULT_BUCKET_OWNER);
     }
@@ -67,6 +93,7 @@ public class BucketService {
         BucketEntity bucket = new BucketEntity(name, owner);
 
         bucket = bucketRepository.save(bucket);
+        publishEvent(CatalogEvent.Type.BUCKET_CREATED, bucket);
         return new BucketMetadata(bucket);
     }
 
@@ -80,6 +107,17 @@ public class BucketService {
         return new BucketMetadata(bucket);
     }
 
+    /**
+     * @return the owner of each of the given buckets that exists
+     */
+    public Map<Long, String> getBucketOwners(Collection<Long> bucketIds) {
+        Map<Long, String> owners = new HashMap<>();
+        if (!bucketIds.isEmpty()) {
+            bucketRepository.findAll(bucketIds).forEach(bucket -> owners.put(bucket.getId(), bucket.getOwner()));
+        }
+        return owners;
+    }
+
     public List<BucketMetadata> listBuckets(List<String> owners, String kind) {
         if (owners == null) {
             return Collections.emptyList();
@@ -93,7 +131,7 @@ public class BucketService {
         }
 
         log.info("Buckets size {}", entities.size());
-        return entities.stream().map(BucketMetadata::new).collect(Collectors.toList());
+        return toBucketMetadataWithObjectCount(entities);
     }
 
     public List<BucketMetadata> listBuckets(String ownerName, String kind) {
@@ -111,30 +149,122 @@ public class BucketService {
         }
 
         log.info("Buckets size {}", entities.size());
-        return entities.stream().map(BucketMetadata::new).collect(Collectors.toList());
+        return toBucketMetadataWithObjectCount(entities);
+    }
+
+    /**
+     * Lists a page of buckets, filtered and ordered by the database.
+     *
+     * @param owners the owners of the listed buckets, every owner if null
+     * @param kind the kind of catalog objects that the listed buckets must contain, empty buckets are listed too
+     * @param pageable the page to list, every matching bucket if null
+     * @param withStatistics whether the statistics of each listed bucket are included
+     */
+    @Transactional(readOnly = true)
+    public Page<BucketMetadata> listBuckets(List<String> owners, String kind, String namePrefix,
+            boolean orderByLastUpdate, boolean withStatistics, Pageable pageable) {
+        BucketListingSpecification specification = BucketListingSpecification.builder()
+                                                                              .owners(owners)
+                                                                              .kind(kind)
+                                                                              .namePrefix(namePrefix)
+                                                                              .orderByLastUpdate(orderByLastUpdate)
+                                                                              .build();
+        Page<BucketEntity> entities;
+        if (pageable == null) {
+            entities = new PageImpl<>(bucketRepository.findAll(specification));
+        } else {
+            entities = bucketRepository.findAll(specification, pageable);
+        }
+
+        Map<Long, BucketStatistics> statistics = bucketStatisticsService.getStatistics(entities.getContent()
+                                                                                               .stream()
+                                                                                               .map(BucketEntity::getId)
+                                                                                               .collect(Collectors.toList()));
+        List<BucketMetadata> buckets = entities.getContent().stream().map(bucket -> {
+            BucketMetadata bucketMetadata = new BucketMetadata(bucket);
+            BucketStatistics bucketStatistics = statistics.get(bucket.getId());
+            bucketMetadata.setObjectCount(bucketStatistics.getObjectCount());
+            if (withStatistics) {
+                bucketMetadata.setStatistics(bucketStatistics);
+            }
+            return bucketMetadata;
+        }).collect(Collectors.toList());
+        return pageable == null ? new PageImpl<>(buckets) : new PageImpl<>(buckets, pageable, entities.getTotalElements());
     }
 
-    public void cleanAllEmptyBuckets() {
-        List<BucketEntity> emptyBucketsForUpdate = bucketRepository.findEmptyBucketsForUpdate();
-        bucketRepository.deleteInBatch(emptyBucketsForUpdate);
+    /**
+     * @throws BucketNotFoundException if the bucket does not exist
+     */
+    public BucketStatistics getBucketStatistics(long bucketId) {
+        if (!bucketRepository.exists(bucketId)) {
+            throw new BucketNotFoundException();
+        }
+        return bucketStatisticsService.getStatistics(bucketId);
+    }
+
+    /**
+     * @return the identifiers of the deleted buckets
+     */
+    public List<Long> cleanAllEmptyBuckets() {
+        List<BucketEntity> emptyBuckets = bucketRepository.findEmptyBuckets();
+        if (emptyBuckets.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // a bucket that received an object since it was read is left untouched by the conditional delete
+        List<Long> emptyBucketIds = emptyBuckets.stream().map(BucketEntity::getId).collect(Collectors.toList());
+        bucketRepository.deleteIfEmpty(emptyBucketIds);
+        Set<Long> remainingBucketIds = new HashSet<>(bucketRepository.findExistingIds(emptyBucketIds));
+
+        List<BucketEntity> deletedBuckets = emptyBuckets.stream()
+                                                        .filter(bucket -> !remainingBucketIds.contains(bucket.getId()))
+                                                        .collect(Collectors.toList());
+        List<Long> deletedBucketIds = deletedBuckets.stream().map(BucketEntity::getId).collect(Collectors.toList());
+        bucketStatisticsService.removeBuckets(deletedBucketIds);
+        deletedBuckets.forEach(bucket -> publishEvent(CatalogEvent.Type.BUCKET_DELETED, bucket));
+        log.info("Deleted {} empty buckets", deletedBuckets.size());
+        return deletedBucketIds;
     }
 
     public void cleanAll() {
         bucketRepository.deleteAll();
+        catalogObjectTrigramIndexService.removeAll();
+        catalogObjectContentIndexService.removeAll();
+        catalogObjectChangeService.removeAllTombstones();
+        bucketStatisticsService.removeAll();
     }
 
     public BucketMetadata deleteEmptyBucket(long bucketId) {
-        BucketEntity bucket = bucketRepository.findBucketForUpdate(bucketId);
+        BucketEntity bucket = bucketRepository.findOne(bucketId);
 
         if (bucket == null) {
             throw new BucketNotFoundException();
         }
 
-        if (!bucket.getCatalogObjects().isEmpty()) {
+        if (bucketRepository.deleteIfEmpty(Collections.singletonList(bucketId)) == 0) {
+            if (bucketRepository.findExistingIds(Collections.singletonList(bucketId)).isEmpty()) {
+                throw new BucketNotFoundException();
+            }
             throw new DeleteNonEmptyBucketException();
         }
-        bucketRepository.delete(bucketId);
+        bucketStatisticsService.removeBuckets(Collections.singletonList(bucketId));
+        publishEvent(CatalogEvent.Type.BUCKET_DELETED, bucket);
         return new BucketMetadata(bucket);
     }
 
+    private List<BucketMetadata> toBucketMetadataWithObjectCount(List<BucketEntity> entities) {
+        Map<Long, Long> objectCounts = bucketStatisticsService.countCatalogObjects(entities.stream()
+                                                                                           .map(BucketEntity::getId)
+                                                                                           .collect(Collectors.toList()));
+        return entities.stream().map(bucket -> {
+            BucketMetadata bucketMetadata = new BucketMetadata(bucket);
+            bucketMetadata.setObjectCount(objectCounts.getOrDefault(bucket.getId(), 0L));
+            return bucketMetadata;
+        }).collect(Collectors.toList());
+    }
+
+    private void publishEvent(CatalogEvent.Type type, BucketEntity bucket) {
+        catalogEventBroadcaster.publishAfterCommit(type, bucket.getId(), bucket.getOwner(), bucket.getName(), null);
+    }
+
 }
@@ -0,0 +1,242 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.ow2.proactive.catalog.dto.BucketStatistics;
+import org.ow2.proactive.catalog.repository.BucketStatisticsRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.BucketStatisticsEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Maintains the per-bucket and per-kind statistics of the catalog objects: object count, stored
+ * bytes and last modification time. Statistics are updated in the transactions that create or
+ * delete catalog objects and revisions, so that bucket listings filtered by kind and object counts
+ * are answered without aggregating the catalog objects.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+@Transactional
+public class BucketStatisticsService {
+
+    private static final int REBUILD_PAGE_SIZE = 100;
+
+    @Autowired
+    private BucketStatisticsRepository bucketStatisticsRepository;
+
+    @Autowired
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private PlatformTransactionManager platformTransactionManager;
+
+    /**
+     * @param newCatalogObject whether the revision is the first one of its catalog object
+     */
+    public void recordRevisionCreated(Long bucketId, String kind, boolean newCatalogObject, long rawObjectSize,
+            long commitTime) {
+        add(bucketId, kind, newCatalogObject ? 1 : 0, rawObjectSize, commitTime);
+    }
+
+    public void recordCatalogObjectsDeleted(Long bucketId, String kind, long catalogObjectCount, long storedBytes,
+            long deletionTime) {
+        add(bucketId, kind, -catalogObjectCount, -storedBytes, deletionTime);
+    }
+
+    /**
+     * Revisions deleted by compaction do not change the last modification time of the bucket.
+     */
+    public void recordRevisionsCompacted(Long bucketId, String kind, long storedBytes) {
+        add(bucketId, kind, 0, -storedBytes, 0);
+    }
+
+    /**
+     * Updates the statistics of a kind in a bucket, creating them first when they do not exist yet.
+     * Empty statistics are inserted in their own transaction, so that a transaction adding the first
+     * catalog objects of a kind concurrently with another one does not fail on the unique key of the
+     * statistics, and so that nothing is counted if the calling transaction is rolled back.
+     */
+    private void add(Long bucketId, String kind, long objectCount, long storedBytes, long lastModified) {
+        if (bucketStatisticsRepository.increment(bucketId, kind, objectCount, storedBytes, lastModified) > 0) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.execute(status -> bucketStatisticsRepository.saveAndFlush(BucketStatisticsEntity.builder()
+                                                                                                                .bucketId(bucketId)
+                                                                                                                .kind(kind)
+                                                                                                                .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Statistics of kind {} in bucket {} created concurrently", kind, bucketId);
+        }
+        bucketStatisticsRepository.increment(bucketId, kind, objectCount, storedBytes, lastModified);
+    }
+
+    public void removeBuckets(Collection<Long> bucketIds) {
+        if (!bucketIds.isEmpty()) {
+            bucketStatisticsRepository.deleteByBucketIds(bucketIds);
+        }
+    }
+
+    public void removeAll() {
+        bucketStatisticsRepository.deleteAllInBatch();
+    }
+
+    @Transactional(readOnly = true)
+    public BucketStatistics getStatistics(Long bucketId) {
+        return getStatistics(Collections.singletonList(bucketId)).get(bucketId);
+    }
+
+    /**
+     * @return the statistics of each of the given buckets, empty statistics for a bucket without catalog object
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BucketStatistics> getStatistics(Collection<Long> bucketIds) {
+        Map<Long, List<BucketStatisticsEntity>> statisticsByBucket = bucketIds.isEmpty() ? Collections.emptyMap()
+                                                                                         : bucketStatisticsRepository.findByBucketIdIn(bucketIds)
+                                                                                                                     .stream()
+                                                                                                                     .collect(Collectors.groupingBy(BucketStatisticsEntity::getBucketId));
+        Map<Long, BucketStatistics> statistics = new HashMap<>();
+        for (Long bucketId : bucketIds) {
+            statistics.put(bucketId,
+                           aggregate(bucketId,
+                                     statisticsByBucket.getOrDefault(bucketId, Collections.emptyList())));
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the number of catalog objects of each of the given buckets that contains any
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countCatalogObjects(Collection<Long> bucketIds) {
+        if (bucketIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Long> objectCounts = new HashMap<>();
+        bucketStatisticsRepository.findByBucketIdIn(bucketIds)
+                                  .forEach(statistics -> objectCounts.merge(statistics.getBucketId(),
+                                                                            statistics.getObjectCount(),
+                                                                            Long::sum));
+        return objectCounts;
+    }
+
+    /**
+     * Computes the statistics from the catalog objects when they have not been maintained yet, i.e.
+     * on the first start with a catalog created by a previous version. The raw object sizes of the
+     * existing revisions are recorded first, by pages, each in its own transaction.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildStatisticsIfEmpty() {
+        if (bucketStatisticsRepository.count() > 0 || catalogObjectRepository.count() == 0) {
+            return;
+        }
+        log.info("Building the statistics of buckets");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        boolean hasNext = true;
+        while (hasNext) {
+            hasNext = transactionTemplate.execute(status -> {
+                List<CatalogObjectRevisionEntity> revisions = catalogObjectRevisionRepository.findWithoutRawObjectSize(new PageRequest(0,
+                                                                                                                                      REBUILD_PAGE_SIZE));
+                revisions.forEach(revision -> revision.setRawObjectSize(revision.getRawObject() == null ? 0L
+                                                                                                        : (long) revision.getRawObject().length));
+                catalogObjectRevisionRepository.save(revisions);
+                return !revisions.isEmpty();
+            });
+        }
+
+        transactionTemplate.execute(status -> {
+            Map<List<Object>, BucketStatisticsEntity> statistics = new HashMap<>();
+            for (Object[] row : catalogObjectRepository.countByBucketAndKind()) {
+                statistics.put(Arrays.asList(row[0], row[1]),
+                               BucketStatisticsEntity.builder()
+                                                     .bucketId((Long) row[0])
+                                                     .kind((String) row[1])
+                                                     .objectCount((Long) row[2])
+                                                     .lastModified((Long) row[3])
+                                                     .build());
+            }
+            for (Object[] row : catalogObjectRevisionRepository.sumRawObjectSizeByBucketAndKind()) {
+                BucketStatisticsEntity entity = statistics.get(Arrays.asList(row[0], row[1]));
+                if (entity != null) {
+                    entity.setStoredBytes(((Number) row[2]).longValue());
+                }
+            }
+            bucketStatisticsRepository.save(statistics.values());
+            return null;
+        });
+        log.info("Statistics of buckets built");
+    }
+
+    private static BucketStatistics aggregate(Long bucketId, List<BucketStatisticsEntity> statisticsOfKinds) {
+        long objectCount = 0;
+        long storedBytes = 0;
+        long lastModified = 0;
+        Map<String, Long> kinds = new TreeMap<>();
+        for (BucketStatisticsEntity statistics : statisticsOfKinds) {
+            objectCount += statistics.getObjectCount();
+            storedBytes += statistics.getStoredBytes();
+            lastModified = Math.max(lastModified, statistics.getLastModified());
+            if (statistics.getObjectCount() > 0) {
+                kinds.put(statistics.getKind(), statistics.getObjectCount());
+            }
+        }
+        return new BucketStatistics(bucketId, objectCount, kinds, storedBytes, lastModified);
+    }
+
+}
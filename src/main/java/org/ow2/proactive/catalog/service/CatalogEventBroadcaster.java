@@ -0,0 +1,282 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+import org.ow2.proactive.catalog.dto.CatalogEventList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * In-process fan-out of catalog mutation events.
+ *
+ * Events are numbered and the most recent ones are kept in memory so that subscribers can
+ * resume from the last sequence they received. Each subscriber has a bounded buffer drained by
+ * a dispatcher thread: publishing never waits for subscribers, and a subscriber that cannot
+ * keep up is disconnected once its buffer is full instead of slowing down the others.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+public class CatalogEventBroadcaster {
+
+    @Value("${pa.catalog.events.history.size:1000}")
+    private int historySize;
+
+    @Value("${pa.catalog.events.subscriber.buffer.size:256}")
+    private int subscriberBufferSize;
+
+    private final Object lock = new Object();
+
+    private final Deque<CatalogEvent> history = new ArrayDeque<>();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<CatalogEvent>> commitListeners = new CopyOnWriteArrayList<>();
+
+    private long lastSequence = 0;
+
+    private ExecutorService dispatcher;
+
+    public CatalogEventBroadcaster() {
+    }
+
+    @VisibleForTesting
+    CatalogEventBroadcaster(int historySize, int subscriberBufferSize) {
+        this.historySize = historySize;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        dispatcher = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("catalog-events-%d")
+                                                                             .setDaemon(true)
+                                                                             .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(Subscription::cancel);
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Publishes an event once the current transaction commits, or immediately when there is
+     * no transaction. Events of rolled back transactions are never published.
+     */
+    public void publishAfterCommit(CatalogEvent.Type type, Long bucketId, String bucketOwner, String name,
+            String kind) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    publish(type, bucketId, bucketOwner, name, kind);
+                }
+            });
+        } else {
+            publish(type, bucketId, bucketOwner, name, kind);
+        }
+    }
+
+    /**
+     * Registers a listener called with each published event by the thread that committed it,
+     * before the committing request completes, e.g. to forget what was read before the commit.
+     */
+    public void addCommitListener(Consumer<CatalogEvent> listener) {
+        commitListeners.add(listener);
+    }
+
+    public long getLastSequence() {
+        synchronized (lock) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * @return the retained events following the given sequence that match the filter
+     */
+    public CatalogEventList getEventsAfter(long after, Predicate<CatalogEvent> filter) {
+        synchronized (lock) {
+            List<CatalogEvent> events = history.stream()
+                                               .filter(event -> event.getSequence() > after)
+                                               .filter(filter)
+                                               .collect(Collectors.toList());
+            return new CatalogEventList(events, lastSequence, isTruncated(after));
+        }
+    }
+
+    /**
+     * Subscribes to the events following the given sequence. Retained events published after
+     * this sequence are replayed first, a negative sequence only subscribes to future events.
+     */
+    public Subscription subscribe(long after, Predicate<CatalogEvent> filter, CatalogEventListener listener) {
+        synchronized (lock) {
+            long from = after < 0 ? lastSequence : after;
+            List<CatalogEvent> replay = history.stream()
+                                               .filter(event -> event.getSequence() > from)
+                                               .filter(filter)
+                                               .collect(Collectors.toList());
+            Subscription subscription = new Subscription(filter,
+                                                         listener,
+                                                         subscriberBufferSize + replay.size(),
+                                                         isTruncated(from));
+            replay.forEach(subscription::offer);
+            subscriptions.add(subscription);
+            subscription.scheduleDrain();
+            return subscription;
+        }
+    }
+
+    private void publish(CatalogEvent.Type type, Long bucketId, String bucketOwner, String name, String kind) {
+        CatalogEvent event;
+        synchronized (lock) {
+            event = new CatalogEvent(++lastSequence,
+                                     type,
+                                     bucketId,
+                                     bucketOwner,
+                                     name,
+                                     kind,
+                                     System.currentTimeMillis());
+            history.addLast(event);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+            // offered under the lock so that every subscriber sees events in sequence order
+            subscriptions.forEach(subscription -> subscription.offer(event));
+        }
+        commitListeners.forEach(listener -> listener.accept(event));
+    }
+
+    /**
+     * A sequence is truncated when events following it are no longer retained, or when it
+     * does not belong to this feed anymore, for instance because the server restarted.
+     */
+    private boolean isTruncated(long after) {
+        if (after > lastSequence) {
+            return true;
+        }
+        return !history.isEmpty() && after < history.peekFirst().getSequence() - 1;
+    }
+
+    public class Subscription {
+
+        private final Predicate<CatalogEvent> filter;
+
+        private final CatalogEventListener listener;
+
+        private final BlockingQueue<CatalogEvent> buffer;
+
+        private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+        private volatile boolean truncated;
+
+        private volatile boolean cancelled;
+
+        private Subscription(Predicate<CatalogEvent> filter, CatalogEventListener listener, int capacity,
+                boolean truncated) {
+            this.filter = filter;
+            this.listener = listener;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+            this.truncated = truncated;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void offer(CatalogEvent event) {
+            if (cancelled || !filter.test(event)) {
+                return;
+            }
+            if (buffer.offer(event)) {
+                scheduleDrain();
+            } else {
+                log.debug("Catalog event subscriber is too slow, disconnecting it at sequence {}",
+                          event.getSequence());
+                cancel();
+                dispatcher.execute(listener::onOverflow);
+            }
+        }
+
+        private void scheduleDrain() {
+            if ((truncated || !buffer.isEmpty()) && drainScheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                List<CatalogEvent> events = new ArrayList<>();
+                buffer.drainTo(events);
+                if (!cancelled && (truncated || !events.isEmpty())) {
+                    boolean wasTruncated = truncated;
+                    truncated = false;
+                    try {
+                        listener.onEvents(events, wasTruncated);
+                    } catch (IOException | RuntimeException e) {
+                        log.debug("Catalog event subscriber cannot be reached anymore", e);
+                        cancel();
+                    }
+                }
+                drainScheduled.set(false);
+            } while (!cancelled && !buffer.isEmpty() && drainScheduled.compareAndSet(false, true));
+        }
+    }
+
+}
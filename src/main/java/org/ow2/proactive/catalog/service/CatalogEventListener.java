@@ -0,0 +1,56 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+
+
+/**
+ * Receives the events of a {@link CatalogEventBroadcaster} subscription. Callbacks are invoked
+ * from a dispatcher thread, never from the thread that mutated the catalog.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public interface CatalogEventListener {
+
+    /**
+     * @param truncated true if events were missed before the given ones, which happens when the
+     * subscriber resumes from a sequence that is no longer retained
+     * @throws IOException if the events cannot be delivered, the subscription is then cancelled
+     */
+    void onEvents(List<CatalogEvent> events, boolean truncated) throws IOException;
+
+    /**
+     * Called once when the subscriber is too slow to keep up and its buffer is full.
+     * The subscription is cancelled, the subscriber can resume from its last sequence.
+     */
+    void onOverflow();
+
+}
@@ -0,0 +1,137 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Deletes catalog objects with set-based statements: the metadata of all their revisions,
+ * then the revisions, then the objects themselves, instead of letting JPA cascades load and
+ * remove every row one entity at a time.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+@Transactional
+public class CatalogObjectBulkDeleteService {
+
+    @Autowired
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private CatalogObjectTrigramIndexService catalogObjectTrigramIndexService;
+
+    @Autowired
+    private CatalogObjectContentIndexService catalogObjectContentIndexService;
+
+    @Autowired
+    private CatalogObjectChangeService catalogObjectChangeService;
+
+    @Autowired
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Autowired
+    private BucketStatisticsService bucketStatisticsService;
+
+    /**
+     * Names that do not match any catalog object of the bucket are ignored.
+     *
+     * @return the number of deleted catalog objects
+     */
+    public int deleteCatalogObjects(Long bucketId, Collection<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        List<CatalogObjectEntity> catalogObjects = catalogObjectRepository.findByBucketIdAndNameIn(bucketId, names);
+        if (catalogObjects.isEmpty()) {
+            return 0;
+        }
+
+        // the bulk statements clear the persistence context, read the owner while the bucket can still be loaded
+        String owner = catalogObjects.get(0).getBucket().getOwner();
+        List<String> existingNames = catalogObjects.stream()
+                                                   .map(catalogObject -> catalogObject.getId().getName())
+                                                   .collect(Collectors.toList());
+
+        Map<String, List<String>> namesByKind = catalogObjects.stream()
+                                                              .collect(Collectors.groupingBy(CatalogObjectEntity::getKind,
+                                                                                             Collectors.mapping(catalogObject -> catalogObject.getId()
+                                                                                                                                              .getName(),
+                                                                                                                Collectors.toList())));
+        Map<String, Long> storedBytesByKind = namesByKind.entrySet()
+                                                         .stream()
+                                                         .collect(Collectors.toMap(Map.Entry::getKey,
+                                                                                   entry -> catalogObjectRevisionRepository.sumRawObjectSizeOfCatalogObjects(bucketId,
+                                                                                                                                                             entry.getValue())));
+
+        int deletedMetadata = catalogObjectRevisionRepository.deleteMetadataOfCatalogObjects(bucketId, existingNames);
+        int deletedRevisions = catalogObjectRevisionRepository.deleteByCatalogObjects(bucketId, existingNames);
+        int deletedObjects = catalogObjectRepository.deleteByBucketIdAndNameIn(bucketId, existingNames);
+        catalogObjectTrigramIndexService.remove(bucketId, existingNames);
+        catalogObjectContentIndexService.remove(bucketId, existingNames);
+
+        long deletionTime = System.currentTimeMillis();
+        namesByKind.forEach((kind, kindNames) -> bucketStatisticsService.recordCatalogObjectsDeleted(bucketId,
+                                                                                                    kind,
+                                                                                                    kindNames.size(),
+                                                                                                    storedBytesByKind.get(kind),
+                                                                                                    deletionTime));
+        catalogObjectChangeService.recordDeletions(catalogObjects, owner, deletionTime);
+        catalogObjects.forEach(catalogObject -> catalogEventBroadcaster.publishAfterCommit(CatalogEvent.Type.CATALOG_OBJECT_DELETED,
+                                                                                          bucketId,
+                                                                                          owner,
+                                                                                          catalogObject.getId()
+                                                                                                       .getName(),
+                                                                                          catalogObject.getKind()));
+
+        log.debug("Deleted {} catalog objects, {} revisions and {} metadata from bucket {}",
+                  deletedObjects,
+                  deletedRevisions,
+                  deletedMetadata,
+                  bucketId);
+        return deletedObjects;
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.ow2.proactive.catalog.dto.CatalogObjectChange;
+import org.ow2.proactive.catalog.dto.CatalogObjectChangeList;
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectTombstoneRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTombstoneEntity;
+import org.ow2.proactive.catalog.service.exception.ExpiredChangeCursorException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Answers incremental synchronization requests: which catalog objects were created, got a new
+ * revision or were deleted after a given commit time. Deleted catalog objects are remembered by
+ * tombstones, which are pruned once older than their retention.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Service
+@Transactional
+@Log4j2
+public class CatalogObjectChangeService {
+
+    private static final long TOMBSTONE_PRUNING_INTERVAL_HOURS = 1;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private CatalogObjectTombstoneRepository catalogObjectTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager platformTransactionManager;
+
+    @Value("${pa.catalog.changes.safety.window.ms:30000}")
+    private long safetyWindowMs;
+
+    @Value("${pa.catalog.changes.tombstone.retention.days:30}")
+    private long tombstoneRetentionDays;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("tombstone-pruning-%d")
+                                                                                         .setDaemon(true)
+                                                                                         .build());
+        scheduler.scheduleWithFixedDelay(this::pruneTombstonesQuietly,
+                                         TOMBSTONE_PRUNING_INTERVAL_HOURS,
+                                         TOMBSTONE_PRUNING_INTERVAL_HOURS,
+                                         TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public void recordDeletion(CatalogObjectEntity catalogObject, long deletionTime) {
+        recordDeletions(Collections.singletonList(catalogObject), catalogObject.getBucket().getOwner(), deletionTime);
+    }
+
+    /**
+     * @param bucketOwner the owner of the bucket of the catalog objects, deletions are listed to the
+     *                    groups that owned the bucket when they happened, even once the bucket is deleted
+     */
+    public void recordDeletions(Collection<CatalogObjectEntity> catalogObjects, String bucketOwner,
+            long deletionTime) {
+        catalogObjectTombstoneRepository.save(catalogObjects.stream()
+                                                            .map(catalogObject -> CatalogObjectTombstoneEntity.builder()
+                                                                                                              .bucketId(catalogObject.getId()
+                                                                                                                                     .getBucketId())
+                                                                                                              .bucketOwner(bucketOwner)
+                                                                                                              .name(catalogObject.getId()
+                                                                                                                                 .getName())
+                                                                                                              .kind(catalogObject.getKind())
+                                                                                                              .deletionTime(deletionTime)
+                                                                                                              .build())
+                                                            .collect(Collectors.toList()));
+    }
+
+    public void removeAllTombstones() {
+        catalogObjectTombstoneRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Lists the changes committed after since, at most limit of them unless more share the same
+     * commit time. Changes committed during the last safety window are left for the next requests:
+     * commit times are assigned when revisions are created, a transaction still running when the
+     * changes are listed can commit a time older than the ones already listed.
+     *
+     * @param bucketIds the buckets to look into, or null to look into all of them
+     * @param bucketOwners the owners of the buckets whose deletions are listed, or null to list the
+     *                     deletions in the buckets to look into. Deletions are listed by owner so that
+     *                     the ones of deleted buckets are listed too
+     * @throws ExpiredChangeCursorException if deletions that happened after since may have been pruned
+     */
+    @Transactional(readOnly = true)
+    public CatalogObjectChangeList listChangesSince(long since, Collection<Long> bucketIds,
+            Collection<String> bucketOwners, int limit) {
+        long now = System.currentTimeMillis();
+        if (since > 0 && tombstoneRetentionDays > 0 && since < now - TimeUnit.DAYS.toMillis(tombstoneRetentionDays)) {
+            throw new ExpiredChangeCursorException("Deletions are kept " + tombstoneRetentionDays +
+                                                   " days, changes have to be listed again since 0");
+        }
+        long until = now - safetyWindowMs;
+        if (bucketIds != null && bucketIds.isEmpty() && (bucketOwners == null || bucketOwners.isEmpty()) ||
+            since >= until) {
+            return new CatalogObjectChangeList(since, since, new ArrayList<>(), false);
+        }
+
+        Pageable pageable = new PageRequest(0, limit + 1);
+        List<CatalogObjectRevisionEntity> headRevisions = findHeadRevisions(since, until, bucketIds, pageable);
+        List<CatalogObjectTombstoneEntity> tombstones = findTombstones(since, until, bucketIds, bucketOwners, pageable);
+
+        boolean hasMore = headRevisions.size() + tombstones.size() > limit;
+        if (hasMore) {
+            // the next request starts after the latest commit time, a page cannot end within a commit time
+            List<Long> commitTimes = Stream.concat(headRevisions.stream().map(CatalogObjectRevisionEntity::getCommitTime),
+                                                   tombstones.stream()
+                                                             .map(CatalogObjectTombstoneEntity::getDeletionTime))
+                                           .sorted()
+                                           .collect(Collectors.toList());
+            long firstExcluded = commitTimes.get(limit);
+            if (commitTimes.get(0) == firstExcluded) {
+                until = firstExcluded;
+                headRevisions = findHeadRevisions(since, until, bucketIds, null);
+                tombstones = findTombstones(since, until, bucketIds, bucketOwners, null);
+            } else {
+                until = firstExcluded - 1;
+                long lastIncluded = until;
+                headRevisions.removeIf(revision -> revision.getCommitTime() > lastIncluded);
+                tombstones.removeIf(tombstone -> tombstone.getDeletionTime() > lastIncluded);
+            }
+        }
+
+        Set<Map.Entry<Long, String>> updatedObjects = findExistingBefore(since, until, bucketIds).stream()
+                                                                                                .map(key -> entry(key.getBucketId(),
+                                                                                                                  key.getName()))
+                                                                                                .collect(Collectors.toSet());
+
+        List<CatalogObjectChange> changes = new ArrayList<>(headRevisions.size() + tombstones.size());
+        for (CatalogObjectRevisionEntity revision : headRevisions) {
+            CatalogObjectMetadata metadata = new CatalogObjectMetadata(revision);
+            if (updatedObjects.contains(entry(metadata.getBucketId(), metadata.getName()))) {
+                changes.add(new CatalogObjectChange(CatalogObjectChange.Type.UPDATED, metadata));
+            } else {
+                changes.add(new CatalogObjectChange(CatalogObjectChange.Type.CREATED, metadata));
+            }
+        }
+        for (CatalogObjectTombstoneEntity tombstone : tombstones) {
+            changes.add(new CatalogObjectChange(tombstone.getBucketId(),
+                                                tombstone.getName(),
+                                                tombstone.getKind(),
+                                                tombstone.getDeletionTime()));
+        }
+        changes.sort(Comparator.comparingLong(CatalogObjectChange::getCommitTime));
+
+        long latest = changes.isEmpty() ? since : changes.get(changes.size() - 1).getCommitTime();
+        return new CatalogObjectChangeList(since, latest, changes, hasMore);
+    }
+
+    /**
+     * Deletes the tombstones older than the retention, listing the changes since an older commit
+     * time is refused from then on.
+     */
+    public int pruneTombstones() {
+        if (tombstoneRetentionDays <= 0) {
+            return 0;
+        }
+        long before = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(tombstoneRetentionDays);
+        int pruned = new TransactionTemplate(platformTransactionManager).execute(status -> catalogObjectTombstoneRepository.deleteDeletedBefore(before));
+        if (pruned > 0) {
+            log.info("Pruned {} catalog object tombstones older than {} days", pruned, tombstoneRetentionDays);
+        }
+        return pruned;
+    }
+
+    private void pruneTombstonesQuietly() {
+        try {
+            pruneTombstones();
+        } catch (RuntimeException e) {
+            log.error("Catalog object tombstones cannot be pruned", e);
+        }
+    }
+
+    private List<CatalogObjectRevisionEntity> findHeadRevisions(long since, long until, Collection<Long> bucketIds,
+            Pageable pageable) {
+        if (bucketIds == null) {
+            return catalogObjectRevisionRepository.findDefaultCatalogObjectsCommittedBetween(since, until, pageable);
+        }
+        return bucketIds.isEmpty() ? new ArrayList<>()
+                                   : catalogObjectRevisionRepository.findDefaultCatalogObjectsCommittedBetweenInBuckets(since,
+                                                                                                                        until,
+                                                                                                                        bucketIds,
+                                                                                                                        pageable);
+    }
+
+    private List<CatalogObjectTombstoneEntity> findTombstones(long since, long until, Collection<Long> bucketIds,
+            Collection<String> bucketOwners, Pageable pageable) {
+        if (bucketOwners != null) {
+            return bucketOwners.isEmpty() ? new ArrayList<>()
+                                          : catalogObjectTombstoneRepository.findDeletedBetweenInBucketsOwnedBy(since,
+                                                                                                                until,
+                                                                                                                bucketOwners,
+                                                                                                                pageable);
+        }
+        return bucketIds == null ? catalogObjectTombstoneRepository.findDeletedBetween(since, until, pageable)
+                                 : catalogObjectTombstoneRepository.findDeletedBetweenInBuckets(since,
+                                                                                                until,
+                                                                                                bucketIds,
+                                                                                                pageable);
+    }
+
+    private List<CatalogObjectEntity.CatalogObjectEntityKey> findExistingBefore(long since, long until,
+            Collection<Long> bucketIds) {
+        if (bucketIds == null) {
+            return catalogObjectRevisionRepository.findCatalogObjectsExistingAtAndCommittedBetween(since, until);
+        }
+        return bucketIds.isEmpty() ? new ArrayList<>()
+                                   : catalogObjectRevisionRepository.findCatalogObjectsExistingAtAndCommittedBetweenInBuckets(since,
+                                                                                                                              until,
+                                                                                                                              bucketIds);
+    }
+
+    private static Map.Entry<Long, String> entry(Long bucketId, String name) {
+        return new AbstractMap.SimpleImmutableEntry<>(bucketId, name);
+    }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.graphql.bean.common.Operations;
+import org.ow2.proactive.catalog.repository.CatalogObjectContentTokenRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectContentTokenEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.metamodel.CatalogObjectEntityMetaModelEnum;
+import org.ow2.proactive.catalog.repository.specification.catalogobject.AndSpecification;
+import org.ow2.proactive.catalog.repository.specification.catalogobject.BucketIdInNotInSpecification;
+import org.ow2.proactive.catalog.repository.specification.catalogobject.ContentTokenSpecification;
+import org.ow2.proactive.catalog.repository.specification.catalogobject.StringEqNeSpecification;
+import org.ow2.proactive.catalog.service.exception.ContentIndexDisabledException;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
+import org.ow2.proactive.catalog.service.storage.RawObjectStorage;
+import org.ow2.proactive.catalog.util.tokenizer.CatalogObjectTokenizerFactory;
+import org.ow2.proactive.catalog.util.tokenizer.ContentTokens;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Maintains an inverted index of the tokens found in the content of the head revision of
+ * each catalog object, so that objects can be searched by what they contain without
+ * downloading their raw content. A search matches the objects containing every token of the query.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+@Transactional
+public class CatalogObjectContentIndexService {
+
+    private static final int REBUILD_PAGE_SIZE = 100;
+
+    @Autowired
+    private CatalogObjectContentTokenRepository catalogObjectContentTokenRepository;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private RawObjectStorage rawObjectStorage;
+
+    @Autowired
+    private PlatformTransactionManager platformTransactionManager;
+
+    @Value("${pa.catalog.content.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pa.catalog.content.index.max.tokens:10000}")
+    private int maxTokensPerObject;
+
+    /**
+     * Replaces the postings of the catalog object by the tokens of the given content, which
+     * is expected to be the content of its new head revision.
+     */
+    public void index(CatalogObjectEntity catalogObject, byte[] rawObject) {
+        index(catalogObject, RawObjectContent.of(rawObject));
+    }
+
+    /**
+     * The content is tokenized from a stream, it is not loaded in memory.
+     */
+    public void index(CatalogObjectEntity catalogObject, RawObjectContent rawObject) {
+        if (!enabled) {
+            return;
+        }
+        Long bucketId = catalogObject.getId().getBucketId();
+        String name = catalogObject.getId().getName();
+
+        catalogObjectContentTokenRepository.deleteByCatalogObject(bucketId, name);
+
+        Set<String> tokens = tokenize(catalogObject, rawObject);
+        List<CatalogObjectContentTokenEntity> postings = tokens.stream()
+                                                               .limit(maxTokensPerObject)
+                                                               .map(token -> CatalogObjectContentTokenEntity.builder()
+                                                                                                            .bucketId(bucketId)
+                                                                                                            .name(name)
+                                                                                                            .token(token)
+                                                                                                            .build())
+                                                               .collect(Collectors.toList());
+        catalogObjectContentTokenRepository.save(postings);
+    }
+
+    public void remove(Long bucketId, String name) {
+        catalogObjectContentTokenRepository.deleteByCatalogObject(bucketId, name);
+    }
+
+    public void remove(Long bucketId, Collection<String> names) {
+        catalogObjectContentTokenRepository.deleteByCatalogObjects(bucketId, names);
+    }
+
+    public void removeAll() {
+        catalogObjectContentTokenRepository.deleteAllInBatch();
+    }
+
+    /**
+     * @return the tokens a catalog object must contain to match the given query
+     * @throws ContentIndexDisabledException if the content index is disabled
+     */
+    public Set<String> tokenizeQuery(String query) {
+        if (!enabled) {
+            throw new ContentIndexDisabledException();
+        }
+        return ContentTokens.of(query);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CatalogObjectMetadata> search(String query, List<Long> bucketIds, String kind, Pageable pageable) {
+        if (bucketIds != null && bucketIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Specification<CatalogObjectRevisionEntity>> specifications = new ArrayList<>();
+        specifications.add(ContentTokenSpecification.builder()
+                                                    .entityMetaModelEnum(CatalogObjectEntityMetaModelEnum.TOKEN)
+                                                    .operations(Operations.CONTAINS)
+                                                    .value(tokenizeQuery(query))
+                                                    .build());
+        if (bucketIds != null) {
+            specifications.add(BucketIdInNotInSpecification.builder()
+                                                           .entityMetaModelEnum(CatalogObjectEntityMetaModelEnum.BUCKET_ID)
+                                                           .operations(Operations.IN)
+                                                           .value(bucketIds)
+                                                           .build());
+        }
+        if (kind != null) {
+            specifications.add(StringEqNeSpecification.builder()
+                                                      .entityMetaModelEnum(CatalogObjectEntityMetaModelEnum.KIND)
+                                                      .operations(Operations.EQ)
+                                                      .value(kind)
+                                                      .build());
+        }
+
+        Specification<CatalogObjectRevisionEntity> specification = AndSpecification.builder()
+                                                                                   .fieldSpecifications(specifications)
+                                                                                   .build();
+        return catalogObjectRevisionRepository.findAll(specification, pageable)
+                                              .getContent()
+                                              .stream()
+                                              .map(CatalogObjectMetadata::new)
+                                              .collect(Collectors.toList());
+    }
+
+    /**
+     * Catalogs created before the index existed have no postings, the index is built once
+     * from the head revisions when the application starts. Each page is indexed in its own
+     * transaction so that raw contents do not pile up in the persistence context.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildIndexIfEmpty() {
+        if (!enabled || catalogObjectContentTokenRepository.count() > 0 ||
+            catalogObjectRevisionRepository.count() == 0) {
+            return;
+        }
+        log.info("Building the content index of catalog objects");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        Pageable pageable = new PageRequest(0, REBUILD_PAGE_SIZE, Sort.Direction.ASC, "id");
+        boolean hasNext = true;
+        while (hasNext) {
+            Pageable currentPage = pageable;
+            hasNext = transactionTemplate.execute(status -> {
+                List<CatalogObjectRevisionEntity> revisions = catalogObjectRevisionRepository.findDefaultCatalogObjects(currentPage);
+                revisions.forEach(revision -> index(revision.getCatalogObject(), rawObjectStorage.load(revision)));
+                return revisions.size() == currentPage.getPageSize();
+            });
+            pageable = pageable.next();
+        }
+    }
+
+    private Set<String> tokenize(CatalogObjectEntity catalogObject, RawObjectContent rawObject) {
+        if (rawObject.getLength() == 0) {
+            return Collections.emptySet();
+        }
+        try (InputStream input = rawObject.openStream()) {
+            return CatalogObjectTokenizerFactory.get().getTokenizer(catalogObject.getKind()).tokenize(input);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Content of catalog object {} in bucket {} cannot be indexed",
+                     catalogObject.getId().getName(),
+                     catalogObject.getId().getBucketId(),
+                     e);
+            return Collections.emptySet();
+        }
+    }
+
+}
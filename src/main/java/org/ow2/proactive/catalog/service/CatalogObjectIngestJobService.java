@@ -0,0 +1,314 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.IngestJobStatus;
+import org.ow2.proactive.catalog.repository.BucketRepository;
+import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
+import org.ow2.proactive.catalog.service.exception.IngestJobNotFoundException;
+import org.ow2.proactive.catalog.service.exception.IngestQueueFullException;
+import org.ow2.proactive.catalog.service.storage.RawObjectSpooler;
+import org.ow2.proactive.catalog.service.storage.SpooledRawObject;
+import org.ow2.proactive.catalog.util.ArchiveManagerHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.zeroturnaround.zip.ZipBreakException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Ingests uploaded catalog objects and archives in the background. Uploads are spooled to local
+ * disk and processed by a bounded pool of workers, each catalog object of an archive in its own
+ * transaction, so that large imports neither hold a request thread nor a long transaction.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+public class CatalogObjectIngestJobService {
+
+    @Autowired
+    private BucketRepository bucketRepository;
+
+    @Autowired
+    private CatalogObjectService catalogObjectService;
+
+    @Autowired
+    private ArchiveManagerHelper archiveManager;
+
+    @Autowired
+    private RawObjectSpooler rawObjectSpooler;
+
+    @Value("${pa.catalog.ingest.async.workers:2}")
+    private int workers;
+
+    @Value("${pa.catalog.ingest.async.queue.size:16}")
+    private int queueSize;
+
+    @Value("${pa.catalog.ingest.async.history.size:100}")
+    private int historySize;
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(workers,
+                                          workers,
+                                          0L,
+                                          TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<>(Math.max(queueSize, 1)),
+                                          new ThreadFactoryBuilder().setNameFormat("catalog-ingest-%d")
+                                                                    .setDaemon(true)
+                                                                    .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        synchronized (jobs) {
+            jobs.values()
+                .stream()
+                .filter(job -> job.state == IngestJobStatus.State.PENDING)
+                .forEach(job -> job.spool.close());
+        }
+    }
+
+    /**
+     * Spools the uploaded content and schedules its ingestion.
+     *
+     * @param name name of the catalog object, or null if the content is a ZIP archive whose files are
+     * all ingested as catalog objects
+     * @throws IngestQueueFullException if too many uploads are already waiting for a worker
+     */
+    public IngestJobStatus submit(Long bucketId, String name, String kind, String commitMessage, String contentType,
+            InputStream content) throws IOException {
+        if (!bucketRepository.exists(bucketId)) {
+            throw new BucketNotFoundException();
+        }
+
+        SpooledRawObject spool = rawObjectSpooler.spool(content);
+        Job job = new Job(UUID.randomUUID().toString(), bucketId, name, kind, commitMessage, contentType, spool);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            evictFinishedJobs();
+            try {
+                job.future = executor.submit(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.id);
+                spool.close();
+                throw new IngestQueueFullException();
+            }
+        }
+        return job.toStatus();
+    }
+
+    public IngestJobStatus getStatus(String jobId) {
+        synchronized (jobs) {
+            return getJob(jobId).toStatus();
+        }
+    }
+
+    /**
+     * Cancels a pending ingestion, or stops a running one after the catalog object being ingested.
+     * Catalog objects that are already ingested are kept.
+     */
+    public IngestJobStatus cancel(String jobId) {
+        synchronized (jobs) {
+            Job job = getJob(jobId);
+            job.cancelled = true;
+            if (job.future != null && job.future.cancel(false)) {
+                // never started, the worker will not clean up
+                executor.purge();
+                job.state = IngestJobStatus.State.CANCELLED;
+                job.spool.close();
+            }
+            return job.toStatus();
+        }
+    }
+
+    private Job getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new IngestJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        job.state = IngestJobStatus.State.RUNNING;
+        try {
+            if (job.name != null) {
+                if (!job.cancelled) {
+                    ingest(job,
+                           job.name,
+                           () -> catalogObjectService.createCatalogObjectFromUpload(job.bucketId,
+                                                                                    job.name,
+                                                                                    job.kind,
+                                                                                    job.commitMessage,
+                                                                                    job.contentType,
+                                                                                    job.spool));
+                }
+            } else {
+                archiveManager.extractZIP(job.spool.getPath().toFile(), file -> {
+                    if (job.cancelled) {
+                        throw new ZipBreakException();
+                    }
+                    ingest(job,
+                           file.getName(),
+                           () -> catalogObjectService.createCatalogObjectOrRevision(job.bucketId,
+                                                                                    file.getName(),
+                                                                                    job.kind,
+                                                                                    job.commitMessage,
+                                                                                    job.contentType,
+                                                                                    file.getContent()));
+                });
+                if (!job.cancelled && job.entries.isEmpty()) {
+                    throw new IllegalArgumentException("Malformed archive");
+                }
+            }
+            job.state = job.cancelled ? IngestJobStatus.State.CANCELLED : IngestJobStatus.State.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Failed to ingest upload " + job.id + " into bucket " + job.bucketId, e);
+            job.error = e.getMessage() != null ? e.getMessage() : e.toString();
+            job.state = IngestJobStatus.State.FAILED;
+        } finally {
+            job.spool.close();
+        }
+        log.info("Ingestion {} into bucket {} {} after {} catalog objects, {} failed",
+                 job.id,
+                 job.bucketId,
+                 job.state,
+                 job.entries.size(),
+                 job.failedEntries);
+    }
+
+    private void ingest(Job job, String name, Supplier<CatalogObjectMetadata> creation) {
+        IngestJobStatus.Entry entry;
+        try {
+            CatalogObjectMetadata catalogObject = creation.get();
+            entry = new IngestJobStatus.Entry(name,
+                                              IngestJobStatus.Entry.State.CREATED,
+                                              catalogObject.getCommitTimeRaw(),
+                                              null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to ingest catalog object " + name + " of upload " + job.id, e);
+            entry = new IngestJobStatus.Entry(name, IngestJobStatus.Entry.State.FAILED, null, e.getMessage());
+            job.failedEntries++;
+        }
+        synchronized (job.entries) {
+            job.entries.add(entry);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        jobs.values().removeIf(job -> jobs.size() > historySize && job.isFinished());
+    }
+
+    private static class Job {
+
+        private final String id;
+
+        private final long bucketId;
+
+        private final String name;
+
+        private final String kind;
+
+        private final String commitMessage;
+
+        private final String contentType;
+
+        private final SpooledRawObject spool;
+
+        private final List<IngestJobStatus.Entry> entries = new ArrayList<>();
+
+        private volatile long failedEntries;
+
+        private volatile Future<?> future;
+
+        private volatile boolean cancelled;
+
+        private volatile IngestJobStatus.State state = IngestJobStatus.State.PENDING;
+
+        private volatile String error;
+
+        private Job(String id, long bucketId, String name, String kind, String commitMessage, String contentType,
+                SpooledRawObject spool) {
+            this.id = id;
+            this.bucketId = bucketId;
+            this.name = name;
+            this.kind = kind;
+            this.commitMessage = commitMessage;
+            this.contentType = contentType;
+            this.spool = spool;
+        }
+
+        private boolean isFinished() {
+            return state == IngestJobStatus.State.COMPLETED || state == IngestJobStatus.State.FAILED ||
+                   state == IngestJobStatus.State.CANCELLED;
+        }
+
+        private IngestJobStatus toStatus() {
+            List<IngestJobStatus.Entry> entriesSoFar;
+            synchronized (entries) {
+                entriesSoFar = new ArrayList<>(entries);
+            }
+            return new IngestJobStatus(id,
+                                       bucketId,
+                                       state,
+                                       entriesSoFar.size(),
+                                       failedEntries,
+                                       entriesSoFar,
+                                       error);
+        }
+    }
+
+}
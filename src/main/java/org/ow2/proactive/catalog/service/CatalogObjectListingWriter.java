@@ -0,0 +1,145 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+/**
+ * Writes the catalog object listings as JSON arrays, element by element, while the revisions are
+ * read from a database cursor. The persistence context is cleared after each fetched batch of rows,
+ * so that the memory used by a listing does not depend on the number of listed revisions.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogObjectListingWriter {
+
+    private static final int CLEAR_INTERVAL = Integer.parseInt(CatalogObjectRevisionRepository.STREAM_FETCH_SIZE);
+
+    @Autowired
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CatalogObjectListingWriter() {
+    }
+
+    CatalogObjectListingWriter(CatalogObjectRepository catalogObjectRepository,
+            CatalogObjectRevisionRepository catalogObjectRevisionRepository, ObjectMapper objectMapper,
+            EntityManager entityManager) {
+        this.catalogObjectRepository = catalogObjectRepository;
+        this.catalogObjectRevisionRepository = catalogObjectRevisionRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Writes the metadata of the last revisions of the catalog objects of a bucket
+     *
+     * @param kind the kind of the listed catalog objects, or null for all kinds
+     * @param decorator called on each metadata before it is written, e.g. to add its links
+     * @return the number of written catalog objects
+     */
+    public long writeCatalogObjects(Long bucketId, String kind, Consumer<CatalogObjectMetadata> decorator,
+            OutputStream outputStream) throws IOException {
+        try (Stream<CatalogObjectRevisionEntity> revisions = kind == null ? catalogObjectRevisionRepository.streamDefaultCatalogObjectsInBucket(bucketId)
+                                                                          : catalogObjectRevisionRepository.streamDefaultCatalogObjectsOfKindInBucket(bucketId,
+                                                                                                                                                        kind)) {
+            return write(revisions, decorator, outputStream);
+        }
+    }
+
+    /**
+     * Writes the metadata of the revisions of a catalog object, the most recent first
+     *
+     * @param decorator called on each metadata before it is written, e.g. to add its links
+     * @return the number of written revisions
+     */
+    public long writeCatalogObjectRevisions(Long bucketId, String name, Consumer<CatalogObjectMetadata> decorator,
+            OutputStream outputStream) throws IOException {
+        // checked before anything is written, an error status cannot be sent afterwards
+        if (!catalogObjectRepository.exists(new CatalogObjectEntity.CatalogObjectEntityKey(bucketId, name))) {
+            throw new CatalogObjectNotFoundException();
+        }
+        try (Stream<CatalogObjectRevisionEntity> revisions = catalogObjectRevisionRepository.streamCatalogObjectRevisions(bucketId,
+                                                                                                                          name)) {
+            return write(revisions, decorator, outputStream);
+        }
+    }
+
+    private long write(Stream<CatalogObjectRevisionEntity> revisions, Consumer<CatalogObjectMetadata> decorator,
+            OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // a listing interrupted by an error must not look like a complete array
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartArray();
+            Iterator<CatalogObjectRevisionEntity> iterator = revisions.iterator();
+            while (iterator.hasNext()) {
+                CatalogObjectMetadata metadata = new CatalogObjectMetadata(iterator.next());
+                decorator.accept(metadata);
+                objectMapper.writeValue(generator, metadata);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+
+}
@@ -29,10 +29,19 @@ import java.io.UnsupportedEncodingException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.PersistenceContext;
+
+import org.ow2.proactive.catalog.dto.CatalogEvent;
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectReference;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
 import org.ow2.proactive.catalog.dto.Metadata;
 import org.ow2.proactive.catalog.repository.BucketRepository;
@@ -42,19 +51,24 @@ import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.repository.specification.catalogobject.CatalogObjectReferencesSpecification;
 import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectConflictException;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectModifiedException;
 import org.ow2.proactive.catalog.service.exception.CatalogObjectNotFoundException;
 import org.ow2.proactive.catalog.service.exception.RevisionNotFoundException;
 import org.ow2.proactive.catalog.service.exception.UnprocessableEntityException;
+import org.ow2.proactive.catalog.service.ingest.CatalogObjectIngestPipeline;
+import org.ow2.proactive.catalog.service.ingest.IngestedCatalogObject;
 import org.ow2.proactive.catalog.service.model.GenericInfoBucketData;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
+import org.ow2.proactive.catalog.service.storage.RawObjectStorage;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.FileNameAndContent;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.ZipArchiveContent;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -85,7 +99,28 @@ public class CatalogObjectService {
     private KeyValueLabelMetadataHelper keyValueLabelMetadataHelper;
 
     @Autowired
-    private GenericInformationAdder genericInformationAdder;
+    private CatalogObjectIngestPipeline catalogObjectIngestPipeline;
+
+    @Autowired
+    private CatalogObjectTrigramIndexService catalogObjectTrigramIndexService;
+
+    @Autowired
+    private CatalogObjectContentIndexService catalogObjectContentIndexService;
+
+    @Autowired
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Autowired
+    private CatalogObjectBulkDeleteService catalogObjectBulkDeleteService;
+
+    @Autowired
+    private BucketStatisticsService bucketStatisticsService;
+
+    @Autowired
+    private RawObjectStorage rawObjectStorage;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public CatalogObjectMetadata createCatalogObject(Long bucketId, String name, String kind, String commitMessage,
             String contentType, byte[] rawObject) {
@@ -107,25 +142,64 @@ public class CatalogObjectService {
             throw new UnprocessableEntityException("Malformed archive");
         }
 
-        return filesContainedInArchive.stream().map(file -> {
-            CatalogObjectEntity catalogObject = catalogObjectRepository.findOne(new CatalogObjectEntity.CatalogObjectEntityKey(bucketId,
-                                                                                                                               file.getName()));
-            if (catalogObject == null) {
-                return this.createCatalogObject(bucketId,
-                                                file.getName(),
-                                                kind,
-                                                commitMessage,
-                                                contentType,
-                                                Collections.emptyList(),
-                                                file.getContent());
-            } else {
-                return this.createCatalogObjectRevision(bucketId, file.getName(), commitMessage, file.getContent());
-            }
-        }).collect(Collectors.toList());
+        return filesContainedInArchive.stream()
+                                      .map(file -> createCatalogObjectOrRevision(bucketId,
+                                                                                 file.getName(),
+                                                                                 kind,
+                                                                                 commitMessage,
+                                                                                 contentType,
+                                                                                 file.getContent()))
+                                      .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates the catalog object, or a new revision of it if it already exists, as done for each
+     * file of an imported archive.
+     */
+    public CatalogObjectMetadata createCatalogObjectOrRevision(Long bucketId, String name, String kind,
+            String commitMessage, String contentType, byte[] rawObject) {
+        CatalogObjectEntity catalogObject = catalogObjectRepository.findOne(new CatalogObjectEntity.CatalogObjectEntityKey(bucketId,
+                                                                                                                           name));
+        if (catalogObject == null) {
+            return this.createCatalogObject(bucketId,
+                                            name,
+                                            kind,
+                                            commitMessage,
+                                            contentType,
+                                            Collections.emptyList(),
+                                            rawObject);
+        } else {
+            return this.createCatalogObjectRevision(bucketId, name, commitMessage, rawObject);
+        }
     }
 
     public CatalogObjectMetadata createCatalogObject(Long bucketId, String name, String kind, String commitMessage,
             String contentType, List<Metadata> metadataList, byte[] rawObject) {
+        return createCatalogObjectWithContent(bucketId,
+                                              name,
+                                              kind,
+                                              commitMessage,
+                                              contentType,
+                                              metadataList,
+                                              RawObjectContent.of(rawObject));
+    }
+
+    /**
+     * Creates a catalog object from an upload that is not held in memory.
+     */
+    public CatalogObjectMetadata createCatalogObjectFromUpload(Long bucketId, String name, String kind,
+            String commitMessage, String contentType, RawObjectContent rawObject) {
+        return createCatalogObjectWithContent(bucketId,
+                                              name,
+                                              kind,
+                                              commitMessage,
+                                              contentType,
+                                              Collections.emptyList(),
+                                              rawObject);
+    }
+
+    private CatalogObjectMetadata createCatalogObjectWithContent(Long bucketId, String name, String kind,
+            String commitMessage, String contentType, List<Metadata> metadataList, RawObjectContent rawObject) {
 
         BucketEntity bucketEntity = bucketRepository.findOne(bucketId);
         if (bucketEntity == null) {
@@ -144,43 +218,107 @@ public class CatalogObjectService {
         CatalogObjectRevisionEntity result = buildCatalogObjectRevisionEntity(commitMessage,
                                                                               metadataList,
                                                                               rawObject,
-                                                                              catalogObjectEntity);
+                                                                              catalogObjectEntity,
+                                                                              null);
+
+        catalogObjectTrigramIndexService.index(catalogObjectEntity);
+        publishEvent(CatalogEvent.Type.CATALOG_OBJECT_CREATED, catalogObjectEntity);
 
         return new CatalogObjectMetadata(result);
     }
 
     private CatalogObjectRevisionEntity buildCatalogObjectRevisionEntity(final String commitMessage,
-            final List<Metadata> metadataList, final byte[] rawObject, final CatalogObjectEntity catalogObjectEntity) {
-
-        List<KeyValueLabelMetadataEntity> keyValueMetadataEntities = KeyValueLabelMetadataHelper.convertToEntity(metadataList);
-
-        List<KeyValueLabelMetadataEntity> keyValues = CollectionUtils.isEmpty(metadataList) ? keyValueLabelMetadataHelper.extractKeyValuesFromRaw(catalogObjectEntity.getKind(),
-                                                                                                                                                  rawObject)
-                                                                                            : keyValueMetadataEntities;
-
-        GenericInfoBucketData genericInfoBucketData = createGenericInfoBucketData(catalogObjectEntity.getBucket());
-        List<KeyValueLabelMetadataEntity> genericInformationWithBucketDataList = keyValueLabelMetadataHelper.replaceMetadataRelatedGenericInfoAndKeepOthers(keyValues,
-                                                                                                                                                            genericInfoBucketData);
-        byte[] workflowWithReplacedGenericInfo = genericInformationAdder.addGenericInformationToRawObjectIfWorkflow(rawObject,
-                                                                                                                    catalogObjectEntity.getKind(),
-                                                                                                                    keyValueLabelMetadataHelper.toMap(keyValueLabelMetadataHelper.getOnlyGenericInformation(genericInformationWithBucketDataList)));
+            final List<Metadata> metadataList, final RawObjectContent rawObject,
+            final CatalogObjectEntity catalogObjectEntity, final Long expectedLastCommitTime) {
+
+        IngestedCatalogObject ingestedCatalogObject = catalogObjectIngestPipeline.ingest(catalogObjectEntity.getKind(),
+                                                                                         rawObject,
+                                                                                         KeyValueLabelMetadataHelper.convertToEntity(metadataList),
+                                                                                         createGenericInfoBucketData(catalogObjectEntity.getBucket()));
+        List<KeyValueLabelMetadataEntity> genericInformationWithBucketDataList = ingestedCatalogObject.getMetadata();
+        RawObjectContent workflowWithReplacedGenericInfo = ingestedCatalogObject.getContent();
+        long rawObjectSize = workflowWithReplacedGenericInfo.getLength();
+
+        boolean newCatalogObject = catalogObjectEntity.getLastCommitTime() == 0;
+        long now = LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long commitTime = newCatalogObject ? catalogObjectEntity.nextCommitTime(now)
+                                           : claimNextCommitTime(catalogObjectEntity, now, expectedLastCommitTime);
 
         CatalogObjectRevisionEntity catalogObjectRevisionEntity = CatalogObjectRevisionEntity.builder()
                                                                                              .commitMessage(commitMessage)
-                                                                                             .commitTime(LocalDateTime.now()
-                                                                                                                      .atZone(ZoneId.systemDefault())
-                                                                                                                      .toInstant()
-                                                                                                                      .toEpochMilli())
+                                                                                             .commitTime(commitTime)
                                                                                              .keyValueMetadataList(genericInformationWithBucketDataList)
-                                                                                             .rawObject(workflowWithReplacedGenericInfo)
+                                                                                             .rawObjectSize(rawObjectSize)
+                                                                                             .contentHash(ingestedCatalogObject.getContentHash())
                                                                                              .catalogObject(catalogObjectEntity)
                                                                                              .build();
+        rawObjectStorage.store(catalogObjectRevisionEntity, workflowWithReplacedGenericInfo);
 
         genericInformationWithBucketDataList.forEach(keyValue -> keyValue.setCatalogObjectRevision(catalogObjectRevisionEntity));
 
         catalogObjectEntity.addRevision(catalogObjectRevisionEntity);
 
-        return catalogObjectRevisionRepository.save(catalogObjectRevisionEntity);
+        catalogObjectContentIndexService.index(catalogObjectEntity, workflowWithReplacedGenericInfo);
+
+        CatalogObjectRevisionEntity savedRevision = catalogObjectRevisionRepository.save(catalogObjectRevisionEntity);
+        bucketStatisticsService.recordRevisionCreated(catalogObjectEntity.getId().getBucketId(),
+                                                      catalogObjectEntity.getKind(),
+                                                      newCatalogObject,
+                                                      rawObjectSize,
+                                                      catalogObjectRevisionEntity.getCommitTime());
+        return savedRevision;
+    }
+
+    /**
+     * The commit time of a new revision follows the head revision, it is claimed under the version check
+     * of the catalog object. When another revision was committed since the catalog object was read, the
+     * new revision goes on top of it unless a specific head revision is expected: the head is read again
+     * once, a second concurrent revision is reported as a conflict.
+     *
+     * @throws CatalogObjectModifiedException if the head revision is not the expected one anymore
+     * @throws CatalogObjectConflictException if the head revision moved again while it was read
+     */
+    private long claimNextCommitTime(CatalogObjectEntity catalogObject, long now, Long expectedLastCommitTime) {
+        long commitTime = catalogObject.nextCommitTime(now);
+        if (!updateLastCommitTime(catalogObject, commitTime)) {
+            if (expectedLastCommitTime != null) {
+                throw new CatalogObjectModifiedException("The last revision of " + catalogObject.getId().getName() +
+                                                         " in bucket " + catalogObject.getId().getBucketId() +
+                                                         " was committed at " + catalogObject.getLastCommitTime() +
+                                                         ", not at " + expectedLastCommitTime);
+            }
+            commitTime = catalogObject.nextCommitTime(now);
+            if (!updateLastCommitTime(catalogObject, commitTime)) {
+                throw new CatalogObjectConflictException("Concurrent revisions of " + catalogObject.getId().getName() +
+                                                         " in bucket " + catalogObject.getId().getBucketId());
+            }
+        }
+        return commitTime;
+    }
+
+    private boolean updateLastCommitTime(CatalogObjectEntity catalogObject, long commitTime) {
+        boolean updated = catalogObjectRepository.updateLastCommitTime(catalogObject.getId().getBucketId(),
+                                                                       catalogObject.getId().getName(),
+                                                                       catalogObject.getVersion(),
+                                                                       commitTime) == 1;
+        try {
+            // the managed catalog object gets the new head and version, or the ones of the concurrent revision
+            entityManager.refresh(catalogObject);
+        } catch (EntityNotFoundException e) {
+            throw new CatalogObjectNotFoundException("bucketid : " + catalogObject.getId().getBucketId() +
+                                                     " name : " + catalogObject.getId().getName());
+        }
+        return updated;
+    }
+
+    private void publishEvent(CatalogEvent.Type type, CatalogObjectEntity catalogObject) {
+        catalogEventBroadcaster.publishAfterCommit(type,
+                                                   catalogObject.getId().getBucketId(),
+                                                   catalogObject.getBucket() == null ? null
+                                                                                     : catalogObject.getBucket()
+                                                                                                    .getOwner(),
+                                                   catalogObject.getId().getName(),
+                                                   catalogObject.getKind());
     }
 
     private GenericInfoBucketData createGenericInfoBucketData(BucketEntity bucket) {
@@ -218,9 +356,7 @@ public class CatalogObjectService {
     }
 
     public void delete(Long bucketId, String name) throws CatalogObjectNotFoundException {
-        try {
-            catalogObjectRepository.delete(new CatalogObjectEntity.CatalogObjectEntityKey(bucketId, name));
-        } catch (EmptyResultDataAccessException emptyResultDataAccessException) {
+        if (catalogObjectBulkDeleteService.deleteCatalogObjects(bucketId, Collections.singletonList(name)) == 0) {
             log.warn("CatalogObject {} does not exist in bucket {}", name, bucketId);
             throw new CatalogObjectNotFoundException("name:" + name + " bucket id : " + bucketId);
         }
@@ -237,6 +373,32 @@ public class CatalogObjectService {
         return new CatalogObjectMetadata(catalogObject);
     }
 
+    /**
+     * Loads the last revisions of the given catalog objects, with their metadata, by a single query
+     * that matches the names of each bucket, so that only the requested catalog objects are read.
+     *
+     * @return the metadata of the last revision of each of the given catalog objects that exists
+     */
+    public Map<CatalogObjectReference, CatalogObjectMetadata>
+            getCatalogObjectsMetadata(Set<CatalogObjectReference> references) {
+        if (references.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<Long, Set<String>> namesByBucket = references.stream()
+                                                         .collect(Collectors.groupingBy(CatalogObjectReference::getBucketId,
+                                                                                        Collectors.mapping(CatalogObjectReference::getName,
+                                                                                                           Collectors.toSet())));
+        Map<CatalogObjectReference, CatalogObjectMetadata> metadata = new HashMap<>();
+        for (CatalogObjectRevisionEntity revision : catalogObjectRevisionRepository.findAll(CatalogObjectReferencesSpecification.builder()
+                                                                                                                                .namesByBucket(namesByBucket)
+                                                                                                                                .build())) {
+            CatalogObjectEntity.CatalogObjectEntityKey id = revision.getCatalogObject().getId();
+            metadata.put(new CatalogObjectReference(id.getBucketId(), id.getName()),
+                         new CatalogObjectMetadata(revision));
+        }
+        return metadata;
+    }
+
     public CatalogRawObject getCatalogRawObject(Long bucketId, String name) {
         CatalogObjectRevisionEntity catalogObject = catalogObjectRevisionRepository.findDefaultCatalogObjectByNameInBucket(bucketId,
                                                                                                                            name);
@@ -245,7 +407,9 @@ public class CatalogObjectService {
             throw new CatalogObjectNotFoundException("bucketId : " + bucketId + " name : " + name);
         }
 
-        return new CatalogRawObject(catalogObject);
+        return new CatalogRawObject(catalogObject,
+                                    rawObjectStorage.load(catalogObject),
+                                    rawObjectStorage.loadGzipped(catalogObject));
     }
 
     /** ####################  Revision Operations ###################**/
@@ -257,6 +421,43 @@ public class CatalogObjectService {
 
     public CatalogObjectMetadata createCatalogObjectRevision(Long bucketId, String name, String commitMessage,
             List<Metadata> metadataListParsed, byte[] rawObject) {
+        return this.createCatalogObjectRevision(bucketId, name, commitMessage, metadataListParsed, rawObject, null);
+    }
+
+    /**
+     * @param expectedLastCommitTime when not null, the revision is only created if the head revision
+     * of the catalog object still has this commit time
+     * @throws CatalogObjectModifiedException if the head revision does not have the expected commit time
+     */
+    public CatalogObjectMetadata createCatalogObjectRevision(Long bucketId, String name, String commitMessage,
+            List<Metadata> metadataListParsed, byte[] rawObject, Long expectedLastCommitTime) {
+        return createCatalogObjectRevisionWithContent(bucketId,
+                                                      name,
+                                                      commitMessage,
+                                                      metadataListParsed,
+                                                      RawObjectContent.of(rawObject),
+                                                      expectedLastCommitTime);
+    }
+
+    /**
+     * Creates a revision from an upload that is not held in memory.
+     *
+     * @param expectedLastCommitTime when not null, the revision is only created if the head revision
+     * of the catalog object still has this commit time
+     */
+    public CatalogObjectMetadata createCatalogObjectRevisionFromUpload(Long bucketId, String name,
+            String commitMessage, RawObjectContent rawObject, Long expectedLastCommitTime) {
+        return createCatalogObjectRevisionWithContent(bucketId,
+                                                      name,
+                                                      commitMessage,
+                                                      Collections.emptyList(),
+                                                      rawObject,
+                                                      expectedLastCommitTime);
+    }
+
+    private CatalogObjectMetadata createCatalogObjectRevisionWithContent(Long bucketId, String name,
+            String commitMessage, List<Metadata> metadataListParsed, RawObjectContent rawObject,
+            Long expectedLastCommitTime) {
 
         CatalogObjectEntity catalogObject = catalogObjectRepository.findOne(new CatalogObjectEntity.CatalogObjectEntityKey(bucketId,
                                                                                                                            name));
@@ -265,10 +466,18 @@ public class CatalogObjectService {
             throw new CatalogObjectNotFoundException("bucketid : " + bucketId + " name : " + name);
         }
 
+        if (expectedLastCommitTime != null && expectedLastCommitTime != catalogObject.getLastCommitTime()) {
+            throw new CatalogObjectModifiedException("The last revision of " + name + " in bucket " + bucketId +
+                                                     " was committed at " + catalogObject.getLastCommitTime() +
+                                                     ", not at " + expectedLastCommitTime);
+        }
+
         CatalogObjectRevisionEntity revisionEntity = buildCatalogObjectRevisionEntity(commitMessage,
                                                                                       metadataListParsed,
                                                                                       rawObject,
-                                                                                      catalogObject);
+                                                                                      catalogObject,
+                                                                                      expectedLastCommitTime);
+        publishEvent(CatalogEvent.Type.CATALOG_OBJECT_REVISION_CREATED, catalogObject);
 
         return new CatalogObjectMetadata(revisionEntity);
     }
@@ -297,7 +506,9 @@ public class CatalogObjectService {
                                                                                                 name,
                                                                                                 commitTime);
 
-        return new CatalogRawObject(revisionEntity);
+        return new CatalogRawObject(revisionEntity,
+                                    rawObjectStorage.load(revisionEntity),
+                                    rawObjectStorage.loadGzipped(revisionEntity));
 
     }
 
@@ -313,8 +524,10 @@ public class CatalogObjectService {
 
         CatalogObjectRevisionEntity restoredRevision = buildCatalogObjectRevisionEntity(catalogObjectRevision.getCommitMessage(),
                                                                                         keyValueLabelMetadataHelper.convertFromEntity(catalogObjectRevision.getKeyValueMetadataList()),
-                                                                                        catalogObjectRevision.getRawObject(),
-                                                                                        catalogObjectRevision.getCatalogObject());
+                                                                                        rawObjectStorage.load(catalogObjectRevision),
+                                                                                        catalogObjectRevision.getCatalogObject(),
+                                                                                        null);
+        publishEvent(CatalogEvent.Type.CATALOG_OBJECT_RESTORED, catalogObjectRevision.getCatalogObject());
 
         return new CatalogObjectMetadata(restoredRevision);
     }
@@ -0,0 +1,162 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectTrigramRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTrigramEntity;
+import org.ow2.proactive.catalog.util.TrigramExtractor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Maintains the trigram index over catalog object names and kinds and uses it to narrow
+ * LIKE searches down to a set of candidate values. Candidates must still be verified against
+ * the pattern, the index only discards values that cannot match.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+@Transactional
+public class CatalogObjectTrigramIndexService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Autowired
+    private CatalogObjectTrigramRepository catalogObjectTrigramRepository;
+
+    @Autowired
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Value("${pa.catalog.trigram.index.max.candidates:1000}")
+    private int maxCandidates;
+
+    public void index(CatalogObjectEntity catalogObject) {
+        Long bucketId = catalogObject.getId().getBucketId();
+        String name = catalogObject.getId().getName();
+
+        List<CatalogObjectTrigramEntity> postings = new ArrayList<>();
+        TrigramExtractor.fromValue(name)
+                        .forEach(trigram -> postings.add(newPosting(bucketId,
+                                                                    name,
+                                                                    CatalogObjectTrigramEntity.Field.NAME,
+                                                                    trigram,
+                                                                    name)));
+        TrigramExtractor.fromValue(catalogObject.getKind())
+                        .forEach(trigram -> postings.add(newPosting(bucketId,
+                                                                    name,
+                                                                    CatalogObjectTrigramEntity.Field.KIND,
+                                                                    trigram,
+                                                                    catalogObject.getKind())));
+
+        catalogObjectTrigramRepository.save(postings);
+    }
+
+    public void remove(Long bucketId, String name) {
+        catalogObjectTrigramRepository.deleteByCatalogObject(bucketId, name);
+    }
+
+    public void remove(Long bucketId, Collection<String> names) {
+        catalogObjectTrigramRepository.deleteByCatalogObjects(bucketId, names);
+    }
+
+    public void removeAll() {
+        catalogObjectTrigramRepository.deleteAllInBatch();
+    }
+
+    /**
+     * @return the values of the given field that contain every trigram of the pattern, or an empty
+     * optional when the index cannot narrow the search, either because the pattern has no literal
+     * part long enough or because too many values qualify to be worth an IN clause.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Set<String>> findCandidates(CatalogObjectTrigramEntity.Field field, String likePattern) {
+        Set<String> trigrams = TrigramExtractor.fromLikePattern(likePattern);
+        if (trigrams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<String> candidates = catalogObjectTrigramRepository.findValuesContainingAllTrigrams(field,
+                                                                                                 trigrams,
+                                                                                                 trigrams.size());
+        if (candidates.size() > maxCandidates) {
+            log.debug("Trigram index returned {} candidates for pattern {}, falling back to a plain scan",
+                      candidates.size(),
+                      likePattern);
+            return Optional.empty();
+        }
+        return Optional.of(new HashSet<>(candidates));
+    }
+
+    /**
+     * Catalogs created before the index existed have no postings, the index is built once
+     * from the existing objects when the application starts.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuildIndexIfEmpty() {
+        if (catalogObjectTrigramRepository.count() > 0 || catalogObjectRepository.count() == 0) {
+            return;
+        }
+        log.info("Building the trigram index of catalog object names and kinds");
+        Page<CatalogObjectEntity> page = catalogObjectRepository.findAll(new PageRequest(0, REBUILD_PAGE_SIZE));
+        page.forEach(this::index);
+        while (page.hasNext()) {
+            page = catalogObjectRepository.findAll(page.nextPageable());
+            page.forEach(this::index);
+        }
+    }
+
+    private CatalogObjectTrigramEntity newPosting(Long bucketId, String name, CatalogObjectTrigramEntity.Field field,
+            String trigram, String value) {
+        return CatalogObjectTrigramEntity.builder()
+                                         .bucketId(bucketId)
+                                         .name(name)
+                                         .field(field)
+                                         .trigram(trigram)
+                                         .value(value)
+                                         .build();
+    }
+
+}
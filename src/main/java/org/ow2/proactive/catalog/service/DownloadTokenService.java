@@ -0,0 +1,188 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.ow2.proactive.catalog.dto.DownloadToken;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.InvalidDownloadTokenRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.common.io.BaseEncoding;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Issues and verifies the download tokens, which grant the download of the raw objects of a bucket,
+ * of a catalog object or of a revision until they expire. A token carries its scope and expiration
+ * time, signed with HMAC-SHA256, so that it is verified locally, without authenticating a session
+ * against the scheduler nor looking up the bucket owner.
+ *
+ * Without a configured secret, a random one is generated on startup: the tokens are then only valid
+ * for this catalog instance and until it restarts.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+public class DownloadTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final String VERSION = "1";
+
+    private static final String SEPARATOR = "\n";
+
+    private static final BaseEncoding ENCODING = BaseEncoding.base64Url().omitPadding();
+
+    @Value("${pa.catalog.download.token.secret:}")
+    private String secret;
+
+    @Value("${pa.catalog.download.token.validity.seconds:300}")
+    private long defaultValiditySeconds;
+
+    @Value("${pa.catalog.download.token.max.validity.seconds:3600}")
+    private long maxValiditySeconds;
+
+    private SecretKeySpec key;
+
+    private Clock clock = Clock.systemUTC();
+
+    public DownloadTokenService() {
+    }
+
+    DownloadTokenService(String secret, long defaultValiditySeconds, long maxValiditySeconds, Clock clock) {
+        this.secret = secret;
+        this.defaultValiditySeconds = defaultValiditySeconds;
+        this.maxValiditySeconds = maxValiditySeconds;
+        this.clock = clock;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            log.info("No download token secret configured, the download tokens are only valid until the catalog restarts");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * @param name the catalog object the token is restricted to, any catalog object of the bucket if null
+     * @param commitTime the revision the token is restricted to, any revision if null
+     * @param validitySeconds the validity of the token, the default validity if null, at most the maximum validity
+     */
+    public DownloadToken issue(long bucketId, String name, Long commitTime, Long validitySeconds) {
+        if (name == null && commitTime != null) {
+            throw new InvalidDownloadTokenRequestException("A download token restricted to a revision requires the name of its catalog object");
+        }
+        if (validitySeconds != null && validitySeconds <= 0) {
+            throw new InvalidDownloadTokenRequestException("The validity of a download token must be positive");
+        }
+        long validity = Math.min(validitySeconds == null ? defaultValiditySeconds : validitySeconds,
+                                 maxValiditySeconds);
+        long expiresAt = clock.millis() + TimeUnit.SECONDS.toMillis(validity);
+        String payload = String.join(SEPARATOR,
+                                     VERSION,
+                                     Long.toString(bucketId),
+                                     Long.toString(expiresAt),
+                                     commitTime == null ? "" : commitTime.toString(),
+                                     name == null ? "" : name);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String token = ENCODING.encode(payloadBytes) + "." + ENCODING.encode(sign(payloadBytes));
+        return new DownloadToken(token, bucketId, name, commitTime, expiresAt);
+    }
+
+    /**
+     * @param commitTime the requested revision, null for the last revision
+     * @throws AccessDeniedException if the token is malformed, forged, expired or does not grant the download
+     */
+    public void checkToken(String token, long bucketId, String name, Long commitTime) throws AccessDeniedException {
+        if (!isValid(token, bucketId, name, commitTime)) {
+            throw new AccessDeniedException("The download token is not valid for the catalog object " + name +
+                                            " of the bucket " + bucketId);
+        }
+    }
+
+    private boolean isValid(String token, long bucketId, String name, Long commitTime) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return false;
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = ENCODING.decode(token.substring(0, dot));
+            signature = ENCODING.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // constant time comparison, the time taken does not tell how much of a forged signature matches
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return false;
+        }
+
+        String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split(SEPARATOR, 5);
+        if (fields.length != 5 || !VERSION.equals(fields[0])) {
+            return false;
+        }
+        String tokenCommitTime = fields[3];
+        String tokenName = fields[4];
+        return Long.parseLong(fields[2]) > clock.millis() && Long.parseLong(fields[1]) == bucketId &&
+               (tokenName.isEmpty() || tokenName.equals(name)) &&
+               (tokenCommitTime.isEmpty() || tokenCommitTime.equals(String.valueOf(commitTime)));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -40,7 +40,6 @@ import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 import org.ow2.proactive.catalog.service.exception.UnprocessableEntityException;
 import org.ow2.proactive.catalog.service.model.GenericInfoBucketData;
 import org.ow2.proactive.catalog.util.parser.CatalogObjectParserFactory;
-import org.ow2.proactive.catalog.util.parser.CatalogObjectParserInterface;
 import org.ow2.proactive.catalog.util.parser.WorkflowParser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -81,8 +80,7 @@ public class KeyValueLabelMetadataHelper {
 
     public List<KeyValueLabelMetadataEntity> extractKeyValuesFromRaw(String kind, byte[] rawObject) {
         try {
-            CatalogObjectParserInterface catalogObjectParser = CatalogObjectParserFactory.get().getParser(kind);
-            return catalogObjectParser.parse(new ByteArrayInputStream(rawObject));
+            return CatalogObjectParserFactory.get().parse(kind, new ByteArrayInputStream(rawObject));
         } catch (XMLStreamException e) {
             throw new UnprocessableEntityException(e);
         }
@@ -110,30 +108,27 @@ public class KeyValueLabelMetadataHelper {
             return new ArrayList<>(workflowMetadataEntities);
         }
 
-        List<KeyValueLabelMetadataEntity> metadataListWithGroup = replaceOrAddGenericInfoKey(workflowMetadataEntities,
-                                                                                             GROUP_KEY,
-                                                                                             ownerGroupStringHelper.extractGroupFromBucketOwnerOrGroupString(genericInfoBucketData.getGroup()));
+        String group = ownerGroupStringHelper.extractGroupFromBucketOwnerOrGroupString(genericInfoBucketData.getGroup());
+        String bucketName = genericInfoBucketData.getBucketName();
 
-        List<KeyValueLabelMetadataEntity> metadataListWithGroupBucket = replaceOrAddGenericInfoKey(metadataListWithGroup,
-                                                                                                   BUCKET_NAME_KEY,
-                                                                                                   genericInfoBucketData.getBucketName());
-
-        return new ArrayList<>(metadataListWithGroupBucket);
-    }
-
-    private List<KeyValueLabelMetadataEntity> replaceOrAddGenericInfoKey(
-            final List<KeyValueLabelMetadataEntity> initialList, final String key, final String value) {
-        if (key == null || value == null) {
-            return initialList;
+        // single pass over the metadata, the replaced generic information goes last
+        List<KeyValueLabelMetadataEntity> result = new ArrayList<>(workflowMetadataEntities.size() + 2);
+        for (KeyValueLabelMetadataEntity metadata : workflowMetadataEntities) {
+            if (!isReplaced(metadata, GROUP_KEY, group) && !isReplaced(metadata, BUCKET_NAME_KEY, bucketName)) {
+                result.add(metadata);
+            }
         }
+        if (group != null) {
+            result.add(createKeyValueLabelMetadataEntity(GROUP_KEY, group));
+        }
+        if (bucketName != null) {
+            result.add(createKeyValueLabelMetadataEntity(BUCKET_NAME_KEY, bucketName));
+        }
+        return result;
+    }
 
-        List<KeyValueLabelMetadataEntity> resultList = initialList.stream()
-                                                                  .filter(item -> !item.getKey().equals(key))
-                                                                  .collect(Collectors.toList());
-
-        resultList.add(createKeyValueLabelMetadataEntity(key, value));
-
-        return resultList;
+    private static boolean isReplaced(KeyValueLabelMetadataEntity metadata, String key, String value) {
+        return value != null && key.equals(metadata.getKey());
     }
 
     private KeyValueLabelMetadataEntity createKeyValueLabelMetadataEntity(String key, String value) {
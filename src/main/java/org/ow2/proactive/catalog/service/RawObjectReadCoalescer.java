@@ -0,0 +1,203 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.dto.RawObjectReadStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+
+/**
+ * Coalesces the concurrent reads of the same raw object, e.g. by the nodes of a job that all fetch
+ * the same workflow when it starts: the first read fetches the revision and its raw object, the
+ * reads that arrive while it is in flight wait for it and share its result, including its in
+ * memory raw object, instead of running their own lookup.
+ *
+ * Results are not kept once the fetch completes. The in flight read of the last revision of a
+ * catalog object is also forgotten as soon as a revision of this object is committed or the object
+ * is deleted, before the committing request completes: a read that starts after a commit never
+ * joins a fetch that may have read the previous revision. Reads wait outside of any transaction,
+ * so that waiting requests do not hold database connections.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+public class RawObjectReadCoalescer {
+
+    @Autowired
+    private CatalogObjectService catalogObjectService;
+
+    @Autowired
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Value("${pa.catalog.raw.read.coalescing.enabled:true}")
+    private boolean enabled;
+
+    private final ConcurrentMap<ReadKey, CompletableFuture<CatalogRawObject>> inFlightReads = new ConcurrentHashMap<>();
+
+    private final LongAdder reads = new LongAdder();
+
+    private final LongAdder coalescedReads = new LongAdder();
+
+    public RawObjectReadCoalescer() {
+    }
+
+    RawObjectReadCoalescer(CatalogObjectService catalogObjectService, CatalogEventBroadcaster catalogEventBroadcaster,
+            boolean enabled) {
+        this.catalogObjectService = catalogObjectService;
+        this.catalogEventBroadcaster = catalogEventBroadcaster;
+        this.enabled = enabled;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        catalogEventBroadcaster.addCommitListener(this::forgetLastRevisionRead);
+    }
+
+    /**
+     * @see CatalogObjectService#getCatalogRawObject(Long, String)
+     */
+    public CatalogRawObject getCatalogRawObject(Long bucketId, String name) {
+        try {
+            return read(new ReadKey(bucketId, name, null),
+                        () -> catalogObjectService.getCatalogRawObject(bucketId, name));
+        } catch (UnsupportedEncodingException e) {
+            // not thrown by the fetch of the last revision
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @see CatalogObjectService#getCatalogObjectRevisionRaw(Long, String, long)
+     */
+    public CatalogRawObject getCatalogObjectRevisionRaw(Long bucketId, String name, long commitTime)
+            throws UnsupportedEncodingException {
+        return read(new ReadKey(bucketId, name, commitTime),
+                    () -> catalogObjectService.getCatalogObjectRevisionRaw(bucketId, name, commitTime));
+    }
+
+    public RawObjectReadStatistics getStatistics() {
+        long readCount = reads.sum();
+        long coalescedCount = coalescedReads.sum();
+        return new RawObjectReadStatistics(enabled,
+                                           readCount,
+                                           readCount - coalescedCount,
+                                           coalescedCount,
+                                           readCount == 0 ? 0 : (double) coalescedCount / readCount,
+                                           inFlightReads.size());
+    }
+
+    /**
+     * The reads of the catalog objects of a deleted bucket are forgotten with the deletion events
+     * of each of its catalog objects
+     */
+    private void forgetLastRevisionRead(CatalogEvent event) {
+        if (event.getType() != CatalogEvent.Type.BUCKET_CREATED && event.getType() != CatalogEvent.Type.BUCKET_DELETED) {
+            inFlightReads.remove(new ReadKey(event.getBucketId(), event.getName(), null));
+        }
+    }
+
+    private CatalogRawObject read(ReadKey key, RawObjectFetch fetch) throws UnsupportedEncodingException {
+        reads.increment();
+        if (!enabled) {
+            return fetch.fetch();
+        }
+        CompletableFuture<CatalogRawObject> fetching = new CompletableFuture<>();
+        CompletableFuture<CatalogRawObject> inFlight = inFlightReads.putIfAbsent(key, fetching);
+        if (inFlight != null) {
+            coalescedReads.increment();
+            return join(inFlight);
+        }
+        try {
+            CatalogRawObject rawObject = fetch.fetch();
+            fetching.complete(rawObject);
+            return rawObject;
+        } catch (Throwable e) {
+            fetching.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightReads.remove(key, fetching);
+        }
+    }
+
+    /**
+     * Rethrows the exception of the fetch, e.g. CatalogObjectNotFoundException, to every waiting read
+     */
+    private static CatalogRawObject join(CompletableFuture<CatalogRawObject> inFlight)
+            throws UnsupportedEncodingException {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UnsupportedEncodingException) {
+                throw (UnsupportedEncodingException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RawObjectFetch {
+
+        CatalogRawObject fetch() throws UnsupportedEncodingException;
+
+    }
+
+    @Data
+    private static class ReadKey {
+
+        private final Long bucketId;
+
+        private final String name;
+
+        /**
+         * Null for the reads of the last revision
+         */
+        private final Long commitTime;
+
+    }
+
+}
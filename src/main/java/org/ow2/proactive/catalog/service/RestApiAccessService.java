@@ -25,6 +25,11 @@
  */
 package org.ow2.proactive.catalog.service;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
@@ -76,6 +81,22 @@ public class RestApiAccessService {
         return restApiAccessResponse;
     }
 
+    /**
+     * Authenticates the session once and authorizes it once per bucket.
+     *
+     * @return the given buckets that exist and that the session is not allowed to access
+     */
+    public Set<Long> findDeniedBuckets(String sessionId, Collection<Long> bucketIds) throws NotAuthenticatedException {
+        AuthenticatedUser authenticatedUser = schedulerUserAuthenticationService.authenticateBySessionId(sessionId);
+        return bucketService.getBucketOwners(bucketIds)
+                            .entrySet()
+                            .stream()
+                            .filter(bucketOwner -> !authorizationService.askUserAuthorizationByBucketOwner(authenticatedUser,
+                                                                                                           bucketOwner.getValue()))
+                            .map(Map.Entry::getKey)
+                            .collect(Collectors.toSet());
+    }
+
     private RestApiAccessResponse checkAccessBySessionIdToOwnerOrGroup(String sessionId, long bucketId)
             throws NotAuthenticatedException {
         return checkAccessBySessionIdToOwnerOrGroup(sessionId, bucketService.getBucketMetadata(bucketId).getOwner());
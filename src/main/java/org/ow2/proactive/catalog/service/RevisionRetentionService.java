@@ -0,0 +1,323 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.ow2.proactive.catalog.dto.RevisionCompactionReport;
+import org.ow2.proactive.catalog.dto.RevisionRetentionPolicy;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.RevisionRetentionPolicyRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.RevisionRetentionPolicyEntity;
+import org.ow2.proactive.catalog.service.exception.InvalidRetentionPolicyException;
+import org.ow2.proactive.catalog.service.exception.RetentionPolicyNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Manages the revision retention policies and compacts the revisions that they do not retain.
+ *
+ * Compaction runs periodically in the background. Expired revisions are deleted by batches, each
+ * batch in its own short transaction followed by a pause, so that compacting catalog objects with
+ * thousands of revisions does not hold locks or starve foreground requests.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Service
+public class RevisionRetentionService {
+
+    private static final int SCAN_PAGE_SIZE = 100;
+
+    @Autowired
+    private RevisionRetentionPolicyRepository revisionRetentionPolicyRepository;
+
+    @Autowired
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private BucketStatisticsService bucketStatisticsService;
+
+    @Autowired
+    private PlatformTransactionManager platformTransactionManager;
+
+    @Value("${pa.catalog.revision.compaction.interval.minutes:60}")
+    private long intervalMinutes;
+
+    @Value("${pa.catalog.revision.compaction.batch.size:100}")
+    private int batchSize;
+
+    @Value("${pa.catalog.revision.compaction.batch.pause.ms:50}")
+    private long batchPauseMs;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private volatile RevisionCompactionReport lastCompactionReport;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("revision-compaction-%d")
+                                                                                         .setDaemon(true)
+                                                                                         .build());
+        if (intervalMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::compactQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Transactional(readOnly = true)
+    public List<RevisionRetentionPolicy> listPolicies() {
+        return revisionRetentionPolicyRepository.findAll()
+                                                .stream()
+                                                .map(RevisionRetentionPolicy::new)
+                                                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates the policy of the given bucket and kind, or replaces it if it exists.
+     * When both bucket and kind are null, the policy is the default one.
+     */
+    @Transactional
+    public RevisionRetentionPolicy setPolicy(Long bucketId, String kind, Integer keepLast, Integer keepWithinDays,
+            boolean keepDaily) {
+        if (keepLast != null && keepLast < 1) {
+            throw new InvalidRetentionPolicyException("keepLast must be at least 1");
+        }
+        if (keepWithinDays != null && keepWithinDays < 0) {
+            throw new InvalidRetentionPolicyException("keepWithinDays must not be negative");
+        }
+        if (keepLast == null && keepWithinDays == null && !keepDaily) {
+            throw new InvalidRetentionPolicyException("At least one of keepLast, keepWithinDays or keepDaily must be set");
+        }
+
+        RevisionRetentionPolicyEntity policy = findPolicy(bucketId, kind).orElseGet(() -> RevisionRetentionPolicyEntity.builder()
+                                                                                                                         .bucketId(bucketId)
+                                                                                                                         .kind(kind)
+                                                                                                                         .build());
+        policy.setKeepLast(keepLast);
+        policy.setKeepWithinDays(keepWithinDays);
+        policy.setKeepDaily(keepDaily);
+        return new RevisionRetentionPolicy(revisionRetentionPolicyRepository.save(policy));
+    }
+
+    @Transactional
+    public void removePolicy(Long bucketId, String kind) {
+        revisionRetentionPolicyRepository.delete(findPolicy(bucketId,
+                                                            kind).orElseThrow(RetentionPolicyNotFoundException::new));
+    }
+
+    public RevisionCompactionReport getLastCompactionReport() {
+        return lastCompactionReport;
+    }
+
+    /**
+     * Starts a compaction in the background unless one is already running.
+     */
+    public void triggerCompaction() {
+        scheduler.execute(this::compactQuietly);
+    }
+
+    /**
+     * Deletes the revisions that are not retained by the most specific policy matching their catalog object.
+     *
+     * @return the report of the compaction, or null if a compaction is already running
+     */
+    public RevisionCompactionReport compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            RevisionCompactionReport report = doCompact();
+            lastCompactionReport = report;
+            log.info("Compacted {} catalog objects out of {}, deleted {} revisions and {} metadata, reclaimed {} bytes",
+                     report.getObjectsCompacted(),
+                     report.getObjectsScanned(),
+                     report.getRevisionsDeleted(),
+                     report.getMetadataDeleted(),
+                     report.getBytesReclaimed());
+            return report;
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("Revision compaction failed", e);
+        }
+    }
+
+    private RevisionCompactionReport doCompact() {
+        long startedAt = System.currentTimeMillis();
+        long objectsScanned = 0;
+        long objectsCompacted = 0;
+        long revisionsDeleted = 0;
+        long metadataDeleted = 0;
+        long bytesReclaimed = 0;
+        boolean complete = true;
+
+        List<RevisionRetentionPolicyEntity> policies = revisionRetentionPolicyRepository.findAll();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        ZoneId zoneId = ZoneId.systemDefault();
+
+        // keyset pagination, compacted objects may drop out of the scanned set
+        Long lastBucketId = -1L;
+        String lastName = "";
+        List<CatalogObjectEntity> catalogObjects = policies.isEmpty() ? Collections.emptyList()
+                                                                      : nextCatalogObjects(lastBucketId, lastName);
+        scan: while (!catalogObjects.isEmpty()) {
+            for (CatalogObjectEntity catalogObject : catalogObjects) {
+                Long bucketId = catalogObject.getId().getBucketId();
+                String name = catalogObject.getId().getName();
+                objectsScanned++;
+
+                Optional<RevisionRetentionPolicyEntity> policy = findMostSpecificPolicy(policies,
+                                                                                        bucketId,
+                                                                                        catalogObject.getKind());
+                if (!policy.isPresent()) {
+                    continue;
+                }
+                List<Long> expired = policy.get()
+                                           .findExpiredCommitTimes(catalogObjectRevisionRepository.findCommitTimesOfCatalogObject(bucketId,
+                                                                                                                                  name),
+                                                                   startedAt,
+                                                                   zoneId);
+                if (expired.isEmpty()) {
+                    continue;
+                }
+                objectsCompacted++;
+
+                for (List<Long> batch : Lists.partition(expired, batchSize)) {
+                    long[] deleted = transactionTemplate.execute(status -> {
+                        long storedBytes = catalogObjectRevisionRepository.sumRawObjectSizeOfRevisions(bucketId,
+                                                                                                       name,
+                                                                                                       batch);
+                        bucketStatisticsService.recordRevisionsCompacted(bucketId, catalogObject.getKind(), storedBytes);
+                        return new long[] { catalogObjectRevisionRepository.deleteMetadataOfRevisions(bucketId,
+                                                                                                      name,
+                                                                                                      batch),
+                                            catalogObjectRevisionRepository.deleteRevisions(bucketId, name, batch),
+                                            storedBytes };
+                    });
+                    metadataDeleted += deleted[0];
+                    revisionsDeleted += deleted[1];
+                    bytesReclaimed += deleted[2];
+                    if (!pause()) {
+                        complete = false;
+                        break scan;
+                    }
+                }
+            }
+            CatalogObjectEntity last = catalogObjects.get(catalogObjects.size() - 1);
+            lastBucketId = last.getId().getBucketId();
+            lastName = last.getId().getName();
+            catalogObjects = nextCatalogObjects(lastBucketId, lastName);
+        }
+
+        return new RevisionCompactionReport(startedAt,
+                                            System.currentTimeMillis(),
+                                            objectsScanned,
+                                            objectsCompacted,
+                                            revisionsDeleted,
+                                            metadataDeleted,
+                                            bytesReclaimed,
+                                            complete);
+    }
+
+    private List<CatalogObjectEntity> nextCatalogObjects(Long bucketId, String name) {
+        return catalogObjectRepository.findWithSeveralRevisionsAfter(bucketId, name, new PageRequest(0, SCAN_PAGE_SIZE));
+    }
+
+    /**
+     * @return false if the compaction has to stop
+     */
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Optional<RevisionRetentionPolicyEntity> findPolicy(Long bucketId, String kind) {
+        return revisionRetentionPolicyRepository.findAll()
+                                                .stream()
+                                                .filter(policy -> Objects.equals(policy.getBucketId(), bucketId) &&
+                                                                  Objects.equals(policy.getKind(), kind))
+                                                .findFirst();
+    }
+
+    static Optional<RevisionRetentionPolicyEntity> findMostSpecificPolicy(List<RevisionRetentionPolicyEntity> policies,
+            Long bucketId, String kind) {
+        return policies.stream()
+                       .filter(policy -> policy.matches(bucketId, kind))
+                       .max(Comparator.comparingInt(RevisionRetentionPolicyEntity::getSpecificity));
+    }
+
+}
@@ -25,16 +25,24 @@
  */
 package org.ow2.proactive.catalog.service;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringEscapeUtils;
+import org.ow2.proactive.catalog.service.ingest.WorkflowMarkup;
 import org.springframework.stereotype.Component;
 
 
 /**
+ * Replaces the job-level generic information of workflows.
+ *
+ * The workflow is scanned once by {@link WorkflowMarkup}, without decoding it when its encoding is
+ * ASCII compatible, to locate the job-level {@code <genericInformation>} and {@code <taskFlow>}
+ * elements. The output is then the input bytes copied around the removed generic information block,
+ * with the new block inserted before the task flow, so that the original encoding and formatting
+ * are preserved.
+ *
  * @author ActiveEon Team
  * @since 09/08/2017
  */
@@ -52,51 +60,11 @@ public class WorkflowXmlManipulator {
 
     protected final static String ONE_INTEND = "  ";
 
-    private final static String TWO_INTEND = ONE_INTEND + ONE_INTEND;
-
-    private final static String NEW_LINE = "\n";
-
     protected final static String ANY_CHARACTER_OR_NEW_LINE = "[\\S\\s]*";
 
-    private final static String GENERIC_INFORMATION_ENTRY_FORMAT_STRING = TWO_INTEND +
-                                                                          "<info name=\"%s\" value=\"%s\"/>" + NEW_LINE;
-
     protected final static String GENERIC_INFO_TAG_ENTITY = GENERIC_INFORMATION_START_TAG + "[\\D\\d]*?" +
                                                             GENERIC_INFORMATION_END_TAG + "[\\r\\n]";
 
-    private final static Pattern taskFlowStartTagPattern = Pattern.compile(TASK_FLOW_START_TAG);
-
-    private final static Pattern genericInformationPatternBeforeTaskFlow = Pattern.compile(ANY_CHARACTER_OR_NEW_LINE +
-                                                                                           "(" +
-                                                                                           GENERIC_INFO_TAG_ENTITY +
-                                                                                           ")" +
-                                                                                           ANY_CHARACTER_OR_NEW_LINE +
-                                                                                           TASK_FLOW_START_TAG +
-                                                                                           ANY_CHARACTER_OR_NEW_LINE);
-
-    private final static Pattern genericInformationPatternAfterTaskFlow = Pattern.compile(ANY_CHARACTER_OR_NEW_LINE +
-                                                                                          TASK_FLOW_END_TAG +
-                                                                                          ANY_CHARACTER_OR_NEW_LINE +
-                                                                                          "(" +
-                                                                                          GENERIC_INFO_TAG_ENTITY +
-                                                                                          ")" +
-                                                                                          ANY_CHARACTER_OR_NEW_LINE);
-
-    private byte[] removeGenericInformationJobLevel(final byte[] xmlWorkflow) {
-        String workflow = new String(xmlWorkflow);
-
-        Matcher matcherBeforeTask = genericInformationPatternBeforeTaskFlow.matcher(workflow);
-        Matcher matcherAfterTask = genericInformationPatternAfterTaskFlow.matcher(workflow);
-
-        //from the definition workflow xsd schema: generic information's block can not be separated in several tags
-        if (matcherBeforeTask.matches()) {
-            workflow = workflow.replaceFirst(Pattern.quote(matcherBeforeTask.group(1)), "");
-        } else if (matcherAfterTask.matches()) {
-            workflow = workflow.replaceFirst(Pattern.quote(matcherAfterTask.group(1)), "");
-        }
-        return workflow.getBytes();
-    }
-
     public byte[] replaceGenericInformationJobLevel(final byte[] xmlWorkflow, Map<String, String> genericInfoMap) {
         if (xmlWorkflow == null) {
             return new byte[] {};
@@ -105,23 +73,17 @@ public class WorkflowXmlManipulator {
             return xmlWorkflow;
         }
 
-        String workflowWithoutGenericInfo = new String(removeGenericInformationJobLevel(xmlWorkflow));
-
-        return taskFlowStartTagPattern.matcher(workflowWithoutGenericInfo)
-                                      .replaceFirst(GENERIC_INFORMATION_START_TAG + NEW_LINE +
-                                                    createGenericInfoString(genericInfoMap) + ONE_INTEND +
-                                                    GENERIC_INFORMATION_END_TAG + NEW_LINE + ONE_INTEND +
-                                                    TASK_FLOW_START_TAG)
-                                      .getBytes();
-    }
-
-    private String createGenericInfoString(Map<String, String> keyValueMetadataEntities) {
-        return keyValueMetadataEntities.entrySet()
-                                       .stream()
-                                       .map(entry -> String.format(GENERIC_INFORMATION_ENTRY_FORMAT_STRING,
-                                                                   entry.getKey(),
-                                                                   StringEscapeUtils.escapeXml10(entry.getValue())))
-                                       .collect(Collectors.joining());
+        WorkflowMarkup workflowMarkup = WorkflowMarkup.scan(xmlWorkflow);
+        if (!workflowMarkup.hasJobLevelTaskFlow()) {
+            return xmlWorkflow;
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream(xmlWorkflow.length + 256);
+        try {
+            workflowMarkup.writeWithGenericInformation(genericInfoMap, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
     }
 
 }
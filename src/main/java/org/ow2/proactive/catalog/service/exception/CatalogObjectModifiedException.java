@@ -0,0 +1,51 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+/**
+ * Thrown when a conditional revision is created but the catalog object does not have
+ * the expected head revision anymore because another revision was committed meanwhile.
+ * The HTTP status is 412, 'Precondition Failed'
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED)
+public class CatalogObjectModifiedException extends RuntimeException {
+
+    public CatalogObjectModifiedException(String message) {
+        super(message);
+    }
+
+    public CatalogObjectModifiedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.ow2.proactive.catalog.dto.IngestCacheStatistics;
+import org.ow2.proactive.catalog.dto.Metadata;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.service.KeyValueLabelMetadataHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.Data;
+
+
+/**
+ * Bounded cache of the ingestion results, keyed by the kind and the content hash of the uploaded
+ * raw objects, so that uploading bytes identical to an earlier upload neither parses nor rewrites
+ * them again.
+ *
+ * The extracted metadata only depends on the raw object. The stored content also depends on the
+ * generic information written into it, which is part of its key.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+public class CatalogObjectIngestCache {
+
+    @Value("${pa.catalog.ingest.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pa.catalog.ingest.cache.max.metadata.entries:10000}")
+    private long maxMetadataEntries;
+
+    @Value("${pa.catalog.ingest.cache.max.content.bytes:67108864}")
+    private long maxContentBytes;
+
+    private Cache<MetadataKey, List<Metadata>> metadataCache;
+
+    private Cache<ContentKey, StoredContent> contentCache;
+
+    @PostConstruct
+    public void init() {
+        metadataCache = Caffeine.newBuilder().maximumSize(maxMetadataEntries).recordStats().build();
+        contentCache = Caffeine.newBuilder()
+                               .maximumWeight(maxContentBytes)
+                               .<ContentKey, StoredContent> weigher((key, content) -> content.getRawObject().length)
+                               .recordStats()
+                               .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return new metadata entities, extracted by the given extractor unless cached
+     */
+    public List<KeyValueLabelMetadataEntity> getMetadata(String kind, String rawObjectHash,
+            Supplier<List<KeyValueLabelMetadataEntity>> extractor) {
+        if (!enabled) {
+            return extractor.get();
+        }
+        // the entities belong to the revision that they are added to, only their values are cached
+        List<Metadata> metadata = metadataCache.get(new MetadataKey(kind, rawObjectHash),
+                                                    key -> extractor.get()
+                                                                    .stream()
+                                                                    .map(Metadata::new)
+                                                                    .collect(Collectors.toList()));
+        return KeyValueLabelMetadataHelper.convertToEntity(metadata);
+    }
+
+    /**
+     * @return the content to store, written by the given writer unless cached
+     */
+    public StoredContent getContent(String kind, String rawObjectHash, Map<String, String> genericInformation,
+            Supplier<StoredContent> writer) {
+        if (!enabled) {
+            return writer.get();
+        }
+        return contentCache.get(new ContentKey(kind, rawObjectHash, genericInformation), key -> writer.get());
+    }
+
+    public IngestCacheStatistics getStatistics() {
+        CacheStats metadataStats = metadataCache.stats();
+        CacheStats contentStats = contentCache.stats();
+        return new IngestCacheStatistics(enabled,
+                                         metadataStats.hitCount(),
+                                         metadataStats.missCount(),
+                                         metadataStats.hitRate(),
+                                         contentStats.hitCount(),
+                                         contentStats.missCount(),
+                                         contentStats.hitRate(),
+                                         metadataCache.estimatedSize(),
+                                         contentCache.estimatedSize(),
+                                         contentCache.policy().eviction().get().weightedSize().orElse(0),
+                                         metadataStats.evictionCount() + contentStats.evictionCount());
+    }
+
+    public void invalidateAll() {
+        metadataCache.invalidateAll();
+        contentCache.invalidateAll();
+    }
+
+    @Data
+    public static class StoredContent {
+
+        private final byte[] rawObject;
+
+        private final String contentHash;
+
+    }
+
+    @Data
+    private static class MetadataKey {
+
+        private final String kind;
+
+        private final String rawObjectHash;
+
+    }
+
+    @Data
+    private static class ContentKey {
+
+        private final String kind;
+
+        private final String rawObjectHash;
+
+        private final Map<String, String> genericInformation;
+
+    }
+
+}
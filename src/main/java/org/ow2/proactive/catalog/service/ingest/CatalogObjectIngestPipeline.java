@@ -0,0 +1,156 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.service.KeyValueLabelMetadataHelper;
+import org.ow2.proactive.catalog.service.ingest.CatalogObjectIngestCache.StoredContent;
+import org.ow2.proactive.catalog.service.model.GenericInfoBucketData;
+import org.ow2.proactive.catalog.service.storage.ContentHash;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+
+/**
+ * Turns an uploaded raw object into the content and metadata of a catalog object revision.
+ *
+ * The raw object is scanned once by the stage of its kind, which provides its metadata when none is
+ * given and writes its content with the generic information related to its bucket. The content hash
+ * is computed while the content is written, so that the raw object is not traversed again. Raw
+ * objects of the kinds without a stage are stored as is: they are neither loaded in memory nor
+ * copied, and their metadata is parsed from a stream.
+ *
+ * The results are cached by {@link CatalogObjectIngestCache}: uploading bytes identical to an
+ * earlier upload of the same kind, in a bucket with the same generic information, only hashes them.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+public class CatalogObjectIngestPipeline {
+
+    /**
+     * Room left for the generic information added to the raw object
+     */
+    private static final int GENERIC_INFORMATION_CAPACITY = 256;
+
+    @Autowired(required = false)
+    private List<CatalogObjectIngestStage> stages = Collections.emptyList();
+
+    @Autowired
+    private KeyValueLabelMetadataHelper keyValueLabelMetadataHelper;
+
+    @Autowired
+    private CatalogObjectIngestCache catalogObjectIngestCache;
+
+    private final DefaultIngestStage defaultStage = new DefaultIngestStage();
+
+    /**
+     * @param providedMetadata metadata given with the raw object, extracted from it if empty
+     */
+    public IngestedCatalogObject ingest(String kind, RawObjectContent rawObject,
+            List<KeyValueLabelMetadataEntity> providedMetadata, GenericInfoBucketData genericInfoBucketData) {
+        CatalogObjectIngestStage stage = findStage(kind);
+        if (stage == null) {
+            String contentHash = rawObject.getContentHash();
+            List<KeyValueLabelMetadataEntity> objectMetadata = providedMetadata;
+            if (objectMetadata.isEmpty()) {
+                objectMetadata = catalogObjectIngestCache.getMetadata(kind,
+                                                                      contentHash,
+                                                                      () -> defaultStage.extractMetadata(kind,
+                                                                                                         rawObject));
+            }
+            return new IngestedCatalogObject(rawObject,
+                                             keyValueLabelMetadataHelper.replaceMetadataRelatedGenericInfoAndKeepOthers(objectMetadata,
+                                                                                                                        genericInfoBucketData),
+                                             contentHash);
+        }
+
+        byte[] uploadedRawObject = rawObject.toByteArray();
+        // scanned only if neither the metadata nor the content is cached
+        Supplier<ScannedCatalogObject> scannedCatalogObject = Suppliers.memoize(() -> stage.scan(uploadedRawObject));
+        String rawObjectHash = catalogObjectIngestCache.isEnabled() ? rawObject.getContentHash() : null;
+
+        List<KeyValueLabelMetadataEntity> objectMetadata = providedMetadata;
+        if (objectMetadata.isEmpty()) {
+            objectMetadata = catalogObjectIngestCache.getMetadata(kind,
+                                                                  rawObjectHash,
+                                                                  () -> scannedCatalogObject.get().extractMetadata());
+        }
+        List<KeyValueLabelMetadataEntity> metadata = keyValueLabelMetadataHelper.replaceMetadataRelatedGenericInfoAndKeepOthers(objectMetadata,
+                                                                                                                                genericInfoBucketData);
+        Map<String, String> genericInformation = keyValueLabelMetadataHelper.toMap(keyValueLabelMetadataHelper.getOnlyGenericInformation(metadata));
+
+        StoredContent content = catalogObjectIngestCache.getContent(kind,
+                                                                    rawObjectHash,
+                                                                    genericInformation,
+                                                                    () -> write(scannedCatalogObject.get(),
+                                                                                genericInformation,
+                                                                                uploadedRawObject.length));
+        return new IngestedCatalogObject(content.getRawObject(), metadata, content.getContentHash());
+    }
+
+    /**
+     * Writes the content to store, the content hash is computed along.
+     */
+    private static StoredContent write(ScannedCatalogObject scannedCatalogObject,
+            Map<String, String> genericInformation, int rawObjectLength) {
+        MessageDigest digest = ContentHash.newDigest();
+        ByteArrayOutputStream content = new ByteArrayOutputStream(rawObjectLength + GENERIC_INFORMATION_CAPACITY);
+        try (DigestOutputStream output = new DigestOutputStream(content, digest)) {
+            scannedCatalogObject.write(genericInformation, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new StoredContent(content.toByteArray(), ContentHash.encode(digest.digest()));
+    }
+
+    /**
+     * @return the stage of the given kind, null if raw objects of this kind are stored as is
+     */
+    private CatalogObjectIngestStage findStage(String kind) {
+        for (CatalogObjectIngestStage stage : stages) {
+            if (stage.supports(kind)) {
+                return stage;
+            }
+        }
+        return null;
+    }
+
+}
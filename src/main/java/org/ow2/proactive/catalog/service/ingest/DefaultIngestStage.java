@@ -0,0 +1,60 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.service.exception.UnprocessableEntityException;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserFactory;
+
+
+/**
+ * Stage of the kinds without a dedicated one: the raw object is stored as is, and parsed from a
+ * stream by the parser of its kind only if its metadata is needed.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+class DefaultIngestStage {
+
+    List<KeyValueLabelMetadataEntity> extractMetadata(String kind, RawObjectContent rawObject) {
+        try (InputStream input = rawObject.openStream()) {
+            return CatalogObjectParserFactory.get().parse(kind, input);
+        } catch (XMLStreamException e) {
+            throw new UnprocessableEntityException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
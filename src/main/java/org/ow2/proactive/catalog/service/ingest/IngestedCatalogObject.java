@@ -0,0 +1,64 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import java.util.List;
+
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@AllArgsConstructor
+@Data
+public class IngestedCatalogObject {
+
+    /**
+     * Content to store, the uploaded raw object itself when it is stored as is
+     */
+    private final RawObjectContent content;
+
+    /**
+     * Metadata of the raw object, with the generic information related to its bucket
+     */
+    private final List<KeyValueLabelMetadataEntity> metadata;
+
+    /**
+     * Hex encoded SHA-256 digest of the raw object
+     */
+    private final String contentHash;
+
+    public IngestedCatalogObject(byte[] rawObject, List<KeyValueLabelMetadataEntity> metadata, String contentHash) {
+        this(RawObjectContent.of(rawObject, contentHash), metadata, contentHash);
+    }
+
+}
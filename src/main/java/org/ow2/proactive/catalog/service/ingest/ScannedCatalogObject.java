@@ -0,0 +1,56 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+
+
+/**
+ * Raw object scanned by a {@link CatalogObjectIngestStage}.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public interface ScannedCatalogObject {
+
+    /**
+     * Only called when no metadata is given with the raw object.
+     *
+     * @throws org.ow2.proactive.catalog.service.exception.UnprocessableEntityException if the raw object cannot be parsed
+     */
+    List<KeyValueLabelMetadataEntity> extractMetadata();
+
+    /**
+     * Writes the content to store, with the given generic information if the kind supports it.
+     */
+    void write(Map<String, String> genericInformation, OutputStream output) throws IOException;
+
+}
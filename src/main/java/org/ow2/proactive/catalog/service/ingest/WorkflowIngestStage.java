@@ -0,0 +1,87 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.service.exception.UnprocessableEntityException;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserFactory;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserOptions;
+import org.ow2.proactive.catalog.util.parser.SupportedParserKinds;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Scans workflows once with {@link WorkflowMarkup}, for both their metadata and the replacement of
+ * their job-level generic information. The stage takes the place of the parser registered for the
+ * workflows, it applies the options of their kind: longer workflows are not scanned and workflows
+ * with more metadata are rejected.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+public class WorkflowIngestStage implements CatalogObjectIngestStage {
+
+    @Override
+    public boolean supports(String kind) {
+        return SupportedParserKinds.WORKFLOW.toString().equals(kind);
+    }
+
+    @Override
+    public ScannedCatalogObject scan(byte[] rawObject) {
+        String kind = SupportedParserKinds.WORKFLOW.toString();
+        CatalogObjectParserOptions options = CatalogObjectParserFactory.get().getOptions(kind);
+        if (rawObject.length > options.getMaxParsedBytes()) {
+            throw new UnprocessableEntityException(CatalogObjectParserFactory.limitExceededMessage(options.getMaxParsedBytes()));
+        }
+        WorkflowMarkup workflowMarkup = WorkflowMarkup.scan(rawObject);
+        return new ScannedCatalogObject() {
+            @Override
+            public List<KeyValueLabelMetadataEntity> extractMetadata() {
+                if (!workflowMarkup.isWellFormed()) {
+                    throw new UnprocessableEntityException(workflowMarkup.getError());
+                }
+                if (workflowMarkup.getMetadata().size() > options.getMaxMetadataEntries()) {
+                    throw new UnprocessableEntityException(CatalogObjectParserFactory.tooManyMetadataMessage(kind,
+                                                                                                             options.getMaxMetadataEntries()));
+                }
+                return new ArrayList<>(workflowMarkup.getMetadata());
+            }
+
+            @Override
+            public void write(Map<String, String> genericInformation, OutputStream output) throws IOException {
+                workflowMarkup.writeWithGenericInformation(genericInformation, output);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,783 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+
+
+/**
+ * Markup of a workflow, scanned once to check that the workflow is well formed, to extract its
+ * metadata (job name, project name, job-level generic information and variables, as the
+ * {@link WorkflowParser} does) and to locate its job-level {@code <genericInformation>} and
+ * {@code <taskFlow>} elements.
+ *
+ * Workflows in an ASCII compatible encoding are scanned without being decoded, only the values of
+ * the extracted attributes are. Replacing the generic information then copies the input bytes
+ * around the removed block, so that the original encoding and formatting are preserved.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public final class WorkflowMarkup {
+
+    private static final String JOB_NAME_KEY = "name";
+
+    private static final String PROJECT_NAME_KEY = "project_name";
+
+    private static final String JOB_AND_PROJECT_LABEL = "job_information";
+
+    private static final String VARIABLE_LABEL = "variable";
+
+    private static final String ELEMENT_JOB = "job";
+
+    private static final String ELEMENT_TASK_FLOW = "taskFlow";
+
+    private static final String ELEMENT_GENERIC_INFORMATION = "genericInformation";
+
+    private static final String ELEMENT_GENERIC_INFORMATION_INFO = "info";
+
+    private static final String ELEMENT_VARIABLES = "variables";
+
+    private static final String ELEMENT_VARIABLE = "variable";
+
+    private static final String ONE_INDENT = "  ";
+
+    private static final String NEW_LINE = "\n";
+
+    private static final String GENERIC_INFORMATION_ENTRY_FORMAT_STRING = ONE_INDENT + ONE_INDENT +
+                                                                          "<info name=\"%s\" value=\"%s\"/>" + NEW_LINE;
+
+    private static final int PROLOG_MAX_LENGTH = 256;
+
+    private static final int REFERENCE_MAX_LENGTH = 32;
+
+    private static final Pattern encodingDeclarationPattern = Pattern.compile("^<\\?xml[^>]*?encoding\\s*=\\s*[\"']([A-Za-z0-9._\\-]+)[\"']");
+
+    private final byte[] xml;
+
+    private final Charset charset;
+
+    /**
+     * The decoded workflow, null when it is scanned as bytes
+     */
+    private final String decoded;
+
+    private final CharSequence characters;
+
+    private final List<KeyValueLabelMetadataEntity> metadata = new ArrayList<>();
+
+    private int taskFlowStart = -1;
+
+    private int genericInformationStart = -1;
+
+    private int genericInformationEnd = -1;
+
+    private String error;
+
+    /* Scanning state */
+
+    private final Deque<String> openElements = new ArrayDeque<>();
+
+    /**
+     * Name start, name end, value start and value end of each attribute of the current start tag
+     */
+    private int[] attributes = new int[16];
+
+    private int attributeCount;
+
+    private boolean inTaskFlow;
+
+    private boolean jobHandled;
+
+    private boolean genericInformationHandled;
+
+    private boolean variablesHandled;
+
+    private WorkflowMarkup(byte[] xml, Charset charset) {
+        this.xml = xml;
+        this.charset = charset;
+        if (isAsciiCompatible(charset)) {
+            // markup characters are ASCII, they can be located without decoding the workflow
+            this.decoded = null;
+            this.characters = new Latin1CharSequence(xml);
+        } else {
+            this.decoded = new String(xml, charset);
+            this.characters = decoded;
+        }
+    }
+
+    public static WorkflowMarkup scan(byte[] xml) {
+        WorkflowMarkup markup = new WorkflowMarkup(xml, detectCharset(xml));
+        try {
+            markup.scanDocument();
+        } catch (MalformedWorkflowException e) {
+            markup.error = e.getMessage();
+        }
+        markup.completeGenericInformationRange();
+        return markup;
+    }
+
+    /**
+     * @return the metadata found in the workflow, up to the error if it is malformed
+     */
+    public List<KeyValueLabelMetadataEntity> getMetadata() {
+        return Collections.unmodifiableList(metadata);
+    }
+
+    public boolean isWellFormed() {
+        return error == null;
+    }
+
+    /**
+     * @return why the workflow is not well formed, null if it is
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean hasJobLevelTaskFlow() {
+        return taskFlowStart >= 0;
+    }
+
+    /**
+     * Writes the workflow with its job-level generic information replaced by the given one, inserted
+     * before the task flow. The workflow is written unchanged if it has no job-level task flow.
+     */
+    public void writeWithGenericInformation(Map<String, String> genericInformation, OutputStream output)
+            throws IOException {
+        if (genericInformation == null || taskFlowStart < 0) {
+            output.write(xml);
+            return;
+        }
+
+        String genericInformationBlock = escapeUnencodableCharacters("<" + ELEMENT_GENERIC_INFORMATION + ">" +
+                                                                     NEW_LINE +
+                                                                     createGenericInformationEntries(genericInformation) +
+                                                                     ONE_INDENT + "</" + ELEMENT_GENERIC_INFORMATION +
+                                                                     ">" + NEW_LINE + ONE_INDENT, charset);
+        if (decoded == null) {
+            byte[] genericInformationBytes = genericInformationBlock.getBytes(charset);
+            splice(new SpliceWriter() {
+                @Override
+                public void copy(int from, int to) throws IOException {
+                    output.write(xml, from, to - from);
+                }
+
+                @Override
+                public void insertGenericInformation() throws IOException {
+                    output.write(genericInformationBytes);
+                }
+            });
+        } else {
+            // encoded at once, an encoder may write a byte order mark each time it starts
+            StringBuilder workflow = new StringBuilder(decoded.length() + genericInformationBlock.length());
+            splice(new SpliceWriter() {
+                @Override
+                public void copy(int from, int to) {
+                    workflow.append(decoded, from, to);
+                }
+
+                @Override
+                public void insertGenericInformation() {
+                    workflow.append(genericInformationBlock);
+                }
+            });
+            output.write(workflow.toString().getBytes(charset));
+        }
+    }
+
+    private void splice(SpliceWriter writer) throws IOException {
+        int length = characters.length();
+        if (genericInformationStart < 0) {
+            writer.copy(0, taskFlowStart);
+            writer.insertGenericInformation();
+            writer.copy(taskFlowStart, length);
+        } else if (genericInformationStart < taskFlowStart) {
+            writer.copy(0, genericInformationStart);
+            writer.copy(genericInformationEnd, taskFlowStart);
+            writer.insertGenericInformation();
+            writer.copy(taskFlowStart, length);
+        } else {
+            writer.copy(0, taskFlowStart);
+            writer.insertGenericInformation();
+            writer.copy(taskFlowStart, genericInformationStart);
+            writer.copy(genericInformationEnd, length);
+        }
+    }
+
+    private static String createGenericInformationEntries(Map<String, String> genericInformation) {
+        return genericInformation.entrySet()
+                                 .stream()
+                                 .map(entry -> String.format(GENERIC_INFORMATION_ENTRY_FORMAT_STRING,
+                                                             entry.getKey(),
+                                                             StringEscapeUtils.escapeXml10(entry.getValue())))
+                                 .collect(Collectors.joining());
+    }
+
+    private void scanDocument() throws MalformedWorkflowException {
+        boolean rootSeen = false;
+        int position = indexOf('<', 0);
+        while (position >= 0) {
+            int next;
+            if (startsWith(position, "<!--")) {
+                next = required(indexAfter(position + 4, "-->"), position, "unterminated comment");
+            } else if (startsWith(position, "<![CDATA[")) {
+                if (openElements.isEmpty()) {
+                    throw malformed(position, "CDATA section outside of the root element");
+                }
+                next = required(indexAfter(position + 9, "]]>"), position, "unterminated CDATA section");
+            } else if (startsWith(position, "<?")) {
+                next = required(indexAfter(position + 2, "?>"), position, "unterminated processing instruction");
+            } else if (startsWith(position, "<!")) {
+                if (rootSeen) {
+                    throw malformed(position, "declaration after the start of the root element");
+                }
+                next = required(indexAfterDeclaration(position + 2), position, "unterminated declaration");
+            } else if (startsWith(position, "</")) {
+                next = scanEndTag(position);
+            } else {
+                if (rootSeen && openElements.isEmpty()) {
+                    throw malformed(position, "element after the root element");
+                }
+                next = scanStartTag(position);
+                rootSeen = true;
+            }
+            position = indexOf('<', next);
+        }
+
+        if (!rootSeen) {
+            throw malformed(characters.length(), "no root element");
+        }
+        if (!openElements.isEmpty()) {
+            throw malformed(characters.length(), "element " + openElements.peek() + " is not closed");
+        }
+    }
+
+    private int scanStartTag(int position) throws MalformedWorkflowException {
+        int nameEnd = nameEnd(position + 1);
+        if (nameEnd == position + 1) {
+            throw malformed(position, "missing element name");
+        }
+        String name = characters.subSequence(position + 1, nameEnd).toString();
+
+        attributeCount = 0;
+        int index = nameEnd;
+        boolean empty;
+        while (true) {
+            int next = skipWhitespace(index);
+            if (next >= characters.length()) {
+                throw malformed(position, "unterminated start tag of element " + name);
+            }
+            char character = characters.charAt(next);
+            if (character == '>') {
+                index = next + 1;
+                empty = false;
+                break;
+            }
+            if (character == '/') {
+                if (next + 1 < characters.length() && characters.charAt(next + 1) == '>') {
+                    index = next + 2;
+                    empty = true;
+                    break;
+                }
+                throw malformed(next, "malformed start tag of element " + name);
+            }
+            if (next == index) {
+                throw malformed(next, "missing whitespace before an attribute of element " + name);
+            }
+            int attributeNameEnd = nameEnd(next);
+            if (attributeNameEnd == next) {
+                throw malformed(next, "malformed attribute of element " + name);
+            }
+            int equals = skipWhitespace(attributeNameEnd);
+            if (equals >= characters.length() || characters.charAt(equals) != '=') {
+                throw malformed(next, "attribute without value in element " + name);
+            }
+            int quotePosition = skipWhitespace(equals + 1);
+            char quote = quotePosition < characters.length() ? characters.charAt(quotePosition) : 0;
+            if (quote != '"' && quote != '\'') {
+                throw malformed(quotePosition, "unquoted attribute value in element " + name);
+            }
+            int valueEnd = scanAttributeValue(quotePosition + 1, quote);
+            addAttribute(next, attributeNameEnd, quotePosition + 1, valueEnd);
+            index = valueEnd + 1;
+        }
+
+        String localName = localName(name);
+        startElement(localName, position, index, empty);
+        if (empty) {
+            endElement(localName, index);
+        } else {
+            openElements.push(name);
+        }
+        return index;
+    }
+
+    private int scanEndTag(int position) throws MalformedWorkflowException {
+        int nameEnd = nameEnd(position + 2);
+        String name = characters.subSequence(position + 2, nameEnd).toString();
+        int close = skipWhitespace(nameEnd);
+        if (close >= characters.length() || characters.charAt(close) != '>') {
+            throw malformed(position, "malformed end tag of element " + name);
+        }
+        if (openElements.isEmpty() || !openElements.peek().equals(name)) {
+            throw malformed(position, "end tag of element " + name + " does not match the start tag of element " +
+                                      openElements.peek());
+        }
+        openElements.pop();
+        endElement(localName(name), close + 1);
+        return close + 1;
+    }
+
+    /**
+     * @return the position of the closing quote
+     */
+    private int scanAttributeValue(int from, char quote) throws MalformedWorkflowException {
+        for (int i = from; i < characters.length(); i++) {
+            char character = characters.charAt(i);
+            if (character == quote) {
+                return i;
+            }
+            if (character == '<') {
+                throw malformed(i, "'<' in an attribute value");
+            }
+            if (character == '&' && !isReference(i + 1)) {
+                throw malformed(i, "malformed reference in an attribute value");
+            }
+        }
+        throw malformed(from, "unterminated attribute value");
+    }
+
+    private boolean isReference(int from) {
+        for (int i = from; i < characters.length() && i <= from + REFERENCE_MAX_LENGTH; i++) {
+            char character = characters.charAt(i);
+            if (character == ';') {
+                return i > from;
+            }
+            if (!Character.isLetterOrDigit(character) && character != '#' && character != '_' &&
+                character != '-' && character != '.' && character != ':') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void startElement(String localName, int start, int end, boolean empty) throws MalformedWorkflowException {
+        int depth = openElements.size();
+        switch (localName) {
+            case ELEMENT_JOB:
+                if (!isMetadataExtracted()) {
+                    addJobMetadata();
+                    jobHandled = true;
+                }
+                break;
+            case ELEMENT_TASK_FLOW:
+                inTaskFlow = true;
+                if (depth == 1 && taskFlowStart < 0) {
+                    taskFlowStart = start;
+                }
+                break;
+            case ELEMENT_GENERIC_INFORMATION_INFO:
+                if (!inTaskFlow && !isMetadataExtracted()) {
+                    metadata.add(new KeyValueLabelMetadataEntity(attributeValue("name"),
+                                                                 attributeValue("value"),
+                                                                 WorkflowParser.ATTRIBUTE_GENERIC_INFORMATION_LABEL));
+                }
+                break;
+            case ELEMENT_VARIABLE:
+                if (!inTaskFlow && !isMetadataExtracted()) {
+                    metadata.add(new KeyValueLabelMetadataEntity(attributeValue("name"),
+                                                                 attributeValue("value"),
+                                                                 VARIABLE_LABEL));
+                }
+                break;
+            case ELEMENT_GENERIC_INFORMATION:
+                if (depth == 1 && genericInformationStart < 0) {
+                    genericInformationStart = start;
+                    genericInformationEnd = empty ? end : -1;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void endElement(String localName, int end) {
+        switch (localName) {
+            case ELEMENT_TASK_FLOW:
+                inTaskFlow = false;
+                break;
+            case ELEMENT_GENERIC_INFORMATION:
+                if (!inTaskFlow) {
+                    genericInformationHandled = true;
+                }
+                if (openElements.size() == 1 && genericInformationStart >= 0 && genericInformationEnd < 0) {
+                    genericInformationEnd = end;
+                }
+                break;
+            case ELEMENT_VARIABLES:
+                if (!inTaskFlow) {
+                    variablesHandled = true;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Metadata that follows the job-level generic information and variables is ignored, as the
+     * workflow parser stops there.
+     */
+    private boolean isMetadataExtracted() {
+        return jobHandled && genericInformationHandled && variablesHandled;
+    }
+
+    private void addJobMetadata() throws MalformedWorkflowException {
+        for (int attribute = 0; attribute < attributeCount; attribute++) {
+            if (isAttributeNamed(attribute, "name")) {
+                metadata.add(new KeyValueLabelMetadataEntity(JOB_NAME_KEY,
+                                                             attributeValue(attribute),
+                                                             JOB_AND_PROJECT_LABEL));
+            } else if (isAttributeNamed(attribute, "projectName")) {
+                metadata.add(new KeyValueLabelMetadataEntity(PROJECT_NAME_KEY,
+                                                             attributeValue(attribute),
+                                                             JOB_AND_PROJECT_LABEL));
+            }
+        }
+    }
+
+    private void completeGenericInformationRange() {
+        if (genericInformationEnd < 0) {
+            genericInformationStart = -1;
+        } else if (genericInformationEnd < characters.length() &&
+                   (characters.charAt(genericInformationEnd) == '\n' ||
+                    characters.charAt(genericInformationEnd) == '\r')) {
+            // the line break that follows the removed block goes with it
+            genericInformationEnd++;
+        }
+    }
+
+    private void addAttribute(int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        if ((attributeCount + 1) * 4 > attributes.length) {
+            attributes = Arrays.copyOf(attributes, attributes.length * 2);
+        }
+        int offset = attributeCount * 4;
+        attributes[offset] = nameStart;
+        attributes[offset + 1] = nameEnd;
+        attributes[offset + 2] = valueStart;
+        attributes[offset + 3] = valueEnd;
+        attributeCount++;
+    }
+
+    /**
+     * @return the normalized value of the attribute of the current start tag with the given local name, null if absent
+     */
+    private String attributeValue(String localName) throws MalformedWorkflowException {
+        for (int attribute = 0; attribute < attributeCount; attribute++) {
+            if (isAttributeNamed(attribute, localName)) {
+                return attributeValue(attribute);
+            }
+        }
+        return null;
+    }
+
+    private String attributeValue(int attribute) throws MalformedWorkflowException {
+        return normalizeAttributeValue(attributes[attribute * 4 + 2], attributes[attribute * 4 + 3]);
+    }
+
+    private boolean isAttributeNamed(int attribute, String localName) {
+        int nameStart = attributes[attribute * 4];
+        int localNameStart = attributes[attribute * 4 + 1] - localName.length();
+        return localNameStart >= nameStart && regionMatches(localNameStart, localName) &&
+               (localNameStart == nameStart || characters.charAt(localNameStart - 1) == ':');
+    }
+
+    private String normalizeAttributeValue(int from, int to) throws MalformedWorkflowException {
+        String raw = decoded != null ? decoded.substring(from, to) : new String(xml, from, to - from, charset);
+        StringBuilder value = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char character = raw.charAt(i);
+            if (character == '\r') {
+                value.append(' ');
+                if (i + 1 < raw.length() && raw.charAt(i + 1) == '\n') {
+                    i++;
+                }
+            } else if (character == '\n' || character == '\t') {
+                value.append(' ');
+            } else if (character == '&') {
+                int semicolon = raw.indexOf(';', i);
+                appendReference(value, raw.substring(i + 1, semicolon), from);
+                i = semicolon;
+            } else {
+                value.append(character);
+            }
+        }
+        return value.toString();
+    }
+
+    private void appendReference(StringBuilder value, String reference, int position)
+            throws MalformedWorkflowException {
+        switch (reference) {
+            case "lt":
+                value.append('<');
+                return;
+            case "gt":
+                value.append('>');
+                return;
+            case "amp":
+                value.append('&');
+                return;
+            case "quot":
+                value.append('"');
+                return;
+            case "apos":
+                value.append('\'');
+                return;
+            default:
+                break;
+        }
+        if (!reference.startsWith("#")) {
+            throw malformed(position, "undeclared entity " + reference);
+        }
+        try {
+            value.appendCodePoint(reference.startsWith("#x") ? Integer.parseInt(reference.substring(2), 16)
+                                                             : Integer.parseInt(reference.substring(1)));
+        } catch (IllegalArgumentException e) {
+            throw malformed(position, "invalid character reference " + reference);
+        }
+    }
+
+    private int indexOf(char character, int from) {
+        for (int i = from; i < characters.length(); i++) {
+            if (characters.charAt(i) == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean startsWith(int position, String prefix) {
+        return position + prefix.length() <= characters.length() && regionMatches(position, prefix);
+    }
+
+    private boolean regionMatches(int position, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (characters.charAt(position + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexAfter(int from, String terminator) {
+        for (int i = from; i + terminator.length() <= characters.length(); i++) {
+            if (regionMatches(i, terminator)) {
+                return i + terminator.length();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skips a declaration such as a DOCTYPE, including its internal subset.
+     */
+    private int indexAfterDeclaration(int from) {
+        int brackets = 0;
+        char quote = 0;
+        for (int i = from; i < characters.length(); i++) {
+            char character = characters.charAt(i);
+            if (quote != 0) {
+                if (character == quote) {
+                    quote = 0;
+                }
+            } else if (character == '"' || character == '\'') {
+                quote = character;
+            } else if (character == '[') {
+                brackets++;
+            } else if (character == ']') {
+                brackets--;
+            } else if (character == '>' && brackets <= 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private int nameEnd(int from) {
+        int end = from;
+        while (end < characters.length()) {
+            char character = characters.charAt(end);
+            if (isWhitespace(character) || character == '/' || character == '>' || character == '=' ||
+                character == '<' || character == '"' || character == '\'') {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    private int skipWhitespace(int from) {
+        int index = from;
+        while (index < characters.length() && isWhitespace(characters.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || character == '\t' || character == '\n' || character == '\r';
+    }
+
+    private static String localName(String name) {
+        return name.substring(name.indexOf(':') + 1);
+    }
+
+    private static int required(int next, int position, String message) throws MalformedWorkflowException {
+        if (next < 0) {
+            throw malformed(position, message);
+        }
+        return next;
+    }
+
+    private static MalformedWorkflowException malformed(int position, String message) {
+        return new MalformedWorkflowException("Malformed workflow at offset " + position + ": " + message);
+    }
+
+    /**
+     * @return the charset given by the byte order mark or the XML declaration, UTF-8 by default
+     */
+    static Charset detectCharset(byte[] xml) {
+        if (xml.length >= 2 && (xml[0] & 0xFF) == 0xFE && (xml[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (xml.length >= 2 && (xml[0] & 0xFF) == 0xFF && (xml[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+        int offset = xml.length >= 3 && (xml[0] & 0xFF) == 0xEF && (xml[1] & 0xFF) == 0xBB &&
+                     (xml[2] & 0xFF) == 0xBF ? 3 : 0;
+        Matcher matcher = encodingDeclarationPattern.matcher(new String(xml,
+                                                                        offset,
+                                                                        Math.min(xml.length - offset,
+                                                                                 PROLOG_MAX_LENGTH),
+                                                                        StandardCharsets.ISO_8859_1));
+        if (matcher.find() && Charset.isSupported(matcher.group(1))) {
+            return Charset.forName(matcher.group(1));
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        String markup = "<?xml </>=\"'&;";
+        return Arrays.equals(markup.getBytes(charset), markup.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Characters that the workflow encoding cannot represent are written as character references.
+     */
+    private static String escapeUnencodableCharacters(String text, Charset charset) {
+        CharsetEncoder encoder = charset.newEncoder();
+        StringBuilder escaped = new StringBuilder(text.length());
+        text.codePoints().forEach(codePoint -> {
+            String character = new String(Character.toChars(codePoint));
+            if (encoder.canEncode(character)) {
+                escaped.append(character);
+            } else {
+                escaped.append("&#").append(codePoint).append(';');
+            }
+        });
+        return escaped.toString();
+    }
+
+    private interface SpliceWriter {
+
+        void copy(int from, int to) throws IOException;
+
+        void insertGenericInformation() throws IOException;
+
+    }
+
+    private static final class MalformedWorkflowException extends Exception {
+
+        MalformedWorkflowException(String message) {
+            super(message);
+        }
+
+    }
+
+    /**
+     * Bytes of an ASCII compatible encoding seen as ISO-8859-1 characters: the ASCII markup
+     * characters keep their positions and the bytes of multi-byte characters never match them.
+     */
+    private static final class Latin1CharSequence implements CharSequence {
+
+        private final byte[] bytes;
+
+        Latin1CharSequence(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int length() {
+            return bytes.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+class ByteArrayRawObjectContent implements RawObjectContent {
+
+    private final byte[] bytes;
+
+    private volatile String contentHash;
+
+    ByteArrayRawObjectContent(byte[] bytes, String contentHash) {
+        this.bytes = bytes;
+        this.contentHash = contentHash;
+    }
+
+    @Override
+    public long getLength() {
+        return bytes.length;
+    }
+
+    @Override
+    public String getContentHash() {
+        if (contentHash == null) {
+            contentHash = ContentHash.of(bytes);
+        }
+        return contentHash;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public InputStream openStream(long offset, long length) {
+        return new ByteArrayInputStream(bytes, (int) offset, (int) length);
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ByteArrayRawObjectContent && Arrays.equals(bytes, ((ByteArrayRawObjectContent) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import javax.annotation.PostConstruct;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Keeps the raw objects in the RAW_OBJECT column of the revisions. The column is mapped to a byte
+ * array, so raw objects are loaded in memory once when they are stored.
+ *
+ * The database storage does not read the raw objects stored by {@link FileRawObjectStorage}, it
+ * refuses to start once revisions reference files.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+@ConditionalOnProperty(name = "pa.catalog.storage.backend", havingValue = "database", matchIfMissing = true)
+public class DatabaseRawObjectStorage implements RawObjectStorage {
+
+    @Autowired
+    private RawObjectCompressor rawObjectCompressor;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @PostConstruct
+    public void init() {
+        if (!catalogObjectRevisionRepository.findIdsWithRawObjectLocation(new PageRequest(0, 1)).isEmpty()) {
+            throw new IllegalStateException("Revisions have their raw object stored in files, pa.catalog.storage.backend must remain file");
+        }
+    }
+
+    @Override
+    public void store(CatalogObjectRevisionEntity revision, RawObjectContent rawObject) {
+        byte[] compressed = rawObjectCompressor.compress(rawObject);
+        if (compressed == null) {
+            revision.setRawObject(rawObject.toByteArray());
+            revision.setRawObjectEncoding(null);
+        } else {
+            revision.setRawObject(compressed);
+            revision.setRawObjectEncoding(RawObjectCompressor.GZIP_ENCODING);
+        }
+    }
+
+    @Override
+    public RawObjectContent load(CatalogObjectRevisionEntity revision) {
+        RawObjectContent gzipped = loadGzipped(revision);
+        if (gzipped != null) {
+            return RawObjectCompressor.decompressing(gzipped, revision.getRawObjectSize(), revision.getContentHash());
+        }
+        return RawObjectContent.of(revision.getRawObject(), revision.getContentHash());
+    }
+
+    @Override
+    public RawObjectContent loadGzipped(CatalogObjectRevisionEntity revision) {
+        return RawObjectCompressor.GZIP_ENCODING.equals(revision.getRawObjectEncoding()) ? RawObjectContent.of(revision.getRawObject())
+                                                                                         : null;
+    }
+
+}
@@ -0,0 +1,371 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Keeps the raw objects as immutable files of a local directory, addressed by their content hash.
+ * Revisions only keep the location of their raw object, identical raw objects share a file.
+ *
+ * A raw object is written to a temporary file, forced to disk and then atomically renamed, so that
+ * a crash never leaves a partial file at a content address. Files that no revision references,
+ * after deletions, compactions or rolled back transactions, are deleted by a periodic sweep once
+ * they are older than a grace period, the revisions referencing recent files may not be committed
+ * yet. The sweep deletes a file under the same lock as a store reuses it, so that a store never
+ * references a file that the sweep is deleting.
+ *
+ * Revisions created before the file storage was enabled keep their raw object in the database. The
+ * switch is one-way, the database storage does not start once revisions reference files.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "pa.catalog.storage.backend", havingValue = "file")
+public class FileRawObjectStorage implements RawObjectStorage {
+
+    /**
+     * Content addressed directories have two characters names
+     */
+    private static final String TEMPORARY_DIRECTORY = "tmp";
+
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Autowired
+    private RawObjectCompressor rawObjectCompressor;
+
+    @Value("${pa.catalog.storage.file.dir:}")
+    private String dir;
+
+    @Value("${pa.catalog.storage.file.sweep.interval.minutes:60}")
+    private long sweepIntervalMinutes;
+
+    @Value("${pa.catalog.storage.file.sweep.grace.minutes:60}")
+    private long sweepGraceMinutes;
+
+    private Path root;
+
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * Locks of the content addresses, shared by the raw object and its gzip encoding
+     */
+    private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
+
+    public FileRawObjectStorage() {
+    }
+
+    FileRawObjectStorage(Path root, long sweepGraceMinutes,
+            CatalogObjectRevisionRepository catalogObjectRevisionRepository, RawObjectCompressor rawObjectCompressor) {
+        this.root = root;
+        this.sweepGraceMinutes = sweepGraceMinutes;
+        this.catalogObjectRevisionRepository = catalogObjectRevisionRepository;
+        this.rawObjectCompressor = rawObjectCompressor;
+    }
+
+    @PostConstruct
+    public void init() {
+        Path directory = getDirectory();
+        try {
+            root = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the raw object storage directory " + directory, e);
+        }
+        log.info("Storing the raw objects in {}", root);
+        sweeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("raw-object-sweeper-%d")
+                                                                                       .setDaemon(true)
+                                                                                       .build());
+        if (sweepIntervalMinutes > 0) {
+            sweeper.scheduleWithFixedDelay(this::sweepQuietly,
+                                           sweepIntervalMinutes,
+                                           sweepIntervalMinutes,
+                                           TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * The files are the only copy of the raw objects, they are never kept in the temporary directory
+     */
+    private Path getDirectory() {
+        if (!dir.isEmpty()) {
+            return Paths.get(dir);
+        }
+        String proactiveHome = System.getProperty("proactive.home");
+        if (proactiveHome == null) {
+            throw new IllegalStateException("pa.catalog.storage.file.dir must be set when pa.catalog.storage.backend is file");
+        }
+        return Paths.get(proactiveHome, "data", "catalog-raw-objects");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * The gzip encoding of a compressible raw object is stored in place of the raw object, with the
+     * .gz extension.
+     */
+    @Override
+    public void store(CatalogObjectRevisionEntity revision, RawObjectContent rawObject) {
+        String location = toLocation(rawObject.getContentHash());
+        String gzipLocation = location + GZIP_EXTENSION;
+        try {
+            Lock lock = lockOf(location);
+            lock.lock();
+            try {
+                if (touchIfExists(root.resolve(gzipLocation))) {
+                    setLocation(revision, gzipLocation, RawObjectCompressor.GZIP_ENCODING);
+                    return;
+                }
+                if (touchIfExists(root.resolve(location))) {
+                    setLocation(revision, location, null);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // a new file is not swept before the grace period, it is written without holding the lock
+            byte[] compressed = rawObjectCompressor.compress(rawObject);
+            if (compressed == null) {
+                write(rawObject, root.resolve(location));
+                setLocation(revision, location, null);
+            } else {
+                write(RawObjectContent.of(compressed), root.resolve(gzipLocation));
+                setLocation(revision, gzipLocation, RawObjectCompressor.GZIP_ENCODING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot store the raw object " + location, e);
+        }
+    }
+
+    @Override
+    public RawObjectContent load(CatalogObjectRevisionEntity revision) {
+        if (revision.getRawObjectLocation() == null) {
+            return RawObjectContent.of(revision.getRawObject(), revision.getContentHash());
+        }
+        RawObjectContent gzipped = loadGzipped(revision);
+        if (gzipped != null) {
+            return RawObjectCompressor.decompressing(gzipped, revision.getRawObjectSize(), revision.getContentHash());
+        }
+        return loadFile(revision, revision.getContentHash());
+    }
+
+    @Override
+    public RawObjectContent loadGzipped(CatalogObjectRevisionEntity revision) {
+        if (revision.getRawObjectLocation() == null ||
+            !RawObjectCompressor.GZIP_ENCODING.equals(revision.getRawObjectEncoding())) {
+            return null;
+        }
+        return loadFile(revision, null);
+    }
+
+    /**
+     * Deletes the files older than the grace period that no revision references, and the temporary
+     * files left by interrupted writes.
+     *
+     * @return the number of deleted files
+     */
+    public long sweep() throws IOException {
+        long olderThan = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(sweepGraceMinutes);
+        Path temporaryDirectory = root.resolve(TEMPORARY_DIRECTORY);
+        long deleted = 0;
+        Map<String, Path> candidates = new HashMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile)
+                                           .filter(path -> isOlderThan(path, olderThan))
+                                           .iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                if (path.startsWith(temporaryDirectory)) {
+                    // temporary files have unique names, no store reuses them
+                    deleted += delete(path, olderThan);
+                    continue;
+                }
+                candidates.put(root.relativize(path).toString().replace(File.separatorChar, '/'), path);
+                if (candidates.size() == SWEEP_BATCH_SIZE) {
+                    deleted += deleteUnreferenced(candidates, olderThan);
+                    candidates.clear();
+                }
+            }
+        }
+        deleted += deleteUnreferenced(candidates, olderThan);
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced raw object files", deleted);
+        }
+        return deleted;
+    }
+
+    private RawObjectContent loadFile(CatalogObjectRevisionEntity revision, String contentHash) {
+        Path path = root.resolve(revision.getRawObjectLocation());
+        try {
+            long length = revision.getRawObjectSize() != null && revision.getRawObjectEncoding() == null ? revision.getRawObjectSize()
+                                                                                                            : Files.size(path);
+            return new FileRawObjectContent(path, length, contentHash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the raw object " + revision.getRawObjectLocation(), e);
+        }
+    }
+
+    private static void setLocation(CatalogObjectRevisionEntity revision, String location, String encoding) {
+        revision.setRawObject(null);
+        revision.setRawObjectLocation(location);
+        revision.setRawObjectEncoding(encoding);
+    }
+
+    /**
+     * A shared file is kept out of a concurrent sweep until the revision referencing it is committed
+     */
+    private static boolean touchIfExists(Path path) throws IOException {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (IOException | RuntimeException e) {
+            log.error("Raw object sweep failed", e);
+        }
+    }
+
+    private void write(RawObjectContent rawObject, Path path) throws IOException {
+        Path temporaryDirectory = Files.createDirectories(root.resolve(TEMPORARY_DIRECTORY));
+        Path temporaryFile = Files.createTempFile(temporaryDirectory, rawObject.getContentHash(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                rawObject.transferTo(0, rawObject.getLength(), channel);
+                channel.force(true);
+            }
+            Files.createDirectories(path.getParent());
+            // a concurrent store of the same content renames an identical file
+            Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private long deleteUnreferenced(Map<String, Path> candidates, long olderThan) {
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        catalogObjectRevisionRepository.findReferencedRawObjectLocations(candidates.keySet())
+                                       .forEach(candidates::remove);
+        long deleted = 0;
+        for (Map.Entry<String, Path> candidate : candidates.entrySet()) {
+            Lock lock = lockOf(candidate.getKey());
+            lock.lock();
+            try {
+                deleted += delete(candidate.getValue(), olderThan);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return deleted;
+    }
+
+    private Lock lockOf(String location) {
+        return locks.get(location.endsWith(GZIP_EXTENSION) ? location.substring(0,
+                                                                                location.length() -
+                                                                                   GZIP_EXTENSION.length())
+                                                           : location);
+    }
+
+    /**
+     * The age is checked again since a store may have touched the file meanwhile
+     */
+    private static int delete(Path path, long olderThan) {
+        try {
+            return isOlderThan(path, olderThan) && Files.deleteIfExists(path) ? 1 : 0;
+        } catch (IOException e) {
+            log.warn("Cannot delete the raw object file " + path, e);
+            return 0;
+        }
+    }
+
+    private static boolean isOlderThan(Path path, long time) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis() < time;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the path of the file of the given content hash, relative to the storage directory
+     */
+    static String toLocation(String contentHash) {
+        return contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4) + "/" + contentHash;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+
+
+/**
+ * Raw object stored gzip encoded, decompressed as it is read. Ranges are read by skipping the
+ * decompressed bytes before them.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+class GzipRawObjectContent implements RawObjectContent {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RawObjectContent compressed;
+
+    private final long length;
+
+    private volatile String contentHash;
+
+    GzipRawObjectContent(RawObjectContent compressed, long length, String contentHash) {
+        this.compressed = compressed;
+        this.length = length;
+        this.contentHash = contentHash;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public String getContentHash() {
+        if (contentHash == null) {
+            contentHash = ContentHash.of(toByteArray());
+        }
+        return contentHash;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        InputStream stream = compressed.openStream();
+        try {
+            return new GZIPInputStream(stream, BUFFER_SIZE);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        try (InputStream stream = openStream()) {
+            return IOUtils.toByteArray(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
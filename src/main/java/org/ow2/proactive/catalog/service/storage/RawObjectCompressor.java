@@ -0,0 +1,113 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Compresses the raw objects that are stored gzip encoded, so that they are compressed once when
+ * they are stored instead of on every download. Raw objects are compressed when their size is
+ * within the configured bounds and when gzip saves enough, already compressed formats are stored
+ * as is.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+public class RawObjectCompressor {
+
+    public static final String GZIP_ENCODING = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${pa.catalog.storage.gzip.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pa.catalog.storage.gzip.min.size.bytes:2048}")
+    private long minSize;
+
+    @Value("${pa.catalog.storage.gzip.max.size.bytes:67108864}")
+    private long maxSize;
+
+    @Value("${pa.catalog.storage.gzip.max.ratio:0.9}")
+    private double maxRatio;
+
+    public RawObjectCompressor() {
+    }
+
+    RawObjectCompressor(boolean enabled, long minSize, long maxSize, double maxRatio) {
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxRatio = maxRatio;
+    }
+
+    /**
+     * @return the gzip encoding of the raw object, null if the raw object is to be stored as is
+     */
+    public byte[] compress(RawObjectContent rawObject) {
+        long length = rawObject.getLength();
+        if (!enabled || length < minSize || length > maxSize) {
+            return null;
+        }
+        long maxCompressedLength = (long) (length * maxRatio);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream((int) Math.min(maxCompressedLength, BUFFER_SIZE));
+        try (InputStream input = rawObject.openStream();
+                OutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                gzip.write(buffer, 0, read);
+                if (compressed.size() > maxCompressedLength) {
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.size() > maxCompressedLength ? null : compressed.toByteArray();
+    }
+
+    /**
+     * @param compressed the gzip encoding of a raw object
+     * @param length the size of the raw object
+     * @param contentHash the content hash of the raw object
+     * @return the raw object, decompressed as it is read
+     */
+    public static RawObjectContent decompressing(RawObjectContent compressed, long length, String contentHash) {
+        return new GzipRawObjectContent(compressed, length, contentHash);
+    }
+
+}
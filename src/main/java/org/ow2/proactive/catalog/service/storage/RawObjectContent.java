@@ -0,0 +1,104 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+
+/**
+ * Bytes of a raw object, either in memory or in a file, so that large raw objects can be stored
+ * without being copied in memory.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public interface RawObjectContent {
+
+    /**
+     * @return the given bytes, empty content if null
+     */
+    static RawObjectContent of(byte[] bytes) {
+        return new ByteArrayRawObjectContent(bytes == null ? new byte[0] : bytes, null);
+    }
+
+    /**
+     * @param contentHash the content hash of the given bytes, already computed
+     */
+    static RawObjectContent of(byte[] bytes, String contentHash) {
+        return new ByteArrayRawObjectContent(bytes == null ? new byte[0] : bytes, contentHash);
+    }
+
+    long getLength();
+
+    /**
+     * @return the hex encoded SHA-256 digest of the content
+     */
+    String getContentHash();
+
+    InputStream openStream() throws IOException;
+
+    /**
+     * Opens a stream over a range of the content, e.g. to serve a byte range request. The default
+     * implementation skips the bytes before the range, implementations override it to seek instead.
+     *
+     * @param offset position of the first byte of the range
+     * @param length number of bytes of the range
+     */
+    default InputStream openStream(long offset, long length) throws IOException {
+        InputStream stream = openStream();
+        try {
+            IOUtils.skipFully(stream, offset);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+        return new BoundedInputStream(stream, length);
+    }
+
+    /**
+     * Writes a range of the content to the given channel, e.g. the body of a download.
+     *
+     * @param offset position of the first byte of the range
+     * @param length number of bytes of the range
+     */
+    default void transferTo(long offset, long length, WritableByteChannel target) throws IOException {
+        try (InputStream stream = openStream(offset, length)) {
+            IOUtils.copyLarge(stream, Channels.newOutputStream(target));
+        }
+    }
+
+    /**
+     * Loads the whole content in memory.
+     */
+    byte[] toByteArray();
+
+}
@@ -0,0 +1,107 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+
+import javax.annotation.PostConstruct;
+
+import org.ow2.proactive.catalog.service.exception.RawObjectTooLargeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Copies uploaded raw objects to temporary files by small chunks, computing their size and content
+ * hash on the way, so that uploads are never held in memory as a whole.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+public class RawObjectSpooler {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${pa.catalog.upload.max.size.bytes:1073741824}")
+    private long maxSize;
+
+    @Value("${pa.catalog.upload.spool.dir:}")
+    private String spoolDir;
+
+    private Path spoolDirectory;
+
+    public RawObjectSpooler() {
+    }
+
+    RawObjectSpooler(Path spoolDirectory, long maxSize) {
+        this.spoolDirectory = spoolDirectory;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            spoolDirectory = spoolDir.isEmpty() ? Paths.get(System.getProperty("java.io.tmpdir"))
+                                                : Files.createDirectories(Paths.get(spoolDir));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the upload spool directory " + spoolDir, e);
+        }
+    }
+
+    /**
+     * @throws RawObjectTooLargeException if the upload is larger than the maximum upload size
+     */
+    public SpooledRawObject spool(InputStream upload) throws IOException {
+        Path path = Files.createTempFile(spoolDirectory, "catalog-upload-", ".spool");
+        MessageDigest digest = ContentHash.newDigest();
+        long length = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (OutputStream output = Files.newOutputStream(path)) {
+            int read;
+            while ((read = upload.read(buffer)) != -1) {
+                length += read;
+                if (maxSize > 0 && length > maxSize) {
+                    throw new RawObjectTooLargeException(maxSize);
+                }
+                digest.update(buffer, 0, read);
+                output.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new SpooledRawObject(path, length, ContentHash.encode(digest.digest()));
+    }
+
+}
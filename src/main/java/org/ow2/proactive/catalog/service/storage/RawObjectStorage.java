@@ -0,0 +1,58 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+
+
+/**
+ * Keeps the raw objects of the catalog object revisions. The storage is selected by the
+ * pa.catalog.storage.backend property. Compressible raw objects are stored gzip encoded, see
+ * {@link RawObjectCompressor}.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public interface RawObjectStorage {
+
+    /**
+     * Stores the raw object of a revision that is about to be saved. The revision keeps either the
+     * raw object or what is needed to find it in the storage.
+     */
+    void store(CatalogObjectRevisionEntity revision, RawObjectContent rawObject);
+
+    /**
+     * @return the raw object of a saved revision
+     */
+    RawObjectContent load(CatalogObjectRevisionEntity revision);
+
+    /**
+     * @return the stored gzip encoding of the raw object of a saved revision, null if the raw object
+     *         is stored as is
+     */
+    RawObjectContent loadGzipped(CatalogObjectRevisionEntity revision);
+
+}
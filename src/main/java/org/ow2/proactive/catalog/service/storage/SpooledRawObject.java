@@ -0,0 +1,59 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Uploaded raw object spooled to a temporary file by {@link RawObjectSpooler}. The file is deleted
+ * when the spooled raw object is closed.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+public class SpooledRawObject extends FileRawObjectContent implements Closeable {
+
+    SpooledRawObject(Path path, long length, String contentHash) {
+        super(path, length, contentHash);
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(getPath());
+        } catch (IOException e) {
+            log.warn("Cannot delete the spooled raw object " + getPath(), e);
+        }
+    }
+
+}
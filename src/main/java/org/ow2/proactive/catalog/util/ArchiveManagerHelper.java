@@ -27,15 +27,19 @@ package org.ow2.proactive.catalog.util;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 
 import org.apache.commons.io.FilenameUtils;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.storage.RawObjectStorage;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.zeroturnaround.zip.ByteSource;
 import org.zeroturnaround.zip.ZipEntrySource;
@@ -45,6 +49,9 @@ import org.zeroturnaround.zip.ZipUtil;
 @Component
 public class ArchiveManagerHelper {
 
+    @Autowired
+    private RawObjectStorage rawObjectStorage;
+
     public static class ZipArchiveContent {
 
         private byte[] content;
@@ -124,7 +131,8 @@ public class ArchiveManagerHelper {
                 }
                 return catalogObjectRevision != null;
             }).map(catalogObjectRevision -> new ByteSource(catalogObjectRevision.getCatalogObject().getId().getName(),
-                                                           catalogObjectRevision.getRawObject()));
+                                                           rawObjectStorage.load(catalogObjectRevision)
+                                                                           .toByteArray()));
             ZipEntrySource[] sources = streamSources.toArray(size -> new ZipEntrySource[size]);
             ZipUtil.pack(sources, byteArrayOutputStream);
 
@@ -157,6 +165,15 @@ public class ArchiveManagerHelper {
         return filesList;
     }
 
+    /**
+     * Extract files from an archive one at a time, so that the archive is never loaded in memory
+     * @param archive the archive file
+     * @param consumer called with each file of the archive, it can throw a ZipBreakException to stop the extraction
+     */
+    public void extractZIP(File archive, Consumer<FileNameAndContent> consumer) {
+        ZipUtil.iterate(archive, (in, zipEntry) -> consumer.accept(process(in, zipEntry)));
+    }
+
     /**
      * Extract ZIP entry into a byte array
      * @param in entry content
@@ -0,0 +1,78 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+
+
+/**
+ * Honors the Accept header for the binary formats only. A binary format is negotiated when the
+ * client prefers it to JSON, any other Accept header, even an invalid one, still resolves to JSON
+ * as when the Accept header was ignored.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class BinaryFormatAcceptHeaderStrategy implements ContentNegotiationStrategy {
+
+    private static final List<MediaType> JSON = Collections.singletonList(MediaType.APPLICATION_JSON);
+
+    private static final List<MediaType> BINARY_FORMATS = Arrays.asList(JacksonBinaryHttpMessageConverter.SMILE,
+                                                                        JacksonBinaryHttpMessageConverter.CBOR);
+
+    private final HeaderContentNegotiationStrategy headerStrategy = new HeaderContentNegotiationStrategy();
+
+    @Override
+    public List<MediaType> resolveMediaTypes(NativeWebRequest request) {
+        List<MediaType> acceptedMediaTypes;
+        try {
+            acceptedMediaTypes = headerStrategy.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return JSON;
+        }
+        // sorted by specificity and quality
+        for (MediaType acceptedMediaType : acceptedMediaTypes) {
+            if (acceptedMediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return JSON;
+            }
+            for (MediaType binaryFormat : BINARY_FORMATS) {
+                if (binaryFormat.includes(acceptedMediaType)) {
+                    return Collections.singletonList(binaryFormat);
+                }
+            }
+        }
+        return JSON;
+    }
+
+}
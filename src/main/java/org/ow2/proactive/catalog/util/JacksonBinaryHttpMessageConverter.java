@@ -0,0 +1,128 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.lang.reflect.Type;
+
+import org.springframework.hateoas.RelProvider;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+
+/**
+ * Reads and writes the REST and GraphQL representations with a binary Jackson data format, Smile or
+ * CBOR. The binary formats encode the same trees as JSON, with the same property names, but are
+ * cheaper to generate and to parse and smaller on the wire, which matters for the clients polling
+ * large metadata listings.
+ *
+ * The mappers are configured by the Jackson2ObjectMapperBuilder of the application, as the JSON
+ * ones. Like in JSON, the resources with links are written in HAL by the converters restricted to
+ * {@link ResourceSupport}, which are registered before the other ones.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class JacksonBinaryHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    public static final String CBOR_VALUE = "application/cbor";
+
+    public static final MediaType CBOR = MediaType.valueOf(CBOR_VALUE);
+
+    private final Class<?> supportedType;
+
+    private JacksonBinaryHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType,
+            Class<?> supportedType) {
+        super(objectMapper, mediaType);
+        this.supportedType = supportedType;
+        // binary formats have no charset
+        setDefaultCharset(null);
+    }
+
+    public static JacksonBinaryHttpMessageConverter smile(Jackson2ObjectMapperBuilder builder) {
+        return new JacksonBinaryHttpMessageConverter(newObjectMapper(new SmileFactory(), builder), SMILE, Object.class);
+    }
+
+    public static JacksonBinaryHttpMessageConverter cbor(Jackson2ObjectMapperBuilder builder) {
+        return new JacksonBinaryHttpMessageConverter(newObjectMapper(new CBORFactory(), builder), CBOR, Object.class);
+    }
+
+    public static JacksonBinaryHttpMessageConverter halSmile(Jackson2ObjectMapperBuilder builder,
+            RelProvider relProvider) {
+        return new JacksonBinaryHttpMessageConverter(newHalObjectMapper(new SmileFactory(), builder, relProvider),
+                                                     SMILE,
+                                                     ResourceSupport.class);
+    }
+
+    public static JacksonBinaryHttpMessageConverter halCbor(Jackson2ObjectMapperBuilder builder,
+            RelProvider relProvider) {
+        return new JacksonBinaryHttpMessageConverter(newHalObjectMapper(new CBORFactory(), builder, relProvider),
+                                                     CBOR,
+                                                     ResourceSupport.class);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return supportedType.isAssignableFrom(clazz) && super.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return supportedType.isAssignableFrom(getJavaType(type, contextClass).getRawClass()) &&
+               super.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return supportedType.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+    }
+
+    private static ObjectMapper newObjectMapper(JsonFactory factory, Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper objectMapper = new ObjectMapper(factory);
+        builder.configure(objectMapper);
+        return objectMapper;
+    }
+
+    private static ObjectMapper newHalObjectMapper(JsonFactory factory, Jackson2ObjectMapperBuilder builder,
+            RelProvider relProvider) {
+        ObjectMapper objectMapper = newObjectMapper(factory, builder);
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(relProvider, null, null));
+        return objectMapper;
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+import org.ow2.proactive.catalog.rest.controller.BucketController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+
+/**
+ * Renders the links of the catalog objects by appending path segments to the URI of the buckets,
+ * instead of recording an invocation of the controllers for each link as ControllerLinkBuilder
+ * does. The URI of the buckets is resolved by ControllerLinkBuilder once per request, so that the
+ * context path and the forwarded headers are honored the same way, and kept as a request attribute.
+ * The encoded names are kept in a small cache, listings and GraphQL edges render the links of the
+ * same catalog objects over and over.
+ *
+ * The names are encoded as the controllers expect them: URL encoded, and then encoded once more as
+ * a path segment in the absolute links, since the raw endpoints decode the name again after the
+ * servlet container.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public final class LinkTemplate {
+
+    private static final String BUCKETS_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".bucketsUri";
+
+    private static final int MAX_CACHED_NAMES = 10000;
+
+    private static final Cache<String, EncodedName> ENCODED_NAMES = Caffeine.newBuilder()
+                                                                            .maximumSize(MAX_CACHED_NAMES)
+                                                                            .build();
+
+    private LinkTemplate() {
+    }
+
+    /**
+     * @return the absolute URL of the raw content of the last revision of a catalog object
+     */
+    public static String rawObjectHref(Long bucketId, String name) {
+        return appendResource(new StringBuilder(128).append(bucketsUri()).append('/'),
+                              bucketId,
+                              encode(name).pathSegment).append("/raw").toString();
+    }
+
+    /**
+     * @return the absolute URL of the raw content of a catalog object revision
+     */
+    public static String rawObjectHref(Long bucketId, String name, long commitTime) {
+        return appendResource(new StringBuilder(160).append(bucketsUri()).append('/'),
+                              bucketId,
+                              encode(name).pathSegment).append("/revisions/")
+                                                       .append(commitTime)
+                                                       .append("/raw")
+                                                       .toString();
+    }
+
+    /**
+     * @return the path of a catalog object, relative to the root of the service
+     */
+    public static String relativeHref(Long bucketId, String name) {
+        return appendResource(new StringBuilder(96).append("buckets/"), bucketId, encode(name).urlEncoded).toString();
+    }
+
+    /**
+     * @return the path of a catalog object revision, relative to the root of the service
+     */
+    public static String relativeHref(Long bucketId, String name, long commitTime) {
+        return appendResource(new StringBuilder(128).append("buckets/"),
+                              bucketId,
+                              encode(name).urlEncoded).append("/revisions/").append(commitTime).toString();
+    }
+
+    private static StringBuilder appendResource(StringBuilder href, Long bucketId, String encodedName) {
+        return href.append(bucketId).append("/resources/").append(encodedName);
+    }
+
+    private static String bucketsUri() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return linkTo(BucketController.class).toString();
+        }
+        String bucketsUri = (String) requestAttributes.getAttribute(BUCKETS_URI_ATTRIBUTE,
+                                                                    RequestAttributes.SCOPE_REQUEST);
+        if (bucketsUri == null) {
+            bucketsUri = linkTo(BucketController.class).toString();
+            requestAttributes.setAttribute(BUCKETS_URI_ATTRIBUTE, bucketsUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return bucketsUri;
+    }
+
+    private static EncodedName encode(String name) {
+        return ENCODED_NAMES.get(name, EncodedName::new);
+    }
+
+    private static final class EncodedName {
+
+        private final String urlEncoded;
+
+        private final String pathSegment;
+
+        private EncodedName(String name) {
+            try {
+                urlEncoded = URLEncoder.encode(name, "UTF-8");
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException("UTF-8 is not supported", e);
+            }
+            // the URL encoded name only contains characters allowed in a path segment but '%'
+            pathSegment = urlEncoded.replace("%", "%25");
+        }
+
+    }
+
+}
@@ -25,29 +25,16 @@
  */
 package org.ow2.proactive.catalog.util;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
-
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
-import org.ow2.proactive.catalog.rest.controller.CatalogObjectController;
-import org.ow2.proactive.catalog.rest.controller.CatalogObjectRevisionController;
-import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
-import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
 import org.springframework.hateoas.Link;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
-
-import lombok.extern.log4j.Log4j2;
 
 
 /**
  * @author ActiveEon Team
  * @since 11/07/2017
  */
-@Log4j2
 public class LinkUtil {
 
     /**
@@ -58,21 +45,8 @@ public class LinkUtil {
      * @param commitTime The commit time of the object which is also the identifier of this revision
      * @return a <code>Link</code> referencing the given object's revision raw content
      */
-    public static Link createLink(Long bucketId, String name, LocalDateTime commitTime)
-            throws NotAuthenticatedException, AccessDeniedException {
-        try {
-            long epochMilli = commitTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-            ControllerLinkBuilder controllerLinkBuilder = linkTo(methodOn(CatalogObjectRevisionController.class).getRaw(null,
-                                                                                                                        bucketId,
-                                                                                                                        URLEncoder.encode(name,
-                                                                                                                                          "UTF-8"),
-                                                                                                                        epochMilli));
-
-            return new Link(controllerLinkBuilder.toString()).withRel("content");
-        } catch (UnsupportedEncodingException e) {
-            log.error("{} cannot be encoded", name, e);
-        }
-        return null;
+    public static Link createLink(Long bucketId, String name, LocalDateTime commitTime) {
+        return new Link(LinkTemplate.rawObjectHref(bucketId, name, toEpochMilli(commitTime))).withRel("content");
     }
 
     /**
@@ -82,59 +56,36 @@ public class LinkUtil {
      * @param name The name of the object which is the identifier of the object
      * @return a <code>Link</code> referencing the given object's raw content
      */
-    public static Link createLink(Long bucketId, String name) throws NotAuthenticatedException, AccessDeniedException {
-        try {
-            ControllerLinkBuilder controllerLinkBuilder = linkTo(methodOn(CatalogObjectController.class).getRaw(null,
-                                                                                                                bucketId,
-                                                                                                                URLEncoder.encode(name,
-                                                                                                                                  "UTF-8")));
-
-            return new Link(controllerLinkBuilder.toString()).withRel("content");
-        } catch (UnsupportedEncodingException e) {
-            log.error("{} cannot be encoded", name, e);
-        }
-        return null;
+    public static Link createLink(Long bucketId, String name) {
+        return new Link(LinkTemplate.rawObjectHref(bucketId, name)).withRel("content");
     }
 
     /**
      * This is used to generate the relative URL of the given object revision.
-     * The URL will only contain the path <code>buckets/../resources/../revisions/../raw</code>.
+     * The URL will only contain the path <code>buckets/../resources/../revisions/..</code>.
      *
      * @param bucketId The id of the bucket holding this object
      * @param objectName The name of the object which is the identifier of the object
      * @param commitTime The commit time of the object which is also the identifier of this revision
-     * @return a <code>Link</code> referencing the given object's revision raw content
+     * @return a <code>Link</code> referencing the given object's revision
      */
     public static Link createRelativeLink(Long bucketId, String objectName, LocalDateTime commitTime) {
-        Link link = null;
-        try {
-            long epochMilli = commitTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-            link = new Link("buckets/" + bucketId + "/resources/" + URLEncoder.encode(objectName, "UTF-8") +
-                            "/revisions/" + epochMilli).withRel("relative");
-
-        } catch (UnsupportedEncodingException e) {
-            log.error("{} cannot be encoded", objectName, e);
-        }
-        return link;
+        return new Link(LinkTemplate.relativeHref(bucketId, objectName, toEpochMilli(commitTime))).withRel("relative");
     }
 
     /**
      * This is used to generate the relative URL of the given object.
-     * The URL will only contain the path <code>buckets/../resources/../raw</code>.
+     * The URL will only contain the path <code>buckets/../resources/..</code>.
      *
      * @param bucketId The id of the bucket holding this object
      * @param objectName The name of the object which is the identifier of the object
-     * @return a <code>Link</code> referencing the given object's raw content
+     * @return a <code>Link</code> referencing the given object
      */
     public static Link createRelativeLink(Long bucketId, String objectName) {
-        Link link = null;
-        try {
-            link = new Link("buckets/" + bucketId + "/resources/" +
-                            URLEncoder.encode(objectName, "UTF-8")).withRel("relative");
+        return new Link(LinkTemplate.relativeHref(bucketId, objectName)).withRel("relative");
+    }
 
-        } catch (UnsupportedEncodingException e) {
-            log.error("{} cannot be encoded", objectName, e);
-        }
-        return link;
+    private static long toEpochMilli(LocalDateTime commitTime) {
+        return commitTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
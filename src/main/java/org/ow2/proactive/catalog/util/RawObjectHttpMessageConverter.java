@@ -0,0 +1,87 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+
+/**
+ * Writes raw objects to the response as channel transfers instead of stream copies. Raw objects
+ * kept in files are sent with {@link java.nio.channels.FileChannel#transferTo}, which lets the
+ * kernel copy the bytes when the output of the servlet container is a channel.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class RawObjectHttpMessageConverter extends AbstractHttpMessageConverter<RawObjectResource> {
+
+    public RawObjectHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RawObjectResource.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RawObjectResource readInternal(Class<? extends RawObjectResource> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Raw objects cannot be read as request bodies");
+    }
+
+    @Override
+    protected MediaType getDefaultContentType(RawObjectResource resource) {
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    @Override
+    protected Long getContentLength(RawObjectResource resource, MediaType contentType) {
+        return resource.contentLength();
+    }
+
+    @Override
+    protected void writeInternal(RawObjectResource resource, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        resource.transferTo(body instanceof WritableByteChannel ? (WritableByteChannel) body
+                                                                : Channels.newChannel(body));
+        body.flush();
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
+import org.springframework.core.io.AbstractResource;
+
+
+/**
+ * Range of a raw object served as a response body, written with
+ * {@link RawObjectContent#transferTo} by {@link RawObjectHttpMessageConverter}.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class RawObjectResource extends AbstractResource {
+
+    private final RawObjectContent content;
+
+    private final long offset;
+
+    private final long length;
+
+    public RawObjectResource(RawObjectContent content, long offset, long length) {
+        this.content = content;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return content.openStream(offset, length);
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    public void transferTo(WritableByteChannel target) throws IOException {
+        content.transferTo(offset, length, target);
+    }
+
+    @Override
+    public String getDescription() {
+        return "raw object bytes " + offset + "-" + (offset + length - 1) + "/" + content.getLength();
+    }
+
+}
@@ -26,19 +26,40 @@
 package org.ow2.proactive.catalog.util;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
 
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.service.storage.RawObjectCompressor;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
 import org.ow2.proactive.catalog.util.parser.SupportedParserKinds;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 
 import lombok.extern.log4j.Log4j2;
 
 
 /**
+ * Creates the responses serving the raw content of catalog objects. Byte ranges are supported so
+ * that interrupted downloads of large catalog objects can be resumed: the requested ranges are
+ * read from the raw object content, the revision commit time being the validator of If-Range.
+ * Raw objects stored gzip encoded are served as is to the clients accepting gzip. Whole raw objects
+ * and single ranges are written by {@link RawObjectHttpMessageConverter}.
+ *
  * @author ActiveEon Team
  * @since 11/23/2017
  */
@@ -48,12 +69,124 @@ public class RawObjectResponseCreator {
 
     public final static String WORKFLOW_EXTENSION = ".xml";
 
+    public final static String BYTES_UNIT = "bytes";
+
+    /**
+     * Requests with more ranges are answered with the whole raw object
+     */
+    private final static int MAX_RANGES = 32;
+
+    private final static String MULTIPART_BYTERANGES = "multipart/byteranges";
+
+    private final static String CRLF = "\r\n";
+
     public ResponseEntity createRawObjectResponse(CatalogRawObject rawObject) {
-        String name = rawObject.getName();
+        return createRawObjectResponse(rawObject, null, null, null);
+    }
+
+    /**
+     * @param range the Range header of the request, the whole raw object is served if null or malformed
+     * @param ifRange the If-Range header of the request, the whole raw object is served if it does not
+     *                match the commit time of the revision
+     * @param acceptEncoding the Accept-Encoding header of the request, the whole raw object is served
+     *                       with its stored gzip encoding to the clients accepting gzip
+     */
+    public ResponseEntity createRawObjectResponse(CatalogRawObject rawObject, String range, String ifRange,
+            String acceptEncoding) {
+        RawObjectContent content = rawObject.getContent();
+        long length = content.getLength();
+        HttpHeaders headers = createHeaders(rawObject);
+        RawObjectContent gzippedContent = rawObject.getGzippedContent();
+        if (gzippedContent != null) {
+            headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        List<HttpRange> ranges = range == null || !matchesIfRange(rawObject, ifRange) ? Collections.emptyList()
+                                                                                      : parseRanges(range);
+        if (ranges.isEmpty() && gzippedContent != null && acceptsGzip(acceptEncoding)) {
+            // ranges apply to the raw object, not to its gzip encoding
+            headers.remove(HttpHeaders.ACCEPT_RANGES);
+            headers.set(HttpHeaders.CONTENT_ENCODING, RawObjectCompressor.GZIP_ENCODING);
+            headers.setETag("\"" + rawObject.getCommitTimeRaw() + "-" + RawObjectCompressor.GZIP_ENCODING + "\"");
+            return ResponseEntity.ok()
+                                 .headers(headers)
+                                 .contentLength(gzippedContent.getLength())
+                                 .body(new RawObjectResource(gzippedContent, 0, gzippedContent.getLength()));
+        }
+        if (ranges.isEmpty()) {
+            return ResponseEntity.ok()
+                                 .headers(headers)
+                                 .contentLength(length)
+                                 .body(new RawObjectResource(content, 0, length));
+        }
 
-        byte[] bytes = rawObject.getRawObject();
+        List<long[]> satisfiableRanges = new ArrayList<>(ranges.size());
+        for (HttpRange httpRange : ranges) {
+            long[] satisfiableRange = toSatisfiableRange(httpRange, length);
+            if (satisfiableRange != null) {
+                satisfiableRanges.add(satisfiableRange);
+            }
+        }
 
-        ResponseEntity.BodyBuilder responseBodyBuilder = ResponseEntity.ok().contentLength(bytes.length);
+        if (satisfiableRanges.isEmpty()) {
+            headers.set(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
+        if (satisfiableRanges.size() == 1) {
+            long start = satisfiableRanges.get(0)[0];
+            long end = satisfiableRanges.get(0)[1];
+            headers.set(HttpHeaders.CONTENT_RANGE, contentRange(start, end, length));
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                                 .headers(headers)
+                                 .contentLength(end - start + 1)
+                                 .body(new RawObjectResource(content, start, end - start + 1));
+        }
+
+        return createMultipartResponse(content, headers, satisfiableRanges);
+    }
+
+    private ResponseEntity createMultipartResponse(RawObjectContent content, HttpHeaders headers,
+            List<long[]> ranges) {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        MediaType partContentType = headers.getContentType();
+        long length = content.getLength();
+
+        // parts are opened lazily, while the response body is written
+        List<InputStreamSupplier> parts = new ArrayList<>(2 * ranges.size() + 1);
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            StringBuilder partHeaders = new StringBuilder().append(CRLF).append("--").append(boundary).append(CRLF);
+            if (partContentType != null) {
+                partHeaders.append(HttpHeaders.CONTENT_TYPE).append(": ").append(partContentType).append(CRLF);
+            }
+            partHeaders.append(HttpHeaders.CONTENT_RANGE)
+                       .append(": ")
+                       .append(contentRange(range[0], range[1], length))
+                       .append(CRLF)
+                       .append(CRLF);
+            byte[] partHeaderBytes = partHeaders.toString().getBytes(StandardCharsets.US_ASCII);
+            parts.add(() -> new ByteArrayInputStream(partHeaderBytes));
+            parts.add(() -> content.openStream(range[0], range[1] - range[0] + 1));
+            contentLength += partHeaderBytes.length + range[1] - range[0] + 1;
+        }
+        byte[] closeDelimiter = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        parts.add(() -> new ByteArrayInputStream(closeDelimiter));
+        contentLength += closeDelimiter.length;
+
+        headers.setContentType(MediaType.parseMediaType(MULTIPART_BYTERANGES + "; boundary=" + boundary));
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                             .headers(headers)
+                             .contentLength(contentLength)
+                             .body(new InputStreamResource(new SequenceInputStream(open(parts.iterator()))));
+    }
+
+    private HttpHeaders createHeaders(CatalogRawObject rawObject) {
+        String name = rawObject.getName();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        headers.setETag(eTag(rawObject));
+        headers.setLastModified(Long.parseLong(rawObject.getCommitTimeRaw()));
 
         try {
             String contentDispositionFileName = name;
@@ -63,20 +196,133 @@ public class RawObjectResponseCreator {
                 !name.endsWith(WORKFLOW_EXTENSION)) {
                 contentDispositionFileName += WORKFLOW_EXTENSION;
             }
-            responseBodyBuilder.header(HttpHeaders.CONTENT_DISPOSITION,
-                                       "attachment; filename=\"" + contentDispositionFileName + "\"");
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + contentDispositionFileName + "\"");
         } catch (Exception e) {
             log.warn("The exception during creation of raw object response", e);
         }
 
         try {
-            MediaType mediaType = MediaType.valueOf(rawObject.getContentType());
-            responseBodyBuilder = responseBodyBuilder.contentType(mediaType);
+            headers.setContentType(MediaType.valueOf(rawObject.getContentType()));
         } catch (org.springframework.http.InvalidMediaTypeException mimeEx) {
             log.warn("The wrong content type for object: " + name + ", commitTime:" + rawObject.getCommitDateTime() +
                      ", the contentType: " + rawObject.getContentType(), mimeEx);
         }
+        return headers;
+    }
+
+    private static String eTag(CatalogRawObject rawObject) {
+        return "\"" + rawObject.getCommitTimeRaw() + "\"";
+    }
+
+    /**
+     * If-Range holds either a strong entity tag or the last modification date of the revision.
+     */
+    private static boolean matchesIfRange(CatalogRawObject rawObject, String ifRange) {
+        if (ifRange == null) {
+            return true;
+        }
+        String validator = ifRange.trim();
+        if (validator.startsWith("\"") || validator.startsWith("W/")) {
+            return validator.equals(eTag(rawObject));
+        }
+        HttpHeaders ifRangeHeaders = new HttpHeaders();
+        ifRangeHeaders.set(HttpHeaders.IF_RANGE, validator);
+        try {
+            return ifRangeHeaders.getFirstDate(HttpHeaders.IF_RANGE) / 1000 ==
+                   Long.parseLong(rawObject.getCommitTimeRaw()) / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return whether gzip is an acceptable content coding, with a non zero quality value. An explicit
+     *         gzip coding takes precedence over the * wildcard.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase();
+            if (name.equals(RawObjectCompressor.GZIP_ENCODING) || name.equals("x-gzip")) {
+                gzipQuality = qualityValue(parameters);
+            } else if (name.equals("*")) {
+                wildcardQuality = qualityValue(parameters);
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static double qualityValue(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            if (ranges.size() > MAX_RANGES) {
+                log.debug("Ignoring the {} ranges of the request", ranges.size());
+                return Collections.emptyList();
+            }
+            return ranges;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring the malformed range " + range, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * @return the first and last positions of the range, null if the range is not satisfiable
+     */
+    private static long[] toSatisfiableRange(HttpRange range, long length) {
+        try {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            return start < length && start <= end ? new long[] { start, end } : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String contentRange(long start, long end, long length) {
+        return BYTES_UNIT + " " + start + "-" + end + "/" + length;
+    }
+
+    private static Enumeration<InputStream> open(Iterator<InputStreamSupplier> parts) {
+        return new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return parts.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return parts.next().get();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
 
-        return responseBodyBuilder.body(new InputStreamResource(new ByteArrayInputStream(bytes)));
+    @FunctionalInterface
+    private interface InputStreamSupplier {
+        InputStream get() throws IOException;
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.multipart.commons.CommonsMultipartResolver;
+import org.springframework.web.util.UrlPathHelper;
+
+
+/**
+ * Resolves multipart requests with Commons FileUpload, except streaming uploads: their body is left
+ * untouched so that {@link StreamingUploadReader} reads it incrementally.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class StreamingUploadMultipartResolver extends CommonsMultipartResolver {
+
+    /**
+     * Last segment of the paths of the streaming upload endpoints
+     */
+    public static final String STREAMING_UPLOAD_PATH = "/stream";
+
+    /**
+     * Paths of the streaming upload endpoints
+     */
+    private static final List<String> STREAMING_UPLOAD_PATTERNS = Arrays.asList("/buckets/*/resources/stream",
+                                                                                "/buckets/*/resources/*/revisions/stream");
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        return super.isMultipart(request) && !isStreamingUpload(request);
+    }
+
+    /**
+     * Matches the path the request is mapped with, like the handler mappings do: path parameters
+     * such as jsessionid are removed, a trailing slash or an extension are accepted.
+     */
+    private boolean isStreamingUpload(HttpServletRequest request) {
+        String path = urlPathHelper.getLookupPathForRequest(request);
+        return STREAMING_UPLOAD_PATTERNS.stream()
+                                        .anyMatch(pattern -> pathMatcher.match(pattern, path) ||
+                                                             pathMatcher.match(pattern + "/", path) ||
+                                                             pathMatcher.match(pattern + ".*", path));
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.ow2.proactive.catalog.service.exception.UnprocessableEntityException;
+import org.ow2.proactive.catalog.service.storage.RawObjectSpooler;
+import org.ow2.proactive.catalog.service.storage.SpooledRawObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+
+
+/**
+ * Reads the file part of a multipart request as it arrives and spools it, without buffering the
+ * request body first.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Component
+public class StreamingUploadReader {
+
+    @Autowired
+    private RawObjectSpooler rawObjectSpooler;
+
+    /**
+     * @return the content of the given part, spooled, the caller has to close it
+     * @throws MissingServletRequestPartException if the request has no such part
+     */
+    public SpooledRawObject readPart(HttpServletRequest request, String partName)
+            throws IOException, MissingServletRequestPartException {
+        try {
+            FileItemIterator parts = new ServletFileUpload().getItemIterator(request);
+            while (parts.hasNext()) {
+                FileItemStream part = parts.next();
+                if (!part.isFormField() && partName.equals(part.getFieldName())) {
+                    try (InputStream content = part.openStream()) {
+                        return rawObjectSpooler.spool(content);
+                    }
+                }
+            }
+        } catch (FileUploadException e) {
+            throw new UnprocessableEntityException(e);
+        }
+        throw new MissingServletRequestPartException(partName);
+    }
+
+}
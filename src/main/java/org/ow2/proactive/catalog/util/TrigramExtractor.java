@@ -0,0 +1,80 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+
+/**
+ * Splits indexed values and SQL LIKE patterns into trigrams.
+ *
+ * A value matches a LIKE pattern only if it contains every trigram found in the literal
+ * parts of the pattern, which makes the trigrams of a pattern a necessary (but not sufficient)
+ * condition that can be checked against the index before evaluating the pattern itself.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class TrigramExtractor {
+
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private TrigramExtractor() {
+    }
+
+    public static Set<String> fromValue(String value) {
+        if (value == null || value.length() < TRIGRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams(value, trigrams);
+        return trigrams;
+    }
+
+    /**
+     * Wildcards '%' and '_' split the pattern into literal segments, only segments
+     * of at least three characters contribute trigrams.
+     */
+    public static Set<String> fromLikePattern(String pattern) {
+        if (pattern == null || pattern.length() < TRIGRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String literal : pattern.split("[%_]")) {
+            addTrigrams(literal, trigrams);
+        }
+        return trigrams;
+    }
+
+    private static void addTrigrams(String literal, Set<String> trigrams) {
+        for (int i = 0; i + TRIGRAM_LENGTH <= literal.length(); i++) {
+            trigrams.add(literal.substring(i, i + TRIGRAM_LENGTH));
+        }
+    }
+
+}
@@ -25,25 +25,191 @@
  */
 package org.ow2.proactive.catalog.util.parser;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+
+
 /**
  * CatalogObjectParserFactory return the right Parser for the given type of object
  *
+ * Parsers are created once, when the factory is initialized: the built-in ones, then those
+ * declared through {@link ServiceLoader}, which take precedence for the kinds that they share with
+ * a built-in parser. The kind of a catalog object is then resolved with a single map lookup.
+ *
+ * The kinds that have an ingest stage, such as workflows, are scanned by their stage when they are
+ * ingested, which takes precedence over the parser registered for the kind. The options of the kind
+ * still apply to the stage.
+ *
  * @author ActiveEon Team
  */
 public enum CatalogObjectParserFactory {
 
     INSTANCE;
 
+    private final CatalogObjectParserInterface defaultParser = new DefaultCatalogObjectParser();
+
+    private final Map<String, CatalogObjectParserInterface> parsersByKind;
+
+    /**
+     * Options configured for some kinds, they override the options of the parsers
+     */
+    private final Map<String, CatalogObjectParserOptions> configuredOptions = new ConcurrentHashMap<>();
+
+    CatalogObjectParserFactory() {
+        Map<String, CatalogObjectParserInterface> parsers = new HashMap<>();
+        register(parsers, new WorkflowParser());
+        register(parsers, new PCWRuleParser());
+        for (CatalogObjectParserInterface parser : ServiceLoader.load(CatalogObjectParserInterface.class)) {
+            register(parsers, parser);
+        }
+        parsersByKind = Collections.unmodifiableMap(parsers);
+    }
+
     public static CatalogObjectParserFactory get() {
         return INSTANCE;
     }
 
     public CatalogObjectParserInterface getParser(String type) {
-        if (SupportedParserKinds.WORKFLOW.toString().equals(type))
-            return new WorkflowParser();
-        if (SupportedParserKinds.PCW_RULE.toString().equals(type))
-            return new PCWRuleParser();
-        return new DefaultCatalogObjectParser();
+        return parsersByKind.getOrDefault(type, defaultParser);
+    }
+
+    /**
+     * @return the kinds that have a registered parser
+     */
+    public Set<String> getKinds() {
+        return parsersByKind.keySet();
+    }
+
+    public CatalogObjectParserOptions getOptions(String kind) {
+        CatalogObjectParserOptions options = kind == null ? null : configuredOptions.get(kind);
+        return options != null ? options : getParser(kind).getOptions();
+    }
+
+    public void setOptions(String kind, CatalogObjectParserOptions options) {
+        configuredOptions.put(kind, options);
+    }
+
+    /**
+     * Parses the raw object of a catalog object of the given kind within the options of that kind.
+     *
+     * @throws XMLStreamException if the raw object cannot be parsed or exceeds the options
+     */
+    public List<KeyValueLabelMetadataEntity> parse(String kind, InputStream inputStream) throws XMLStreamException {
+        CatalogObjectParserOptions options = getOptions(kind);
+        if (options.getMaxParsedBytes() == Long.MAX_VALUE) {
+            return checkMetadataEntries(kind, getParser(kind).parse(inputStream), options);
+        }
+        LimitedInputStream limitedInputStream = new LimitedInputStream(inputStream, options.getMaxParsedBytes());
+        try {
+            return checkMetadataEntries(kind, getParser(kind).parse(limitedInputStream), options);
+        } catch (RuntimeException | XMLStreamException e) {
+            // parsers wrap the failures of the stream in their own exceptions
+            if (limitedInputStream.isExceeded()) {
+                throw new XMLStreamException(limitExceededMessage(options.getMaxParsedBytes()));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the message of the failure of a parsing that exceeds the given parsed bytes
+     */
+    public static String limitExceededMessage(long maxParsedBytes) {
+        return "Parsing exceeds the limit of " + maxParsedBytes + " bytes";
+    }
+
+    /**
+     * @return the message of the failure of a parsing that extracts more metadata than the given maximum
+     */
+    public static String tooManyMetadataMessage(String kind, int maxMetadataEntries) {
+        return "Catalog object of kind " + kind + " has more than " + maxMetadataEntries + " metadata";
+    }
+
+    private static List<KeyValueLabelMetadataEntity> checkMetadataEntries(String kind,
+            List<KeyValueLabelMetadataEntity> metadata, CatalogObjectParserOptions options)
+            throws XMLStreamException {
+        if (metadata.size() > options.getMaxMetadataEntries()) {
+            throw new XMLStreamException(tooManyMetadataMessage(kind, options.getMaxMetadataEntries()));
+        }
+        return metadata;
+    }
+
+    private static void register(Map<String, CatalogObjectParserInterface> parsers,
+            CatalogObjectParserInterface parser) {
+        parser.getKinds().forEach(kind -> parsers.put(kind, parser));
+    }
+
+    /**
+     * Fails the parsing instead of truncating the raw object when it is longer than the limit.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+
+        private long remaining;
+
+        private boolean exceeded;
+
+        LimitedInputStream(InputStream inputStream, long limit) {
+            super(inputStream);
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                consume(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            long skipped = super.skip(length);
+            consume(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        boolean isExceeded() {
+            return exceeded;
+        }
+
+        private void consume(long length) throws IOException {
+            remaining -= length;
+            if (remaining < 0) {
+                exceeded = true;
+                throw new IOException(limitExceededMessage(limit));
+            }
+        }
+
     }
 
 }
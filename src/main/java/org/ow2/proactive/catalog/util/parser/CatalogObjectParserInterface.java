@@ -27,6 +27,7 @@ package org.ow2.proactive.catalog.util.parser;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -36,10 +37,27 @@ import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
 /**
  * CatalogObjectParser is a generic class for objects parsing
  *
+ * Parsers are registered in the {@link CatalogObjectParserFactory}: the built-in ones and those
+ * declared in {@code META-INF/services/org.ow2.proactive.catalog.util.parser.CatalogObjectParserInterface}.
+ * A single instance of each parser is shared by all the requests, implementations must be
+ * stateless and thread safe.
+ *
  * @author ActiveEon Team
  */
 public interface CatalogObjectParserInterface {
 
     List<KeyValueLabelMetadataEntity> parse(InputStream inputStream) throws XMLStreamException;
 
+    /**
+     * @return the kinds of the catalog objects that this parser parses
+     */
+    Set<String> getKinds();
+
+    /**
+     * @return the limits of this parser, unless they are configured for its kinds
+     */
+    default CatalogObjectParserOptions getOptions() {
+        return CatalogObjectParserOptions.UNLIMITED;
+    }
+
 }
@@ -0,0 +1,77 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.parser;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Configures the options of the registered parsers from the
+ * {@code pa.catalog.parser.<kind>.max.parsed.bytes} and
+ * {@code pa.catalog.parser.<kind>.max.metadata.entries} properties.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@Log4j2
+@Component
+public class CatalogObjectParserOptionsLoader {
+
+    private static final String PROPERTY_PREFIX = "pa.catalog.parser.";
+
+    @Autowired
+    private Environment environment;
+
+    @PostConstruct
+    public void loadOptions() {
+        CatalogObjectParserFactory parserFactory = CatalogObjectParserFactory.get();
+        for (String kind : parserFactory.getKinds()) {
+            Long maxParsedBytes = environment.getProperty(PROPERTY_PREFIX + kind + ".max.parsed.bytes", Long.class);
+            Integer maxMetadataEntries = environment.getProperty(PROPERTY_PREFIX + kind + ".max.metadata.entries",
+                                                                 Integer.class);
+            if (maxParsedBytes == null && maxMetadataEntries == null) {
+                continue;
+            }
+            CatalogObjectParserOptions parserOptions = parserFactory.getParser(kind).getOptions();
+            CatalogObjectParserOptions options = new CatalogObjectParserOptions(maxParsedBytes != null ? maxParsedBytes
+                                                                                                       : parserOptions.getMaxParsedBytes(),
+                                                                                maxMetadataEntries != null ? maxMetadataEntries
+                                                                                                           : parserOptions.getMaxMetadataEntries());
+            parserFactory.setOptions(kind, options);
+            log.info("Parser of kind {} limited to {} bytes and {} metadata",
+                     kind,
+                     options.getMaxParsedBytes(),
+                     options.getMaxMetadataEntries());
+        }
+    }
+
+}
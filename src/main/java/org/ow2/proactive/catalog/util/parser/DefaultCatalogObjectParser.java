@@ -27,7 +27,9 @@ package org.ow2.proactive.catalog.util.parser;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -44,4 +46,12 @@ public final class DefaultCatalogObjectParser implements CatalogObjectParserInte
     public List<KeyValueLabelMetadataEntity> parse(InputStream inputStream) throws XMLStreamException {
         return new ArrayList<>();
     }
+
+    /**
+     * The default parser is the one of the kinds without a registered parser.
+     */
+    @Override
+    public Set<String> getKinds() {
+        return Collections.emptySet();
+    }
 }
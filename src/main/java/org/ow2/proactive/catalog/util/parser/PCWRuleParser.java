@@ -28,8 +28,10 @@ package org.ow2.proactive.catalog.util.parser;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -88,6 +90,11 @@ public final class PCWRuleParser implements CatalogObjectParserInterface {
         return keyValueMetadataEntities;
     }
 
+    @Override
+    public Set<String> getKinds() {
+        return Collections.singleton(SupportedParserKinds.PCW_RULE.toString());
+    }
+
     private Rule parseToPCWRuleContent(InputStream inputStream) {
         try {
             return mapper.readValue(inputStream, Rule.class);
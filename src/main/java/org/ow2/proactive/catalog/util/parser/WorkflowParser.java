@@ -26,7 +26,9 @@
 package org.ow2.proactive.catalog.util.parser;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 import javax.xml.stream.XMLInputFactory;
@@ -46,6 +48,8 @@ import com.google.common.collect.ImmutableList;
  * <p>
  * No validation is applied for now. Besides parsing stop once required information have
  * been extracted, mainly for performance reasons.
+ * <p>
+ * The parser is stateless, a single instance parses all the workflows.
  *
  * @author ActiveEon Team
  */
@@ -85,21 +89,6 @@ public final class WorkflowParser implements CatalogObjectParserInterface {
 
     private static final String ELEMENT_VARIABLES = "variables";
 
-    /*
-     * Variables indicating which parts of the document have been parsed. Thanks to these
-     * information, parsing can be stopped once required information have been extracted.
-     */
-
-    private boolean jobHandled = false;
-
-    private boolean variablesHandled = false;
-
-    private boolean genericInformationHandled = false;
-
-    /* Below are instance variables containing values which are extracted */
-
-    private ImmutableList<KeyValueLabelMetadataEntity> keyValueMap;
-
     private static final class XmlInputFactoryLazyHolder {
 
         private static final XMLInputFactory INSTANCE = XMLInputFactory.newInstance();
@@ -113,11 +102,12 @@ public final class WorkflowParser implements CatalogObjectParserInterface {
 
         XMLStreamReader xmlStreamReader = XmlInputFactoryLazyHolder.INSTANCE.createXMLStreamReader(inputStream);
         int eventType;
+        ParsingState state = new ParsingState();
 
         ImmutableList.Builder<KeyValueLabelMetadataEntity> keyValueMapBuilder = ImmutableList.builder();
         boolean isTaskFlow = false;
         try {
-            while (xmlStreamReader.hasNext() && !allElementHandled()) {
+            while (xmlStreamReader.hasNext() && !state.allElementHandled()) {
                 eventType = xmlStreamReader.next();
 
                 switch (eventType) {
@@ -127,6 +117,7 @@ public final class WorkflowParser implements CatalogObjectParserInterface {
                         switch (elementLocalPart) {
                             case ELEMENT_JOB:
                                 handleJobElement(keyValueMapBuilder, xmlStreamReader);
+                                state.jobHandled = true;
                                 break;
                             case ELEMENT_TASK_FLOW:
                                 isTaskFlow = true;
@@ -153,12 +144,12 @@ public final class WorkflowParser implements CatalogObjectParserInterface {
                                 break;
                             case ELEMENT_GENERIC_INFORMATION:
                                 if (!isTaskFlow) {
-                                    this.genericInformationHandled = true;
+                                    state.genericInformationHandled = true;
                                 }
                                 break;
                             case ELEMENT_VARIABLES:
                                 if (!isTaskFlow) {
-                                    this.variablesHandled = true;
+                                    state.variablesHandled = true;
                                 }
                                 break;
 
@@ -168,9 +159,7 @@ public final class WorkflowParser implements CatalogObjectParserInterface {
                 }
             }
 
-            this.keyValueMap = keyValueMapBuilder.build();
-
-            return getKeyValueMap();
+            return keyValueMapBuilder.build();
         } finally {
             xmlStreamReader.close();
         }
@@ -198,7 +187,6 @@ public final class WorkflowParser implements CatalogObjectParserInterface {
                                                                        JOB_AND_PROJECT_LABEL));
             }
         }, xmlStreamReader);
-        jobHandled = true;
     }
 
     private void handleVariableElement(ImmutableList.Builder<KeyValueLabelMetadataEntity> keyValueMapBuilder,
@@ -236,12 +224,27 @@ public final class WorkflowParser implements CatalogObjectParserInterface {
         }
     }
 
-    private boolean allElementHandled() {
-        return this.jobHandled && this.genericInformationHandled && this.variablesHandled;
+    @Override
+    public Set<String> getKinds() {
+        return Collections.singleton(SupportedParserKinds.WORKFLOW.toString());
     }
 
-    private ImmutableList<KeyValueLabelMetadataEntity> getKeyValueMap() {
-        return keyValueMap;
+    /**
+     * Indicates which parts of the document have been parsed. Thanks to these information, parsing
+     * can be stopped once required information have been extracted.
+     */
+    private static final class ParsingState {
+
+        private boolean jobHandled = false;
+
+        private boolean variablesHandled = false;
+
+        private boolean genericInformationHandled = false;
+
+        private boolean allElementHandled() {
+            return this.jobHandled && this.genericInformationHandled && this.variablesHandled;
+        }
+
     }
 
 }
@@ -0,0 +1,67 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.tokenizer;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+
+/**
+ * Splits text into lower-cased words made of letters and digits. Both indexed content and
+ * search queries go through this class so that they are tokenized the same way.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class ContentTokens {
+
+    public static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ContentTokens() {
+    }
+
+    public static Set<String> of(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addTo(text, tokens);
+        return tokens;
+    }
+
+    public static void addTo(String text, Set<String> tokens) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String token : SEPARATORS.split(text)) {
+            if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH) {
+                tokens.add(token.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.tokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+/**
+ * PCWRuleTokenizer indexes every scalar value of a PCW rule, field names are left out.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public final class PCWRuleTokenizer implements CatalogObjectTokenizerInterface {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public Set<String> tokenize(InputStream inputStream) throws IOException {
+        Set<String> tokens = new LinkedHashSet<>();
+        addValues(mapper.readTree(inputStream), tokens);
+        return tokens;
+    }
+
+    private void addValues(JsonNode node, Set<String> tokens) {
+        if (node == null) {
+            return;
+        }
+        if (node.isContainerNode()) {
+            Iterator<JsonNode> elements = node.elements();
+            while (elements.hasNext()) {
+                addValues(elements.next(), tokens);
+            }
+        } else if (node.isValueNode()) {
+            ContentTokens.addTo(node.asText(), tokens);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.tokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.XMLEvent;
+
+
+/**
+ * WorkflowTokenizer indexes the text of every element and the value of every attribute
+ * of a ProActive XML workflow, so that scripts, selection scripts, host names or variable
+ * values can be searched for.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public final class WorkflowTokenizer implements CatalogObjectTokenizerInterface {
+
+    private static final class XmlInputFactoryLazyHolder {
+
+        private static final XMLInputFactory INSTANCE = createXmlInputFactory();
+
+        private static XMLInputFactory createXmlInputFactory() {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
+        }
+
+    }
+
+    @Override
+    public Set<String> tokenize(InputStream inputStream) throws IOException {
+        Set<String> tokens = new LinkedHashSet<>();
+        try {
+            XMLStreamReader xmlStreamReader = XmlInputFactoryLazyHolder.INSTANCE.createXMLStreamReader(inputStream);
+            try {
+                while (xmlStreamReader.hasNext()) {
+                    switch (xmlStreamReader.next()) {
+                        case XMLEvent.START_ELEMENT:
+                            for (int i = 0; i < xmlStreamReader.getAttributeCount(); i++) {
+                                ContentTokens.addTo(xmlStreamReader.getAttributeValue(i), tokens);
+                            }
+                            break;
+                        case XMLEvent.CHARACTERS:
+                        case XMLEvent.CDATA:
+                            if (!xmlStreamReader.isWhiteSpace()) {
+                                ContentTokens.addTo(xmlStreamReader.getText(), tokens);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                xmlStreamReader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to tokenize workflow", e);
+        }
+        return tokens;
+    }
+
+}
@@ -72,6 +72,9 @@ public class CatalogObjectAndOrGroupFilterHandlerTest {
     @Mock
     private CatalogObjectMetadataFilterHandler metadataHandler;
 
+    @Mock
+    private CatalogObjectContentFilterHandler contentHandler;
+
     private CatalogObjectWhereArgs whereArgs;
 
     @Before
@@ -81,6 +84,7 @@ public class CatalogObjectAndOrGroupFilterHandlerTest {
         when(nameHandler.handle(any(CatalogObjectWhereArgs.class))).thenCallRealMethod();
         when(kindHandler.handle(any(CatalogObjectWhereArgs.class))).thenReturn(Optional.empty());
         when(metadataHandler.handle(any(CatalogObjectWhereArgs.class))).thenReturn(Optional.empty());
+        when(contentHandler.handle(any(CatalogObjectWhereArgs.class))).thenReturn(Optional.empty());
 
         CatalogObjectWhereArgs bucketid = CatalogObjectWhereArgs.builder()
                                                                 .bucketIdArg(CatalogObjectBucketIdWhereArgs.builder()
@@ -100,12 +100,26 @@ public class CatalogObjectEntityTest {
                      ((CatalogObjectRevisionEntity) iterator.next()).getCommitTime());
     }
 
+    @Test
+    public void testNextCommitTimeIsStrictlyIncreasing() {
+        catalogObject.addRevision(catalogObjectRevision);
+        long lastCommitTime = catalogObject.getLastCommitTime();
+
+        assertThat(catalogObject.nextCommitTime(lastCommitTime)).isEqualTo(lastCommitTime + 1);
+        assertThat(catalogObject.nextCommitTime(lastCommitTime - 1000)).isEqualTo(lastCommitTime + 1);
+        assertThat(catalogObject.nextCommitTime(lastCommitTime + 1000)).isEqualTo(lastCommitTime + 1000);
+    }
+
     private CatalogObjectRevisionEntity newCatalogObjectRevision(LocalDateTime time) {
         return new CatalogObjectRevisionEntity(null,
                                                "commit message",
                                                time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
                                                catalogObject,
                                                Collections.emptyList(),
-                                               new byte[0]);
+                                               new byte[0],
+                                               0L,
+                                               null,
+                                               null,
+                                               null);
     }
 }
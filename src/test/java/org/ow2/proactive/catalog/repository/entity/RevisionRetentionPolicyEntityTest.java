@@ -0,0 +1,130 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.repository.entity;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class RevisionRetentionPolicyEntityTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    // most recent first: today twice, yesterday twice, ten days ago
+    private static final List<Long> COMMIT_TIMES = Arrays.asList(time(NOW.minusHours(1)),
+                                                                 time(NOW.minusHours(2)),
+                                                                 time(NOW.minusDays(1)),
+                                                                 time(NOW.minusDays(1).minusHours(1)),
+                                                                 time(NOW.minusDays(10)));
+
+    @Test
+    public void testKeepLast() {
+        RevisionRetentionPolicyEntity policy = RevisionRetentionPolicyEntity.builder().keepLast(2).build();
+        assertThat(policy.findExpiredCommitTimes(COMMIT_TIMES, time(NOW), ZONE)).containsExactlyElementsIn(COMMIT_TIMES.subList(2,
+                                                                                                                                 5))
+                                                                             .inOrder();
+    }
+
+    @Test
+    public void testKeepWithinDays() {
+        RevisionRetentionPolicyEntity policy = RevisionRetentionPolicyEntity.builder().keepWithinDays(5).build();
+        assertThat(policy.findExpiredCommitTimes(COMMIT_TIMES, time(NOW), ZONE)).containsExactly(COMMIT_TIMES.get(4));
+    }
+
+    @Test
+    public void testKeepDaily() {
+        RevisionRetentionPolicyEntity policy = RevisionRetentionPolicyEntity.builder().keepDaily(true).build();
+        assertThat(policy.findExpiredCommitTimes(COMMIT_TIMES, time(NOW), ZONE)).containsExactly(COMMIT_TIMES.get(1),
+                                                                                                 COMMIT_TIMES.get(3));
+    }
+
+    @Test
+    public void testRulesAreCombined() {
+        RevisionRetentionPolicyEntity policy = RevisionRetentionPolicyEntity.builder()
+                                                                            .keepWithinDays(0)
+                                                                            .keepDaily(true)
+                                                                            .build();
+        assertThat(policy.findExpiredCommitTimes(COMMIT_TIMES, time(NOW), ZONE)).containsExactly(COMMIT_TIMES.get(1),
+                                                                                                 COMMIT_TIMES.get(3));
+    }
+
+    @Test
+    public void testLastRevisionIsAlwaysRetained() {
+        RevisionRetentionPolicyEntity policy = RevisionRetentionPolicyEntity.builder().keepWithinDays(0).build();
+        assertThat(policy.findExpiredCommitTimes(COMMIT_TIMES, time(NOW), ZONE)).containsExactlyElementsIn(COMMIT_TIMES.subList(1,
+                                                                                                                                 5));
+    }
+
+    @Test
+    public void testPolicyWithoutRuleRetainsEverything() {
+        assertThat(new RevisionRetentionPolicyEntity().findExpiredCommitTimes(COMMIT_TIMES, time(NOW), ZONE)).isEmpty();
+    }
+
+    @Test
+    public void testMatches() {
+        RevisionRetentionPolicyEntity kindPolicy = RevisionRetentionPolicyEntity.builder().kind("workflow").build();
+        assertThat(kindPolicy.matches(1L, "Workflow")).isTrue();
+        assertThat(kindPolicy.matches(1L, "workflow/standard")).isTrue();
+        assertThat(kindPolicy.matches(1L, "workflows")).isFalse();
+
+        RevisionRetentionPolicyEntity bucketPolicy = RevisionRetentionPolicyEntity.builder().bucketId(1L).build();
+        assertThat(bucketPolicy.matches(1L, "rule")).isTrue();
+        assertThat(bucketPolicy.matches(2L, "rule")).isFalse();
+        assertThat(new RevisionRetentionPolicyEntity().matches(2L, "rule")).isTrue();
+    }
+
+    @Test
+    public void testSpecificity() {
+        int defaultPolicy = new RevisionRetentionPolicyEntity().getSpecificity();
+        int kindPolicy = RevisionRetentionPolicyEntity.builder().kind("workflow").build().getSpecificity();
+        int subKindPolicy = RevisionRetentionPolicyEntity.builder().kind("workflow/standard").build().getSpecificity();
+        int bucketPolicy = RevisionRetentionPolicyEntity.builder().bucketId(1L).build().getSpecificity();
+        int bucketKindPolicy = RevisionRetentionPolicyEntity.builder().bucketId(1L).kind("workflow").build().getSpecificity();
+
+        assertThat(defaultPolicy).isLessThan(kindPolicy);
+        assertThat(kindPolicy).isLessThan(subKindPolicy);
+        assertThat(subKindPolicy).isLessThan(bucketPolicy);
+        assertThat(bucketPolicy).isLessThan(bucketKindPolicy);
+    }
+
+    private static long time(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+}
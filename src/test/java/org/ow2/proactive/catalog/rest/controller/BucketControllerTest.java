@@ -27,6 +27,9 @@ package org.ow2.proactive.catalog.rest.controller;
 
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +37,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.ow2.proactive.catalog.service.BucketService;
+import org.springframework.data.domain.PageImpl;
 
 
 /**
@@ -67,8 +71,9 @@ public class BucketControllerTest {
 
     @Test
     public void testList() throws Exception {
-        bucketController.list(null, null, null);
-        verify(bucketService, times(1)).listBuckets((String) null, null);
+        when(bucketService.listBuckets(null, null, null, false, false, null)).thenReturn(new PageImpl<>(Collections.emptyList()));
+        bucketController.list(null, null, null, null, "name", false, 0, null);
+        verify(bucketService, times(1)).listBuckets(null, null, null, false, false, null);
     }
 
     @Test
@@ -54,6 +54,7 @@ import org.ow2.proactive.catalog.dto.CatalogRawObject;
 import org.ow2.proactive.catalog.repository.BucketRepository;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.service.CatalogObjectService;
+import org.ow2.proactive.catalog.service.RawObjectReadCoalescer;
 import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
 import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper;
@@ -84,6 +85,9 @@ public class CatalogObjectControllerTest {
     @Mock
     private RawObjectResponseCreator rawObjectResponseCreator;
 
+    @Mock
+    private RawObjectReadCoalescer rawObjectReadCoalescer;
+
     @Test
     public void testGetCatalogObjectsAsArchive() throws IOException, NotAuthenticatedException, AccessDeniedException {
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -143,11 +147,11 @@ public class CatalogObjectControllerTest {
                                                           Collections.emptyList(),
                                                           new byte[0]);
         ResponseEntity responseEntity = ResponseEntity.ok().body(1);
-        when(catalogObjectService.getCatalogRawObject(anyLong(), anyString())).thenReturn(rawObject);
-        when(rawObjectResponseCreator.createRawObjectResponse(rawObject)).thenReturn(responseEntity);
-        ResponseEntity responseEntityFromController = catalogObjectController.getRaw("", 1L, "name");
-        verify(catalogObjectService, times(1)).getCatalogRawObject(anyLong(), anyString());
-        verify(rawObjectResponseCreator, times(1)).createRawObjectResponse(rawObject);
+        when(rawObjectReadCoalescer.getCatalogRawObject(anyLong(), anyString())).thenReturn(rawObject);
+        when(rawObjectResponseCreator.createRawObjectResponse(rawObject, null, null, null)).thenReturn(responseEntity);
+        ResponseEntity responseEntityFromController = catalogObjectController.getRaw("", 1L, "name", null, null, null, null);
+        verify(rawObjectReadCoalescer, times(1)).getCatalogRawObject(anyLong(), anyString());
+        verify(rawObjectResponseCreator, times(1)).createRawObjectResponse(rawObject, null, null, null);
         assertThat(responseEntityFromController).isNotNull();
         assertThat(responseEntityFromController).isEqualTo(responseEntity);
     }
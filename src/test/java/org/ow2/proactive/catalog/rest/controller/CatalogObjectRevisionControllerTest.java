@@ -26,6 +26,8 @@
 package org.ow2.proactive.catalog.rest.controller;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.times;
@@ -40,9 +42,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.dto.Metadata;
 import org.ow2.proactive.catalog.service.CatalogObjectService;
+import org.ow2.proactive.catalog.service.RawObjectReadCoalescer;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectConflictException;
+import org.ow2.proactive.catalog.service.exception.InvalidIfMatchException;
 import org.ow2.proactive.catalog.util.RawObjectResponseCreator;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
 
 
 /**
@@ -60,6 +67,9 @@ public class CatalogObjectRevisionControllerTest {
     @Mock
     private RawObjectResponseCreator rawObjectResponseCreator;
 
+    @Mock
+    private RawObjectReadCoalescer rawObjectReadCoalescer;
+
     private static final Long BUCKET_ID = 1L;
 
     private static final long COMMIT_TIME = System.currentTimeMillis();
@@ -81,14 +91,55 @@ public class CatalogObjectRevisionControllerTest {
                                                           Collections.emptyList(),
                                                           new byte[0]);
         ResponseEntity responseEntity = ResponseEntity.ok().body(1);
-        when(catalogObjectService.getCatalogObjectRevisionRaw(anyLong(), anyString(), anyLong())).thenReturn(rawObject);
-        when(rawObjectResponseCreator.createRawObjectResponse(rawObject)).thenReturn(responseEntity);
+        when(rawObjectReadCoalescer.getCatalogObjectRevisionRaw(anyLong(), anyString(), anyLong())).thenReturn(rawObject);
+        when(rawObjectResponseCreator.createRawObjectResponse(rawObject, "bytes=0-9", null, null)).thenReturn(responseEntity);
         ResponseEntity responseEntityFromController = catalogObjectRevisionController.getRaw("",
                                                                                              BUCKET_ID,
                                                                                              "name",
-                                                                                             System.currentTimeMillis());
-        verify(catalogObjectService, times(1)).getCatalogObjectRevisionRaw(anyLong(), anyString(), anyLong());
+                                                                                             System.currentTimeMillis(),
+                                                                                             null,
+                                                                                             "bytes=0-9",
+                                                                                             null,
+                                                                                             null);
+        verify(rawObjectReadCoalescer, times(1)).getCatalogObjectRevisionRaw(anyLong(), anyString(), anyLong());
         assertThat(responseEntityFromController).isNotNull();
         assertThat(responseEntityFromController).isEqualTo(responseEntity);
     }
+
+    @Test
+    public void testCreateDoesNotCreateTheRevisionAgainOnConflict() throws Exception {
+        when(catalogObjectService.createCatalogObjectRevision(anyLong(),
+                                                             anyString(),
+                                                             anyString(),
+                                                             anyListOf(Metadata.class),
+                                                             any(byte[].class),
+                                                             any())).thenThrow(new CatalogObjectConflictException("conflict"));
+        try {
+            catalogObjectRevisionController.create("",
+                                                   null,
+                                                   BUCKET_ID,
+                                                   "name",
+                                                   "commit message",
+                                                   new MockMultipartFile("file", new byte[0]));
+        } catch (CatalogObjectConflictException e) {
+            verify(catalogObjectService, times(1)).createCatalogObjectRevision(anyLong(),
+                                                                               anyString(),
+                                                                               anyString(),
+                                                                               anyListOf(Metadata.class),
+                                                                               any(byte[].class),
+                                                                               any());
+            return;
+        }
+        throw new AssertionError("CatalogObjectConflictException expected");
+    }
+
+    @Test(expected = InvalidIfMatchException.class)
+    public void testCreateWithMalformedIfMatch() throws Exception {
+        catalogObjectRevisionController.create("",
+                                               "\"not a commit time\"",
+                                               BUCKET_ID,
+                                               "name",
+                                               "commit message",
+                                               new MockMultipartFile("file", new byte[0]));
+    }
 }
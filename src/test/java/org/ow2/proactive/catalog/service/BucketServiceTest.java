@@ -30,16 +30,17 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
@@ -48,9 +49,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.ow2.proactive.catalog.dto.CatalogEvent;
 import org.ow2.proactive.catalog.repository.BucketRepository;
 import org.ow2.proactive.catalog.repository.entity.BucketEntity;
-import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
 import org.ow2.proactive.catalog.service.exception.DeleteNonEmptyBucketException;
 
@@ -72,6 +73,12 @@ public class BucketServiceTest {
     @Mock
     private BucketRepository bucketRepository;
 
+    @Mock
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Mock
+    private BucketStatisticsService bucketStatisticsService;
+
     @Test
     public void testThatEmptyListIsReturnedIfListAndKindAreNull() {
         assertThat(bucketService.listBuckets((List<String>) null, null)).isEmpty();
@@ -125,11 +132,11 @@ public class BucketServiceTest {
     public void testDeleteEmptyBucket() {
         BucketEntity mockedBucket = newMockedBucket(1L, "BUCKET-NAME-TEST", LocalDateTime.now());
 
-        when(mockedBucket.getCatalogObjects()).thenReturn(new HashSet<>());
-        when(bucketRepository.findBucketForUpdate(anyLong())).thenReturn(mockedBucket);
+        when(bucketRepository.findOne(anyLong())).thenReturn(mockedBucket);
+        when(bucketRepository.deleteIfEmpty(Collections.singletonList(1L))).thenReturn(1);
         BucketMetadata bucketMetadata = bucketService.deleteEmptyBucket(1L);
-        verify(bucketRepository, times(1)).findBucketForUpdate(1L);
-        verify(bucketRepository, times(1)).delete(1L);
+        verify(bucketRepository, times(1)).findOne(1L);
+        verify(bucketRepository, times(1)).deleteIfEmpty(Collections.singletonList(1L));
         assertEquals(bucketMetadata.getName(), mockedBucket.getName());
     }
 
@@ -142,19 +149,26 @@ public class BucketServiceTest {
     @Test(expected = DeleteNonEmptyBucketException.class)
     public void testNotEmptyBucket() {
         BucketEntity mockedBucket = newMockedBucket(1L, "BUCKET-NAME-TEST", LocalDateTime.now());
-        Set<CatalogObjectEntity> objects = new HashSet<>();
-        CatalogObjectEntity catalogObjectEntity = CatalogObjectEntity.builder()
-                                                                     .id(new CatalogObjectEntity.CatalogObjectEntityKey(mockedBucket.getId(),
-                                                                                                                        "catalog"))
-                                                                     .kind("object")
-                                                                     .contentType("application/xml")
-                                                                     .bucket(mockedBucket)
-                                                                     .build();
-        objects.add(catalogObjectEntity);
-        when(mockedBucket.getCatalogObjects()).thenReturn(objects);
-        when(bucketRepository.findBucketForUpdate(anyLong())).thenReturn(mockedBucket);
+        when(bucketRepository.findOne(anyLong())).thenReturn(mockedBucket);
+        when(bucketRepository.deleteIfEmpty(Collections.singletonList(1L))).thenReturn(0);
+        when(bucketRepository.findExistingIds(Collections.singletonList(1L))).thenReturn(Collections.singletonList(1L));
         bucketService.deleteEmptyBucket(1L);
-        verify(bucketRepository, times(1)).findBucketForUpdate(1L);
+    }
+
+    @Test
+    public void testCleanAllEmptyBucketsSkipsBucketsFilledConcurrently() {
+        BucketEntity emptyBucket = newMockedBucket(1L, "EMPTY", LocalDateTime.now());
+        BucketEntity filledBucket = newMockedBucket(2L, "FILLED", LocalDateTime.now());
+        when(bucketRepository.findEmptyBuckets()).thenReturn(Arrays.asList(emptyBucket, filledBucket));
+        when(bucketRepository.findExistingIds(Arrays.asList(1L, 2L))).thenReturn(Collections.singletonList(2L));
+
+        assertThat(bucketService.cleanAllEmptyBuckets()).containsExactly(1L);
+        verify(bucketRepository, times(1)).deleteIfEmpty(Arrays.asList(1L, 2L));
+        verify(catalogEventBroadcaster, times(1)).publishAfterCommit(eq(CatalogEvent.Type.BUCKET_DELETED),
+                                                                     eq(1L),
+                                                                     anyString(),
+                                                                     eq("EMPTY"),
+                                                                     isNull(String.class));
     }
 
     private void listBucket(String owner, String kind) {
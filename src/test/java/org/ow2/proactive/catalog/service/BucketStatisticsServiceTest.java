@@ -0,0 +1,106 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.BucketStatisticsRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.BucketStatisticsEntity;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BucketStatisticsServiceTest {
+
+    @InjectMocks
+    private BucketStatisticsService bucketStatisticsService;
+
+    @Mock
+    private BucketStatisticsRepository bucketStatisticsRepository;
+
+    @Mock
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Mock
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Mock
+    private PlatformTransactionManager platformTransactionManager;
+
+    @Test
+    public void testRecordRevisionCreatedUpdatesExistingStatistics() {
+        when(bucketStatisticsRepository.increment(1L, "workflow", 1, 10, 100)).thenReturn(1);
+
+        bucketStatisticsService.recordRevisionCreated(1L, "workflow", true, 10, 100);
+
+        verify(bucketStatisticsRepository).increment(1L, "workflow", 1, 10, 100);
+        verify(bucketStatisticsRepository, never()).saveAndFlush(any(BucketStatisticsEntity.class));
+    }
+
+    @Test
+    public void testRecordRevisionCreatedCreatesMissingStatistics() {
+        when(bucketStatisticsRepository.increment(1L, "workflow", 1, 10, 100)).thenReturn(0, 1);
+
+        bucketStatisticsService.recordRevisionCreated(1L, "workflow", true, 10, 100);
+
+        ArgumentCaptor<BucketStatisticsEntity> created = ArgumentCaptor.forClass(BucketStatisticsEntity.class);
+        verify(bucketStatisticsRepository).saveAndFlush(created.capture());
+        assertThat(created.getValue().getBucketId()).isEqualTo(1L);
+        assertThat(created.getValue().getKind()).isEqualTo("workflow");
+        assertThat(created.getValue().getObjectCount()).isEqualTo(0L);
+        assertThat(created.getValue().getStoredBytes()).isEqualTo(0L);
+        verify(bucketStatisticsRepository, times(2)).increment(1L, "workflow", 1, 10, 100);
+    }
+
+    @Test
+    public void testRecordRevisionCreatedRetriesWhenStatisticsAreCreatedConcurrently() {
+        when(bucketStatisticsRepository.increment(1L, "workflow", 1, 10, 100)).thenReturn(0, 1);
+        when(bucketStatisticsRepository.saveAndFlush(any(BucketStatisticsEntity.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        bucketStatisticsService.recordRevisionCreated(1L, "workflow", true, 10, 100);
+
+        verify(bucketStatisticsRepository, times(2)).increment(1L, "workflow", 1, 10, 100);
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+import org.ow2.proactive.catalog.dto.CatalogEventList;
+
+
+/**
+ * Unit tests associated to {@link CatalogEventBroadcaster}.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class CatalogEventBroadcasterTest {
+
+    private static final int HISTORY_SIZE = 5;
+
+    private static final int SUBSCRIBER_BUFFER_SIZE = 2;
+
+    private CatalogEventBroadcaster broadcaster;
+
+    @Before
+    public void setUp() {
+        broadcaster = new CatalogEventBroadcaster(HISTORY_SIZE, SUBSCRIBER_BUFFER_SIZE);
+        broadcaster.init();
+    }
+
+    @After
+    public void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    public void testSequencesAreIncreasing() {
+        publish("a", 1L);
+        publish("b", 1L);
+
+        CatalogEventList events = broadcaster.getEventsAfter(0, event -> true);
+
+        assertThat(sequences(events.getEvents())).containsExactly(1L, 2L).inOrder();
+        assertThat(events.getLastSequence()).isEqualTo(2L);
+        assertThat(events.isTruncated()).isFalse();
+    }
+
+    @Test
+    public void testHistoryIsBounded() {
+        for (int i = 0; i < HISTORY_SIZE + 2; i++) {
+            publish("object" + i, 1L);
+        }
+
+        assertThat(broadcaster.getEventsAfter(0, event -> true).isTruncated()).isTrue();
+        assertThat(broadcaster.getEventsAfter(2, event -> true).isTruncated()).isFalse();
+        List<Long> retained = sequences(broadcaster.getEventsAfter(2, event -> true).getEvents());
+        assertThat(retained).containsExactly(3L, 4L, 5L, 6L, 7L).inOrder();
+    }
+
+    @Test
+    public void testUnknownSequenceIsTruncated() {
+        publish("a", 1L);
+
+        assertThat(broadcaster.getEventsAfter(42, event -> true).isTruncated()).isTrue();
+    }
+
+    @Test
+    public void testSubscriberReceivesReplayThenNewEventsFilteredInOrder() throws Exception {
+        publish("a", 1L);
+        publish("b", 2L);
+
+        RecordingListener listener = new RecordingListener();
+        broadcaster.subscribe(0, event -> event.getBucketId() == 1L, listener);
+        publish("c", 2L);
+        publish("d", 1L);
+
+        List<String> names = listener.awaitEvents(2).stream().map(CatalogEvent::getName).collect(Collectors.toList());
+        assertThat(names).containsExactly("a", "d").inOrder();
+    }
+
+    @Test
+    public void testNegativeSequenceSubscribesToNewEventsOnly() throws Exception {
+        publish("a", 1L);
+
+        RecordingListener listener = new RecordingListener();
+        broadcaster.subscribe(-1, event -> true, listener);
+        publish("b", 1L);
+
+        assertThat(sequences(listener.awaitEvents(1))).containsExactly(2L);
+    }
+
+    @Test
+    public void testTruncationIsReportedToSubscriber() throws Exception {
+        publish("a", 1L);
+
+        RecordingListener listener = new RecordingListener();
+        broadcaster.subscribe(42, event -> true, listener);
+
+        assertThat(listener.truncated.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testSlowSubscriberIsDisconnected() throws Exception {
+        BlockingListener listener = new BlockingListener();
+        CatalogEventBroadcaster.Subscription subscription = broadcaster.subscribe(-1, event -> true, listener);
+
+        // the first drain may take up to a full buffer before blocking, the buffer must then fill up again
+        for (int i = 0; i < 2 * SUBSCRIBER_BUFFER_SIZE + 1; i++) {
+            publish("object" + i, 1L);
+        }
+
+        assertThat(listener.overflow.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscription.isCancelled()).isTrue();
+        listener.blocked.countDown();
+    }
+
+    private void publish(String name, Long bucketId) {
+        broadcaster.publishAfterCommit(CatalogEvent.Type.CATALOG_OBJECT_CREATED,
+                                       bucketId,
+                                       BucketService.DEFAULT_BUCKET_OWNER,
+                                       name,
+                                       "workflow");
+    }
+
+    private static List<Long> sequences(List<CatalogEvent> events) {
+        return events.stream().map(CatalogEvent::getSequence).collect(Collectors.toList());
+    }
+
+    private static class RecordingListener implements CatalogEventListener {
+
+        private final BlockingQueue<CatalogEvent> events = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch truncated = new CountDownLatch(1);
+
+        @Override
+        public void onEvents(List<CatalogEvent> events, boolean truncated) {
+            this.events.addAll(events);
+            if (truncated) {
+                this.truncated.countDown();
+            }
+        }
+
+        @Override
+        public void onOverflow() {
+        }
+
+        private List<CatalogEvent> awaitEvents(int count) throws InterruptedException {
+            List<CatalogEvent> received = new ArrayList<>();
+            while (received.size() < count) {
+                CatalogEvent event = events.poll(5, TimeUnit.SECONDS);
+                if (event == null) {
+                    return Collections.unmodifiableList(received);
+                }
+                received.add(event);
+            }
+            return received;
+        }
+    }
+
+    private static class BlockingListener implements CatalogEventListener {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private final CountDownLatch overflow = new CountDownLatch(1);
+
+        @Override
+        public void onEvents(List<CatalogEvent> events, boolean truncated) {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void onOverflow() {
+            overflow.countDown();
+        }
+    }
+
+}
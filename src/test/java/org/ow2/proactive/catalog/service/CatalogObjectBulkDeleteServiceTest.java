@@ -0,0 +1,139 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.BucketEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CatalogObjectBulkDeleteServiceTest {
+
+    private static final Long BUCKET_ID = 1L;
+
+    @InjectMocks
+    private CatalogObjectBulkDeleteService catalogObjectBulkDeleteService;
+
+    @Mock
+    private CatalogObjectRepository catalogObjectRepository;
+
+    @Mock
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Mock
+    private CatalogObjectTrigramIndexService catalogObjectTrigramIndexService;
+
+    @Mock
+    private CatalogObjectContentIndexService catalogObjectContentIndexService;
+
+    @Mock
+    private CatalogObjectChangeService catalogObjectChangeService;
+
+    @Mock
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Mock
+    private BucketStatisticsService bucketStatisticsService;
+
+    @Test
+    public void testDeleteCatalogObjectsDeletesMetadataThenRevisionsThenObjects() {
+        List<CatalogObjectEntity> catalogObjects = Arrays.asList(newCatalogObjectEntity("first"),
+                                                                 newCatalogObjectEntity("second"));
+        List<String> names = Arrays.asList("first", "second", "missing");
+        List<String> existingNames = Arrays.asList("first", "second");
+        when(catalogObjectRepository.findByBucketIdAndNameIn(BUCKET_ID, names)).thenReturn(catalogObjects);
+        when(catalogObjectRepository.deleteByBucketIdAndNameIn(BUCKET_ID, existingNames)).thenReturn(2);
+        when(catalogObjectRevisionRepository.sumRawObjectSizeOfCatalogObjects(BUCKET_ID, existingNames)).thenReturn(42L);
+
+        assertThat(catalogObjectBulkDeleteService.deleteCatalogObjects(BUCKET_ID, names)).isEqualTo(2);
+
+        InOrder inOrder = inOrder(catalogObjectRevisionRepository, catalogObjectRepository);
+        inOrder.verify(catalogObjectRevisionRepository).deleteMetadataOfCatalogObjects(BUCKET_ID, existingNames);
+        inOrder.verify(catalogObjectRevisionRepository).deleteByCatalogObjects(BUCKET_ID, existingNames);
+        inOrder.verify(catalogObjectRepository).deleteByBucketIdAndNameIn(BUCKET_ID, existingNames);
+        verify(catalogObjectTrigramIndexService).remove(BUCKET_ID, existingNames);
+        verify(catalogObjectContentIndexService).remove(BUCKET_ID, existingNames);
+        verify(catalogObjectChangeService).recordDeletions(eq(catalogObjects), eq("owner"), anyLong());
+        verify(bucketStatisticsService).recordCatalogObjectsDeleted(eq(BUCKET_ID), eq("workflow"), eq(2L), eq(42L), anyLong());
+        verify(catalogEventBroadcaster,
+               times(2)).publishAfterCommit(eq(CatalogEvent.Type.CATALOG_OBJECT_DELETED),
+                                            eq(BUCKET_ID),
+                                            eq("owner"),
+                                            anyString(),
+                                            eq("workflow"));
+    }
+
+    @Test
+    public void testDeleteCatalogObjectsWithoutMatchingObject() {
+        when(catalogObjectRepository.findByBucketIdAndNameIn(BUCKET_ID,
+                                                             Collections.singletonList("missing"))).thenReturn(Collections.emptyList());
+
+        assertThat(catalogObjectBulkDeleteService.deleteCatalogObjects(BUCKET_ID,
+                                                                       Collections.singletonList("missing"))).isEqualTo(0);
+        verify(catalogObjectRepository, never()).deleteByBucketIdAndNameIn(anyLong(), any());
+        verify(catalogObjectRevisionRepository, never()).deleteByCatalogObjects(anyLong(), any());
+    }
+
+    private CatalogObjectEntity newCatalogObjectEntity(String name) {
+        BucketEntity bucket = new BucketEntity("bucket", "owner");
+        bucket.setId(BUCKET_ID);
+        return CatalogObjectEntity.builder()
+                                  .id(new CatalogObjectEntity.CatalogObjectEntityKey(BUCKET_ID, name))
+                                  .kind("workflow")
+                                  .contentType("application/xml")
+                                  .bucket(bucket)
+                                  .build();
+    }
+
+}
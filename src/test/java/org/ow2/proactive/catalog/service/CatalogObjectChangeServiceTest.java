@@ -0,0 +1,226 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.dto.CatalogObjectChange;
+import org.ow2.proactive.catalog.dto.CatalogObjectChangeList;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectTombstoneRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectTombstoneEntity;
+import org.ow2.proactive.catalog.service.exception.ExpiredChangeCursorException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CatalogObjectChangeServiceTest {
+
+    private static final long SAFETY_WINDOW_MS = 60000;
+
+    @InjectMocks
+    private CatalogObjectChangeService catalogObjectChangeService;
+
+    @Mock
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Mock
+    private CatalogObjectTombstoneRepository catalogObjectTombstoneRepository;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(catalogObjectChangeService, "safetyWindowMs", SAFETY_WINDOW_MS);
+        ReflectionTestUtils.setField(catalogObjectChangeService, "tombstoneRetentionDays", 1L);
+        when(catalogObjectRevisionRepository.findDefaultCatalogObjectsCommittedBetween(anyLong(),
+                                                                                       anyLong(),
+                                                                                       any())).thenReturn(new ArrayList<>());
+        when(catalogObjectTombstoneRepository.findDeletedBetween(anyLong(),
+                                                                 anyLong(),
+                                                                 any())).thenReturn(new ArrayList<>());
+    }
+
+    @Test
+    public void testChangesOfTheSafetyWindowAreLeftForLaterRequests() {
+        long before = System.currentTimeMillis();
+
+        CatalogObjectChangeList changeList = catalogObjectChangeService.listChangesSince(0, null, null, 10);
+
+        ArgumentCaptor<Long> until = ArgumentCaptor.forClass(Long.class);
+        verify(catalogObjectRevisionRepository).findDefaultCatalogObjectsCommittedBetween(eq(0L),
+                                                                                          until.capture(),
+                                                                                          eq(new PageRequest(0, 11)));
+        assertThat(until.getValue()).isAtLeast(before - SAFETY_WINDOW_MS);
+        assertThat(until.getValue()).isAtMost(System.currentTimeMillis() - SAFETY_WINDOW_MS);
+        assertThat(changeList.getLatest()).isEqualTo(0L);
+        assertThat(changeList.isHasMore()).isFalse();
+    }
+
+    @Test
+    public void testNoChangeIsListedWithinTheSafetyWindow() {
+        long since = System.currentTimeMillis() - SAFETY_WINDOW_MS / 2;
+
+        CatalogObjectChangeList changeList = catalogObjectChangeService.listChangesSince(since, null, null, 10);
+
+        assertThat(changeList.getChanges()).isEmpty();
+        assertThat(changeList.getLatest()).isEqualTo(since);
+        verifyZeroInteractions(catalogObjectRevisionRepository, catalogObjectTombstoneRepository);
+    }
+
+    @Test
+    public void testPageEndsBetweenTwoCommitTimes() {
+        when(catalogObjectRevisionRepository.findDefaultCatalogObjectsCommittedBetween(eq(0L),
+                                                                                       anyLong(),
+                                                                                       any())).thenReturn(new ArrayList<>(Arrays.asList(newRevision("first",
+                                                                                                                                                    10),
+                                                                                                                                        newRevision("second",
+                                                                                                                                                    20))));
+        when(catalogObjectTombstoneRepository.findDeletedBetween(eq(0L),
+                                                                 anyLong(),
+                                                                 any())).thenReturn(new ArrayList<>(Collections.singletonList(newTombstone("third",
+                                                                                                                                           20))));
+
+        CatalogObjectChangeList changeList = catalogObjectChangeService.listChangesSince(0, null, null, 2);
+
+        assertThat(names(changeList)).containsExactly("first");
+        assertThat(changeList.getLatest()).isEqualTo(10L);
+        assertThat(changeList.isHasMore()).isTrue();
+        verify(catalogObjectRevisionRepository).findCatalogObjectsExistingAtAndCommittedBetween(0L, 19L);
+    }
+
+    @Test
+    public void testChangesSharingACommitTimeAreListedTogether() {
+        when(catalogObjectTombstoneRepository.findDeletedBetween(eq(0L),
+                                                                 anyLong(),
+                                                                 any(Pageable.class))).thenReturn(new ArrayList<>(Arrays.asList(newTombstone("first",
+                                                                                                                                             10),
+                                                                                                                                newTombstone("second",
+                                                                                                                                             10),
+                                                                                                                                newTombstone("third",
+                                                                                                                                             10))));
+        when(catalogObjectTombstoneRepository.findDeletedBetween(eq(0L),
+                                                                 eq(10L),
+                                                                 isNull(Pageable.class))).thenReturn(new ArrayList<>(Arrays.asList(newTombstone("first",
+                                                                                                                                                10),
+                                                                                                                                   newTombstone("second",
+                                                                                                                                                10),
+                                                                                                                                   newTombstone("third",
+                                                                                                                                                10),
+                                                                                                                                   newTombstone("fourth",
+                                                                                                                                                10))));
+
+        CatalogObjectChangeList changeList = catalogObjectChangeService.listChangesSince(0, null, null, 2);
+
+        assertThat(names(changeList)).containsExactly("first", "second", "third", "fourth");
+        assertThat(changeList.getLatest()).isEqualTo(10L);
+        assertThat(changeList.isHasMore()).isTrue();
+    }
+
+    @Test(expected = ExpiredChangeCursorException.class)
+    public void testChangesSinceBeforeTheTombstoneRetention() {
+        catalogObjectChangeService.listChangesSince(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2),
+                                                    null,
+                                                    null,
+                                                    10);
+    }
+
+    @Test
+    public void testDeletionsAreListedByBucketOwner() {
+        when(catalogObjectTombstoneRepository.findDeletedBetweenInBucketsOwnedBy(eq(0L),
+                                                                                anyLong(),
+                                                                                eq(Collections.singletonList("owner")),
+                                                                                any())).thenReturn(new ArrayList<>(Collections.singletonList(newTombstone("deleted",
+                                                                                                                                                         1))));
+
+        // the bucket of the deleted catalog object does not exist anymore
+        CatalogObjectChangeList changeList = catalogObjectChangeService.listChangesSince(0,
+                                                                                         Collections.emptyList(),
+                                                                                         Collections.singletonList("owner"),
+                                                                                         10);
+
+        assertThat(names(changeList)).containsExactly("deleted");
+        verifyZeroInteractions(catalogObjectRevisionRepository);
+    }
+
+    private static List<String> names(CatalogObjectChangeList changeList) {
+        return changeList.getChanges().stream().map(CatalogObjectChange::getName).collect(Collectors.toList());
+    }
+
+    private static CatalogObjectRevisionEntity newRevision(String name, long commitTime) {
+        CatalogObjectEntity catalogObject = CatalogObjectEntity.builder()
+                                                               .id(new CatalogObjectEntity.CatalogObjectEntityKey(1L,
+                                                                                                                  name))
+                                                               .kind("workflow")
+                                                               .contentType("application/xml")
+                                                               .lastCommitTime(commitTime)
+                                                               .build();
+        CatalogObjectRevisionEntity revision = CatalogObjectRevisionEntity.builder()
+                                                                          .commitMessage("commit")
+                                                                          .commitTime(commitTime)
+                                                                          .catalogObject(catalogObject)
+                                                                          .build();
+        catalogObject.addRevision(revision);
+        return revision;
+    }
+
+    private static CatalogObjectTombstoneEntity newTombstone(String name, long deletionTime) {
+        return CatalogObjectTombstoneEntity.builder()
+                                           .bucketId(1L)
+                                           .name(name)
+                                           .kind("workflow")
+                                           .deletionTime(deletionTime)
+                                           .build();
+    }
+
+}
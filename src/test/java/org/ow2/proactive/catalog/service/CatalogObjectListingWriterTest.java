@@ -0,0 +1,158 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectNotFoundException;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class CatalogObjectListingWriterTest {
+
+    private CatalogObjectRepository catalogObjectRepository;
+
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+
+    private CatalogObjectListingWriter catalogObjectListingWriter;
+
+    @Before
+    public void setUp() {
+        catalogObjectRepository = mock(CatalogObjectRepository.class);
+        catalogObjectRevisionRepository = mock(CatalogObjectRevisionRepository.class);
+        entityManager = mock(EntityManager.class);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        catalogObjectListingWriter = new CatalogObjectListingWriter(catalogObjectRepository,
+                                                                    catalogObjectRevisionRepository,
+                                                                    objectMapper,
+                                                                    entityManager);
+    }
+
+    @Test
+    public void testWriteCatalogObjectsClearsThePersistenceContextByBatch() throws Exception {
+        when(catalogObjectRevisionRepository.streamDefaultCatalogObjectsOfKindInBucket(1L,
+                                                                                       "workflow")).thenReturn(IntStream.range(0,
+                                                                                                                               250)
+                                                                                                                        .mapToObj(i -> newRevision("object" +
+                                                                                                                                                   i,
+                                                                                                                                                   i)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = catalogObjectListingWriter.writeCatalogObjects(1L,
+                                                                    "workflow",
+                                                                    metadata -> metadata.add(new Link("http://decorated")),
+                                                                    output);
+
+        assertThat(count).isEqualTo(250L);
+        JsonNode listing = objectMapper.readTree(output.toByteArray());
+        assertThat(listing.size()).isEqualTo(250);
+        assertThat(listing.get(249).get("name").asText()).isEqualTo("object249");
+        assertThat(listing.get(0).get("links").get(0).get("href").asText()).isEqualTo("http://decorated");
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void testWriteCatalogObjectRevisionsOfMissingObject() throws Exception {
+        when(catalogObjectRepository.exists(any(CatalogObjectEntity.CatalogObjectEntityKey.class))).thenReturn(false);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try {
+            catalogObjectListingWriter.writeCatalogObjectRevisions(1L, "missing", metadata -> {
+            }, output);
+        } catch (CatalogObjectNotFoundException e) {
+            assertThat(output.size()).isEqualTo(0);
+            verifyZeroInteractions(catalogObjectRevisionRepository);
+            return;
+        }
+        throw new AssertionError("CatalogObjectNotFoundException expected");
+    }
+
+    @Test
+    public void testInterruptedListingIsNotAValidArray() throws Exception {
+        when(catalogObjectRevisionRepository.streamDefaultCatalogObjectsInBucket(1L)).thenReturn(Stream.of(newRevision("object",
+                                                                                                                       1),
+                                                                                                           null));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try {
+            catalogObjectListingWriter.writeCatalogObjects(1L, null, metadata -> {
+            }, output);
+        } catch (NullPointerException e) {
+            assertThat(output.toString()).startsWith("[{");
+            assertThat(output.toString()).doesNotMatch("(?s).*\\]\\s*");
+            return;
+        }
+        throw new AssertionError("The listing must fail");
+    }
+
+    private static CatalogObjectRevisionEntity newRevision(String name, long commitTime) {
+        CatalogObjectEntity catalogObject = CatalogObjectEntity.builder()
+                                                               .id(new CatalogObjectEntity.CatalogObjectEntityKey(1L,
+                                                                                                                  name))
+                                                               .kind("workflow")
+                                                               .contentType("application/xml")
+                                                               .lastCommitTime(commitTime)
+                                                               .build();
+        CatalogObjectRevisionEntity revision = CatalogObjectRevisionEntity.builder()
+                                                                          .commitMessage("commit")
+                                                                          .commitTime(commitTime)
+                                                                          .catalogObject(catalogObject)
+                                                                          .build();
+        catalogObject.addRevision(revision);
+        return revision;
+    }
+
+}
@@ -29,20 +29,29 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.ow2.proactive.catalog.dto.CatalogObjectMetadata;
+import org.ow2.proactive.catalog.dto.CatalogObjectReference;
 import org.ow2.proactive.catalog.dto.Metadata;
 import org.ow2.proactive.catalog.repository.BucketRepository;
 import org.ow2.proactive.catalog.repository.CatalogObjectRepository;
@@ -51,11 +60,20 @@ import org.ow2.proactive.catalog.repository.entity.BucketEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
 import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.repository.specification.catalogobject.CatalogObjectReferencesSpecification;
 import org.ow2.proactive.catalog.service.exception.BucketNotFoundException;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectConflictException;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectModifiedException;
 import org.ow2.proactive.catalog.service.exception.CatalogObjectNotFoundException;
 import org.ow2.proactive.catalog.service.exception.RevisionNotFoundException;
+import org.ow2.proactive.catalog.service.ingest.CatalogObjectIngestPipeline;
+import org.ow2.proactive.catalog.service.ingest.IngestedCatalogObject;
+import org.ow2.proactive.catalog.service.storage.RawObjectStorage;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 
 /**
@@ -88,7 +106,28 @@ public class CatalogObjectServiceTest {
     private KeyValueLabelMetadataHelper keyValueLabelMetadataHelper;
 
     @Mock
-    private GenericInformationAdder genericInformationAdder;
+    private CatalogObjectIngestPipeline catalogObjectIngestPipeline;
+
+    @Mock
+    private CatalogObjectTrigramIndexService catalogObjectTrigramIndexService;
+
+    @Mock
+    private CatalogObjectContentIndexService catalogObjectContentIndexService;
+
+    @Mock
+    private CatalogObjectBulkDeleteService catalogObjectBulkDeleteService;
+
+    @Mock
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Mock
+    private BucketStatisticsService bucketStatisticsService;
+
+    @Mock
+    private RawObjectStorage rawObjectStorage;
+
+    @Mock
+    private EntityManager entityManager;
 
     @Test(expected = BucketNotFoundException.class)
     public void testCreateCatalogObjectWithInvalidBucket() {
@@ -102,9 +141,7 @@ public class CatalogObjectServiceTest {
         when(bucketRepository.findOne(anyLong())).thenReturn(bucketEntity);
         CatalogObjectRevisionEntity catalogObjectEntity = newCatalogObjectRevisionEntity(System.currentTimeMillis());
         when(catalogObjectRevisionRepository.save(any(CatalogObjectRevisionEntity.class))).thenReturn(catalogObjectEntity);
-        when(genericInformationAdder.addGenericInformationToRawObjectIfWorkflow(any(),
-                                                                                any(),
-                                                                                any())).thenReturn(new byte[] {});
+        stubIngestPipeline();
         List<Metadata> keyValues = ImmutableList.of(new Metadata("key", "value", null));
 
         CatalogObjectMetadata catalogObject = catalogObjectService.createCatalogObject(1L,
@@ -146,6 +183,39 @@ public class CatalogObjectServiceTest {
 
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetCatalogObjectsMetadata() {
+        CatalogObjectRevisionEntity catalogObjectEntity = newCatalogObjectRevisionEntity(System.currentTimeMillis());
+        when(catalogObjectRevisionRepository.findAll(any(Specification.class))).thenReturn(Collections.singletonList(catalogObjectEntity));
+        CatalogObjectReference found = new CatalogObjectReference(1L, "catalog");
+        CatalogObjectReference missing = new CatalogObjectReference(1L, "missing");
+        CatalogObjectReference otherBucket = new CatalogObjectReference(2L, "other");
+
+        Map<CatalogObjectReference, CatalogObjectMetadata> metadata = catalogObjectService.getCatalogObjectsMetadata(ImmutableSet.of(found,
+                                                                                                                                       missing,
+                                                                                                                                       otherBucket));
+        assertThat(metadata).hasSize(1);
+        assertThat(metadata.get(found).getCommitMessage()).isEqualTo(COMMIT_MESSAGE);
+
+        // a single query matches the names of each bucket
+        ArgumentCaptor<Specification> specification = ArgumentCaptor.forClass(Specification.class);
+        verify(catalogObjectRevisionRepository).findAll(specification.capture());
+        assertThat(specification.getValue()).isInstanceOf(CatalogObjectReferencesSpecification.class);
+        assertThat((Map<Long, Set<String>>) ReflectionTestUtils.getField(specification.getValue(),
+                                                                         "namesByBucket")).containsExactly(1L,
+                                                                                                           ImmutableSet.of("catalog",
+                                                                                                                           "missing"),
+                                                                                                           2L,
+                                                                                                           ImmutableSet.of("other"));
+    }
+
+    @Test
+    public void testGetCatalogObjectsMetadataOfNoCatalogObject() {
+        assertThat(catalogObjectService.getCatalogObjectsMetadata(Collections.emptySet())).isEmpty();
+        verifyZeroInteractions(catalogObjectRevisionRepository);
+    }
+
     private CatalogObjectEntity newCatalogObjectEntity(long now) {
         CatalogObjectEntity catalogObjectEntity = CatalogObjectEntity.builder()
                                                                      .id(new CatalogObjectEntity.CatalogObjectEntityKey(1L,
@@ -210,9 +280,9 @@ public class CatalogObjectServiceTest {
         CatalogObjectRevisionEntity catalogObjectRevisionEntity = newCatalogObjectRevisionEntity(System.currentTimeMillis());
         when(catalogObjectRepository.findOne(any(CatalogObjectEntity.CatalogObjectEntityKey.class))).thenReturn(catalogObjectEntity);
         when(catalogObjectRevisionRepository.save(any(CatalogObjectRevisionEntity.class))).thenReturn(catalogObjectRevisionEntity);
+        when(catalogObjectRepository.updateLastCommitTime(eq(1L), eq(NAME), eq(0L), anyLong())).thenReturn(1);
         List<Metadata> keyvalues = ImmutableList.of(new Metadata("key", "value", null));
-        when(keyValueLabelMetadataHelper.replaceMetadataRelatedGenericInfoAndKeepOthers(any(),
-                                                                                        any())).thenReturn(Collections.emptyList());
+        stubIngestPipeline();
         CatalogObjectMetadata catalogObject = catalogObjectService.createCatalogObjectRevision(1L,
                                                                                                NAME,
                                                                                                COMMIT_MESSAGE,
@@ -227,6 +297,68 @@ public class CatalogObjectServiceTest {
         assertThat(catalogObject.getMetadataList()).hasSize(1);
     }
 
+    @Test(expected = CatalogObjectModifiedException.class)
+    public void testCreateCatalogObjectRevisionWithUnexpectedLastCommitTime() {
+        long lastCommitTime = System.currentTimeMillis();
+        CatalogObjectEntity catalogObjectEntity = newCatalogObjectEntity(lastCommitTime);
+        when(catalogObjectRepository.findOne(any(CatalogObjectEntity.CatalogObjectEntityKey.class))).thenReturn(catalogObjectEntity);
+        catalogObjectService.createCatalogObjectRevision(1L,
+                                                         NAME,
+                                                         COMMIT_MESSAGE,
+                                                         Collections.emptyList(),
+                                                         null,
+                                                         lastCommitTime - 1);
+    }
+
+    @Test
+    public void testCreateCatalogObjectRevisionOnTopOfAConcurrentRevision() {
+        long lastCommitTime = System.currentTimeMillis();
+        long concurrentCommitTime = lastCommitTime + 60000;
+        CatalogObjectEntity catalogObjectEntity = newCatalogObjectEntity(lastCommitTime);
+        when(catalogObjectRepository.findOne(any(CatalogObjectEntity.CatalogObjectEntityKey.class))).thenReturn(catalogObjectEntity);
+        when(catalogObjectRevisionRepository.save(any(CatalogObjectRevisionEntity.class))).thenReturn(newCatalogObjectRevisionEntity(lastCommitTime));
+        when(catalogObjectRepository.updateLastCommitTime(eq(1L), eq(NAME), eq(0L), anyLong())).thenReturn(0);
+        when(catalogObjectRepository.updateLastCommitTime(eq(1L), eq(NAME), eq(1L), anyLong())).thenReturn(1);
+        stubConcurrentRevision(catalogObjectEntity, concurrentCommitTime);
+        stubIngestPipeline();
+
+        catalogObjectService.createCatalogObjectRevision(1L, NAME, COMMIT_MESSAGE, Collections.emptyList(), null);
+
+        ArgumentCaptor<CatalogObjectRevisionEntity> savedRevision = ArgumentCaptor.forClass(CatalogObjectRevisionEntity.class);
+        verify(catalogObjectRevisionRepository).save(savedRevision.capture());
+        assertThat(savedRevision.getValue().getCommitTime()).isEqualTo(concurrentCommitTime + 1);
+        verify(catalogObjectRepository).updateLastCommitTime(1L, NAME, 1L, concurrentCommitTime + 1);
+    }
+
+    @Test(expected = CatalogObjectModifiedException.class)
+    public void testCreateCatalogObjectRevisionWithIfMatchAndConcurrentRevision() {
+        long lastCommitTime = System.currentTimeMillis();
+        CatalogObjectEntity catalogObjectEntity = newCatalogObjectEntity(lastCommitTime);
+        when(catalogObjectRepository.findOne(any(CatalogObjectEntity.CatalogObjectEntityKey.class))).thenReturn(catalogObjectEntity);
+        stubConcurrentRevision(catalogObjectEntity, lastCommitTime + 1);
+        stubIngestPipeline();
+
+        catalogObjectService.createCatalogObjectRevision(1L,
+                                                         NAME,
+                                                         COMMIT_MESSAGE,
+                                                         Collections.emptyList(),
+                                                         null,
+                                                         lastCommitTime);
+    }
+
+    @Test(expected = CatalogObjectConflictException.class)
+    public void testCreateCatalogObjectRevisionReadsTheHeadAgainOnlyOnce() {
+        CatalogObjectEntity catalogObjectEntity = newCatalogObjectEntity(System.currentTimeMillis());
+        when(catalogObjectRepository.findOne(any(CatalogObjectEntity.CatalogObjectEntityKey.class))).thenReturn(catalogObjectEntity);
+        stubIngestPipeline();
+
+        try {
+            catalogObjectService.createCatalogObjectRevision(1L, NAME, COMMIT_MESSAGE, Collections.emptyList(), null);
+        } finally {
+            verify(catalogObjectRepository, times(2)).updateLastCommitTime(anyLong(), anyString(), anyLong(), anyLong());
+        }
+    }
+
     @Test(expected = RevisionNotFoundException.class)
     public void testGetCatalogObjectRevisionNotFound() {
         long now = System.currentTimeMillis();
@@ -258,4 +390,24 @@ public class CatalogObjectServiceTest {
         assertThat(catalogObjectRevisionEntity.getKeyValueMetadataList()).isNotEmpty();
         assertThat(catalogObjectRevisionEntity.getKeyValueMetadataList()).hasSize(1);
     }
+
+    /**
+     * The first refresh of the catalog object sees a revision committed concurrently
+     */
+    private void stubConcurrentRevision(CatalogObjectEntity catalogObjectEntity, long concurrentCommitTime) {
+        doAnswer(invocation -> {
+            if (catalogObjectEntity.getVersion() == 0) {
+                catalogObjectEntity.setVersion(1);
+                catalogObjectEntity.setLastCommitTime(concurrentCommitTime);
+            }
+            return null;
+        }).when(entityManager).refresh(catalogObjectEntity);
+    }
+
+    private void stubIngestPipeline() {
+        when(catalogObjectIngestPipeline.ingest(any(), any(), any(), any())).thenReturn(new IngestedCatalogObject(new byte[] {},
+                                                                                                                  Collections.emptyList(),
+                                                                                                                  ""));
+    }
+
 }
@@ -0,0 +1,137 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.ow2.proactive.catalog.dto.DownloadToken;
+import org.ow2.proactive.catalog.service.exception.AccessDeniedException;
+import org.ow2.proactive.catalog.service.exception.InvalidDownloadTokenRequestException;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class DownloadTokenServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T10:00:00Z"), ZoneOffset.UTC);
+
+    private DownloadTokenService downloadTokenService = new DownloadTokenService("secret", 300, 3600, CLOCK);
+
+    @Test
+    public void testBucketTokenGrantsEveryRevisionOfTheBucket() throws AccessDeniedException {
+        DownloadToken token = downloadTokenService.issue(1L, null, null, null);
+
+        assertThat(token.getExpiresAt()).isEqualTo(CLOCK.millis() + TimeUnit.SECONDS.toMillis(300));
+        downloadTokenService.checkToken(token.getToken(), 1L, "workflow", null);
+        downloadTokenService.checkToken(token.getToken(), 1L, "other", 1400343L);
+        assertDenied(token.getToken(), 2L, "workflow", null);
+    }
+
+    @Test
+    public void testObjectTokenGrantsEveryRevisionOfTheObject() throws AccessDeniedException {
+        DownloadToken token = downloadTokenService.issue(1L, "work:flow\nname", null, null);
+
+        downloadTokenService.checkToken(token.getToken(), 1L, "work:flow\nname", null);
+        downloadTokenService.checkToken(token.getToken(), 1L, "work:flow\nname", 1400343L);
+        assertDenied(token.getToken(), 1L, "other", null);
+    }
+
+    @Test
+    public void testRevisionTokenGrantsOnlyTheRevision() throws AccessDeniedException {
+        DownloadToken token = downloadTokenService.issue(1L, "workflow", 1400343L, null);
+
+        downloadTokenService.checkToken(token.getToken(), 1L, "workflow", 1400343L);
+        assertDenied(token.getToken(), 1L, "workflow", 1500000L);
+        assertDenied(token.getToken(), 1L, "workflow", null);
+    }
+
+    @Test
+    public void testExpiredTokenIsDenied() throws AccessDeniedException {
+        DownloadToken token = downloadTokenService.issue(1L, "workflow", null, 7200L);
+        assertThat(token.getExpiresAt()).isEqualTo(CLOCK.millis() + TimeUnit.SECONDS.toMillis(3600));
+
+        DownloadTokenService later = new DownloadTokenService("secret",
+                                                              300,
+                                                              3600,
+                                                              Clock.offset(CLOCK, Duration.ofSeconds(3600)));
+        assertThat(isGranted(later, token.getToken())).isFalse();
+        DownloadTokenService earlier = new DownloadTokenService("secret",
+                                                                300,
+                                                                3600,
+                                                                Clock.offset(CLOCK, Duration.ofSeconds(3599)));
+        assertThat(isGranted(earlier, token.getToken())).isTrue();
+    }
+
+    @Test
+    public void testForgedTokensAreDenied() {
+        String token = downloadTokenService.issue(1L, "workflow", null, null).getToken();
+        String payload = token.substring(0, token.indexOf('.'));
+        String signature = token.substring(token.indexOf('.') + 1);
+        DownloadToken otherBucket = downloadTokenService.issue(2L, "workflow", null, null);
+
+        assertDenied(otherBucket.getToken().substring(0, otherBucket.getToken().indexOf('.')) + "." + signature,
+                     2L,
+                     "workflow",
+                     null);
+        assertDenied(payload + "." + signature.substring(1), 1L, "workflow", null);
+        assertDenied(payload, 1L, "workflow", null);
+        assertDenied("not a token.!!", 1L, "workflow", null);
+        assertThat(isGranted(new DownloadTokenService("other secret", 300, 3600, CLOCK), token)).isFalse();
+    }
+
+    @Test(expected = InvalidDownloadTokenRequestException.class)
+    public void testRevisionTokenRequiresTheObjectName() {
+        downloadTokenService.issue(1L, null, 1400343L, null);
+    }
+
+    private void assertDenied(String token, long bucketId, String name, Long commitTime) {
+        try {
+            downloadTokenService.checkToken(token, bucketId, name, commitTime);
+        } catch (AccessDeniedException e) {
+            return;
+        }
+        throw new AssertionError("The download token was accepted");
+    }
+
+    private static boolean isGranted(DownloadTokenService service, String token) {
+        try {
+            service.checkToken(token, 1L, "workflow", null);
+            return true;
+        } catch (AccessDeniedException e) {
+            return false;
+        }
+    }
+
+}
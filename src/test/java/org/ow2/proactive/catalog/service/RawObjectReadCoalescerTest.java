@@ -0,0 +1,205 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.catalog.dto.CatalogEvent;
+import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.dto.RawObjectReadStatistics;
+import org.ow2.proactive.catalog.service.exception.CatalogObjectNotFoundException;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class RawObjectReadCoalescerTest {
+
+    private static final int READERS = 8;
+
+    private CatalogObjectService catalogObjectService;
+
+    private CatalogEventBroadcaster catalogEventBroadcaster;
+
+    private ExecutorService readers;
+
+    private CountDownLatch fetchReleased;
+
+    @Before
+    public void setUp() {
+        catalogObjectService = mock(CatalogObjectService.class);
+        catalogEventBroadcaster = new CatalogEventBroadcaster(10, 10);
+        catalogEventBroadcaster.init();
+        readers = Executors.newFixedThreadPool(READERS);
+        fetchReleased = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        readers.shutdownNow();
+        catalogEventBroadcaster.shutdown();
+    }
+
+    @Test
+    public void testConcurrentReadsShareOneFetch() throws Exception {
+        CatalogRawObject rawObject = newRawObject();
+        when(catalogObjectService.getCatalogRawObject(1L, "name")).then(invocation -> {
+            fetchReleased.await();
+            return rawObject;
+        });
+        RawObjectReadCoalescer coalescer = new RawObjectReadCoalescer(catalogObjectService, catalogEventBroadcaster, true);
+
+        List<Future<CatalogRawObject>> reads = readConcurrently(coalescer);
+
+        for (Future<CatalogRawObject> read : reads) {
+            assertThat(read.get(10, TimeUnit.SECONDS)).isSameAs(rawObject);
+        }
+        verify(catalogObjectService, times(1)).getCatalogRawObject(1L, "name");
+        RawObjectReadStatistics statistics = coalescer.getStatistics();
+        assertThat(statistics.getReads()).isEqualTo((long) READERS);
+        assertThat(statistics.getFetches()).isEqualTo(1L);
+        assertThat(statistics.getCoalescedReads()).isEqualTo((long) READERS - 1);
+        assertThat(statistics.getInFlightFetches()).isEqualTo(0L);
+
+        // completed fetches are not reused
+        coalescer.getCatalogRawObject(1L, "name");
+        verify(catalogObjectService, times(2)).getCatalogRawObject(1L, "name");
+    }
+
+    @Test
+    public void testConcurrentReadsShareTheFetchFailure() throws Exception {
+        when(catalogObjectService.getCatalogRawObject(1L, "name")).then(invocation -> {
+            fetchReleased.await();
+            throw new CatalogObjectNotFoundException("bucketId : 1 name : name");
+        });
+        RawObjectReadCoalescer coalescer = new RawObjectReadCoalescer(catalogObjectService, catalogEventBroadcaster, true);
+
+        for (Future<CatalogRawObject> read : readConcurrently(coalescer)) {
+            try {
+                read.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(CatalogObjectNotFoundException.class);
+                continue;
+            }
+            throw new AssertionError("The read did not fail");
+        }
+        verify(catalogObjectService, times(1)).getCatalogRawObject(1L, "name");
+    }
+
+    @Test
+    public void testReadAfterACommitDoesNotJoinTheFetchStartedBefore() throws Exception {
+        CatalogRawObject previousRevision = newRawObject();
+        CatalogRawObject committedRevision = newRawObject();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        when(catalogObjectService.getCatalogRawObject(1L, "name")).then(invocation -> {
+            fetchStarted.countDown();
+            fetchReleased.await();
+            return previousRevision;
+        }).thenReturn(committedRevision);
+        RawObjectReadCoalescer coalescer = new RawObjectReadCoalescer(catalogObjectService,
+                                                                      catalogEventBroadcaster,
+                                                                      true);
+
+        Future<CatalogRawObject> readBeforeCommit = readers.submit(() -> coalescer.getCatalogRawObject(1L, "name"));
+        assertThat(fetchStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        // published right away outside of a transaction, as after the commit of a revision
+        catalogEventBroadcaster.publishAfterCommit(CatalogEvent.Type.CATALOG_OBJECT_REVISION_CREATED,
+                                                   1L,
+                                                   BucketService.DEFAULT_BUCKET_OWNER,
+                                                   "name",
+                                                   "object");
+
+        Future<CatalogRawObject> readAfterCommit = readers.submit(() -> coalescer.getCatalogRawObject(1L, "name"));
+        try {
+            assertThat(readAfterCommit.get(10, TimeUnit.SECONDS)).isSameAs(committedRevision);
+        } finally {
+            fetchReleased.countDown();
+        }
+        assertThat(readBeforeCommit.get(10, TimeUnit.SECONDS)).isSameAs(previousRevision);
+        assertThat(coalescer.getStatistics().getCoalescedReads()).isEqualTo(0L);
+        assertThat(coalescer.getStatistics().getInFlightFetches()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testDisabledCoalescingFetchesEveryRead() throws Exception {
+        when(catalogObjectService.getCatalogObjectRevisionRaw(1L, "name", 1L)).thenReturn(newRawObject());
+        when(catalogObjectService.getCatalogObjectRevisionRaw(1L, "name", 2L)).thenReturn(newRawObject());
+        RawObjectReadCoalescer coalescer = new RawObjectReadCoalescer(catalogObjectService, catalogEventBroadcaster, false);
+
+        coalescer.getCatalogObjectRevisionRaw(1L, "name", 1L);
+        coalescer.getCatalogObjectRevisionRaw(1L, "name", 2L);
+
+        assertThat(coalescer.getStatistics().getFetches()).isEqualTo(2L);
+        assertThat(coalescer.getStatistics().getCoalescingRatio()).isEqualTo(0.0);
+    }
+
+    /**
+     * Starts the reads and releases the fetch once every read is either fetching or waiting
+     */
+    private List<Future<CatalogRawObject>> readConcurrently(RawObjectReadCoalescer coalescer)
+            throws InterruptedException {
+        List<Future<CatalogRawObject>> reads = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            reads.add(readers.submit(() -> coalescer.getCatalogRawObject(1L, "name")));
+        }
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (coalescer.getStatistics().getReads() < READERS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        fetchReleased.countDown();
+        return reads;
+    }
+
+    private static CatalogRawObject newRawObject() {
+        return new CatalogRawObject(1L,
+                                    "name",
+                                    "object",
+                                    "application/xml",
+                                    1400343L,
+                                    "commit message",
+                                    Collections.emptyList(),
+                                    new byte[] { 1, 2, 3 });
+    }
+
+}
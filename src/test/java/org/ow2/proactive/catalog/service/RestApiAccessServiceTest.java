@@ -27,6 +27,7 @@ package org.ow2.proactive.catalog.service;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,6 +44,8 @@ import org.ow2.proactive.catalog.service.exception.NotAuthenticatedException;
 import org.ow2.proactive.catalog.service.model.AuthenticatedUser;
 import org.ow2.proactive.catalog.service.model.RestApiAccessResponse;
 
+import com.google.common.collect.ImmutableMap;
+
 
 /**
  * @author ActiveEon Team
@@ -173,4 +176,16 @@ public class RestApiAccessServiceTest {
         assertThat(response.getAuthenticatedUser().getName()).isEqualTo("Pb is lead");
     }
 
+    @Test
+    public void testFindDeniedBucketsAuthenticatesOnce() throws NotAuthenticatedException {
+        when(schedulerUserAuthenticationService.authenticateBySessionId("testSessionId")).thenReturn(AuthenticatedUser.EMPTY);
+        when(bucketService.getBucketOwners(any())).thenReturn(ImmutableMap.of(1L, "allowed", 2L, "denied"));
+        when(authorizationService.askUserAuthorizationByBucketOwner(AuthenticatedUser.EMPTY,
+                                                                    "allowed")).thenReturn(true);
+
+        assertThat(restApiAccessService.findDeniedBuckets("testSessionId", Arrays.asList(1L, 2L, 3L))).containsExactly(2L);
+
+        verify(schedulerUserAuthenticationService, times(1)).authenticateBySessionId("testSessionId");
+    }
+
 }
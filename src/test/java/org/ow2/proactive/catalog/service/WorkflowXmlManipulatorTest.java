@@ -27,6 +27,7 @@ package org.ow2.proactive.catalog.service;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -278,6 +279,36 @@ public class WorkflowXmlManipulatorTest {
         assertThat(nullByteArray.length).isEqualTo(0);
     }
 
+    @Test
+    public void testThatWorkflowEncodingAndTaskLevelMarkupArePreserved() {
+        String workflow = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" + "<job name=\"Caf\u00e9\">\n" +
+                          "  <!-- <taskFlow> in a comment -->\n" + "  <taskFlow>\n" +
+                          "    <task name=\"T\u00e2che\"><genericInformation/></task>\n" + "  </taskFlow>\n" +
+                          "  <genericInformation>\n" + "    <info name=\"old\" value=\"old\"/>\n" +
+                          "  </genericInformation>\n" + "</job>";
+
+        byte[] result = workflowXmlManipulator.replaceGenericInformationJobLevel(workflow.getBytes(StandardCharsets.ISO_8859_1),
+                                                                                 Collections.singletonMap("key",
+                                                                                                          "$1 \u00e9\u20ac"));
+
+        assertThat(new String(result, StandardCharsets.ISO_8859_1)).isEqualTo("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" +
+                                                                              "<job name=\"Caf\u00e9\">\n" +
+                                                                              "  <!-- <taskFlow> in a comment -->\n" +
+                                                                              "  <genericInformation>\n" +
+                                                                              "    <info name=\"key\" value=\"$1 \u00e9&#8364;\"/>\n" +
+                                                                              "  </genericInformation>\n" +
+                                                                              "  <taskFlow>\n" +
+                                                                              "    <task name=\"T\u00e2che\"><genericInformation/></task>\n" +
+                                                                              "  </taskFlow>\n" + "  </job>");
+    }
+
+    @Test
+    public void testThatWorkflowWithoutTaskFlowIsUnchanged() {
+        byte[] workflow = "<job><genericInformation/></job>".getBytes(StandardCharsets.UTF_8);
+        assertThat(workflowXmlManipulator.replaceGenericInformationJobLevel(workflow,
+                                                                            getTwoSimpleEntries())).isEqualTo(workflow);
+    }
+
     private Map<String, String> getTwoSimpleEntries() {
         Map<String, String> returnList = new HashMap<>();
 
@@ -0,0 +1,90 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+import org.ow2.proactive.catalog.service.exception.UnprocessableEntityException;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserFactory;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserOptions;
+
+import com.google.common.io.ByteStreams;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class WorkflowIngestStageTest {
+
+    private final WorkflowIngestStage workflowIngestStage = new WorkflowIngestStage();
+
+    @After
+    public void resetOptions() {
+        CatalogObjectParserFactory.get().setOptions("workflow", CatalogObjectParserOptions.UNLIMITED);
+    }
+
+    @Test
+    public void testScanFailsBeyondTheParsedBytesOfTheWorkflowOptions() throws Exception {
+        byte[] workflow = readWorkflow();
+        CatalogObjectParserFactory.get().setOptions("workflow",
+                                                    new CatalogObjectParserOptions(workflow.length - 1,
+                                                                                   Integer.MAX_VALUE));
+        try {
+            workflowIngestStage.scan(workflow);
+            throw new AssertionError("The workflow is longer than the parsed bytes");
+        } catch (UnprocessableEntityException e) {
+            assertThat(e.getMessage()).contains((workflow.length - 1) + " bytes");
+        }
+
+        CatalogObjectParserFactory.get().setOptions("workflow",
+                                                    new CatalogObjectParserOptions(workflow.length,
+                                                                                   Integer.MAX_VALUE));
+        assertThat(workflowIngestStage.scan(workflow).extractMetadata()).isNotEmpty();
+    }
+
+    @Test
+    public void testMetadataFailsWithMoreMetadataThanTheWorkflowOptionsAllow() throws Exception {
+        byte[] workflow = readWorkflow();
+        int metadataCount = workflowIngestStage.scan(workflow).extractMetadata().size();
+        CatalogObjectParserFactory.get().setOptions("workflow",
+                                                    new CatalogObjectParserOptions(Long.MAX_VALUE,
+                                                                                   metadataCount - 1));
+        try {
+            workflowIngestStage.scan(workflow).extractMetadata();
+            throw new AssertionError("The workflow has more metadata than allowed");
+        } catch (UnprocessableEntityException e) {
+            assertThat(e.getMessage()).contains("more than " + (metadataCount - 1) + " metadata");
+        }
+    }
+
+    private static byte[] readWorkflow() throws Exception {
+        return ByteStreams.toByteArray(WorkflowIngestStageTest.class.getResourceAsStream("/workflows/workflow.xml"));
+    }
+
+}
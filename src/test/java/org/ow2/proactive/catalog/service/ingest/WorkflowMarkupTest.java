@@ -0,0 +1,123 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.ingest;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.util.parser.WorkflowParser;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class WorkflowMarkupTest {
+
+    @Test
+    public void testMetadataIsTheOneOfTheWorkflowParser() throws Exception {
+        for (String workflow : new String[] { "workflow.xml", "workflow-no-name.xml", "workflow-no-project-name.xml",
+                                              "workflow-no-generic-information-no-variable.xml" }) {
+            byte[] xml = ByteStreams.toByteArray(WorkflowMarkupTest.class.getResourceAsStream("/workflows/" +
+                                                                                              workflow));
+
+            WorkflowMarkup workflowMarkup = WorkflowMarkup.scan(xml);
+
+            assertThat(workflowMarkup.isWellFormed()).isTrue();
+            assertThat(toStrings(workflowMarkup.getMetadata())).containsExactlyElementsIn(toStrings(new WorkflowParser().parse(new ByteArrayInputStream(xml))))
+                                                               .inOrder();
+        }
+    }
+
+    @Test
+    public void testAttributeValuesAreNormalized() {
+        WorkflowMarkup workflowMarkup = scan("<job name='a &amp; b&#x41;&#66;' projectName=\"line\r\nbreak\">" +
+                                             "<variables><variable name=\"v\" value=\"&lt;&quot;&gt;\"/></variables>" +
+                                             "<taskFlow/></job>");
+
+        assertThat(workflowMarkup.isWellFormed()).isTrue();
+        assertThat(toStrings(workflowMarkup.getMetadata())).containsExactly("name=a & bAB (job_information)",
+                                                                            "project_name=line break (job_information)",
+                                                                            "v=<\"> (variable)")
+                                                           .inOrder();
+    }
+
+    @Test
+    public void testMalformedWorkflowsAreDetected() {
+        for (String xml : new String[] { "", "<job><variables></job>", "<job name==\"a\"/>", "<job name=a/>",
+                                         "<job a=\"1\"b=\"2\"/>", "<job a=\"<\"/>", "<job a=\"&unknown\"/>",
+                                         "<job/><job/>", "<job><!-- unterminated </job>" }) {
+            WorkflowMarkup workflowMarkup = scan(xml);
+
+            assertThat(workflowMarkup.isWellFormed()).isFalse();
+            assertThat(workflowMarkup.getError()).startsWith("Malformed workflow");
+        }
+    }
+
+    @Test
+    public void testMarkupInCommentsAndCdataIsIgnored() {
+        WorkflowMarkup workflowMarkup = scan("<job name=\"j\"><!-- <taskFlow> --><taskFlow><task><script><![CDATA[" +
+                                             "</job> <genericInformation>]]></script></task></taskFlow></job>");
+
+        assertThat(workflowMarkup.isWellFormed()).isTrue();
+        assertThat(workflowMarkup.hasJobLevelTaskFlow()).isTrue();
+    }
+
+    @Test
+    public void testWriteWithGenericInformation() throws Exception {
+        WorkflowMarkup workflowMarkup = scan("<job>\n  <genericInformation>\n    <info name=\"old\" value=\"1\"/>\n" +
+                                             "  </genericInformation>\n  <taskFlow/>\n</job>");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        workflowMarkup.writeWithGenericInformation(ImmutableMap.of("new", "a&b"), output);
+
+        assertThat(new String(output.toByteArray(),
+                              StandardCharsets.UTF_8)).isEqualTo("<job>\n    <genericInformation>\n    <info name=\"new\" value=\"a&amp;b\"/>\n" +
+                                                                 "  </genericInformation>\n  <taskFlow/>\n</job>");
+    }
+
+    private static WorkflowMarkup scan(String xml) {
+        return WorkflowMarkup.scan(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> toStrings(List<KeyValueLabelMetadataEntity> metadata) {
+        return metadata.stream()
+                       .map(keyValue -> keyValue.getKey() + "=" + keyValue.getValue() + " (" + keyValue.getLabel() +
+                                        ")")
+                       .collect(Collectors.toList());
+    }
+
+}
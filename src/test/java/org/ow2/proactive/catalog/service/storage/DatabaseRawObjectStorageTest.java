@@ -0,0 +1,70 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.springframework.data.domain.Pageable;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DatabaseRawObjectStorageTest {
+
+    @InjectMocks
+    private DatabaseRawObjectStorage storage;
+
+    @Mock
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    @Mock
+    private RawObjectCompressor rawObjectCompressor;
+
+    @Test
+    public void testInitWithoutRevisionStoredInFiles() {
+        when(catalogObjectRevisionRepository.findIdsWithRawObjectLocation(any(Pageable.class))).thenReturn(Collections.emptyList());
+        storage.init();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInitRejectsRevisionsStoredInFiles() {
+        when(catalogObjectRevisionRepository.findIdsWithRawObjectLocation(any(Pageable.class))).thenReturn(Collections.singletonList(1L));
+        storage.init();
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.catalog.repository.CatalogObjectRevisionRepository;
+import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class FileRawObjectStorageTest {
+
+    private Path root;
+
+    private CatalogObjectRevisionRepository catalogObjectRevisionRepository;
+
+    private FileRawObjectStorage storage;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("file-raw-object-storage-test");
+        catalogObjectRevisionRepository = mock(CatalogObjectRevisionRepository.class);
+        storage = new FileRawObjectStorage(root,
+                                           60,
+                                           catalogObjectRevisionRepository,
+                                           new RawObjectCompressor(true, 2048, 1024 * 1024, 0.9));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(root.toFile());
+    }
+
+    @Test
+    public void testInitWithoutDirectoryOutsideOfProActiveHomeFails() {
+        FileRawObjectStorage unconfigured = new FileRawObjectStorage();
+        ReflectionTestUtils.setField(unconfigured, "dir", "");
+        String proactiveHome = System.clearProperty("proactive.home");
+        try {
+            unconfigured.init();
+            fail("The raw objects must not be stored in an unconfigured directory");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).contains("pa.catalog.storage.file.dir");
+        } finally {
+            if (proactiveHome != null) {
+                System.setProperty("proactive.home", proactiveHome);
+            }
+        }
+    }
+
+    @Test
+    public void testStoreKeepsTheRawObjectInAContentAddressedFile() throws IOException {
+        RawObjectContent rawObject = RawObjectContent.of("0123456789".getBytes(StandardCharsets.UTF_8));
+        CatalogObjectRevisionEntity revision = store(rawObject);
+
+        assertThat(revision.getRawObject()).isNull();
+        assertThat(revision.getRawObjectLocation()).isEqualTo(FileRawObjectStorage.toLocation(rawObject.getContentHash()));
+        assertThat(Files.readAllBytes(root.resolve(revision.getRawObjectLocation()))).isEqualTo(rawObject.toByteArray());
+        assertThat(root.resolve("tmp").toFile().list()).isEmpty();
+
+        RawObjectContent loaded = storage.load(revision);
+        assertThat(loaded.getLength()).isEqualTo(10L);
+        assertThat(loaded.getContentHash()).isEqualTo(rawObject.getContentHash());
+        assertThat(loaded.toByteArray()).isEqualTo(rawObject.toByteArray());
+        try (InputStream range = loaded.openStream(2, 4)) {
+            assertThat(IOUtils.toString(range, StandardCharsets.UTF_8)).isEqualTo("2345");
+        }
+        ByteArrayOutputStream transferred = new ByteArrayOutputStream();
+        loaded.transferTo(7, 3, Channels.newChannel(transferred));
+        assertThat(transferred.toString("UTF-8")).isEqualTo("789");
+
+        // identical raw objects share their file
+        assertThat(store(RawObjectContent.of("0123456789".getBytes(StandardCharsets.UTF_8))).getRawObjectLocation()).isEqualTo(revision.getRawObjectLocation());
+    }
+
+    @Test
+    public void testStoreKeepsTheGzipEncodingOfCompressibleRawObjects() throws IOException {
+        byte[] bytes = new byte[10000];
+        Arrays.fill(bytes, (byte) 'x');
+        RawObjectContent rawObject = RawObjectContent.of(bytes);
+        CatalogObjectRevisionEntity revision = store(rawObject);
+
+        assertThat(revision.getRawObjectEncoding()).isEqualTo(RawObjectCompressor.GZIP_ENCODING);
+        assertThat(revision.getRawObjectLocation()).isEqualTo(FileRawObjectStorage.toLocation(rawObject.getContentHash()) +
+                                                              ".gz");
+        RawObjectContent gzipped = storage.loadGzipped(revision);
+        assertThat(gzipped.getLength()).isLessThan((long) bytes.length);
+        try (InputStream decompressed = new GZIPInputStream(gzipped.openStream())) {
+            assertThat(IOUtils.toByteArray(decompressed)).isEqualTo(bytes);
+        }
+
+        RawObjectContent loaded = storage.load(revision);
+        assertThat(loaded.getLength()).isEqualTo((long) bytes.length);
+        assertThat(loaded.toByteArray()).isEqualTo(bytes);
+        try (InputStream range = loaded.openStream(9998, 2)) {
+            assertThat(IOUtils.toString(range, StandardCharsets.UTF_8)).isEqualTo("xx");
+        }
+    }
+
+    @Test
+    public void testLoadRevisionStoredInTheDatabase() {
+        CatalogObjectRevisionEntity revision = new CatalogObjectRevisionEntity();
+        revision.setRawObject(new byte[] { 1, 2, 3 });
+
+        assertThat(storage.load(revision).toByteArray()).isEqualTo(new byte[] { 1, 2, 3 });
+    }
+
+    @Test
+    public void testSweepDeletesOldUnreferencedFiles() throws IOException {
+        CatalogObjectRevisionEntity referenced = store(RawObjectContent.of(new byte[] { 1 }));
+        CatalogObjectRevisionEntity unreferenced = store(RawObjectContent.of(new byte[] { 2 }));
+        CatalogObjectRevisionEntity recent = store(RawObjectContent.of(new byte[] { 3 }));
+        Path interruptedWrite = Files.createFile(root.resolve("tmp").resolve("interrupted.tmp"));
+        makeOld(root.resolve(referenced.getRawObjectLocation()));
+        makeOld(root.resolve(unreferenced.getRawObjectLocation()));
+        makeOld(interruptedWrite);
+        when(catalogObjectRevisionRepository.findReferencedRawObjectLocations(any())).thenReturn(Collections.singletonList(referenced.getRawObjectLocation()));
+
+        assertThat(storage.sweep()).isEqualTo(2L);
+        assertThat(Files.exists(root.resolve(referenced.getRawObjectLocation()))).isTrue();
+        assertThat(Files.exists(root.resolve(unreferenced.getRawObjectLocation()))).isFalse();
+        assertThat(Files.exists(root.resolve(recent.getRawObjectLocation()))).isTrue();
+        assertThat(Files.exists(interruptedWrite)).isFalse();
+    }
+
+    private CatalogObjectRevisionEntity store(RawObjectContent rawObject) {
+        CatalogObjectRevisionEntity revision = new CatalogObjectRevisionEntity();
+        storage.store(revision, rawObject);
+        revision.setRawObjectSize(rawObject.getLength());
+        revision.setContentHash(rawObject.getContentHash());
+        return revision;
+    }
+
+    private static void makeOld(Path path) throws IOException {
+        Files.setLastModifiedTime(path,
+                                  FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(120)));
+    }
+
+}
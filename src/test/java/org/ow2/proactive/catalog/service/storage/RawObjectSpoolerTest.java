@@ -0,0 +1,91 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.service.storage;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.catalog.service.exception.RawObjectTooLargeException;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class RawObjectSpoolerTest {
+
+    private Path spoolDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        spoolDirectory = Files.createTempDirectory("raw-object-spooler-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(spoolDirectory.toFile());
+    }
+
+    @Test
+    public void testSpoolComputesSizeAndContentHash() throws IOException {
+        byte[] upload = new byte[200 * 1024];
+        Arrays.fill(upload, (byte) 'x');
+
+        try (SpooledRawObject spooled = new RawObjectSpooler(spoolDirectory, 0).spool(new ByteArrayInputStream(upload))) {
+            assertThat(spooled.getLength()).isEqualTo(upload.length);
+            assertThat(spooled.getContentHash()).isEqualTo(ContentHash.of(upload));
+            assertThat(spooled.toByteArray()).isEqualTo(upload);
+            assertThat(spooled.getContentHash()).isEqualTo(RawObjectContent.of(upload).getContentHash());
+        }
+        assertThat(spoolDirectory.toFile().list()).isEmpty();
+    }
+
+    @Test
+    public void testSpoolRejectsUploadsLargerThanTheMaximumSize() throws IOException {
+        try {
+            new RawObjectSpooler(spoolDirectory, 10).spool(new ByteArrayInputStream(new byte[11]));
+            fail("The upload should be rejected");
+        } catch (RawObjectTooLargeException e) {
+            // expected
+        }
+        assertThat(spoolDirectory.toFile().list()).isEmpty();
+
+        try (SpooledRawObject spooled = new RawObjectSpooler(spoolDirectory, 10).spool(new ByteArrayInputStream(new byte[10]))) {
+            assertThat(spooled.getLength()).isEqualTo(10);
+        }
+    }
+
+}
@@ -45,9 +45,12 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectEntity.CatalogObjectEntityKey;
 import org.ow2.proactive.catalog.repository.entity.CatalogObjectRevisionEntity;
+import org.ow2.proactive.catalog.service.storage.DatabaseRawObjectStorage;
+import org.ow2.proactive.catalog.service.storage.RawObjectStorage;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.FileNameAndContent;
 import org.ow2.proactive.catalog.util.ArchiveManagerHelper.ZipArchiveContent;
 
@@ -63,6 +66,9 @@ public class ArchiveManagerHelperTest {
     @InjectMocks
     private ArchiveManagerHelper archiveManager;
 
+    @Spy
+    private RawObjectStorage rawObjectStorage = new DatabaseRawObjectStorage();
+
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
@@ -0,0 +1,71 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class BinaryFormatAcceptHeaderStrategyTest {
+
+    private final BinaryFormatAcceptHeaderStrategy strategy = new BinaryFormatAcceptHeaderStrategy();
+
+    @Test
+    public void testBinaryFormatsAreNegotiated() {
+        assertThat(resolve("application/x-jackson-smile")).containsExactly(JacksonBinaryHttpMessageConverter.SMILE);
+        assertThat(resolve("application/json;q=0.5, application/cbor")).containsExactly(JacksonBinaryHttpMessageConverter.CBOR);
+        assertThat(resolve("application/cbor, */*")).containsExactly(JacksonBinaryHttpMessageConverter.CBOR);
+    }
+
+    @Test
+    public void testJsonIsResolvedOtherwise() {
+        assertThat(resolve(null)).containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(resolve("application/json, application/cbor;q=0.5")).containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(resolve("text/html, */*;q=0.8")).containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(resolve("application/xml")).containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(resolve("not a media type")).containsExactly(MediaType.APPLICATION_JSON);
+    }
+
+    private List<MediaType> resolve(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/buckets");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return strategy.resolveMediaTypes(new ServletWebRequest(request));
+    }
+
+}
@@ -27,12 +27,21 @@ package org.ow2.proactive.catalog.util;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
 import org.junit.Test;
 import org.ow2.proactive.catalog.util.parser.CatalogObjectParserFactory;
 import org.ow2.proactive.catalog.util.parser.CatalogObjectParserInterface;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserOptions;
 import org.ow2.proactive.catalog.util.parser.DefaultCatalogObjectParser;
+import org.ow2.proactive.catalog.util.parser.PCWRuleParser;
 import org.ow2.proactive.catalog.util.parser.WorkflowParser;
 
+import com.google.common.io.ByteStreams;
+
 
 /**
  * Unit tests associated to {@link CatalogObjectParserFactory}.
@@ -51,4 +60,56 @@ public class CatalogObjectParserFactoryTest {
         assertThat(parser).isInstanceOf(DefaultCatalogObjectParser.class);
     }
 
+    @Test
+    public void testParsersAreShared() {
+        assertThat(CatalogObjectParserFactory.get().getParser("workflow")).isSameAs(CatalogObjectParserFactory.get()
+                                                                                                             .getParser("workflow"));
+        assertThat(CatalogObjectParserFactory.get().getParser("pcw-rule")).isInstanceOf(PCWRuleParser.class);
+        assertThat(CatalogObjectParserFactory.get().getParser(null)).isInstanceOf(DefaultCatalogObjectParser.class);
+    }
+
+    @Test
+    public void testParsersAreLoadedFromServices() {
+        assertThat(CatalogObjectParserFactory.get().getKinds()).containsAllOf("workflow",
+                                                                              "pcw-rule",
+                                                                              TestKindParser.KIND);
+        assertThat(CatalogObjectParserFactory.get().getParser(TestKindParser.KIND)).isInstanceOf(TestKindParser.class);
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testParseFailsWithMoreMetadataThanTheOptionsAllow() throws Exception {
+        CatalogObjectParserFactory.get().parse(TestKindParser.KIND, new ByteArrayInputStream(new byte[0]));
+    }
+
+    @Test
+    public void testParseFailsBeyondTheParsedBytesOfTheOptions() throws Exception {
+        byte[] workflow = ("<job name=\"job\"><!--" + new String(new char[1000]).replace('\0', ' ') +
+                           "--><variables/><genericInformation/></job>").getBytes(StandardCharsets.UTF_8);
+        CatalogObjectParserFactory.get().setOptions("workflow", new CatalogObjectParserOptions(100, Integer.MAX_VALUE));
+        try {
+            CatalogObjectParserFactory.get().parse("workflow", new ByteArrayInputStream(workflow));
+            throw new AssertionError("The workflow is longer than the parsed bytes");
+        } catch (XMLStreamException e) {
+            assertThat(e.getMessage()).contains("100 bytes");
+        } finally {
+            CatalogObjectParserFactory.get().setOptions("workflow", CatalogObjectParserOptions.UNLIMITED);
+        }
+        assertThat(CatalogObjectParserFactory.get().parse("workflow", new ByteArrayInputStream(workflow))).hasSize(1);
+    }
+
+    @Test
+    public void testParseOfAPCWRuleFailsBeyondTheParsedBytesOfTheOptions() throws Exception {
+        byte[] pcwRule = ByteStreams.toByteArray(CatalogObjectParserFactoryTest.class.getResourceAsStream("/pcw-rules/pcwRuleExample.json"));
+        CatalogObjectParserFactory.get().setOptions("pcw-rule", new CatalogObjectParserOptions(100, Integer.MAX_VALUE));
+        try {
+            CatalogObjectParserFactory.get().parse("pcw-rule", new ByteArrayInputStream(pcwRule));
+            throw new AssertionError("The pcw-rule is longer than the parsed bytes");
+        } catch (XMLStreamException e) {
+            assertThat(e.getMessage()).contains("100 bytes");
+        } finally {
+            CatalogObjectParserFactory.get().setOptions("pcw-rule", CatalogObjectParserOptions.UNLIMITED);
+        }
+        assertThat(CatalogObjectParserFactory.get().parse("pcw-rule", new ByteArrayInputStream(pcwRule))).isNotEmpty();
+    }
+
 }
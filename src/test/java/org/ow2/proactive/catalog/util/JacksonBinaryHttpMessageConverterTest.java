@@ -0,0 +1,119 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.ow2.proactive.catalog.dto.BucketMetadata;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class JacksonBinaryHttpMessageConverterTest {
+
+    private final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+
+    private final ObjectMapper jsonMapper = builder.build();
+
+    @Test
+    public void testSmileEncodesTheJsonTreeInFewerBytes() throws IOException {
+        assertEncodesTheJsonTree(JacksonBinaryHttpMessageConverter.smile(builder),
+                                 JacksonBinaryHttpMessageConverter.SMILE);
+    }
+
+    @Test
+    public void testCborEncodesTheJsonTreeInFewerBytes() throws IOException {
+        assertEncodesTheJsonTree(JacksonBinaryHttpMessageConverter.cbor(builder),
+                                 JacksonBinaryHttpMessageConverter.CBOR);
+    }
+
+    @Test
+    public void testMappersAreConfiguredByTheBuilder() throws IOException {
+        JacksonBinaryHttpMessageConverter converter = JacksonBinaryHttpMessageConverter.smile(Jackson2ObjectMapperBuilder.json()
+                                                                                                                         .serializationInclusion(JsonInclude.Include.NON_NULL));
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(new BucketMetadata(1L, "bucket", null), JacksonBinaryHttpMessageConverter.SMILE, outputMessage);
+
+        JsonNode decoded = converter.getObjectMapper().readTree(outputMessage.getBodyAsBytes());
+        assertThat(decoded.has("name")).isTrue();
+        assertThat(decoded.has("owner")).isFalse();
+    }
+
+    @Test
+    public void testResourcesAreWrittenInHal() throws IOException {
+        JacksonBinaryHttpMessageConverter converter = JacksonBinaryHttpMessageConverter.halCbor(builder,
+                                                                                               new DefaultRelProvider());
+        BucketMetadata bucket = new BucketMetadata(1L, "bucket", "owner");
+        bucket.add(new Link("http://localhost:8080/catalog/buckets/1"));
+        assertThat(converter.canWrite(BucketMetadata.class, JacksonBinaryHttpMessageConverter.CBOR)).isTrue();
+        assertThat(converter.canWrite(ArrayList.class, JacksonBinaryHttpMessageConverter.CBOR)).isFalse();
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(bucket, JacksonBinaryHttpMessageConverter.CBOR, outputMessage);
+
+        JsonNode decoded = converter.getObjectMapper().readTree(outputMessage.getBodyAsBytes());
+        assertThat(decoded.path("_links").path("self").path("href").asText()).isEqualTo("http://localhost:8080/catalog/buckets/1");
+        assertThat(decoded.has("links")).isFalse();
+    }
+
+    private void assertEncodesTheJsonTree(JacksonBinaryHttpMessageConverter converter, MediaType mediaType)
+            throws IOException {
+        List<BucketMetadata> buckets = new ArrayList<>();
+        for (long id = 0; id < 100; id++) {
+            buckets.add(new BucketMetadata(id, "bucket-" + id, "owner"));
+        }
+        assertThat(converter.canWrite(buckets.getClass(), mediaType)).isTrue();
+        assertThat(converter.canWrite(buckets.getClass(), MediaType.APPLICATION_JSON)).isFalse();
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(buckets, mediaType, outputMessage);
+
+        byte[] json = jsonMapper.writeValueAsBytes(buckets);
+        byte[] binary = outputMessage.getBodyAsBytes();
+        assertThat(outputMessage.getHeaders().getContentType()).isEqualTo(mediaType);
+        assertThat(binary.length).isLessThan(json.length);
+        JsonNode decoded = converter.getObjectMapper().readTree(binary);
+        assertThat(decoded).isEqualTo(jsonMapper.readTree(json));
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class LinkTemplateTest {
+
+    private static final String BUCKETS_URI = "http://proxy.example.com/catalog/buckets/1/resources/";
+
+    /**
+     * Names and their encoding in the absolute links: URL encoded, then '%' encoded as a path segment
+     */
+    private static final String[][] ENCODED_NAMES = { { "workflow", "workflow" },
+                                                      { "with space", "with+space" },
+                                                      { "a/b", "a%252Fb" },
+                                                      { "\u00fc", "%25C3%25BC" },
+                                                      { "100%", "100%2525" },
+                                                      { "a+b", "a%252Bb" },
+                                                      { "x?y#z", "x%253Fy%2523z" },
+                                                      { "{x}", "%257Bx%257D" },
+                                                      { "\u00e9%20", "%25C3%25A9%252520" } };
+
+    private MockHttpServletRequest request;
+
+    @Before
+    public void setUp() {
+        request = newRequest();
+        request.addHeader("X-Forwarded-Host", "proxy.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testAbsoluteLinks() {
+        for (String[] encodedName : ENCODED_NAMES) {
+            assertThat(LinkTemplate.rawObjectHref(1L,
+                                                  encodedName[0])).isEqualTo(BUCKETS_URI + encodedName[1] + "/raw");
+            assertThat(LinkTemplate.rawObjectHref(1L, encodedName[0], 42L)).isEqualTo(BUCKETS_URI + encodedName[1] +
+                                                                                       "/revisions/42/raw");
+        }
+    }
+
+    @Test
+    public void testRelativeLinks() {
+        assertThat(LinkTemplate.relativeHref(1L, "a/b c")).isEqualTo("buckets/1/resources/a%2Fb+c");
+        assertThat(LinkTemplate.relativeHref(1L, "a/b c", 42L)).isEqualTo("buckets/1/resources/a%2Fb+c/revisions/42");
+    }
+
+    @Test
+    public void testBucketsUriIsResolvedOncePerRequest() {
+        MockHttpServletRequest directRequest = newRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(directRequest));
+        assertThat(LinkTemplate.rawObjectHref(1L,
+                                              "workflow")).isEqualTo("http://localhost:8080/catalog/buckets/1/resources/workflow/raw");
+
+        directRequest.addHeader("X-Forwarded-Host", "proxy.example.com");
+        assertThat(LinkTemplate.rawObjectHref(2L,
+                                              "workflow")).isEqualTo("http://localhost:8080/catalog/buckets/2/resources/workflow/raw");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        assertThat(LinkTemplate.rawObjectHref(2L,
+                                              "workflow")).isEqualTo("http://proxy.example.com/catalog/buckets/2/resources/workflow/raw");
+    }
+
+    private static MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/catalog/buckets/1/resources");
+        request.setContextPath("/catalog");
+        request.setServerPort(8080);
+        return request;
+    }
+
+}
@@ -26,11 +26,23 @@
 package org.ow2.proactive.catalog.util;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 import org.ow2.proactive.catalog.dto.CatalogRawObject;
+import org.ow2.proactive.catalog.service.storage.RawObjectContent;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -127,4 +139,157 @@ public class RawObjectResponseCreatorTest {
         assertThat(responseEntity.getHeaders().getContentType()).isNull();
     }
 
+    @Test
+    public void testCreateRawObjectResponseSingleRange() throws IOException {
+        CatalogRawObject rawObject = newRawObject("0123456789");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                         "bytes=2-5",
+                                                                                         null,
+                                                                                         null);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(responseEntity.getHeaders().getContentLength()).isEqualTo(4L);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(readBody(responseEntity)).isEqualTo("2345");
+    }
+
+    @Test
+    public void testCreateRawObjectResponseSuffixRange() throws IOException {
+        CatalogRawObject rawObject = newRawObject("0123456789");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                         "bytes=-3",
+                                                                                         null,
+                                                                                         null);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(readBody(responseEntity)).isEqualTo("789");
+    }
+
+    @Test
+    public void testCreateRawObjectResponseUnsatisfiableRange() {
+        CatalogRawObject rawObject = newRawObject("0123456789");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                         "bytes=10-20",
+                                                                                         null,
+                                                                                         null);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    public void testCreateRawObjectResponseMultipleRanges() throws IOException {
+        CatalogRawObject rawObject = newRawObject("0123456789");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                         "bytes=0-1,8-",
+                                                                                         null,
+                                                                                         null);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        MediaType contentType = responseEntity.getHeaders().getContentType();
+        assertThat(contentType.toString()).startsWith("multipart/byteranges");
+        String boundary = contentType.getParameter("boundary");
+        String expectedBody = "\r\n--" + boundary + "\r\nContent-Type: application/xml\r\nContent-Range: bytes 0-1/10" +
+                              "\r\n\r\n01" + "\r\n--" + boundary +
+                              "\r\nContent-Type: application/xml\r\nContent-Range: bytes 8-9/10\r\n\r\n89" + "\r\n--" +
+                              boundary + "--\r\n";
+        assertThat(readBody(responseEntity)).isEqualTo(expectedBody);
+        assertThat(responseEntity.getHeaders().getContentLength()).isEqualTo((long) expectedBody.length());
+    }
+
+    @Test
+    public void testCreateRawObjectResponseIfRange() throws IOException {
+        CatalogRawObject rawObject = newRawObject("0123456789");
+        ResponseEntity matching = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                   "bytes=2-5",
+                                                                                   "\"1400343\"",
+                                                                                   null);
+        assertThat(matching.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+
+        ResponseEntity changed = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                  "bytes=2-5",
+                                                                                  "\"1500000\"",
+                                                                                  null);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(readBody(changed)).isEqualTo("0123456789");
+    }
+
+    @Test
+    public void testCreateRawObjectResponseMalformedRange() throws IOException {
+        CatalogRawObject rawObject = newRawObject("0123456789");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                         "lines=1-2",
+                                                                                         null,
+                                                                                         null);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(readBody(responseEntity)).isEqualTo("0123456789");
+    }
+
+    @Test
+    public void testCreateRawObjectResponseGzipEncoded() throws IOException {
+        CatalogRawObject rawObject = newGzippedRawObject("0123456789");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                         null,
+                                                                                         null,
+                                                                                         "deflate, gzip;q=0.5");
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(responseEntity.getHeaders().getETag()).isEqualTo("\"1400343-gzip\"");
+        assertThat(responseEntity.getHeaders().containsKey(HttpHeaders.ACCEPT_RANGES)).isFalse();
+        try (InputStream body = new GZIPInputStream(((Resource) responseEntity.getBody()).getInputStream())) {
+            assertThat(IOUtils.toString(body, StandardCharsets.UTF_8)).isEqualTo("0123456789");
+        }
+    }
+
+    @Test
+    public void testCreateRawObjectResponseGzipEncodedNotAccepted() throws IOException {
+        CatalogRawObject rawObject = newGzippedRawObject("0123456789");
+        for (String acceptEncoding : new String[] { null, "identity", "gzip;q=0", "*, gzip;q=0" }) {
+            ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                             null,
+                                                                                             null,
+                                                                                             acceptEncoding);
+            assertThat(responseEntity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(readBody(responseEntity)).isEqualTo("0123456789");
+        }
+    }
+
+    @Test
+    public void testCreateRawObjectResponseRangeOfGzipEncoded() throws IOException {
+        CatalogRawObject rawObject = newGzippedRawObject("0123456789");
+        ResponseEntity responseEntity = rawObjectResponseCreator.createRawObjectResponse(rawObject,
+                                                                                         "bytes=2-5",
+                                                                                         null,
+                                                                                         "gzip");
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(responseEntity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(readBody(responseEntity)).isEqualTo("2345");
+    }
+
+    private static CatalogRawObject newGzippedRawObject(String content) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        CatalogRawObject rawObject = spy(newRawObject(content));
+        doReturn(RawObjectContent.of(gzipped.toByteArray())).when(rawObject).getGzippedContent();
+        return rawObject;
+    }
+
+    private static CatalogRawObject newRawObject(String content) {
+        return new CatalogRawObject(1L,
+                                    "name",
+                                    "object",
+                                    "application/xml",
+                                    1400343L,
+                                    "commit message",
+                                    Collections.emptyList(),
+                                    content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readBody(ResponseEntity responseEntity) throws IOException {
+        return IOUtils.toString(((Resource) responseEntity.getBody()).getInputStream(),
+                                StandardCharsets.UTF_8);
+    }
+
 }
@@ -0,0 +1,68 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+
+/**
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class StreamingUploadMultipartResolverTest {
+
+    private final StreamingUploadMultipartResolver resolver = new StreamingUploadMultipartResolver();
+
+    @Test
+    public void testStreamingUploadsAreNotResolved() {
+        assertThat(isMultipart("", "/buckets/1/resources/stream")).isFalse();
+        assertThat(isMultipart("", "/buckets/1/resources/workflow/revisions/stream")).isFalse();
+        assertThat(isMultipart("/catalog", "/catalog/buckets/1/resources/stream")).isFalse();
+        assertThat(isMultipart("", "/buckets/1/resources/stream;jsessionid=0123456789")).isFalse();
+        assertThat(isMultipart("", "/buckets/1/resources/stream/")).isFalse();
+        assertThat(isMultipart("", "/buckets/1/resources/workflow/revisions/stream.json")).isFalse();
+    }
+
+    @Test
+    public void testOtherUploadsAreResolved() {
+        assertThat(isMultipart("", "/buckets/1/resources")).isTrue();
+        assertThat(isMultipart("", "/buckets/1/resources/stream/revisions")).isTrue();
+        assertThat(isMultipart("", "/buckets/1/resources/workflow/stream")).isTrue();
+        assertThat(isMultipart("", "/buckets/1/resources/workflow/revisions/stream/other")).isTrue();
+    }
+
+    private boolean isMultipart(String contextPath, String requestUri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", requestUri);
+        request.setContextPath(contextPath);
+        request.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE);
+        return resolver.isMultipart(request);
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.ow2.proactive.catalog.repository.entity.KeyValueLabelMetadataEntity;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserInterface;
+import org.ow2.proactive.catalog.util.parser.CatalogObjectParserOptions;
+
+
+/**
+ * Parser registered through the service loader by the test resources.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class TestKindParser implements CatalogObjectParserInterface {
+
+    static final String KIND = "test-kind";
+
+    @Override
+    public List<KeyValueLabelMetadataEntity> parse(InputStream inputStream) {
+        return Collections.singletonList(new KeyValueLabelMetadataEntity("parser", KIND, "General"));
+    }
+
+    @Override
+    public Set<String> getKinds() {
+        return Collections.singleton(KIND);
+    }
+
+    @Override
+    public CatalogObjectParserOptions getOptions() {
+        return new CatalogObjectParserOptions(Long.MAX_VALUE, 0);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.catalog.util.tokenizer;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.junit.Test;
+import org.ow2.proactive.catalog.util.parser.SupportedParserKinds;
+
+
+/**
+ * Unit tests associated to {@link CatalogObjectTokenizerFactory} and the tokenizers it provides.
+ *
+ * @author ActiveEon Team
+ * @since 19/10/2026
+ */
+public class CatalogObjectTokenizerTest {
+
+    @Test
+    public void testWorkflowTokensComeFromTextAndAttributeValues() throws IOException {
+        Set<String> tokens = tokenize(SupportedParserKinds.WORKFLOW.toString(), "/workflows/workflow.xml");
+
+        assertThat(tokens).containsAllOf("windows", "cmd", "var1value", "simplest", "dir");
+        assertThat(tokens).doesNotContain("taskflow");
+    }
+
+    @Test
+    public void testPCWRuleTokensComeFromValues() throws IOException {
+        Set<String> tokens = tokenize(SupportedParserKinds.PCW_RULE.toString(), "/pcw-rules/pcwRuleExample.json");
+
+        assertThat(tokens).containsAllOf("rulenodeisupmetric", "localhost", "upandrunning");
+        assertThat(tokens).doesNotContain("rulecontent");
+    }
+
+    @Test
+    public void testUnknownKindIsNotTokenized() throws IOException {
+        Set<String> tokens = CatalogObjectTokenizerFactory.get()
+                                                          .getTokenizer("unknown")
+                                                          .tokenize(new ByteArrayInputStream("some content".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(tokens).isEmpty();
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformedWorkflow() throws IOException {
+        CatalogObjectTokenizerFactory.get()
+                                     .getTokenizer(SupportedParserKinds.WORKFLOW.toString())
+                                     .tokenize(new ByteArrayInputStream("<job><task>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testQueryTokens() {
+        assertThat(ContentTokens.of("Linux_Bash  echo-Hello")).containsExactly("linux", "bash", "echo", "hello")
+                                                               .inOrder();
+    }
+
+    private Set<String> tokenize(String kind, String resource) throws IOException {
+        try (InputStream inputStream = CatalogObjectTokenizerTest.class.getResourceAsStream(resource)) {
+            return CatalogObjectTokenizerFactory.get().getTokenizer(kind).tokenize(inputStream);
+        }
+    }
+
+}